@@ -0,0 +1,258 @@
+package com.eventlottery.data.cache;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.repositories.EventRepository;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * EventDetailCache - Process-wide cache of event details keyed by event id
+ * 
+ * Screens pass only the event id between each other and read the event back
+ * from here, so the details screen can render on its first frame instead of
+ * unparcelling a whole Event or waiting on the backend. Entries seeded from
+ * the browse list are shown immediately but count as unverified; opening the
+ * details screen (or a speculative prefetch) fetches the current copy once it
+ * is older than the refresh interval. Concurrent requests for the same id
+ * share one backend read.
+ * 
+ * Bounded LRU; listeners are called on the loader executor, not the main thread.
+ */
+public class EventDetailCache {
+    
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final long DEFAULT_REFRESH_MILLIS = 60_000;
+    
+    private static volatile EventDetailCache instance;
+    
+    private final int capacity;
+    private final long refreshMillis;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<Event>> inFlight = new ConcurrentHashMap<>();
+    private volatile EventRepository repository;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong prefetches = new AtomicLong();
+    
+    /**
+     * Listener for the verified copy of an event; event is null if it no longer exists
+     */
+    public interface Listener {
+        void onEventLoaded(Event event);
+        
+        void onError(IOException error);
+    }
+    
+    private static final class Entry {
+        final Event event;
+        final long fetchedAt;
+        
+        Entry(Event event, long fetchedAt) {
+            this.event = event;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+    
+    public EventDetailCache(int capacity, long refreshMillis, Executor executor, LongSupplier clock) {
+        this.capacity = capacity;
+        this.refreshMillis = refreshMillis;
+        this.executor = executor;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    /**
+     * Shared instance used by the entrant screens
+     */
+    public static EventDetailCache getInstance() {
+        if (instance == null) {
+            synchronized (EventDetailCache.class) {
+                if (instance == null) {
+                    instance = new EventDetailCache(DEFAULT_CAPACITY, DEFAULT_REFRESH_MILLIS,
+                        Executors.newFixedThreadPool(2), System::currentTimeMillis);
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Backend used for fetches and prefetches; until set the cache only serves seeded entries
+     */
+    public void setRepository(EventRepository repository) {
+        this.repository = repository;
+    }
+    
+    /**
+     * Cached copy for an immediate render, or null; counts toward the hit rate
+     */
+    public Event peek(String eventId) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(eventId);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.event;
+    }
+    
+    /**
+     * Seed with events that arrived from a list load; they are refreshed on first open
+     */
+    public void putAll(List<Event> events) {
+        synchronized (entries) {
+            for (Event event : events) {
+                Entry existing = entries.get(event.getId());
+                // Keep a verified copy unless the list carries a newer one
+                if (existing == null || existing.fetchedAt == 0
+                        || event.getUpdatedAt() > existing.event.getUpdatedAt()) {
+                    store(event, 0);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Store a verified copy, e.g. after the user edited the event
+     */
+    public void put(Event event) {
+        synchronized (entries) {
+            store(event, clock.getAsLong());
+        }
+    }
+    
+    public void invalidate(String eventId) {
+        synchronized (entries) {
+            entries.remove(eventId);
+        }
+    }
+    
+    /**
+     * Speculatively fetch an event the user is likely to open next
+     */
+    public void prefetch(String eventId) {
+        if (needsFetch(eventId) && repository != null) {
+            prefetches.incrementAndGet();
+            fetch(eventId);
+        }
+    }
+    
+    /**
+     * Deliver a verified copy, reusing the cached entry when it is fresh enough
+     * and joining an in-flight fetch when there is one
+     */
+    public void load(String eventId, Listener listener) {
+        if (!needsFetch(eventId) || repository == null) {
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.get(eventId);
+            }
+            Event event = entry != null ? entry.event : null;
+            executor.execute(() -> listener.onEventLoaded(event));
+            return;
+        }
+        fetch(eventId).whenCompleteAsync((event, error) -> {
+            if (error == null) {
+                listener.onEventLoaded(event);
+            } else if (error.getCause() instanceof IOException) {
+                listener.onError((IOException) error.getCause());
+            } else {
+                listener.onError(new IOException(error));
+            }
+        }, executor);
+    }
+    
+    private boolean needsFetch(String eventId) {
+        synchronized (entries) {
+            Entry entry = entries.get(eventId);
+            return entry == null || clock.getAsLong() - entry.fetchedAt >= refreshMillis;
+        }
+    }
+    
+    private CompletableFuture<Event> fetch(String eventId) {
+        CompletableFuture<Event> created = new CompletableFuture<>();
+        CompletableFuture<Event> existing = inFlight.putIfAbsent(eventId, created);
+        if (existing != null) {
+            return existing;
+        }
+        fetches.incrementAndGet();
+        EventRepository source = repository;
+        executor.execute(() -> {
+            try {
+                Event event = source.getEvent(eventId);
+                synchronized (entries) {
+                    if (event != null) {
+                        store(event, clock.getAsLong());
+                    } else {
+                        entries.remove(eventId);
+                    }
+                }
+                inFlight.remove(eventId);
+                created.complete(event);
+            } catch (IOException | RuntimeException e) {
+                inFlight.remove(eventId);
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+    
+    /**
+     * Caller holds the entries lock
+     */
+    private void store(Event event, long fetchedAt) {
+        entries.put(event.getId(), new Entry(event, fetchedAt));
+        if (entries.size() > capacity) {
+            String eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    /**
+     * Share of peeks that found an event to render immediately
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+    
+    public long getHits() {
+        return hits.get();
+    }
+    
+    public long getMisses() {
+        return misses.get();
+    }
+    
+    /**
+     * Backend reads issued, including prefetches
+     */
+    public long getFetches() {
+        return fetches.get();
+    }
+    
+    public long getPrefetches() {
+        return prefetches.get();
+    }
+}
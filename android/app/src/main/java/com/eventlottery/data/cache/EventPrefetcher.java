@@ -0,0 +1,120 @@
+package com.eventlottery.data.cache;
+
+import com.eventlottery.data.models.EventSnapshot;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventPrefetcher - Speculatively loads details and posters for events the user is likely to open
+ * 
+ * A card that stays on screen for the dwell time, or is pressed, triggers a
+ * fetch into EventDetailCache and a poster preload. Cards that only flash
+ * past during a fling are cancelled before their timer fires, so scrolling
+ * does not turn into a burst of backend reads. A press skips the dwell:
+ * the touch-down to click gap (~100 ms) is usually enough to hide the fetch.
+ */
+public class EventPrefetcher {
+    
+    public static final long DEFAULT_DWELL_MILLIS = 400;
+    
+    /**
+     * Warms the image cache for a poster URL, e.g. with Glide's preload()
+     */
+    public interface PosterPreloader {
+        void preload(String posterUrl);
+    }
+    
+    private final EventDetailCache cache;
+    private final PosterPreloader posterPreloader;
+    private final ScheduledExecutorService scheduler;
+    private final long dwellMillis;
+    private final Map<String, Dwell> pending = new ConcurrentHashMap<>();
+    
+    public EventPrefetcher(EventDetailCache cache, PosterPreloader posterPreloader,
+                           ScheduledExecutorService scheduler, long dwellMillis) {
+        this.cache = cache;
+        this.posterPreloader = posterPreloader;
+        this.scheduler = scheduler;
+        this.dwellMillis = dwellMillis;
+    }
+    
+    /**
+     * Card came on screen; prefetch if it is still visible after the dwell time
+     */
+    public void onVisible(EventSnapshot event) {
+        Dwell dwell = new Dwell(event);
+        Dwell previous = pending.put(event.getId(), dwell);
+        if (previous != null) {
+            previous.cancel();
+        }
+        dwell.future = scheduler.schedule(dwell, dwellMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Card left the screen before its dwell time ran out
+     */
+    public void onHidden(EventSnapshot event) {
+        Dwell dwell = pending.remove(event.getId());
+        if (dwell != null) {
+            dwell.cancel();
+        }
+    }
+    
+    /**
+     * Card was touched; a click is likely to follow
+     */
+    public void onPressed(EventSnapshot event) {
+        onHidden(event);
+        prefetch(event);
+    }
+    
+    /**
+     * Cancel every pending dwell timer, e.g. when the list screen stops
+     */
+    public void cancelAll() {
+        for (Dwell dwell : pending.values()) {
+            dwell.cancel();
+        }
+        pending.clear();
+    }
+    
+    private void prefetch(EventSnapshot event) {
+        cache.prefetch(event.getId());
+        String posterUrl = event.getPosterImageUrl();
+        if (posterUrl != null && !posterUrl.isEmpty()) {
+            posterPreloader.preload(posterUrl);
+        }
+    }
+    
+    /**
+     * One card's dwell timer. It only prefetches if it is still the pending
+     * timer for its id when it fires, so a timer superseded by a newer
+     * onVisible, or cancelled before its future was set, does nothing.
+     */
+    private final class Dwell implements Runnable {
+        
+        final EventSnapshot event;
+        volatile ScheduledFuture<?> future;
+        
+        Dwell(EventSnapshot event) {
+            this.event = event;
+        }
+        
+        @Override
+        public void run() {
+            if (pending.remove(event.getId(), this)) {
+                prefetch(event);
+            }
+        }
+        
+        void cancel() {
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
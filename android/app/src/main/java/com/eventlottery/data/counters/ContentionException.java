@@ -0,0 +1,18 @@
+package com.eventlottery.data.counters;
+
+import java.io.IOException;
+
+/**
+ * ContentionException - A write was rejected because its document is over the write rate limit
+ * 
+ * Retrying the same document immediately will usually fail again; retry on
+ * another shard or back off.
+ */
+public class ContentionException extends IOException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ContentionException(String path) {
+        super("Too much contention on " + path);
+    }
+}
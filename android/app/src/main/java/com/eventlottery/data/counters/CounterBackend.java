@@ -0,0 +1,31 @@
+package com.eventlottery.data.counters;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CounterBackend - Numeric documents as stored by the backend
+ * 
+ * Every path is one document, so every path is subject to the backend's
+ * per-document write limit. A write over that limit fails with
+ * ContentionException instead of queueing.
+ */
+public interface CounterBackend {
+    
+    /**
+     * Atomically add delta to the document, creating it at zero if missing
+     * 
+     * @throws ContentionException if the document is over its write rate
+     */
+    void increment(String path, long delta) throws IOException;
+    
+    /**
+     * Read several documents in one round trip; missing documents read as zero
+     */
+    long[] getAll(List<String> paths) throws IOException;
+    
+    /**
+     * Atomically raise the document to at least value and return the stored value
+     */
+    long raiseTo(String path, long value) throws IOException;
+}
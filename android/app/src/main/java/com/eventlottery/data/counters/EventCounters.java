@@ -0,0 +1,84 @@
+package com.eventlottery.data.counters;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.sync.WaitlistOperation;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * EventCounters - Sharded waitlistCount and confirmedCount for every event
+ * 
+ * Popular registration openings send every join to the same event, which a
+ * single counter document cannot absorb. Each event's two counts live in
+ * their own ShardedCounter under events/{eventId}/{field}.
+ */
+public class EventCounters {
+    
+    public static final long DEFAULT_ROLLUP_TTL_MILLIS = 5_000;
+    
+    private static final String WAITLIST_COUNT = "waitlistCount";
+    private static final String CONFIRMED_COUNT = "confirmedCount";
+    
+    private final CounterBackend backend;
+    private final long rollupTtlMillis;
+    private final LongSupplier clock;
+    private final Map<String, ShardedCounter> counters = new ConcurrentHashMap<>();
+    
+    public EventCounters(CounterBackend backend, long rollupTtlMillis, LongSupplier clock) {
+        this.backend = backend;
+        this.rollupTtlMillis = rollupTtlMillis;
+        this.clock = clock;
+    }
+    
+    public EventCounters(CounterBackend backend) {
+        this(backend, DEFAULT_ROLLUP_TTL_MILLIS, System::currentTimeMillis);
+    }
+    
+    /**
+     * Apply an operation's count deltas
+     * 
+     * The two counters are separate documents, so a failure on the second
+     * leaves the first applied; callers retrying the operation should use
+     * idempotent delivery (see WaitlistSyncQueue) rather than replay deltas.
+     */
+    public void apply(WaitlistOperation operation) throws IOException {
+        if (operation.getWaitlistDelta() != 0) {
+            waitlistCounter(operation.getEventId()).increment(operation.getWaitlistDelta());
+        }
+        if (operation.getConfirmedDelta() != 0) {
+            confirmedCounter(operation.getEventId()).increment(operation.getConfirmedDelta());
+        }
+    }
+    
+    public int getWaitlistCount(String eventId) throws IOException {
+        return (int) waitlistCounter(eventId).get();
+    }
+    
+    public int getConfirmedCount(String eventId) throws IOException {
+        return (int) confirmedCounter(eventId).get();
+    }
+    
+    /**
+     * Copy the current counts onto an event for display
+     */
+    public void applyTo(Event event) throws IOException {
+        event.setWaitlistCount(getWaitlistCount(event.getId()));
+        event.setConfirmedCount(getConfirmedCount(event.getId()));
+    }
+    
+    public ShardedCounter waitlistCounter(String eventId) {
+        return counter(eventId, WAITLIST_COUNT);
+    }
+    
+    public ShardedCounter confirmedCounter(String eventId) {
+        return counter(eventId, CONFIRMED_COUNT);
+    }
+    
+    private ShardedCounter counter(String eventId, String field) {
+        String path = "events/" + eventId + "/" + field;
+        return counters.computeIfAbsent(path,
+            p -> new ShardedCounter(backend, p, rollupTtlMillis, clock));
+    }
+}
@@ -0,0 +1,113 @@
+package com.eventlottery.data.counters;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * InMemoryCounterBackend - Local CounterBackend that enforces a per-document write rate
+ * 
+ * Each document has a token bucket refilled at writesPerSecond and capped
+ * at burst, mirroring the sustained single-document write limit of hosted
+ * document stores. Writes without a token fail with ContentionException,
+ * which lets benchmarks measure how much throughput sharding recovers.
+ */
+public class InMemoryCounterBackend implements CounterBackend {
+    
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    private final double writesPerSecond;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private final AtomicLong acceptedWrites = new AtomicLong();
+    private final AtomicLong rejectedWrites = new AtomicLong();
+    private final AtomicLong readRoundTrips = new AtomicLong();
+    
+    private final class Document {
+        private long value;
+        private double tokens;
+        private long refilledAt;
+        
+        Document(long now) {
+            this.tokens = burst;
+            this.refilledAt = now;
+        }
+        
+        synchronized boolean tryAdd(long delta, long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * writesPerSecond / NANOS_PER_SECOND);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            value += delta;
+            return true;
+        }
+        
+        synchronized long get() {
+            return value;
+        }
+        
+        synchronized long raiseTo(long target) {
+            value = Math.max(value, target);
+            return value;
+        }
+    }
+    
+    public InMemoryCounterBackend(double writesPerSecond, double burst, LongSupplier nanoClock) {
+        this.writesPerSecond = writesPerSecond;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Backend with a one-write-per-second sustained limit per document
+     */
+    public static InMemoryCounterBackend createDefault() {
+        return new InMemoryCounterBackend(1, 5, System::nanoTime);
+    }
+    
+    @Override
+    public void increment(String path, long delta) throws IOException {
+        long now = nanoClock.getAsLong();
+        Document document = documents.computeIfAbsent(path, p -> new Document(now));
+        if (!document.tryAdd(delta, now)) {
+            rejectedWrites.incrementAndGet();
+            throw new ContentionException(path);
+        }
+        acceptedWrites.incrementAndGet();
+    }
+    
+    @Override
+    public long[] getAll(List<String> paths) {
+        readRoundTrips.incrementAndGet();
+        long[] values = new long[paths.size()];
+        for (int i = 0; i < values.length; i++) {
+            Document document = documents.get(paths.get(i));
+            values[i] = document != null ? document.get() : 0;
+        }
+        return values;
+    }
+    
+    @Override
+    public long raiseTo(String path, long value) {
+        long now = nanoClock.getAsLong();
+        return documents.computeIfAbsent(path, p -> new Document(now)).raiseTo(value);
+    }
+    
+    public long getAcceptedWrites() {
+        return acceptedWrites.get();
+    }
+    
+    public long getRejectedWrites() {
+        return rejectedWrites.get();
+    }
+    
+    public long getReadRoundTrips() {
+        return readRoundTrips.get();
+    }
+}
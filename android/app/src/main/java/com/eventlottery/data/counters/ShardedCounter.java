@@ -0,0 +1,195 @@
+package com.eventlottery.data.counters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * ShardedCounter - Counter spread over several backend documents to exceed the per-document write limit
+ * 
+ * Layout under the counter path:
+ * - {path}/config holds the number of shards ever allocated; it only grows
+ * - {path}/shards/{i} holds one partial sum per shard
+ * 
+ * Writes go to a random shard among the active ones and retry on another
+ * shard when one is contended. Every ADAPT_WINDOW attempts the rejection
+ * rate is checked: above GROW_ABOVE the active count doubles (allocating
+ * shards as needed), and after QUIET_WINDOWS_TO_SHRINK windows without
+ * rejections it halves. Reads always sum every allocated shard, so
+ * shrinking the write fan-out never hides a count.
+ * 
+ * Reads are served from a cached rollup for rollupTtlMillis, plus this
+ * client's own accepted writes so the user sees their join immediately.
+ * A write that races a refresh may be counted twice until the next refresh.
+ */
+public class ShardedCounter {
+    
+    public static final int MAX_SHARDS = 64;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final int ADAPT_WINDOW = 32;
+    private static final double GROW_ABOVE = 0.05;
+    private static final int QUIET_WINDOWS_TO_SHRINK = 8;
+    
+    private final CounterBackend backend;
+    private final String path;
+    private final String configPath;
+    private final long rollupTtlMillis;
+    private final LongSupplier clock;
+    
+    private volatile int allocatedShards;
+    private volatile int activeShards = 1;
+    private final AtomicInteger windowAttempts = new AtomicInteger();
+    private final AtomicInteger windowRejections = new AtomicInteger();
+    private int quietWindows;
+    
+    private final Object rollupLock = new Object();
+    private long rollupSum;
+    private long rollupAt;
+    private boolean rollupValid;
+    private final AtomicLong localDelta = new AtomicLong();
+    
+    public ShardedCounter(CounterBackend backend, String path, long rollupTtlMillis, LongSupplier clock) {
+        this.backend = backend;
+        this.path = path;
+        this.configPath = path + "/config";
+        this.rollupTtlMillis = rollupTtlMillis;
+        this.clock = clock;
+    }
+    
+    /**
+     * Add delta to the counter
+     * 
+     * @throws ContentionException if every attempted shard was contended
+     */
+    public void increment(long delta) throws IOException {
+        if (allocatedShards == 0) {
+            loadAllocation();
+        }
+        ContentionException lastContention = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int shard = ThreadLocalRandom.current().nextInt(activeShards);
+            try {
+                backend.increment(shardPath(shard), delta);
+                localDelta.addAndGet(delta);
+                recordAttempt(false);
+                return;
+            } catch (ContentionException e) {
+                recordAttempt(true);
+                lastContention = e;
+            }
+        }
+        throw lastContention;
+    }
+    
+    /**
+     * Current total, from the cached rollup when it is younger than the TTL
+     */
+    public long get() throws IOException {
+        synchronized (rollupLock) {
+            if (rollupValid && clock.getAsLong() - rollupAt < rollupTtlMillis) {
+                return rollupSum + localDelta.get();
+            }
+        }
+        return refresh();
+    }
+    
+    /**
+     * Sum every allocated shard in one round trip, bypassing the cache
+     */
+    public long refresh() throws IOException {
+        long pendingBefore = localDelta.get();
+        int shards = Math.max(1, allocatedShards);
+        List<String> paths = new ArrayList<>(shards + 1);
+        paths.add(configPath);
+        for (int i = 0; i < shards; i++) {
+            paths.add(shardPath(i));
+        }
+        long[] values = backend.getAll(paths);
+        int allocated = (int) Math.max(1, values[0]);
+        if (allocated > shards) {
+            // Another client grew the counter since we last looked
+            raiseAllocation(allocated);
+            return refresh();
+        }
+        long sum = 0;
+        for (int i = 1; i < values.length; i++) {
+            sum += values[i];
+        }
+        synchronized (rollupLock) {
+            rollupSum = sum;
+            rollupAt = clock.getAsLong();
+            rollupValid = true;
+            localDelta.addAndGet(-pendingBefore);
+        }
+        return sum;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    /**
+     * Shards currently receiving writes
+     */
+    public int getActiveShards() {
+        return activeShards;
+    }
+    
+    /**
+     * Shards that hold counts and are summed on read
+     */
+    public int getAllocatedShards() {
+        return Math.max(1, allocatedShards);
+    }
+    
+    private String shardPath(int shard) {
+        return path + "/shards/" + shard;
+    }
+    
+    private void loadAllocation() throws IOException {
+        long stored = backend.getAll(Collections.singletonList(configPath))[0];
+        raiseAllocation((int) Math.max(1, stored));
+    }
+    
+    private synchronized void raiseAllocation(int shards) {
+        if (shards > allocatedShards) {
+            allocatedShards = shards;
+        }
+    }
+    
+    private void recordAttempt(boolean rejected) throws IOException {
+        if (rejected) {
+            windowRejections.incrementAndGet();
+        }
+        if (windowAttempts.incrementAndGet() >= ADAPT_WINDOW) {
+            adapt();
+        }
+    }
+    
+    private synchronized void adapt() throws IOException {
+        int attempts = windowAttempts.getAndSet(0);
+        int rejections = windowRejections.getAndSet(0);
+        if (attempts == 0) {
+            return;
+        }
+        if ((double) rejections / attempts > GROW_ABOVE) {
+            quietWindows = 0;
+            if (activeShards < MAX_SHARDS) {
+                int target = Math.min(MAX_SHARDS, activeShards * 2);
+                if (target > allocatedShards) {
+                    // Record the allocation before writing to new shards so readers sum them
+                    raiseAllocation((int) backend.raiseTo(configPath, target));
+                }
+                activeShards = target;
+            }
+        } else if (rejections == 0 && ++quietWindows >= QUIET_WINDOWS_TO_SHRINK) {
+            quietWindows = 0;
+            activeShards = Math.max(1, activeShards / 2);
+        }
+    }
+}
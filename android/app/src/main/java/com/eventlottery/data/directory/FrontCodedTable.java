@@ -0,0 +1,229 @@
+package com.eventlottery.data.directory;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * FrontCodedTable - Immutable sorted byte-string table with front coding
+ * 
+ * Keys are grouped in blocks of BLOCK_SIZE. The first key of a block is
+ * stored whole; each following key stores only the length of the prefix it
+ * shares with its predecessor and the remaining suffix, both as varints.
+ * Sorted name and email keys share long prefixes, so this typically stores
+ * a key in a handful of bytes. A lookup binary-searches the block heads and
+ * decodes at most one block before streaming forward.
+ * 
+ * Ordering is unsigned lexicographic byte order.
+ */
+final class FrontCodedTable {
+    
+    static final int BLOCK_SIZE = 16;
+    
+    private final byte[] data;
+    private final int[] blockOffsets;
+    private final int size;
+    
+    private FrontCodedTable(byte[] data, int[] blockOffsets, int size) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.size = size;
+    }
+    
+    /**
+     * Build from keys already in ascending order without duplicates
+     */
+    static FrontCodedTable build(Iterator<byte[]> sortedKeys) {
+        byte[] buffer = new byte[1024];
+        int length = 0;
+        int[] offsets = new int[16];
+        int count = 0;
+        byte[] previous = null;
+        while (sortedKeys.hasNext()) {
+            byte[] key = sortedKeys.next();
+            // Worst case: two 5-byte varints plus the whole key
+            if (length + key.length + 10 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + key.length + 10));
+            }
+            if (count % BLOCK_SIZE == 0) {
+                int block = count / BLOCK_SIZE;
+                if (block == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[block] = length;
+                length = writeVarint(buffer, length, key.length);
+                System.arraycopy(key, 0, buffer, length, key.length);
+                length += key.length;
+            } else {
+                int shared = sharedPrefix(previous, key);
+                length = writeVarint(buffer, length, shared);
+                length = writeVarint(buffer, length, key.length - shared);
+                System.arraycopy(key, shared, buffer, length, key.length - shared);
+                length += key.length - shared;
+            }
+            previous = key;
+            count++;
+        }
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return new FrontCodedTable(Arrays.copyOf(buffer, length), Arrays.copyOf(offsets, blocks), count);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Heap bytes held by the encoded table
+     */
+    long memoryBytes() {
+        return 16L + data.length + 16L + 4L * blockOffsets.length;
+    }
+    
+    /**
+     * Keys at or after from (strictly after when inclusive is false), in order
+     */
+    Iterator<byte[]> iterator(byte[] from, boolean inclusive) {
+        TableIterator iterator = new TableIterator(findBlock(from));
+        iterator.skipBefore(from, inclusive);
+        return iterator;
+    }
+    
+    /**
+     * Last block whose first key is <= key, or 0
+     */
+    private int findBlock(byte[] key) {
+        int low = 0;
+        int high = blockOffsets.length - 1;
+        int found = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = blockOffsets[middle];
+            int keyLength = readVarint(data, offset);
+            int start = offset + varintSize(keyLength);
+            if (compare(data, start, keyLength, key) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+    
+    private final class TableIterator implements Iterator<byte[]> {
+        private int index;
+        private int position;
+        private byte[] current = new byte[64];
+        private int currentLength;
+        private byte[] peeked;
+        
+        TableIterator(int block) {
+            this.index = block * BLOCK_SIZE;
+            this.position = blockOffsets.length > 0 ? blockOffsets[block] : 0;
+        }
+        
+        void skipBefore(byte[] from, boolean inclusive) {
+            while (hasNext()) {
+                int comparison = compare(peeked, 0, peeked.length, from);
+                if (comparison > 0 || (inclusive && comparison == 0)) {
+                    return;
+                }
+                peeked = null;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (peeked == null && index < size) {
+                peeked = decodeNext();
+            }
+            return peeked != null;
+        }
+        
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            byte[] key = peeked;
+            peeked = null;
+            return key;
+        }
+        
+        private byte[] decodeNext() {
+            int shared;
+            int suffix;
+            if (index % BLOCK_SIZE == 0) {
+                shared = 0;
+                suffix = readVarint(data, position);
+                position += varintSize(suffix);
+            } else {
+                shared = readVarint(data, position);
+                position += varintSize(shared);
+                suffix = readVarint(data, position);
+                position += varintSize(suffix);
+            }
+            if (shared + suffix > current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, shared + suffix));
+            }
+            System.arraycopy(data, position, current, shared, suffix);
+            position += suffix;
+            currentLength = shared + suffix;
+            index++;
+            return Arrays.copyOf(current, currentLength);
+        }
+    }
+    
+    /**
+     * Unsigned lexicographic comparison of data[start, start + length) against key
+     */
+    static int compare(byte[] data, int start, int length, byte[] key) {
+        int limit = Math.min(length, key.length);
+        for (int i = 0; i < limit; i++) {
+            int difference = (data[start + i] & 0xFF) - (key[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length;
+    }
+    
+    private static int sharedPrefix(byte[] a, byte[] b) {
+        int limit = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < limit && a[i] == b[i]) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static int writeVarint(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+    
+    private static int readVarint(byte[] buffer, int position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+    
+    private static int varintSize(int value) {
+        int bytes = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,238 @@
+package com.eventlottery.data.directory;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * LocalUserDirectory - In-process UserDirectory over a compressed prefix index
+ * 
+ * Every user contributes one key per search term: each word of the name,
+ * the full name and the email, normalized to lowercase without accents.
+ * A key is the term's UTF-8 bytes, a 0 separator and the user's 4-byte
+ * ordinal, so keys stay short and sort by term. Matches for a prefix form
+ * one contiguous key range, and a page is read by streaming that range from
+ * the cursor, making each page O(log n + page size) regardless of how many
+ * users are registered.
+ * 
+ * A user matching through several terms is reported only at the smallest
+ * matching term, which keeps results duplicate-free across pages.
+ */
+public class LocalUserDirectory implements UserDirectory {
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\p{Cntrl}]+");
+    
+    private final PrefixIndex index = new PrefixIndex();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<UserSummary> users = new ArrayList<>();
+    
+    /**
+     * Build a directory in one pass from an existing user list
+     * 
+     * Much faster than upserting one by one: keys are sorted once and
+     * encoded straight into the compressed table.
+     */
+    public static LocalUserDirectory bulkLoad(Collection<UserSummary> all) {
+        LocalUserDirectory directory = new LocalUserDirectory();
+        List<byte[]> keys = new ArrayList<>(all.size() * 4);
+        for (UserSummary user : all) {
+            if (directory.ordinals.containsKey(user.getUserId())) {
+                continue;
+            }
+            int ordinal = directory.users.size();
+            directory.users.add(user);
+            directory.ordinals.put(user.getUserId(), ordinal);
+            for (String term : terms(user)) {
+                keys.add(key(term, ordinal));
+            }
+        }
+        keys.sort(PrefixIndex.ORDER);
+        directory.index.load(keys.iterator());
+        return directory;
+    }
+    
+    @Override
+    public synchronized UserSearchPage search(String query, String cursor, int limit) {
+        String normalizedQuery = normalize(query);
+        List<UserSummary> results = new ArrayList<>();
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return new UserSearchPage(results, null);
+        }
+        byte[] prefix = normalizedQuery.getBytes(StandardCharsets.UTF_8);
+        Iterator<byte[]> keys = cursor == null
+            ? index.scan(prefix, true)
+            : index.scan(cursor.getBytes(StandardCharsets.ISO_8859_1), false);
+        
+        // Each user's terms are normalized once per page, however many of their keys are read
+        Map<Integer, byte[][]> termsRead = new HashMap<>();
+        byte[] lastKey = null;
+        boolean more = false;
+        while (keys.hasNext()) {
+            byte[] key = keys.next();
+            if (!startsWith(key, prefix)) {
+                break;
+            }
+            int ordinal = ordinalOf(key);
+            UserSummary user = users.get(ordinal);
+            if (user == null || !isFirstMatch(
+                    termsRead.computeIfAbsent(ordinal, o -> termBytes(user)), key, prefix)) {
+                continue;
+            }
+            // Read past a full page until a real match turns up, so duplicates never yield an empty page
+            if (results.size() == limit) {
+                more = true;
+                break;
+            }
+            results.add(user);
+            lastKey = key;
+        }
+        // The cursor is the last key returned, carried losslessly as Latin-1
+        String nextCursor = more ? new String(lastKey, StandardCharsets.ISO_8859_1) : null;
+        return new UserSearchPage(results, nextCursor);
+    }
+    
+    @Override
+    public synchronized void upsert(UserSummary user) {
+        Integer ordinal = ordinals.get(user.getUserId());
+        if (ordinal == null) {
+            ordinal = users.size();
+            users.add(null);
+            ordinals.put(user.getUserId(), ordinal);
+        }
+        Set<String> newTerms = terms(user);
+        UserSummary previous = users.get(ordinal);
+        if (previous != null) {
+            Set<String> oldTerms = terms(previous);
+            for (String term : oldTerms) {
+                if (!newTerms.contains(term)) {
+                    index.remove(key(term, ordinal));
+                }
+            }
+            newTerms.removeAll(oldTerms);
+        }
+        for (String term : newTerms) {
+            index.add(key(term, ordinal));
+        }
+        users.set(ordinal, user);
+    }
+    
+    @Override
+    public synchronized void remove(String userId) {
+        Integer ordinal = ordinals.remove(userId);
+        if (ordinal == null) {
+            return;
+        }
+        // Ordinals are not reused, so stale cursors can never point at another user
+        for (String term : terms(users.get(ordinal))) {
+            index.remove(key(term, ordinal));
+        }
+        users.set(ordinal, null);
+    }
+    
+    public synchronized int size() {
+        return ordinals.size();
+    }
+    
+    /**
+     * Approximate heap bytes used by the search index, excluding the user records
+     */
+    public synchronized long indexMemoryBytes() {
+        return index.memoryBytes();
+    }
+    
+    /**
+     * Lowercase, strip accents and collapse whitespace
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(
+            Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    private static Set<String> terms(UserSummary user) {
+        Set<String> terms = new LinkedHashSet<>();
+        String name = normalize(user.getName());
+        if (!name.isEmpty()) {
+            terms.add(name);
+            for (String word : NON_WORD.split(name)) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        String email = normalize(user.getEmail());
+        if (!email.isEmpty()) {
+            terms.add(email);
+        }
+        return terms;
+    }
+    
+    private static byte[] key(String term, int ordinal) {
+        byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[termBytes.length + 5];
+        System.arraycopy(termBytes, 0, key, 0, termBytes.length);
+        int offset = termBytes.length + 1;
+        key[offset] = (byte) (ordinal >>> 24);
+        key[offset + 1] = (byte) (ordinal >>> 16);
+        key[offset + 2] = (byte) (ordinal >>> 8);
+        key[offset + 3] = (byte) ordinal;
+        return key;
+    }
+    
+    private static int ordinalOf(byte[] key) {
+        int offset = key.length - 4;
+        return ((key[offset] & 0xFF) << 24) | ((key[offset + 1] & 0xFF) << 16)
+            | ((key[offset + 2] & 0xFF) << 8) | (key[offset + 3] & 0xFF);
+    }
+    
+    private static byte[][] termBytes(UserSummary user) {
+        Set<String> terms = terms(user);
+        byte[][] bytes = new byte[terms.size()][];
+        int i = 0;
+        for (String term : terms) {
+            bytes[i++] = term.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+    
+    /**
+     * Whether this key's term is the user's smallest term matching the prefix
+     */
+    private static boolean isFirstMatch(byte[][] userTerms, byte[] key, byte[] prefix) {
+        byte[] keyTerm = Arrays.copyOf(key, key.length - 5);
+        for (byte[] term : userTerms) {
+            if (startsWith(term, prefix)
+                    && FrontCodedTable.compare(term, 0, term.length, keyTerm) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
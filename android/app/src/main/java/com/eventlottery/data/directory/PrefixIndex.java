@@ -0,0 +1,130 @@
+package com.eventlottery.data.directory;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * PrefixIndex - Sorted key set: a front-coded base table plus a small mutable delta
+ * 
+ * Inserts and deletes go to a TreeMap delta (deletes as tombstones), so an
+ * update is O(log d) instead of rebuilding the compressed table. Scans
+ * merge both sorted sources. Once the delta grows past an eighth of the
+ * base, both are merged into a new base table in one linear pass.
+ * Not thread-safe; callers synchronize.
+ */
+final class PrefixIndex {
+    
+    static final Comparator<byte[]> ORDER =
+        (a, b) -> FrontCodedTable.compare(a, 0, a.length, b);
+    
+    private static final int MIN_DELTA_BEFORE_COMPACTION = 4096;
+    private static final byte[] EMPTY = new byte[0];
+    
+    private FrontCodedTable base = FrontCodedTable.build(Collections.emptyIterator());
+    private final TreeMap<byte[], Boolean> delta = new TreeMap<>(ORDER);
+    
+    PrefixIndex() {
+    }
+    
+    /**
+     * Replace the contents with keys already in ascending order, e.g. for a bulk load
+     */
+    void load(Iterator<byte[]> sortedKeys) {
+        base = FrontCodedTable.build(sortedKeys);
+        delta.clear();
+    }
+    
+    void add(byte[] key) {
+        delta.put(key, Boolean.TRUE);
+        maybeCompact();
+    }
+    
+    void remove(byte[] key) {
+        delta.put(key, Boolean.FALSE);
+        maybeCompact();
+    }
+    
+    /**
+     * Live keys at or after from (strictly after when inclusive is false), in order
+     */
+    Iterator<byte[]> scan(byte[] from, boolean inclusive) {
+        return new MergedIterator(base.iterator(from, inclusive),
+            delta.tailMap(from, inclusive).entrySet().iterator());
+    }
+    
+    void compact() {
+        if (!delta.isEmpty()) {
+            base = FrontCodedTable.build(scan(EMPTY, true));
+            delta.clear();
+        }
+    }
+    
+    /**
+     * Approximate heap bytes: the encoded table plus ~64 bytes of TreeMap overhead per delta entry
+     */
+    long memoryBytes() {
+        long deltaBytes = 0;
+        for (byte[] key : delta.keySet()) {
+            deltaBytes += 64 + key.length;
+        }
+        return base.memoryBytes() + deltaBytes;
+    }
+    
+    private void maybeCompact() {
+        if (delta.size() > Math.max(MIN_DELTA_BEFORE_COMPACTION, base.size() / 8)) {
+            compact();
+        }
+    }
+    
+    private static final class MergedIterator implements Iterator<byte[]> {
+        private final Iterator<byte[]> baseKeys;
+        private final Iterator<Map.Entry<byte[], Boolean>> deltaEntries;
+        private byte[] baseHead;
+        private Map.Entry<byte[], Boolean> deltaHead;
+        private byte[] peeked;
+        
+        MergedIterator(Iterator<byte[]> baseKeys, Iterator<Map.Entry<byte[], Boolean>> deltaEntries) {
+            this.baseKeys = baseKeys;
+            this.deltaEntries = deltaEntries;
+            this.baseHead = baseKeys.hasNext() ? baseKeys.next() : null;
+            this.deltaHead = deltaEntries.hasNext() ? deltaEntries.next() : null;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (peeked == null && (baseHead != null || deltaHead != null)) {
+                int comparison = baseHead == null ? 1
+                    : deltaHead == null ? -1
+                    : ORDER.compare(baseHead, deltaHead.getKey());
+                if (comparison < 0) {
+                    peeked = baseHead;
+                    baseHead = baseKeys.hasNext() ? baseKeys.next() : null;
+                } else {
+                    // The delta overrides an equal base key
+                    if (comparison == 0) {
+                        baseHead = baseKeys.hasNext() ? baseKeys.next() : null;
+                    }
+                    if (deltaHead.getValue()) {
+                        peeked = deltaHead.getKey();
+                    }
+                    deltaHead = deltaEntries.hasNext() ? deltaEntries.next() : null;
+                }
+            }
+            return peeked != null;
+        }
+        
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            byte[] key = peeked;
+            peeked = null;
+            return key;
+        }
+    }
+}
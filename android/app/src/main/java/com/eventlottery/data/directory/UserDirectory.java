@@ -0,0 +1,29 @@
+package com.eventlottery.data.directory;
+
+import java.io.IOException;
+
+/**
+ * UserDirectory - Prefix search over every registered user, for the admin Manage Users screen
+ * 
+ * Calls block and must be made off the main thread. A backend search
+ * service and LocalUserDirectory both sit behind this interface.
+ */
+public interface UserDirectory {
+    
+    /**
+     * Users whose name (any word, or the full name) or email starts with the query
+     * 
+     * Case and accents are ignored. Results are ordered by the matching term
+     * and each user appears once across all pages of a query.
+     * 
+     * @param cursor null for the first page, otherwise the previous page's nextCursor
+     */
+    UserSearchPage search(String query, String cursor, int limit) throws IOException;
+    
+    /**
+     * Add a user or replace their indexed name and email
+     */
+    void upsert(UserSummary user) throws IOException;
+    
+    void remove(String userId) throws IOException;
+}
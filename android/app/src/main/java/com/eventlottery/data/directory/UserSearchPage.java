@@ -0,0 +1,31 @@
+package com.eventlottery.data.directory;
+
+import java.util.List;
+
+/**
+ * UserSearchPage - One page of directory search results
+ * 
+ * nextCursor is null on the last page; pass it back to continue the same query.
+ */
+public class UserSearchPage {
+    
+    private final List<UserSummary> users;
+    private final String nextCursor;
+    
+    public UserSearchPage(List<UserSummary> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<UserSummary> getUsers() {
+        return users;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+}
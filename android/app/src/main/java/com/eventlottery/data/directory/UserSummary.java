@@ -0,0 +1,29 @@
+package com.eventlottery.data.directory;
+
+/**
+ * UserSummary - The fields of a user shown and searched in the admin user directory
+ */
+public class UserSummary {
+    
+    private final String userId;
+    private final String name;
+    private final String email;
+    
+    public UserSummary(String userId, String name, String email) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+}
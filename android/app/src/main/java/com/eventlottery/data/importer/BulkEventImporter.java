@@ -0,0 +1,195 @@
+package com.eventlottery.data.importer;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.repositories.EventRepository;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * BulkEventImporter - Streaming, parallel import of many events from one file
+ * 
+ * Used by organizers creating a recurring program at once. The calling thread
+ * reads the file in chunks, worker threads convert and validate each chunk,
+ * and valid events are written to the repository in large batches in file
+ * order. At most a few chunks are in flight, so apart from the set of ids
+ * already seen, memory stays bounded no matter how large the file is.
+ * 
+ * Every row becomes a new open event owned by the importing organizer, so
+ * an import can never replace existing events. Ids in the file only have
+ * to be unique within it; a repeated one rejects the later row.
+ * 
+ * Call from a background thread; {@link #importEvents(EventRowReader, String)} blocks.
+ */
+public class BulkEventImporter {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    
+    private final EventRepository repository;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxChunksInFlight;
+    
+    /**
+     * @param executor pool used for conversion and validation; not shut down by the importer
+     * @param parallelism number of worker threads in the pool, used to bound in-flight chunks
+     */
+    public BulkEventImporter(EventRepository repository, ExecutorService executor,
+                             int parallelism, int chunkSize, int batchSize) {
+        if (chunkSize <= 0 || batchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("chunkSize, batchSize and parallelism must be positive");
+        }
+        this.repository = repository;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxChunksInFlight = parallelism * 2;
+    }
+    
+    public BulkEventImporter(EventRepository repository, ExecutorService executor,
+                             int parallelism) {
+        this(repository, executor, parallelism, DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Import every row the reader produces as events owned by organizerId
+     * 
+     * Invalid rows are reported and skipped; they never block valid rows.
+     * 
+     * @param organizerId the signed-in organizer running the import
+     * @throws IOException if reading the file or writing to the repository fails;
+     *                     batches written before the failure stay written
+     */
+    public ImportReport importEvents(EventRowReader reader, String organizerId) throws IOException {
+        if (organizerId == null || organizerId.isEmpty()) {
+            throw new IllegalArgumentException("organizerId is required");
+        }
+        long startedAt = System.nanoTime();
+        ImportReport report = new ImportReport();
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        List<Event> batch = new ArrayList<>(batchSize);
+        Map<String, Integer> seenIds = new HashMap<>();
+        
+        try {
+            List<RawEventRow> chunk = new ArrayList<>(chunkSize);
+            RawEventRow row;
+            while ((row = reader.next()) != null) {
+                String sourceId = row.getSourceId();
+                if (sourceId != null && row.getReadError() == null) {
+                    Integer firstRow = seenIds.putIfAbsent(sourceId, row.getRowNumber());
+                    if (firstRow != null) {
+                        row = RawEventRow.failed(row.getRowNumber(),
+                            "id " + sourceId + " repeats row " + firstRow);
+                    }
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    if (inFlight.size() == maxChunksInFlight) {
+                        collect(inFlight.removeFirst(), report, batch);
+                    }
+                    inFlight.addLast(submit(chunk, organizerId));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.addLast(submit(chunk, organizerId));
+            }
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.removeFirst(), report, batch);
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, report);
+            }
+        } finally {
+            for (Future<ChunkResult> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+        
+        report.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000L);
+        return report;
+    }
+    
+    private Future<ChunkResult> submit(List<RawEventRow> chunk, String organizerId) {
+        return executor.submit(() -> validateChunk(chunk, organizerId));
+    }
+    
+    private static ChunkResult validateChunk(List<RawEventRow> chunk, String organizerId) {
+        ChunkResult result = new ChunkResult(chunk.size());
+        for (RawEventRow row : chunk) {
+            if (row.getReadError() != null) {
+                List<String> messages = new ArrayList<>(1);
+                messages.add(row.getReadError());
+                result.errors.add(new ImportReport.RowError(row.getRowNumber(), messages));
+                continue;
+            }
+            List<String> messages = new ArrayList<>(0);
+            Event event = row.toEvent(organizerId, messages);
+            if (messages.isEmpty()) {
+                messages = EventValidator.validate(event);
+            }
+            if (messages.isEmpty()) {
+                result.events.add(event);
+            } else {
+                result.errors.add(new ImportReport.RowError(row.getRowNumber(), messages));
+            }
+        }
+        return result;
+    }
+    
+    private void collect(Future<ChunkResult> future, ImportReport report,
+                         List<Event> batch) throws IOException {
+        ChunkResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Validation failed", e.getCause());
+        }
+        
+        report.addRows(result.rowCount);
+        for (ImportReport.RowError error : result.errors) {
+            report.addError(error);
+        }
+        for (Event event : result.events) {
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                writeBatch(batch, report);
+            }
+        }
+    }
+    
+    private void writeBatch(List<Event> batch, ImportReport report) throws IOException {
+        long now = System.currentTimeMillis();
+        for (Event event : batch) {
+            event.setCreatedAt(now);
+            event.setUpdatedAt(now);
+        }
+        repository.saveEvents(new ArrayList<>(batch));
+        report.addImported(batch.size());
+        batch.clear();
+    }
+    
+    private static class ChunkResult {
+        final int rowCount;
+        final List<Event> events;
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+        
+        ChunkResult(int rowCount) {
+            this.rowCount = rowCount;
+            this.events = new ArrayList<>(rowCount);
+        }
+    }
+}
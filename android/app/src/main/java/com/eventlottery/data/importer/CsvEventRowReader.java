@@ -0,0 +1,90 @@
+package com.eventlottery.data.importer;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvEventRowReader - Streams events from a CSV import file with OpenCSV
+ * 
+ * The first line is a header naming Event fields. Tags go in a single
+ * "tags" column separated by '|'. Row numbers count data rows from 1.
+ */
+public class CsvEventRowReader implements EventRowReader {
+    
+    private static final String TAG_SEPARATOR = "\\|";
+    
+    private final CSVReader reader;
+    private String[] header;
+    private int rowNumber;
+    
+    public CsvEventRowReader(Reader input) {
+        this.reader = new CSVReader(input);
+    }
+    
+    @Override
+    public RawEventRow next() throws IOException {
+        if (header == null) {
+            header = readLine();
+            if (header == null) {
+                return null;
+            }
+            for (int i = 0; i < header.length; i++) {
+                header[i] = header[i].trim();
+            }
+        }
+        
+        String[] line;
+        try {
+            line = readLine();
+        } catch (IOException e) {
+            if (e.getCause() instanceof CsvValidationException) {
+                return RawEventRow.failed(++rowNumber, e.getCause().getMessage());
+            }
+            throw e;
+        }
+        if (line == null) {
+            return null;
+        }
+        
+        rowNumber++;
+        if (line.length != header.length) {
+            return RawEventRow.failed(rowNumber, "expected " + header.length
+                + " columns but found " + line.length);
+        }
+        
+        Map<String, String> fields = new HashMap<>();
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < header.length; i++) {
+            if (RawEventRow.FIELD_TAGS.equals(header[i])) {
+                for (String tag : line[i].split(TAG_SEPARATOR)) {
+                    String trimmed = tag.trim();
+                    if (!trimmed.isEmpty()) {
+                        tags.add(trimmed);
+                    }
+                }
+            } else if (!line[i].isEmpty()) {
+                fields.put(header[i], line[i]);
+            }
+        }
+        return new RawEventRow(rowNumber, fields, tags);
+    }
+    
+    private String[] readLine() throws IOException {
+        try {
+            return reader.readNext();
+        } catch (CsvValidationException e) {
+            throw new IOException(e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
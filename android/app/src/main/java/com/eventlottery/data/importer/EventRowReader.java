@@ -0,0 +1,17 @@
+package com.eventlottery.data.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * EventRowReader - Streams rows out of an import file one at a time
+ */
+public interface EventRowReader extends Closeable {
+    
+    /**
+     * Read the next row, or null at end of input
+     * 
+     * @throws IOException if the underlying stream fails or the file structure is unrecoverable
+     */
+    RawEventRow next() throws IOException;
+}
@@ -0,0 +1,157 @@
+package com.eventlottery.data.importer;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EventValidator - Field rules shared by event creation and bulk import
+ * 
+ * Stateless and thread-safe. Date and time strings are parsed by hand
+ * because java.time needs API 26 and SimpleDateFormat is not thread-safe.
+ */
+public final class EventValidator {
+    
+    public static final int MIN_GEOLOCATION_RADIUS_KM = 1;
+    public static final int MAX_GEOLOCATION_RADIUS_KM = 500;
+    
+    private EventValidator() {
+    }
+    
+    /**
+     * Validate an event, returning an empty list when it is acceptable
+     */
+    public static List<String> validate(Event event) {
+        List<String> errors = new ArrayList<>(0);
+        
+        if (isBlank(event.getName())) {
+            errors.add("name is required");
+        }
+        if (!isValidDate(event.getDate())) {
+            errors.add("date must be YYYY-MM-DD");
+        }
+        int start = parseMinutes(event.getTime());
+        if (start < 0) {
+            errors.add("time must be HH:mm");
+        }
+        if (!isBlank(event.getEndTime())) {
+            int end = parseMinutes(event.getEndTime());
+            if (end < 0) {
+                errors.add("endTime must be HH:mm");
+            } else if (start >= 0 && end <= start) {
+                errors.add("endTime must be after time");
+            }
+        }
+        if (isBlank(event.getLocation())) {
+            errors.add("location is required");
+        }
+        
+        if (event.getCapacity() < 1) {
+            errors.add("capacity must be at least 1");
+        }
+        Integer waitlistLimit = event.getWaitlistLimit();
+        if (waitlistLimit != null && waitlistLimit < 1) {
+            errors.add("waitlistLimit must be at least 1 when set");
+        }
+        if (event.getPrice() < 0 || Double.isNaN(event.getPrice())) {
+            errors.add("price must not be negative");
+        }
+        
+        if (event.getRegistrationOpens() <= 0) {
+            errors.add("registrationOpens is required");
+        }
+        if (event.getRegistrationCloses() <= event.getRegistrationOpens()) {
+            errors.add("registrationCloses must be after registrationOpens");
+        }
+        Long lotteryDrawDate = event.getLotteryDrawDate();
+        if (lotteryDrawDate != null && lotteryDrawDate < event.getRegistrationCloses()) {
+            errors.add("lotteryDrawDate must not be before registrationCloses");
+        }
+        
+        Integer radius = event.getGeolocationRadius();
+        if (radius != null
+            && (radius < MIN_GEOLOCATION_RADIUS_KM || radius > MAX_GEOLOCATION_RADIUS_KM)) {
+            errors.add("geolocationRadius must be between " + MIN_GEOLOCATION_RADIUS_KM
+                + " and " + MAX_GEOLOCATION_RADIUS_KM + " km");
+        }
+        if (event.isGeolocationEnabled()) {
+            Double lat = event.getGeolocationLat();
+            Double lng = event.getGeolocationLng();
+            if (radius == null || lat == null || lng == null) {
+                errors.add("geolocation requires geolocationRadius, geolocationLat and geolocationLng");
+            } else if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+                errors.add("geolocation coordinates are out of range");
+            }
+        }
+        
+        String status = event.getStatus();
+        if (!"open".equals(status) && !"closed".equals(status)
+            && !"lottery_drawn".equals(status) && !"completed".equals(status)) {
+            errors.add("status must be open, closed, lottery_drawn or completed");
+        }
+        return errors;
+    }
+    
+    /**
+     * Check a YYYY-MM-DD calendar date, including month lengths and leap years
+     */
+    static boolean isValidDate(String value) {
+        if (value == null || value.length() != 10
+            || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return false;
+        }
+        int year = parseDigits(value, 0, 4);
+        int month = parseDigits(value, 5, 7);
+        int day = parseDigits(value, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= daysInMonth(year, month);
+    }
+    
+    /**
+     * Parse HH:mm into minutes after midnight, or -1 if malformed
+     */
+    public static int parseMinutes(String value) {
+        if (value == null || value.length() != 5 || value.charAt(2) != ':') {
+            return -1;
+        }
+        int hours = parseDigits(value, 0, 2);
+        int minutes = parseDigits(value, 3, 5);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+            return -1;
+        }
+        return hours * 60 + minutes;
+    }
+    
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+    
+    private static int parseDigits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventlottery.data.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ImportReport - Outcome of a bulk import
+ * 
+ * Per-row errors are kept up to {@link #MAX_RECORDED_ERRORS} so a badly
+ * formatted 50k-row file cannot exhaust memory; the total count is always exact.
+ */
+public class ImportReport {
+    
+    public static final int MAX_RECORDED_ERRORS = 1000;
+    
+    /**
+     * Problems found in a single input row
+     */
+    public static class RowError {
+        
+        private final int rowNumber;
+        private final List<String> messages;
+        
+        public RowError(int rowNumber, List<String> messages) {
+            this.rowNumber = rowNumber;
+            this.messages = Collections.unmodifiableList(messages);
+        }
+        
+        public int getRowNumber() {
+            return rowNumber;
+        }
+        
+        public List<String> getMessages() {
+            return messages;
+        }
+        
+        @Override
+        public String toString() {
+            return "Row " + rowNumber + ": " + String.join("; ", messages);
+        }
+    }
+    
+    private final List<RowError> errors = new ArrayList<>();
+    private int totalRows;
+    private int importedRows;
+    private int rejectedRows;
+    private long elapsedMillis;
+    
+    void addRows(int rows) {
+        totalRows += rows;
+    }
+    
+    void addImported(int rows) {
+        importedRows += rows;
+    }
+    
+    void addError(RowError error) {
+        rejectedRows++;
+        if (errors.size() < MAX_RECORDED_ERRORS) {
+            errors.add(error);
+        }
+    }
+    
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public int getTotalRows() {
+        return totalRows;
+    }
+    
+    public int getImportedRows() {
+        return importedRows;
+    }
+    
+    public int getRejectedRows() {
+        return rejectedRows;
+    }
+    
+    /**
+     * Errors in row order, truncated to MAX_RECORDED_ERRORS entries
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    /**
+     * Rows processed per second over the whole import
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? totalRows : totalRows * 1000.0 / elapsedMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d rows: %d imported, %d rejected in %d ms (%.0f rows/s)",
+            totalRows, importedRows, rejectedRows, elapsedMillis, getRowsPerSecond());
+    }
+}
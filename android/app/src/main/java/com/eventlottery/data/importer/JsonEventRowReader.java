@@ -0,0 +1,105 @@
+package com.eventlottery.data.importer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonEventRowReader - Streams events from a JSON import file with Gson's JsonReader
+ * 
+ * Accepts either a top-level array of event objects or an object with an
+ * "events" array. Only the current event is held in memory. Field names match
+ * the Event model; "tags" is an array of strings.
+ */
+public class JsonEventRowReader implements EventRowReader {
+    
+    private final JsonReader reader;
+    private boolean started;
+    private boolean finished;
+    private int rowNumber;
+    
+    public JsonEventRowReader(Reader input) {
+        this.reader = new JsonReader(input);
+    }
+    
+    @Override
+    public RawEventRow next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            openEventArray();
+        }
+        if (!reader.hasNext()) {
+            finished = true;
+            return null;
+        }
+        
+        rowNumber++;
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return RawEventRow.failed(rowNumber, "row is not a JSON object");
+        }
+        
+        Map<String, String> fields = new HashMap<>();
+        List<String> tags = new ArrayList<>();
+        String error = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (RawEventRow.FIELD_TAGS.equals(name) && token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.STRING) {
+                        tags.add(reader.nextString());
+                    } else {
+                        reader.skipValue();
+                        error = "tags must be strings";
+                    }
+                }
+                reader.endArray();
+            } else if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                fields.put(name, reader.nextString());
+            } else if (token == JsonToken.BOOLEAN) {
+                fields.put(name, String.valueOf(reader.nextBoolean()));
+            } else if (token == JsonToken.NULL) {
+                reader.nextNull();
+            } else {
+                reader.skipValue();
+                error = name + " has an unsupported type";
+            }
+        }
+        reader.endObject();
+        
+        return error != null
+            ? RawEventRow.failed(rowNumber, error)
+            : new RawEventRow(rowNumber, fields, tags);
+    }
+    
+    private void openEventArray() throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("events".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    return;
+                }
+                reader.skipValue();
+            }
+            throw new IOException("JSON object has no \"events\" array");
+        }
+        reader.beginArray();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventlottery.data.importer;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RawEventRow - One tokenized but unconverted row from an import file
+ * 
+ * Readers only split the file into field strings on the reading thread;
+ * number parsing and validation run later on worker threads via
+ * {@link #toEvent(String, List)}.
+ */
+public class RawEventRow {
+    
+    public static final String FIELD_TAGS = "tags";
+    
+    private final int rowNumber;
+    private final Map<String, String> fields;
+    private final List<String> tags;
+    private final String readError;
+    
+    public RawEventRow(int rowNumber, Map<String, String> fields, List<String> tags) {
+        this.rowNumber = rowNumber;
+        this.fields = fields;
+        this.tags = tags;
+        this.readError = null;
+    }
+    
+    private RawEventRow(int rowNumber, String readError) {
+        this.rowNumber = rowNumber;
+        this.fields = new HashMap<>();
+        this.tags = new ArrayList<>();
+        this.readError = readError;
+    }
+    
+    /**
+     * A row that could not be tokenized at all
+     */
+    public static RawEventRow failed(int rowNumber, String readError) {
+        return new RawEventRow(rowNumber, readError);
+    }
+    
+    public int getRowNumber() {
+        return rowNumber;
+    }
+    
+    public String getReadError() {
+        return readError;
+    }
+    
+    /**
+     * The id column as written in the file, or null if the row has none
+     * 
+     * It only identifies the row within its file; imported events never keep it.
+     */
+    public String getSourceId() {
+        String id = fields.get("id");
+        return id == null || id.trim().isEmpty() ? null : id.trim();
+    }
+    
+    /**
+     * Convert the fields into a new Event, appending conversion errors to errors
+     * 
+     * An import only ever creates events: the id is always generated, the
+     * organizer is the importing one whatever the file says, the status
+     * starts at open, and counters and timestamps managed by the backend
+     * are reset.
+     */
+    public Event toEvent(String organizerId, List<String> errors) {
+        Event event = new Event();
+        event.setId(UUID.randomUUID().toString());
+        event.setName(text("name"));
+        event.setDescription(text("description"));
+        event.setOrganizerId(organizerId);
+        event.setDate(text("date"));
+        event.setTime(text("time"));
+        event.setEndTime(text("endTime"));
+        event.setLocation(text("location"));
+        event.setLocationAddress(text("locationAddress"));
+        event.setTags(tags);
+        event.setPosterImageUrl(fields.get("posterImageUrl"));
+        event.setGeolocationEnabled(Boolean.parseBoolean(fields.get("geolocationEnabled")));
+        event.setStatus("open");
+        
+        Integer capacity = parseInt("capacity", errors);
+        event.setCapacity(capacity != null ? capacity : 0);
+        event.setWaitlistLimit(parseInt("waitlistLimit", errors));
+        event.setGeolocationRadius(parseInt("geolocationRadius", errors));
+        event.setGeolocationLat(parseDouble("geolocationLat", errors));
+        event.setGeolocationLng(parseDouble("geolocationLng", errors));
+        Double price = parseDouble("price", errors);
+        event.setPrice(price != null ? price : 0.0);
+        Long opens = parseLong("registrationOpens", errors);
+        event.setRegistrationOpens(opens != null ? opens : 0L);
+        Long closes = parseLong("registrationCloses", errors);
+        event.setRegistrationCloses(closes != null ? closes : 0L);
+        event.setLotteryDrawDate(parseLong("lotteryDrawDate", errors));
+        return event;
+    }
+    
+    private String text(String field) {
+        String value = fields.get(field);
+        return value != null ? value.trim() : "";
+    }
+    
+    private Integer parseInt(String field, List<String> errors) {
+        String value = fields.get(field);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            errors.add(field + " is not a whole number: " + value);
+            return null;
+        }
+    }
+    
+    private Long parseLong(String field, List<String> errors) {
+        String value = fields.get(field);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            errors.add(field + " is not an epoch millisecond timestamp: " + value);
+            return null;
+        }
+    }
+    
+    private Double parseDouble(String field, List<String> errors) {
+        String value = fields.get(field);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            errors.add(field + " is not a number: " + value);
+            return null;
+        }
+    }
+}
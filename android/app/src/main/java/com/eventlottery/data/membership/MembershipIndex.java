@@ -0,0 +1,180 @@
+package com.eventlottery.data.membership;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * MembershipIndex - One user's events grouped by My Events tab
+ * 
+ * Replaces "load every event and check whether the user is on it" with an
+ * index maintained from the user's own join/leave/draw/confirm transitions.
+ * Each tab is a sorted set ordered newest first by the time the event
+ * entered that state, so a page is served in O(log n + page size) from a
+ * cursor, tab counts are O(1), and a transition is O(log n) plus one journal
+ * append. The journal is compacted once it grows well past the live size.
+ */
+public class MembershipIndex {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    
+    /** Compact when the journal holds this many lines more than twice the live entries */
+    private static final int COMPACTION_SLACK = 64;
+    
+    private static final Comparator<Entry> NEWEST_FIRST = (a, b) -> {
+        int byTime = Long.compare(b.since, a.since);
+        return byTime != 0 ? byTime : a.eventId.compareTo(b.eventId);
+    };
+    
+    private static final class Entry {
+        final String eventId;
+        final MembershipState state;
+        final long since;
+        
+        Entry(String eventId, MembershipState state, long since) {
+            this.eventId = eventId;
+            this.state = state;
+            this.since = since;
+        }
+    }
+    
+    private final String userId;
+    private final MembershipStore store;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<MembershipState, NavigableSet<Entry>> byState =
+        new EnumMap<>(MembershipState.class);
+    private int journalLines;
+    
+    /**
+     * @param store journal to persist to, or null for an in-memory index
+     */
+    public MembershipIndex(String userId, MembershipStore store) {
+        this.userId = userId;
+        this.store = store;
+        for (MembershipState state : MembershipState.values()) {
+            byState.put(state, new TreeSet<>(NEWEST_FIRST));
+        }
+    }
+    
+    /**
+     * Rebuild a user's index from their journal
+     */
+    public static MembershipIndex load(String userId, MembershipStore store) throws IOException {
+        MembershipIndex index = new MembershipIndex(userId, store);
+        List<MembershipStore.Record> records = store.load();
+        for (MembershipStore.Record record : records) {
+            index.put(record.eventId, record.state, record.at);
+        }
+        index.journalLines = records.size();
+        return index;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    /**
+     * Apply a transition observed at the given time
+     * 
+     * @return true if the event changed tabs
+     */
+    public synchronized boolean apply(String eventId, MembershipTransition transition,
+                                      long timestamp) throws IOException {
+        Entry current = entries.get(eventId);
+        MembershipState next = transition.apply(current != null ? current.state : null);
+        if (current == null ? next == null : current.state == next) {
+            return false;
+        }
+        // Persist first so a failed write leaves memory and disk in agreement
+        if (store != null) {
+            store.append(new MembershipStore.Record(eventId, next, timestamp));
+            journalLines++;
+        }
+        put(eventId, next, timestamp);
+        if (store != null && journalLines > 2 * entries.size() + COMPACTION_SLACK) {
+            compact();
+        }
+        return true;
+    }
+    
+    public synchronized MembershipState getState(String eventId) {
+        Entry entry = entries.get(eventId);
+        return entry != null ? entry.state : null;
+    }
+    
+    /**
+     * Number of events in a tab, for the tab title
+     */
+    public synchronized int count(MembershipState state) {
+        return byState.get(state).size();
+    }
+    
+    /**
+     * Next page of a tab, newest first
+     * 
+     * @param cursor null for the first page, otherwise the previous page's nextCursor
+     */
+    public synchronized MembershipPage page(MembershipState state, String cursor, int limit) {
+        NavigableSet<Entry> tab = byState.get(state);
+        Iterator<Entry> iterator = cursor == null
+            ? tab.iterator()
+            : tab.tailSet(parseCursor(cursor, state), false).iterator();
+        List<String> eventIds = new ArrayList<>(Math.min(limit, tab.size()));
+        Entry last = null;
+        while (eventIds.size() < limit && iterator.hasNext()) {
+            last = iterator.next();
+            eventIds.add(last.eventId);
+        }
+        String nextCursor = last != null && iterator.hasNext()
+            ? last.since + ":" + last.eventId
+            : null;
+        return new MembershipPage(eventIds, nextCursor);
+    }
+    
+    /**
+     * Rewrite the journal to one line per live event
+     */
+    public synchronized void compact() throws IOException {
+        if (store == null) {
+            return;
+        }
+        List<MembershipStore.Record> records = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            records.add(new MembershipStore.Record(entry.eventId, entry.state, entry.since));
+        }
+        store.rewrite(records);
+        journalLines = records.size();
+    }
+    
+    private void put(String eventId, MembershipState state, long since) {
+        Entry previous = state != null
+            ? entries.put(eventId, new Entry(eventId, state, since))
+            : entries.remove(eventId);
+        if (previous != null) {
+            byState.get(previous.state).remove(previous);
+        }
+        if (state != null) {
+            byState.get(state).add(entries.get(eventId));
+        }
+    }
+    
+    private static Entry parseCursor(String cursor, MembershipState state) {
+        int separator = cursor.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        try {
+            long since = Long.parseLong(cursor.substring(0, separator));
+            return new Entry(cursor.substring(separator + 1), state, since);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+}
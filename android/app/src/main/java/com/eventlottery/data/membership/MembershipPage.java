@@ -0,0 +1,32 @@
+package com.eventlottery.data.membership;
+
+import java.util.List;
+
+/**
+ * MembershipPage - One page of event ids for a My Events tab
+ * 
+ * nextCursor is null on the last page; pass it back to
+ * MembershipIndex.page to continue.
+ */
+public class MembershipPage {
+    
+    private final List<String> eventIds;
+    private final String nextCursor;
+    
+    public MembershipPage(List<String> eventIds, String nextCursor) {
+        this.eventIds = eventIds;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<String> getEventIds() {
+        return eventIds;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventlottery.data.membership;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * MembershipRecordTypeAdapter - Explicit JSON mapping for membership journal lines
+ * 
+ * The journal outlives app updates and release builds are minified, so
+ * field and enum names are fixed strings here rather than taken from
+ * reflection, matching the original journal format. An absent or null
+ * state is a removal; an unknown state reads as a null record, which
+ * MembershipStore drops rather than mistaking it for one.
+ */
+final class MembershipRecordTypeAdapter extends TypeAdapter<MembershipStore.Record> {
+    
+    @Override
+    public void write(JsonWriter out, MembershipStore.Record record) throws IOException {
+        if (record == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("eventId").value(record.eventId);
+        if (record.state != null) {
+            out.name("state").value(stateName(record.state));
+        }
+        out.name("at").value(record.at);
+        out.endObject();
+    }
+    
+    @Override
+    public MembershipStore.Record read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String eventId = null;
+        MembershipState state = null;
+        boolean unknownState = false;
+        long at = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "eventId":
+                    eventId = in.nextString();
+                    break;
+                case "state":
+                    state = parseState(in.nextString());
+                    unknownState = state == null;
+                    break;
+                case "at":
+                    at = in.nextLong();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return unknownState ? null : new MembershipStore.Record(eventId, state, at);
+    }
+    
+    private static String stateName(MembershipState state) {
+        switch (state) {
+            case WAITING:
+                return "WAITING";
+            case SELECTED:
+                return "SELECTED";
+            case CONFIRMED:
+                return "CONFIRMED";
+            case HISTORY:
+                return "HISTORY";
+            default:
+                throw new IllegalArgumentException("Unknown membership state " + state);
+        }
+    }
+    
+    private static MembershipState parseState(String name) {
+        switch (name) {
+            case "WAITING":
+                return MembershipState.WAITING;
+            case "SELECTED":
+                return MembershipState.SELECTED;
+            case "CONFIRMED":
+                return MembershipState.CONFIRMED;
+            case "HISTORY":
+                return MembershipState.HISTORY;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.eventlottery.data.membership;
+
+/**
+ * MembershipState - Where an event sits for one user; one value per My Events tab
+ */
+public enum MembershipState {
+    WAITING,
+    SELECTED,
+    CONFIRMED,
+    HISTORY
+}
@@ -0,0 +1,148 @@
+package com.eventlottery.data.membership;
+
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MembershipStore - Append-only journal backing a MembershipIndex
+ * 
+ * Each state change is appended as one JSON line, so persisting a
+ * transition costs one short write regardless of how many events the user
+ * has. Replaying the journal in order rebuilds the index; later lines for
+ * the same event win. {@link #rewrite} compacts the journal to one line per
+ * live event using the same temp-file-and-rename swap as OperationLog.
+ */
+public class MembershipStore {
+    
+    /**
+     * One journal line; a null state removes the event from the index
+     */
+    static final class Record {
+        final String eventId;
+        final MembershipState state;
+        final long at;
+        
+        Record(String eventId, MembershipState state, long at) {
+            this.eventId = eventId;
+            this.state = state;
+            this.at = at;
+        }
+    }
+    
+    private final File file;
+    private final MembershipRecordTypeAdapter adapter = new MembershipRecordTypeAdapter();
+    private boolean tailChecked;
+    
+    /**
+     * @param file journal location, typically under Context.getFilesDir()
+     */
+    public MembershipStore(File file) {
+        this.file = file;
+    }
+    
+    /**
+     * Read every journal line in write order, skipping torn or corrupt lines
+     */
+    synchronized List<Record> load() throws IOException {
+        List<Record> records = new ArrayList<>();
+        if (!file.exists()) {
+            return records;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    Record record = adapter.fromJson(line);
+                    if (record != null && record.eventId != null) {
+                        records.add(record);
+                    }
+                } catch (IOException | IllegalStateException | JsonParseException e) {
+                    // A crash mid append can leave a partial last line
+                }
+            }
+        }
+        return records;
+    }
+    
+    synchronized void append(Record record) throws IOException {
+        ensureParent();
+        if (!tailChecked) {
+            dropTornTail();
+            tailChecked = true;
+        }
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file, true), StandardCharsets.UTF_8))) {
+            writer.write(adapter.toJson(record));
+            writer.newLine();
+        }
+    }
+    
+    /**
+     * Atomically replace the journal with one line per live event
+     */
+    synchronized void rewrite(Collection<Record> records) throws IOException {
+        ensureParent();
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temp);
+             BufferedWriter writer = new BufferedWriter(
+                 new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (Record record : records) {
+                writer.write(adapter.toJson(record));
+                writer.newLine();
+            }
+            writer.flush();
+            output.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+    
+    /**
+     * Cut a partial last line left by a crash mid append; otherwise the next
+     * record would be glued onto it and lost with it on the following load.
+     * Appends from this instance always end in a newline, so this runs once.
+     */
+    private void dropTornTail() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        try (RandomAccessFile journal = new RandomAccessFile(file, "rw")) {
+            long length = journal.length();
+            long end = length;
+            while (end > 0) {
+                journal.seek(end - 1);
+                if (journal.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < length) {
+                journal.setLength(end);
+            }
+        }
+    }
+    
+    private void ensureParent() throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventlottery.data.membership;
+
+/**
+ * MembershipTransition - Change to a user's relationship with one event
+ * 
+ * Transitions that do not apply to the current state (e.g. CONFIRM while
+ * still waiting) leave it unchanged, and HISTORY is final: nothing moves
+ * an event out of it. Replaying a duplicated notification is therefore
+ * harmless, and one delivered after the event closed or the invitation
+ * was declined, such as a late JOIN or SELECT, cannot bring the event back.
+ */
+public enum MembershipTransition {
+    /** Joined the waiting list */
+    JOIN,
+    /** Left the waiting list or gave up an invitation */
+    LEAVE,
+    /** Picked in a lottery draw */
+    SELECT,
+    /** Accepted an invitation */
+    CONFIRM,
+    /** Declined an invitation */
+    DECLINE,
+    /** Event finished or was cancelled */
+    CLOSE;
+    
+    /**
+     * State after this transition; null means the event leaves the user's lists
+     */
+    public MembershipState apply(MembershipState current) {
+        switch (this) {
+            case JOIN:
+                return current == null ? MembershipState.WAITING : current;
+            case LEAVE:
+                return current == MembershipState.WAITING || current == MembershipState.SELECTED
+                    ? null : current;
+            case SELECT:
+                return current == MembershipState.WAITING ? MembershipState.SELECTED : current;
+            case CONFIRM:
+                return current == MembershipState.SELECTED ? MembershipState.CONFIRMED : current;
+            case DECLINE:
+                return current == MembershipState.SELECTED ? MembershipState.HISTORY : current;
+            case CLOSE:
+                return current == null ? null : MembershipState.HISTORY;
+            default:
+                return current;
+        }
+    }
+}
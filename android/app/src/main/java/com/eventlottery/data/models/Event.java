@@ -2,7 +2,9 @@ package com.eventlottery.data.models;
 
 import android.os.Parcel;
 import android.os.Parcelable;
-import java.util.ArrayList;
+import com.eventlottery.utils.GeoUtils;
+import com.eventlottery.utils.Interner;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,9 +12,22 @@ import java.util.List;
  * 
  * This class represents all properties and methods for an Event in the system.
  * It includes geolocation validation, waitlist management, and lottery functionality.
+ * 
+ * Memory layout: large event lists keep thousands of instances alive, so
+ * repeated strings (status, venue, dates, organizer) and tag lists are shared
+ * through {@link Interner}, and nullable numeric fields are stored as
+ * primitives with a presence bitmask. The boxed getters and setters are
+ * unchanged for callers.
  */
 public class Event implements Parcelable {
     
+    // Presence bits for nullable primitive fields
+    private static final int HAS_WAITLIST_LIMIT = 1;
+    private static final int HAS_GEOLOCATION_RADIUS = 1 << 1;
+    private static final int HAS_GEOLOCATION_LAT = 1 << 2;
+    private static final int HAS_GEOLOCATION_LNG = 1 << 3;
+    private static final int HAS_LOTTERY_DRAW_DATE = 1 << 4;
+    
     private String id;
     private String name;
     private String description;
@@ -23,25 +38,26 @@ public class Event implements Parcelable {
     private String location;
     private String locationAddress;
     private int capacity;
-    private Integer waitlistLimit; // Nullable - null means unlimited
+    private int waitlistLimit; // Nullable via HAS_WAITLIST_LIMIT - absent means unlimited
     private int waitlistCount;
     private int confirmedCount;
-    private List<String> tags;
+    private List<String> tags; // Shared immutable list from Interner
     private String posterImageUrl;
     private boolean geolocationEnabled;
-    private Integer geolocationRadius; // Nullable - in kilometers (1-500)
-    private Double geolocationLat; // Nullable
-    private Double geolocationLng; // Nullable
+    private int geolocationRadius; // Nullable via HAS_GEOLOCATION_RADIUS - in kilometers (1-500)
+    private double geolocationLat; // Nullable via HAS_GEOLOCATION_LAT
+    private double geolocationLng; // Nullable via HAS_GEOLOCATION_LNG
     private double price;
     private String status; // "open", "closed", "lottery_drawn", "completed"
     private long registrationOpens;
     private long registrationCloses;
-    private Long lotteryDrawDate; // Nullable
+    private long lotteryDrawDate; // Nullable via HAS_LOTTERY_DRAW_DATE
     private String qrCodeUrl;
     private long createdAt;
     private long updatedAt;
     private boolean isFlagged;
     private int flagCount;
+    private byte presentFields;
     
     // Default constructor
     public Event() {
@@ -55,20 +71,15 @@ public class Event implements Parcelable {
         this.location = "";
         this.locationAddress = "";
         this.capacity = 0;
-        this.waitlistLimit = null;
         this.waitlistCount = 0;
         this.confirmedCount = 0;
-        this.tags = new ArrayList<>();
+        this.tags = Collections.emptyList();
         this.posterImageUrl = null;
         this.geolocationEnabled = false;
-        this.geolocationRadius = null;
-        this.geolocationLat = null;
-        this.geolocationLng = null;
         this.price = 0.0;
         this.status = "open";
         this.registrationOpens = 0L;
         this.registrationCloses = 0L;
-        this.lotteryDrawDate = null;
         this.qrCodeUrl = null;
         this.createdAt = System.currentTimeMillis();
         this.updatedAt = System.currentTimeMillis();
@@ -90,27 +101,27 @@ public class Event implements Parcelable {
         this.id = id;
         this.name = name;
         this.description = description;
-        this.organizerId = organizerId;
-        this.date = date;
-        this.time = time;
-        this.endTime = endTime;
-        this.location = location;
-        this.locationAddress = locationAddress;
+        this.organizerId = Interner.intern(organizerId);
+        this.date = Interner.intern(date);
+        this.time = Interner.intern(time);
+        this.endTime = Interner.intern(endTime);
+        this.location = Interner.intern(location);
+        this.locationAddress = Interner.intern(locationAddress);
         this.capacity = capacity;
-        this.waitlistLimit = waitlistLimit;
+        setWaitlistLimit(waitlistLimit);
         this.waitlistCount = waitlistCount;
         this.confirmedCount = confirmedCount;
-        this.tags = tags != null ? tags : new ArrayList<>();
+        this.tags = Interner.internTags(tags);
         this.posterImageUrl = posterImageUrl;
         this.geolocationEnabled = geolocationEnabled;
-        this.geolocationRadius = geolocationRadius;
-        this.geolocationLat = geolocationLat;
-        this.geolocationLng = geolocationLng;
+        setGeolocationRadius(geolocationRadius);
+        setGeolocationLat(geolocationLat);
+        setGeolocationLng(geolocationLng);
         this.price = price;
-        this.status = status;
+        this.status = Interner.intern(status);
         this.registrationOpens = registrationOpens;
         this.registrationCloses = registrationCloses;
-        this.lotteryDrawDate = lotteryDrawDate;
+        setLotteryDrawDate(lotteryDrawDate);
         this.qrCodeUrl = qrCodeUrl;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -118,51 +129,80 @@ public class Event implements Parcelable {
         this.flagCount = flagCount;
     }
     
+    // Field-for-field copy for EventSnapshot; strings and the tag list are immutable and shared
+    Event(Event other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.organizerId = other.organizerId;
+        this.date = other.date;
+        this.time = other.time;
+        this.endTime = other.endTime;
+        this.location = other.location;
+        this.locationAddress = other.locationAddress;
+        this.capacity = other.capacity;
+        this.waitlistLimit = other.waitlistLimit;
+        this.waitlistCount = other.waitlistCount;
+        this.confirmedCount = other.confirmedCount;
+        this.tags = other.tags;
+        this.posterImageUrl = other.posterImageUrl;
+        this.geolocationEnabled = other.geolocationEnabled;
+        this.geolocationRadius = other.geolocationRadius;
+        this.geolocationLat = other.geolocationLat;
+        this.geolocationLng = other.geolocationLng;
+        this.price = other.price;
+        this.status = other.status;
+        this.registrationOpens = other.registrationOpens;
+        this.registrationCloses = other.registrationCloses;
+        this.lotteryDrawDate = other.lotteryDrawDate;
+        this.qrCodeUrl = other.qrCodeUrl;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.isFlagged = other.isFlagged;
+        this.flagCount = other.flagCount;
+        this.presentFields = other.presentFields;
+    }
+    
     // Parcelable constructor
     protected Event(Parcel in) {
         id = in.readString();
         name = in.readString();
         description = in.readString();
-        organizerId = in.readString();
-        date = in.readString();
-        time = in.readString();
-        endTime = in.readString();
-        location = in.readString();
-        locationAddress = in.readString();
+        organizerId = Interner.intern(in.readString());
+        date = Interner.intern(in.readString());
+        time = Interner.intern(in.readString());
+        endTime = Interner.intern(in.readString());
+        location = Interner.intern(in.readString());
+        locationAddress = Interner.intern(in.readString());
         capacity = in.readInt();
-        if (in.readByte() == 0) {
-            waitlistLimit = null;
-        } else {
+        if (in.readByte() != 0) {
             waitlistLimit = in.readInt();
+            presentFields |= HAS_WAITLIST_LIMIT;
         }
         waitlistCount = in.readInt();
         confirmedCount = in.readInt();
-        tags = in.createStringArrayList();
+        tags = Interner.internTags(in.createStringArrayList());
         posterImageUrl = in.readString();
         geolocationEnabled = in.readByte() != 0;
-        if (in.readByte() == 0) {
-            geolocationRadius = null;
-        } else {
+        if (in.readByte() != 0) {
             geolocationRadius = in.readInt();
+            presentFields |= HAS_GEOLOCATION_RADIUS;
         }
-        if (in.readByte() == 0) {
-            geolocationLat = null;
-        } else {
+        if (in.readByte() != 0) {
             geolocationLat = in.readDouble();
+            presentFields |= HAS_GEOLOCATION_LAT;
         }
-        if (in.readByte() == 0) {
-            geolocationLng = null;
-        } else {
+        if (in.readByte() != 0) {
             geolocationLng = in.readDouble();
+            presentFields |= HAS_GEOLOCATION_LNG;
         }
         price = in.readDouble();
-        status = in.readString();
+        status = Interner.intern(in.readString());
         registrationOpens = in.readLong();
         registrationCloses = in.readLong();
-        if (in.readByte() == 0) {
-            lotteryDrawDate = null;
-        } else {
+        if (in.readByte() != 0) {
             lotteryDrawDate = in.readLong();
+            presentFields |= HAS_LOTTERY_DRAW_DATE;
         }
         qrCodeUrl = in.readString();
         createdAt = in.readLong();
@@ -183,7 +223,7 @@ public class Event implements Parcelable {
         dest.writeString(location);
         dest.writeString(locationAddress);
         dest.writeInt(capacity);
-        if (waitlistLimit == null) {
+        if (!has(HAS_WAITLIST_LIMIT)) {
             dest.writeByte((byte) 0);
         } else {
             dest.writeByte((byte) 1);
@@ -194,19 +234,19 @@ public class Event implements Parcelable {
         dest.writeStringList(tags);
         dest.writeString(posterImageUrl);
         dest.writeByte((byte) (geolocationEnabled ? 1 : 0));
-        if (geolocationRadius == null) {
+        if (!has(HAS_GEOLOCATION_RADIUS)) {
             dest.writeByte((byte) 0);
         } else {
             dest.writeByte((byte) 1);
             dest.writeInt(geolocationRadius);
         }
-        if (geolocationLat == null) {
+        if (!has(HAS_GEOLOCATION_LAT)) {
             dest.writeByte((byte) 0);
         } else {
             dest.writeByte((byte) 1);
             dest.writeDouble(geolocationLat);
         }
-        if (geolocationLng == null) {
+        if (!has(HAS_GEOLOCATION_LNG)) {
             dest.writeByte((byte) 0);
         } else {
             dest.writeByte((byte) 1);
@@ -216,7 +256,7 @@ public class Event implements Parcelable {
         dest.writeString(status);
         dest.writeLong(registrationOpens);
         dest.writeLong(registrationCloses);
-        if (lotteryDrawDate == null) {
+        if (!has(HAS_LOTTERY_DRAW_DATE)) {
             dest.writeByte((byte) 0);
         } else {
             dest.writeByte((byte) 1);
@@ -263,7 +303,7 @@ public class Event implements Parcelable {
      * Check if waitlist is full
      */
     public boolean isWaitlistFull() {
-        if (waitlistLimit == null) {
+        if (!has(HAS_WAITLIST_LIMIT)) {
             return false; // Unlimited waitlist
         }
         return waitlistCount >= waitlistLimit;
@@ -291,32 +331,100 @@ public class Event implements Parcelable {
      * Check if user location is within geolocation radius
      */
     public boolean isWithinGeolocationRadius(double userLat, double userLng) {
-        if (!geolocationEnabled || geolocationLat == null || 
-            geolocationLng == null || geolocationRadius == null) {
+        if (!geolocationEnabled || !has(HAS_GEOLOCATION_LAT) || 
+            !has(HAS_GEOLOCATION_LNG) || !has(HAS_GEOLOCATION_RADIUS)) {
             return true; // No geolocation restriction
         }
         
-        double distance = calculateDistance(userLat, userLng, 
-                                           geolocationLat, geolocationLng);
+        double distance = GeoUtils.distanceKm(userLat, userLng, 
+                                              geolocationLat, geolocationLng);
         return distance <= geolocationRadius;
     }
     
+    private boolean has(int field) {
+        return (presentFields & field) != 0;
+    }
+    
+    private void setPresent(int field, boolean present) {
+        if (present) {
+            presentFields |= field;
+        } else {
+            presentFields &= ~field;
+        }
+    }
+    
+    // Primitive access to nullable fields for EventTypeAdapter, avoiding boxing
+    
+    boolean hasWaitlistLimit() {
+        return has(HAS_WAITLIST_LIMIT);
+    }
+    
+    int waitlistLimitValue() {
+        return waitlistLimit;
+    }
+    
+    void setWaitlistLimitValue(int value) {
+        waitlistLimit = value;
+        presentFields |= HAS_WAITLIST_LIMIT;
+    }
+    
+    boolean hasGeolocationRadius() {
+        return has(HAS_GEOLOCATION_RADIUS);
+    }
+    
+    int geolocationRadiusValue() {
+        return geolocationRadius;
+    }
+    
+    void setGeolocationRadiusValue(int value) {
+        geolocationRadius = value;
+        presentFields |= HAS_GEOLOCATION_RADIUS;
+    }
+    
+    boolean hasGeolocationLat() {
+        return has(HAS_GEOLOCATION_LAT);
+    }
+    
+    double geolocationLatValue() {
+        return geolocationLat;
+    }
+    
+    void setGeolocationLatValue(double value) {
+        geolocationLat = value;
+        presentFields |= HAS_GEOLOCATION_LAT;
+    }
+    
+    boolean hasGeolocationLng() {
+        return has(HAS_GEOLOCATION_LNG);
+    }
+    
+    double geolocationLngValue() {
+        return geolocationLng;
+    }
+    
+    void setGeolocationLngValue(double value) {
+        geolocationLng = value;
+        presentFields |= HAS_GEOLOCATION_LNG;
+    }
+    
+    boolean hasLotteryDrawDate() {
+        return has(HAS_LOTTERY_DRAW_DATE);
+    }
+    
+    long lotteryDrawDateValue() {
+        return lotteryDrawDate;
+    }
+    
+    void setLotteryDrawDateValue(long value) {
+        lotteryDrawDate = value;
+        presentFields |= HAS_LOTTERY_DRAW_DATE;
+    }
+    
     /**
-     * Calculate distance between two coordinates in kilometers using Haversine formula
+     * Adopt a list already returned by Interner.internTags without copying it again
      */
-    private double calculateDistance(double lat1, double lng1, double lat2, double lng2) {
-        final double EARTH_RADIUS_KM = 6371.0;
-        
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLng = Math.toRadians(lng2 - lng1);
-        
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                   Math.sin(dLng / 2) * Math.sin(dLng / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return EARTH_RADIUS_KM * c;
+    void setInternedTags(List<String> tags) {
+        this.tags = tags;
     }
     
     // Getters and Setters
@@ -350,7 +458,7 @@ public class Event implements Parcelable {
     }
     
     public void setOrganizerId(String organizerId) {
-        this.organizerId = organizerId;
+        this.organizerId = Interner.intern(organizerId);
     }
     
     public String getDate() {
@@ -358,7 +466,7 @@ public class Event implements Parcelable {
     }
     
     public void setDate(String date) {
-        this.date = date;
+        this.date = Interner.intern(date);
     }
     
     public String getTime() {
@@ -366,7 +474,7 @@ public class Event implements Parcelable {
     }
     
     public void setTime(String time) {
-        this.time = time;
+        this.time = Interner.intern(time);
     }
     
     public String getEndTime() {
@@ -374,7 +482,7 @@ public class Event implements Parcelable {
     }
     
     public void setEndTime(String endTime) {
-        this.endTime = endTime;
+        this.endTime = Interner.intern(endTime);
     }
     
     public String getLocation() {
@@ -382,7 +490,7 @@ public class Event implements Parcelable {
     }
     
     public void setLocation(String location) {
-        this.location = location;
+        this.location = Interner.intern(location);
     }
     
     public String getLocationAddress() {
@@ -390,7 +498,7 @@ public class Event implements Parcelable {
     }
     
     public void setLocationAddress(String locationAddress) {
-        this.locationAddress = locationAddress;
+        this.locationAddress = Interner.intern(locationAddress);
     }
     
     public int getCapacity() {
@@ -402,11 +510,12 @@ public class Event implements Parcelable {
     }
     
     public Integer getWaitlistLimit() {
-        return waitlistLimit;
+        return has(HAS_WAITLIST_LIMIT) ? waitlistLimit : null;
     }
     
     public void setWaitlistLimit(Integer waitlistLimit) {
-        this.waitlistLimit = waitlistLimit;
+        setPresent(HAS_WAITLIST_LIMIT, waitlistLimit != null);
+        this.waitlistLimit = waitlistLimit != null ? waitlistLimit : 0;
     }
     
     public int getWaitlistCount() {
@@ -425,12 +534,18 @@ public class Event implements Parcelable {
         this.confirmedCount = confirmedCount;
     }
     
+    /**
+     * Get the event's tags as an immutable list shared with other events
+     */
     public List<String> getTags() {
         return tags;
     }
     
+    /**
+     * Tags are stored as a shared immutable list; the argument is copied
+     */
     public void setTags(List<String> tags) {
-        this.tags = tags;
+        this.tags = Interner.internTags(tags);
     }
     
     public String getPosterImageUrl() {
@@ -450,27 +565,30 @@ public class Event implements Parcelable {
     }
     
     public Integer getGeolocationRadius() {
-        return geolocationRadius;
+        return has(HAS_GEOLOCATION_RADIUS) ? geolocationRadius : null;
     }
     
     public void setGeolocationRadius(Integer geolocationRadius) {
-        this.geolocationRadius = geolocationRadius;
+        setPresent(HAS_GEOLOCATION_RADIUS, geolocationRadius != null);
+        this.geolocationRadius = geolocationRadius != null ? geolocationRadius : 0;
     }
     
     public Double getGeolocationLat() {
-        return geolocationLat;
+        return has(HAS_GEOLOCATION_LAT) ? geolocationLat : null;
     }
     
     public void setGeolocationLat(Double geolocationLat) {
-        this.geolocationLat = geolocationLat;
+        setPresent(HAS_GEOLOCATION_LAT, geolocationLat != null);
+        this.geolocationLat = geolocationLat != null ? geolocationLat : 0.0;
     }
     
     public Double getGeolocationLng() {
-        return geolocationLng;
+        return has(HAS_GEOLOCATION_LNG) ? geolocationLng : null;
     }
     
     public void setGeolocationLng(Double geolocationLng) {
-        this.geolocationLng = geolocationLng;
+        setPresent(HAS_GEOLOCATION_LNG, geolocationLng != null);
+        this.geolocationLng = geolocationLng != null ? geolocationLng : 0.0;
     }
     
     public double getPrice() {
@@ -486,7 +604,7 @@ public class Event implements Parcelable {
     }
     
     public void setStatus(String status) {
-        this.status = status;
+        this.status = Interner.intern(status);
     }
     
     public long getRegistrationOpens() {
@@ -506,11 +624,12 @@ public class Event implements Parcelable {
     }
     
     public Long getLotteryDrawDate() {
-        return lotteryDrawDate;
+        return has(HAS_LOTTERY_DRAW_DATE) ? lotteryDrawDate : null;
     }
     
     public void setLotteryDrawDate(Long lotteryDrawDate) {
-        this.lotteryDrawDate = lotteryDrawDate;
+        setPresent(HAS_LOTTERY_DRAW_DATE, lotteryDrawDate != null);
+        this.lotteryDrawDate = lotteryDrawDate != null ? lotteryDrawDate : 0L;
     }
     
     public String getQrCodeUrl() {
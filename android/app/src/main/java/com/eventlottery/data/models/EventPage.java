@@ -0,0 +1,46 @@
+package com.eventlottery.data.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EventPage - Envelope returned by the event list API
+ * 
+ * Wraps one page of events and the token for the next page, which is null
+ * on the last page.
+ */
+public class EventPage {
+    
+    private List<Event> events;
+    private String nextPageToken;
+    
+    public EventPage() {
+        this.events = new ArrayList<>();
+        this.nextPageToken = null;
+    }
+    
+    public EventPage(List<Event> events, String nextPageToken) {
+        this.events = events != null ? events : new ArrayList<>();
+        this.nextPageToken = nextPageToken;
+    }
+    
+    public List<Event> getEvents() {
+        return events;
+    }
+    
+    public void setEvents(List<Event> events) {
+        this.events = events;
+    }
+    
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+    
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+    
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+}
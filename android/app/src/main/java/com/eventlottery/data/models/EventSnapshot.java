@@ -0,0 +1,605 @@
+package com.eventlottery.data.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * EventSnapshot - Immutable view of an Event that can be shared across threads without locking
+ * 
+ * A snapshot owns a private Event copy that never escapes, so every field is
+ * frozen once the constructor returns. Copy-on-write updates such as
+ * {@link #withWaitlistCount(int)} copy only that one object: strings and the
+ * interned tag list are shared with the original, and an update that changes
+ * nothing returns the same snapshot.
+ * 
+ * Every snapshot carries a content version: a 64-bit fingerprint of its
+ * fields computed once at construction. Snapshots with the same content have
+ * the same version however they were built, so list diffing compares
+ * references and versions instead of fields. Recency is a separate question
+ * answered by {@link #isNewerThan}, which goes by the event's updatedAt.
+ */
+public final class EventSnapshot {
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final Event fields;
+    private final long version;
+    private volatile String searchText;
+    
+    private EventSnapshot(Event fields) {
+        this.fields = fields;
+        this.version = fingerprint(fields);
+    }
+    
+    /**
+     * Snapshot the current state of a mutable event
+     */
+    public static EventSnapshot of(Event event) {
+        return new EventSnapshot(new Event(event));
+    }
+    
+    /**
+     * Snapshot a list of events into an unmodifiable list
+     */
+    public static List<EventSnapshot> copyOf(List<Event> events) {
+        List<EventSnapshot> snapshots = new ArrayList<>(events.size());
+        for (Event event : events) {
+            snapshots.add(of(event));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+    
+    public static Builder builder() {
+        return new Builder(new Event());
+    }
+    
+    /**
+     * Builder seeded with this snapshot's fields
+     */
+    public Builder toBuilder() {
+        return new Builder(new Event(fields));
+    }
+    
+    /**
+     * Mutable copy for code that still works on Event, e.g. editing forms or Parcels
+     */
+    public Event toEvent() {
+        return new Event(fields);
+    }
+    
+    // Copy-on-write updates; each returns this when the value is unchanged
+    
+    public EventSnapshot withWaitlistCount(int waitlistCount) {
+        if (fields.getWaitlistCount() == waitlistCount) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setWaitlistCount(waitlistCount);
+        return new EventSnapshot(copy);
+    }
+    
+    public EventSnapshot withConfirmedCount(int confirmedCount) {
+        if (fields.getConfirmedCount() == confirmedCount) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setConfirmedCount(confirmedCount);
+        return new EventSnapshot(copy);
+    }
+    
+    /**
+     * Both counts in one copy, as they arrive together from the waitlist backend
+     */
+    public EventSnapshot withCounts(int waitlistCount, int confirmedCount) {
+        if (fields.getWaitlistCount() == waitlistCount
+            && fields.getConfirmedCount() == confirmedCount) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setWaitlistCount(waitlistCount);
+        copy.setConfirmedCount(confirmedCount);
+        return new EventSnapshot(copy);
+    }
+    
+    public EventSnapshot withStatus(String status) {
+        if (Objects.equals(fields.getStatus(), status)) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setStatus(status);
+        return new EventSnapshot(copy);
+    }
+    
+    public EventSnapshot withPosterImageUrl(String posterImageUrl) {
+        if (Objects.equals(fields.getPosterImageUrl(), posterImageUrl)) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setPosterImageUrl(posterImageUrl);
+        return new EventSnapshot(copy);
+    }
+    
+    public EventSnapshot withFlag(boolean flagged, int flagCount) {
+        if (fields.isFlagged() == flagged && fields.getFlagCount() == flagCount) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setFlagged(flagged);
+        copy.setFlagCount(flagCount);
+        return new EventSnapshot(copy);
+    }
+    
+    public EventSnapshot withUpdatedAt(long updatedAt) {
+        if (fields.getUpdatedAt() == updatedAt) {
+            return this;
+        }
+        Event copy = new Event(fields);
+        copy.setUpdatedAt(updatedAt);
+        return new EventSnapshot(copy);
+    }
+    
+    // Versioning and comparison
+    
+    /**
+     * Fingerprint of this snapshot's fields; equal content always has an equal version
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * True when this snapshot's event was updated after other's
+     */
+    public boolean isNewerThan(EventSnapshot other) {
+        return other == null || fields.getUpdatedAt() > other.fields.getUpdatedAt();
+    }
+    
+    /**
+     * Exact content comparison; reference and version checks settle most calls
+     */
+    public boolean hasSameContent(EventSnapshot other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || version != other.version) {
+            return false;
+        }
+        return contentEquals(fields, other.fields);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EventSnapshot && hasSameContent((EventSnapshot) o);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(version);
+    }
+    
+    @Override
+    public String toString() {
+        return "EventSnapshot{" + fields.getId() + " v" + Long.toHexString(version) + "}";
+    }
+    
+    // Filtering helpers safe to call from any thread
+    
+    /**
+     * Case-insensitive match of a lower-case query against name and description
+     */
+    public boolean matchesQuery(String lowerQuery) {
+        if (lowerQuery.isEmpty()) {
+            return true;
+        }
+        String text = searchText;
+        if (text == null) {
+            // Benign race: every thread computes the same value
+            text = (fields.getName() + "\n" + fields.getDescription()).toLowerCase(Locale.ROOT);
+            searchText = text;
+        }
+        return text.contains(lowerQuery);
+    }
+    
+    /**
+     * True if any of the event's tags is in the given collection
+     */
+    public boolean hasAnyTag(Collection<String> tags) {
+        for (String tag : fields.getTags()) {
+            if (tags.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Read access mirrors Event
+    
+    public String getId() {
+        return fields.getId();
+    }
+    
+    public String getName() {
+        return fields.getName();
+    }
+    
+    public String getDescription() {
+        return fields.getDescription();
+    }
+    
+    public String getOrganizerId() {
+        return fields.getOrganizerId();
+    }
+    
+    public String getDate() {
+        return fields.getDate();
+    }
+    
+    public String getTime() {
+        return fields.getTime();
+    }
+    
+    public String getEndTime() {
+        return fields.getEndTime();
+    }
+    
+    public String getLocation() {
+        return fields.getLocation();
+    }
+    
+    public String getLocationAddress() {
+        return fields.getLocationAddress();
+    }
+    
+    public int getCapacity() {
+        return fields.getCapacity();
+    }
+    
+    public Integer getWaitlistLimit() {
+        return fields.getWaitlistLimit();
+    }
+    
+    public int getWaitlistCount() {
+        return fields.getWaitlistCount();
+    }
+    
+    public int getConfirmedCount() {
+        return fields.getConfirmedCount();
+    }
+    
+    /**
+     * Immutable tag list shared with other events
+     */
+    public List<String> getTags() {
+        return fields.getTags();
+    }
+    
+    public String getPosterImageUrl() {
+        return fields.getPosterImageUrl();
+    }
+    
+    public boolean isGeolocationEnabled() {
+        return fields.isGeolocationEnabled();
+    }
+    
+    public Integer getGeolocationRadius() {
+        return fields.getGeolocationRadius();
+    }
+    
+    public Double getGeolocationLat() {
+        return fields.getGeolocationLat();
+    }
+    
+    public Double getGeolocationLng() {
+        return fields.getGeolocationLng();
+    }
+    
+    public double getPrice() {
+        return fields.getPrice();
+    }
+    
+    public String getStatus() {
+        return fields.getStatus();
+    }
+    
+    public long getRegistrationOpens() {
+        return fields.getRegistrationOpens();
+    }
+    
+    public long getRegistrationCloses() {
+        return fields.getRegistrationCloses();
+    }
+    
+    public Long getLotteryDrawDate() {
+        return fields.getLotteryDrawDate();
+    }
+    
+    public String getQrCodeUrl() {
+        return fields.getQrCodeUrl();
+    }
+    
+    public long getCreatedAt() {
+        return fields.getCreatedAt();
+    }
+    
+    public long getUpdatedAt() {
+        return fields.getUpdatedAt();
+    }
+    
+    public boolean isFlagged() {
+        return fields.isFlagged();
+    }
+    
+    public int getFlagCount() {
+        return fields.getFlagCount();
+    }
+    
+    public boolean isRegistrationOpen() {
+        return fields.isRegistrationOpen();
+    }
+    
+    public boolean isWaitlistFull() {
+        return fields.isWaitlistFull();
+    }
+    
+    public int getAvailableSpots() {
+        return fields.getAvailableSpots();
+    }
+    
+    public String getFormattedPrice() {
+        return fields.getFormattedPrice();
+    }
+    
+    public boolean isWithinGeolocationRadius(double userLat, double userLng) {
+        return fields.isWithinGeolocationRadius(userLat, userLng);
+    }
+    
+    /**
+     * FNV-1a over every field, with string lengths mixed in so adjacent
+     * fields cannot trade characters, then a final avalanche
+     */
+    private static long fingerprint(Event e) {
+        long h = FNV_OFFSET;
+        h = mix(h, e.getId());
+        h = mix(h, e.getName());
+        h = mix(h, e.getDescription());
+        h = mix(h, e.getOrganizerId());
+        h = mix(h, e.getDate());
+        h = mix(h, e.getTime());
+        h = mix(h, e.getEndTime());
+        h = mix(h, e.getLocation());
+        h = mix(h, e.getLocationAddress());
+        h = mix(h, e.getCapacity());
+        h = mix(h, e.hasWaitlistLimit() ? e.waitlistLimitValue() : Long.MIN_VALUE);
+        h = mix(h, e.getWaitlistCount());
+        h = mix(h, e.getConfirmedCount());
+        List<String> tags = e.getTags();
+        h = mix(h, tags.size());
+        for (String tag : tags) {
+            h = mix(h, tag);
+        }
+        h = mix(h, e.getPosterImageUrl());
+        h = mix(h, e.isGeolocationEnabled() ? 1 : 0);
+        h = mix(h, e.hasGeolocationRadius() ? e.geolocationRadiusValue() : Long.MIN_VALUE);
+        h = mix(h, e.hasGeolocationLat() ? Double.doubleToLongBits(e.geolocationLatValue()) : Long.MIN_VALUE);
+        h = mix(h, e.hasGeolocationLng() ? Double.doubleToLongBits(e.geolocationLngValue()) : Long.MIN_VALUE);
+        h = mix(h, Double.doubleToLongBits(e.getPrice()));
+        h = mix(h, e.getStatus());
+        h = mix(h, e.getRegistrationOpens());
+        h = mix(h, e.getRegistrationCloses());
+        h = mix(h, e.hasLotteryDrawDate() ? e.lotteryDrawDateValue() : Long.MIN_VALUE);
+        h = mix(h, e.getQrCodeUrl());
+        h = mix(h, e.getCreatedAt());
+        h = mix(h, e.getUpdatedAt());
+        h = mix(h, e.isFlagged() ? 1 : 0);
+        h = mix(h, e.getFlagCount());
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+    
+    private static long mix(long h, String value) {
+        if (value == null) {
+            return mix(h, -1L);
+        }
+        h = mix(h, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+    
+    private static long mix(long h, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            h = (h ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return h;
+    }
+    
+    private static boolean contentEquals(Event a, Event b) {
+        return a.getCapacity() == b.getCapacity()
+            && a.getWaitlistCount() == b.getWaitlistCount()
+            && a.getConfirmedCount() == b.getConfirmedCount()
+            && a.getUpdatedAt() == b.getUpdatedAt()
+            && a.getCreatedAt() == b.getCreatedAt()
+            && a.getRegistrationOpens() == b.getRegistrationOpens()
+            && a.getRegistrationCloses() == b.getRegistrationCloses()
+            && Double.compare(a.getPrice(), b.getPrice()) == 0
+            && a.isGeolocationEnabled() == b.isGeolocationEnabled()
+            && a.isFlagged() == b.isFlagged()
+            && a.getFlagCount() == b.getFlagCount()
+            && Objects.equals(a.getWaitlistLimit(), b.getWaitlistLimit())
+            && Objects.equals(a.getGeolocationRadius(), b.getGeolocationRadius())
+            && Objects.equals(a.getGeolocationLat(), b.getGeolocationLat())
+            && Objects.equals(a.getGeolocationLng(), b.getGeolocationLng())
+            && Objects.equals(a.getLotteryDrawDate(), b.getLotteryDrawDate())
+            && Objects.equals(a.getId(), b.getId())
+            && Objects.equals(a.getStatus(), b.getStatus())
+            && Objects.equals(a.getName(), b.getName())
+            && Objects.equals(a.getDescription(), b.getDescription())
+            && Objects.equals(a.getOrganizerId(), b.getOrganizerId())
+            && Objects.equals(a.getDate(), b.getDate())
+            && Objects.equals(a.getTime(), b.getTime())
+            && Objects.equals(a.getEndTime(), b.getEndTime())
+            && Objects.equals(a.getLocation(), b.getLocation())
+            && Objects.equals(a.getLocationAddress(), b.getLocationAddress())
+            && Objects.equals(a.getTags(), b.getTags())
+            && Objects.equals(a.getPosterImageUrl(), b.getPosterImageUrl())
+            && Objects.equals(a.getQrCodeUrl(), b.getQrCodeUrl());
+    }
+    
+    /**
+     * Builder - Collects fields for a new snapshot; reusable after build()
+     */
+    public static final class Builder {
+        
+        private final Event draft;
+        
+        private Builder(Event draft) {
+            this.draft = draft;
+        }
+        
+        public Builder id(String id) {
+            draft.setId(id);
+            return this;
+        }
+        
+        public Builder name(String name) {
+            draft.setName(name);
+            return this;
+        }
+        
+        public Builder description(String description) {
+            draft.setDescription(description);
+            return this;
+        }
+        
+        public Builder organizerId(String organizerId) {
+            draft.setOrganizerId(organizerId);
+            return this;
+        }
+        
+        public Builder date(String date) {
+            draft.setDate(date);
+            return this;
+        }
+        
+        public Builder time(String time) {
+            draft.setTime(time);
+            return this;
+        }
+        
+        public Builder endTime(String endTime) {
+            draft.setEndTime(endTime);
+            return this;
+        }
+        
+        public Builder location(String location) {
+            draft.setLocation(location);
+            return this;
+        }
+        
+        public Builder locationAddress(String locationAddress) {
+            draft.setLocationAddress(locationAddress);
+            return this;
+        }
+        
+        public Builder capacity(int capacity) {
+            draft.setCapacity(capacity);
+            return this;
+        }
+        
+        public Builder waitlistLimit(Integer waitlistLimit) {
+            draft.setWaitlistLimit(waitlistLimit);
+            return this;
+        }
+        
+        public Builder waitlistCount(int waitlistCount) {
+            draft.setWaitlistCount(waitlistCount);
+            return this;
+        }
+        
+        public Builder confirmedCount(int confirmedCount) {
+            draft.setConfirmedCount(confirmedCount);
+            return this;
+        }
+        
+        public Builder tags(List<String> tags) {
+            draft.setTags(tags);
+            return this;
+        }
+        
+        public Builder posterImageUrl(String posterImageUrl) {
+            draft.setPosterImageUrl(posterImageUrl);
+            return this;
+        }
+        
+        public Builder geolocation(int radiusKm, double lat, double lng) {
+            draft.setGeolocationEnabled(true);
+            draft.setGeolocationRadiusValue(radiusKm);
+            draft.setGeolocationLatValue(lat);
+            draft.setGeolocationLngValue(lng);
+            return this;
+        }
+        
+        public Builder noGeolocation() {
+            draft.setGeolocationEnabled(false);
+            draft.setGeolocationRadius(null);
+            draft.setGeolocationLat(null);
+            draft.setGeolocationLng(null);
+            return this;
+        }
+        
+        public Builder price(double price) {
+            draft.setPrice(price);
+            return this;
+        }
+        
+        public Builder status(String status) {
+            draft.setStatus(status);
+            return this;
+        }
+        
+        public Builder registrationWindow(long opens, long closes) {
+            draft.setRegistrationOpens(opens);
+            draft.setRegistrationCloses(closes);
+            return this;
+        }
+        
+        public Builder lotteryDrawDate(Long lotteryDrawDate) {
+            draft.setLotteryDrawDate(lotteryDrawDate);
+            return this;
+        }
+        
+        public Builder qrCodeUrl(String qrCodeUrl) {
+            draft.setQrCodeUrl(qrCodeUrl);
+            return this;
+        }
+        
+        public Builder createdAt(long createdAt) {
+            draft.setCreatedAt(createdAt);
+            return this;
+        }
+        
+        public Builder updatedAt(long updatedAt) {
+            draft.setUpdatedAt(updatedAt);
+            return this;
+        }
+        
+        public Builder flag(boolean flagged, int flagCount) {
+            draft.setFlagged(flagged);
+            draft.setFlagCount(flagCount);
+            return this;
+        }
+        
+        public EventSnapshot build() {
+            return new EventSnapshot(new Event(draft));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.eventlottery.data.models;
+
+import com.eventlottery.utils.Interner;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * EventTypeAdapter - Hand-written streaming JSON adapter for Event
+ * 
+ * Replaces Gson's reflective adapter: fields are matched by name with a
+ * switch straight off the token stream, no intermediate JsonElement tree is
+ * built, nullable numbers are read into primitives, and repeated strings and
+ * tag lists are interned by the Event setters. Because nothing is looked up
+ * reflectively, R8 can rename Event's fields without keep rules.
+ * 
+ * Field names match the backend documents. Unknown fields are skipped and
+ * absent or null nullable fields stay null.
+ */
+final class EventTypeAdapter extends TypeAdapter<Event> {
+    
+    private static final String[] NO_TAGS = new String[0];
+    
+    @Override
+    public void write(JsonWriter out, Event event) throws IOException {
+        if (event == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeString(out, "id", event.getId());
+        writeString(out, "name", event.getName());
+        writeString(out, "description", event.getDescription());
+        writeString(out, "organizerId", event.getOrganizerId());
+        writeString(out, "date", event.getDate());
+        writeString(out, "time", event.getTime());
+        writeString(out, "endTime", event.getEndTime());
+        writeString(out, "location", event.getLocation());
+        writeString(out, "locationAddress", event.getLocationAddress());
+        out.name("capacity").value(event.getCapacity());
+        if (event.hasWaitlistLimit()) {
+            out.name("waitlistLimit").value(event.waitlistLimitValue());
+        }
+        out.name("waitlistCount").value(event.getWaitlistCount());
+        out.name("confirmedCount").value(event.getConfirmedCount());
+        out.name("tags").beginArray();
+        for (String tag : event.getTags()) {
+            out.value(tag);
+        }
+        out.endArray();
+        writeString(out, "posterImageUrl", event.getPosterImageUrl());
+        out.name("geolocationEnabled").value(event.isGeolocationEnabled());
+        if (event.hasGeolocationRadius()) {
+            out.name("geolocationRadius").value(event.geolocationRadiusValue());
+        }
+        if (event.hasGeolocationLat()) {
+            out.name("geolocationLat").value(event.geolocationLatValue());
+        }
+        if (event.hasGeolocationLng()) {
+            out.name("geolocationLng").value(event.geolocationLngValue());
+        }
+        out.name("price").value(event.getPrice());
+        writeString(out, "status", event.getStatus());
+        out.name("registrationOpens").value(event.getRegistrationOpens());
+        out.name("registrationCloses").value(event.getRegistrationCloses());
+        if (event.hasLotteryDrawDate()) {
+            out.name("lotteryDrawDate").value(event.lotteryDrawDateValue());
+        }
+        writeString(out, "qrCodeUrl", event.getQrCodeUrl());
+        out.name("createdAt").value(event.getCreatedAt());
+        out.name("updatedAt").value(event.getUpdatedAt());
+        out.name("isFlagged").value(event.isFlagged());
+        out.name("flagCount").value(event.getFlagCount());
+        out.endObject();
+    }
+    
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+    
+    @Override
+    public Event read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Event event = new Event();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                readNull(event, name);
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    event.setId(in.nextString());
+                    break;
+                case "name":
+                    event.setName(in.nextString());
+                    break;
+                case "description":
+                    event.setDescription(in.nextString());
+                    break;
+                case "organizerId":
+                    event.setOrganizerId(in.nextString());
+                    break;
+                case "date":
+                    event.setDate(in.nextString());
+                    break;
+                case "time":
+                    event.setTime(in.nextString());
+                    break;
+                case "endTime":
+                    event.setEndTime(in.nextString());
+                    break;
+                case "location":
+                    event.setLocation(in.nextString());
+                    break;
+                case "locationAddress":
+                    event.setLocationAddress(in.nextString());
+                    break;
+                case "capacity":
+                    event.setCapacity(in.nextInt());
+                    break;
+                case "waitlistLimit":
+                    event.setWaitlistLimitValue(in.nextInt());
+                    break;
+                case "waitlistCount":
+                    event.setWaitlistCount(in.nextInt());
+                    break;
+                case "confirmedCount":
+                    event.setConfirmedCount(in.nextInt());
+                    break;
+                case "tags":
+                    if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                        event.setInternedTags(Interner.internTags(readTags(in)));
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                case "posterImageUrl":
+                    event.setPosterImageUrl(in.nextString());
+                    break;
+                case "geolocationEnabled":
+                    event.setGeolocationEnabled(in.nextBoolean());
+                    break;
+                case "geolocationRadius":
+                    event.setGeolocationRadiusValue(in.nextInt());
+                    break;
+                case "geolocationLat":
+                    event.setGeolocationLatValue(in.nextDouble());
+                    break;
+                case "geolocationLng":
+                    event.setGeolocationLngValue(in.nextDouble());
+                    break;
+                case "price":
+                    event.setPrice(in.nextDouble());
+                    break;
+                case "status":
+                    event.setStatus(in.nextString());
+                    break;
+                case "registrationOpens":
+                    event.setRegistrationOpens(in.nextLong());
+                    break;
+                case "registrationCloses":
+                    event.setRegistrationCloses(in.nextLong());
+                    break;
+                case "lotteryDrawDate":
+                    event.setLotteryDrawDateValue(in.nextLong());
+                    break;
+                case "qrCodeUrl":
+                    event.setQrCodeUrl(in.nextString());
+                    break;
+                case "createdAt":
+                    event.setCreatedAt(in.nextLong());
+                    break;
+                case "updatedAt":
+                    event.setUpdatedAt(in.nextLong());
+                    break;
+                case "isFlagged":
+                    event.setFlagged(in.nextBoolean());
+                    break;
+                case "flagCount":
+                    event.setFlagCount(in.nextInt());
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return event;
+    }
+    
+    /**
+     * Apply an explicit JSON null; nullable fields are cleared, other fields keep their defaults
+     */
+    private static void readNull(Event event, String name) {
+        switch (name) {
+            case "waitlistLimit":
+                event.setWaitlistLimit(null);
+                break;
+            case "geolocationRadius":
+                event.setGeolocationRadius(null);
+                break;
+            case "geolocationLat":
+                event.setGeolocationLat(null);
+                break;
+            case "geolocationLng":
+                event.setGeolocationLng(null);
+                break;
+            case "lotteryDrawDate":
+                event.setLotteryDrawDate(null);
+                break;
+            case "posterImageUrl":
+                event.setPosterImageUrl(null);
+                break;
+            case "qrCodeUrl":
+                event.setQrCodeUrl(null);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Read a tag array into an exactly sized array, skipping non-string
+     * entries; the Interner pools the array itself rather than a copy
+     */
+    private static String[] readTags(JsonReader in) throws IOException {
+        String[] tags = NO_TAGS;
+        int count = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.STRING) {
+                in.skipValue();
+                continue;
+            }
+            if (count == tags.length) {
+                tags = Arrays.copyOf(tags, Math.max(4, count * 2));
+            }
+            tags[count++] = in.nextString();
+        }
+        in.endArray();
+        return count == tags.length ? tags : Arrays.copyOf(tags, count);
+    }
+}
@@ -0,0 +1,103 @@
+package com.eventlottery.data.models;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EventTypeAdapterFactory - Registers the reflection-free adapters for Event and EventPage
+ * 
+ * Use {@link #createGson()} wherever JSON is converted, including Retrofit:
+ * {@code GsonConverterFactory.create(EventTypeAdapterFactory.createGson())}.
+ * Lists of events need no extra registration; Gson's collection adapter
+ * delegates each element to the Event adapter.
+ */
+public final class EventTypeAdapterFactory implements TypeAdapterFactory {
+    
+    private static final EventTypeAdapter EVENT_ADAPTER = new EventTypeAdapter();
+    private static final EventPageTypeAdapter PAGE_ADAPTER = new EventPageTypeAdapter();
+    
+    /**
+     * Gson instance with the event adapters registered
+     */
+    public static Gson createGson() {
+        return new GsonBuilder()
+            .registerTypeAdapterFactory(new EventTypeAdapterFactory())
+            .create();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Event.class) {
+            return (TypeAdapter<T>) EVENT_ADAPTER;
+        }
+        if (rawType == EventPage.class) {
+            return (TypeAdapter<T>) PAGE_ADAPTER;
+        }
+        return null;
+    }
+    
+    /**
+     * Streams the list envelope, reading each event with {@link EventTypeAdapter}
+     */
+    private static final class EventPageTypeAdapter extends TypeAdapter<EventPage> {
+        
+        @Override
+        public void write(JsonWriter out, EventPage page) throws IOException {
+            if (page == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("events").beginArray();
+            for (Event event : page.getEvents()) {
+                EVENT_ADAPTER.write(out, event);
+            }
+            out.endArray();
+            if (page.getNextPageToken() != null) {
+                out.name("nextPageToken").value(page.getNextPageToken());
+            }
+            out.endObject();
+        }
+        
+        @Override
+        public EventPage read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<Event> events = new ArrayList<>();
+            String nextPageToken = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("events".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        Event event = EVENT_ADAPTER.read(in);
+                        if (event != null) {
+                            events.add(event);
+                        }
+                    }
+                    in.endArray();
+                } else if ("nextPageToken".equals(name) && in.peek() == JsonToken.STRING) {
+                    nextPageToken = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new EventPage(events, nextPageToken);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.eventlottery.data.remote;
+
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * DefaultFreshnessInterceptor - Gives uncacheable-looking event responses a short freshness lifetime
+ * 
+ * Registered as a network interceptor so it rewrites what the cache stores.
+ * Responses that already carry Cache-Control or Expires are left alone; the
+ * others get max-age so repeat loads within that window never touch the
+ * network. Validators (ETag, Last-Modified) are kept, so once the entry goes
+ * stale the cache revalidates it with a conditional request.
+ */
+public class DefaultFreshnessInterceptor implements Interceptor {
+    
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    
+    private final int maxAgeSeconds;
+    
+    public DefaultFreshnessInterceptor(int maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!"GET".equals(request.method())
+                || (response.code() != HTTP_OK && response.code() != HTTP_NOT_MODIFIED)
+                || response.header("Cache-Control") != null
+                || response.header("Expires") != null) {
+            return response;
+        }
+        return response.newBuilder()
+            .header("Cache-Control", "max-age=" + maxAgeSeconds)
+            .build();
+    }
+}
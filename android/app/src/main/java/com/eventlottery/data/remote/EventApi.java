@@ -0,0 +1,39 @@
+package com.eventlottery.data.remote;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventPage;
+import java.util.List;
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+/**
+ * EventApi - Retrofit definition of the event REST endpoints
+ */
+public interface EventApi {
+    
+    /**
+     * One page of the event catalogue; pageToken is null for the first page
+     */
+    @GET("events")
+    Call<EventPage> getEvents(@Query("pageToken") String pageToken);
+    
+    @GET("events/{id}")
+    Call<Event> getEvent(@Path("id") String eventId);
+    
+    /**
+     * Conditional detail fetch; the server answers 304 when the event is unchanged
+     * 
+     * @param ifModifiedSince HTTP date derived from the held copy's updatedAt
+     */
+    @GET("events/{id}")
+    Call<Event> getEventIfModified(@Path("id") String eventId,
+                                   @Header("If-Modified-Since") String ifModifiedSince);
+    
+    @POST("events/batch")
+    Call<Void> saveEvents(@Body List<Event> events);
+}
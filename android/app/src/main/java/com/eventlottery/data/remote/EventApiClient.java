@@ -0,0 +1,100 @@
+package com.eventlottery.data.remote;
+
+import com.eventlottery.data.models.EventTypeAdapterFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * EventApiClient - HTTP client for the event API with a bounded, revalidating disk cache
+ * 
+ * Caching layers, outermost first:
+ * - StaleWhileRevalidateInterceptor answers from cache immediately, even
+ *   slightly stale, and refreshes stale entries in the background
+ * - OkHttp's Cache stores responses on disk up to maxCacheBytes (LRU) and
+ *   turns stale entries into If-None-Match / If-Modified-Since requests
+ * - DefaultFreshnessInterceptor gives responses without Cache-Control a
+ *   short max-age so back-to-back screens do not refetch
+ * 
+ * Gzip needs no setup: OkHttp sends Accept-Encoding: gzip and decodes the
+ * body itself as long as no caller overrides that header.
+ * 
+ * On Android pass {@code new File(context.getCacheDir(), "http-events")}
+ * so the system can reclaim the space under storage pressure.
+ */
+public class EventApiClient {
+    
+    public static final long DEFAULT_CACHE_BYTES = 10L * 1024 * 1024;
+    public static final int DEFAULT_FRESH_SECONDS = 30;
+    public static final int DEFAULT_STALE_SECONDS = 10 * 60;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+    
+    private final OkHttpClient httpClient;
+    private final Cache cache;
+    private final TransferMetrics metrics;
+    private final EventApi api;
+    
+    public EventApiClient(String baseUrl, File cacheDir, long maxCacheBytes,
+                          int freshSeconds, int staleSeconds) {
+        this.cache = new Cache(cacheDir, maxCacheBytes);
+        this.metrics = new TransferMetrics();
+        StaleWhileRevalidateInterceptor staleWhileRevalidate =
+            new StaleWhileRevalidateInterceptor(staleSeconds);
+        this.httpClient = new OkHttpClient.Builder()
+            .cache(cache)
+            .addInterceptor(staleWhileRevalidate)
+            .addNetworkInterceptor(new DefaultFreshnessInterceptor(freshSeconds))
+            .eventListener(metrics)
+            .build();
+        staleWhileRevalidate.attach(httpClient);
+        this.api = new Retrofit.Builder()
+            .baseUrl(baseUrl)
+            .client(httpClient)
+            .addConverterFactory(GsonConverterFactory.create(EventTypeAdapterFactory.createGson()))
+            .build()
+            .create(EventApi.class);
+    }
+    
+    /**
+     * Client with the default cache size and freshness windows
+     */
+    public static EventApiClient create(String baseUrl, File cacheDir) {
+        return new EventApiClient(baseUrl, cacheDir, DEFAULT_CACHE_BYTES,
+            DEFAULT_FRESH_SECONDS, DEFAULT_STALE_SECONDS);
+    }
+    
+    public EventApi getApi() {
+        return api;
+    }
+    
+    public TransferMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Drop every cached response, e.g. on sign-out
+     */
+    public void clearCache() throws IOException {
+        cache.evictAll();
+    }
+    
+    /**
+     * Let in-flight background revalidations finish, then release the disk cache and connection pool
+     */
+    public void close() throws IOException {
+        ExecutorService executor = httpClient.dispatcher().executorService();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        httpClient.connectionPool().evictAll();
+        cache.close();
+    }
+}
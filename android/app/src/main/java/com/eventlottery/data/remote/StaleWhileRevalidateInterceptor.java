@@ -0,0 +1,121 @@
+package com.eventlottery.data.remote;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * StaleWhileRevalidateInterceptor - Serves stale cached GETs instantly and refreshes them in the background
+ * 
+ * OkHttp's {@link Cache} already handles freshness and conditional requests
+ * (If-None-Match / If-Modified-Since) but blocks on the network once an entry
+ * goes stale. This application interceptor first asks the cache for a
+ * response up to the stale window old. A fresh hit is returned as is. A stale
+ * hit is returned immediately while one background conditional request
+ * revalidates it, usually with a 304 that costs only headers. A miss goes to
+ * the network as usual.
+ */
+public class StaleWhileRevalidateInterceptor implements Interceptor {
+    
+    /** OkHttp marks responses served past their freshness with this warning code */
+    private static final String STALE_WARNING_PREFIX = "110";
+    private static final int UNSATISFIABLE_REQUEST = 504;
+    
+    private static final CacheControl REVALIDATE = new CacheControl.Builder()
+        .maxAge(0, TimeUnit.SECONDS)
+        .build();
+    
+    private final int staleWindowSeconds;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private volatile OkHttpClient client;
+    
+    /**
+     * @param staleWindowSeconds how long past freshness a cached response may still be served
+     */
+    public StaleWhileRevalidateInterceptor(int staleWindowSeconds) {
+        this.staleWindowSeconds = staleWindowSeconds;
+    }
+    
+    /**
+     * Provide the client that background revalidations run on, once it is built
+     */
+    void attach(OkHttpClient client) {
+        this.client = client;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isEligible(request)) {
+            return chain.proceed(request);
+        }
+        
+        Request cacheOnly = request.newBuilder()
+            .cacheControl(new CacheControl.Builder()
+                .onlyIfCached()
+                .maxStale(staleWindowSeconds, TimeUnit.SECONDS)
+                .build())
+            .build();
+        Response cached = chain.proceed(cacheOnly);
+        if (cached.code() == UNSATISFIABLE_REQUEST) {
+            cached.close();
+            return chain.proceed(request);
+        }
+        
+        String warning = cached.header("Warning");
+        if (warning != null && warning.startsWith(STALE_WARNING_PREFIX)) {
+            revalidate(request);
+        }
+        return cached;
+    }
+    
+    /**
+     * Only plain GETs without caller-supplied conditions or cache directives qualify,
+     * which also keeps background revalidations from recursing
+     */
+    private static boolean isEligible(Request request) {
+        return "GET".equals(request.method())
+            && request.header("Cache-Control") == null
+            && request.header("If-None-Match") == null
+            && request.header("If-Modified-Since") == null;
+    }
+    
+    private void revalidate(Request request) {
+        OkHttpClient current = client;
+        String key = request.url().toString();
+        if (current == null || !revalidating.add(key)) {
+            return;
+        }
+        current.newCall(request.newBuilder().cacheControl(REVALIDATE).build())
+            .enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    // Keep serving the stale copy; the next request retries
+                    revalidating.remove(key);
+                }
+                
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    try (ResponseBody body = response.body()) {
+                        // The cache only commits a 200 once its body has been fully read
+                        if (body != null) {
+                            body.source().readAll(Okio.blackhole());
+                        }
+                    } finally {
+                        revalidating.remove(key);
+                    }
+                }
+            });
+    }
+}
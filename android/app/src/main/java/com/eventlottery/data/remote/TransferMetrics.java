@@ -0,0 +1,101 @@
+package com.eventlottery.data.remote;
+
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Response;
+
+/**
+ * TransferMetrics - Counts wire bytes and cache outcomes for the event API client
+ * 
+ * Body bytes are counted as read from the socket, i.e. before gzip is
+ * decoded, so they reflect what the user's data plan actually paid for.
+ * A single instance is shared by every call on the client.
+ */
+public class TransferMetrics extends EventListener {
+    
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong networkResponses = new AtomicLong();
+    private final AtomicLong headerBytes = new AtomicLong();
+    private final AtomicLong bodyBytes = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong conditionalHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    
+    @Override
+    public void callStart(Call call) {
+        calls.incrementAndGet();
+    }
+    
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        networkResponses.incrementAndGet();
+        headerBytes.addAndGet(response.headers().byteCount());
+    }
+    
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bodyBytes.addAndGet(byteCount);
+    }
+    
+    @Override
+    public void cacheHit(Call call, Response response) {
+        cacheHits.incrementAndGet();
+    }
+    
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        conditionalHits.incrementAndGet();
+    }
+    
+    @Override
+    public void cacheMiss(Call call) {
+        cacheMisses.incrementAndGet();
+    }
+    
+    public long getCalls() {
+        return calls.get();
+    }
+    
+    /**
+     * Responses that came off the network, including 304s
+     */
+    public long getNetworkResponses() {
+        return networkResponses.get();
+    }
+    
+    /**
+     * Header plus body bytes received from the network
+     */
+    public long getBytesReceived() {
+        return headerBytes.get() + bodyBytes.get();
+    }
+    
+    /**
+     * Responses served from the cache, including those confirmed by a 304
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+    
+    /**
+     * Cached responses confirmed by a 304
+     */
+    public long getConditionalHits() {
+        return conditionalHits.get();
+    }
+    
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+    
+    public void reset() {
+        calls.set(0);
+        networkResponses.set(0);
+        headerBytes.set(0);
+        bodyBytes.set(0);
+        cacheHits.set(0);
+        conditionalHits.set(0);
+        cacheMisses.set(0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventlottery.data.repositories;
+
+import com.eventlottery.data.models.Event;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * EventRepository - Data access for events
+ * 
+ * Calls block and must be made off the main thread. The Firebase/Supabase
+ * implementation and the in-memory implementation used for local runs both
+ * sit behind this interface.
+ */
+public interface EventRepository {
+    
+    /**
+     * Load a single event, or null if it does not exist
+     */
+    Event getEvent(String eventId) throws IOException;
+    
+    /**
+     * Load every event
+     */
+    List<Event> getEvents() throws IOException;
+    
+    /**
+     * Create or replace events in as few backend writes as the backend allows
+     */
+    void saveEvents(List<Event> events) throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.eventlottery.data.repositories;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryEventRepository - Local EventRepository for development and benchmarks
+ * 
+ * Counts backend round trips so callers can measure how well they batch.
+ */
+public class InMemoryEventRepository implements EventRepository {
+    
+    private final Map<String, Event> events = new ConcurrentHashMap<>();
+    private final AtomicInteger readCount = new AtomicInteger();
+    private final AtomicInteger writeCount = new AtomicInteger();
+    
+    @Override
+    public Event getEvent(String eventId) {
+        readCount.incrementAndGet();
+        return events.get(eventId);
+    }
+    
+    @Override
+    public List<Event> getEvents() {
+        readCount.incrementAndGet();
+        return new ArrayList<>(events.values());
+    }
+    
+    @Override
+    public void saveEvents(List<Event> batch) {
+        writeCount.incrementAndGet();
+        for (Event event : batch) {
+            events.put(event.getId(), event);
+        }
+    }
+    
+    public int size() {
+        return events.size();
+    }
+    
+    /**
+     * Number of getEvent/getEvents calls served
+     */
+    public int getReadCount() {
+        return readCount.get();
+    }
+    
+    /**
+     * Number of saveEvents calls (batched writes) served
+     */
+    public int getWriteCount() {
+        return writeCount.get();
+    }
+}
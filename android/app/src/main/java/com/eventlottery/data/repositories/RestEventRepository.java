@@ -0,0 +1,98 @@
+package com.eventlottery.data.repositories;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventPage;
+import com.eventlottery.data.remote.EventApi;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import retrofit2.Response;
+
+/**
+ * RestEventRepository - EventRepository backed by the event REST API
+ * 
+ * Reads go through the caching client built by EventApiClient. When the
+ * caller already holds a copy of an event, {@link #refreshEvent(Event)}
+ * revalidates it against its updatedAt so an unchanged event costs a
+ * header-only 304 even if the HTTP cache has evicted it.
+ */
+public class RestEventRepository implements EventRepository {
+    
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    
+    private final EventApi api;
+    
+    public RestEventRepository(EventApi api) {
+        this.api = api;
+    }
+    
+    @Override
+    public Event getEvent(String eventId) throws IOException {
+        Response<Event> response = api.getEvent(eventId).execute();
+        if (response.code() == HTTP_NOT_FOUND) {
+            return null;
+        }
+        return requireBody(response);
+    }
+    
+    /**
+     * Return the current version of a held event, or the same instance if it is unchanged
+     * 
+     * @return null if the event has since been deleted
+     */
+    public Event refreshEvent(Event known) throws IOException {
+        if (known.getUpdatedAt() <= 0) {
+            return getEvent(known.getId());
+        }
+        Response<Event> response = api.getEventIfModified(
+            known.getId(), formatHttpDate(known.getUpdatedAt())).execute();
+        if (response.code() == HTTP_NOT_MODIFIED) {
+            return known;
+        }
+        if (response.code() == HTTP_NOT_FOUND) {
+            return null;
+        }
+        return requireBody(response);
+    }
+    
+    @Override
+    public List<Event> getEvents() throws IOException {
+        List<Event> events = new ArrayList<>();
+        String pageToken = null;
+        do {
+            EventPage page = requireBody(api.getEvents(pageToken).execute());
+            events.addAll(page.getEvents());
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        return events;
+    }
+    
+    @Override
+    public void saveEvents(List<Event> events) throws IOException {
+        Response<Void> response = api.saveEvents(events).execute();
+        if (!response.isSuccessful()) {
+            throw new IOException("Saving events failed: HTTP " + response.code());
+        }
+    }
+    
+    private static <T> T requireBody(Response<T> response) throws IOException {
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Event API request failed: HTTP " + response.code());
+        }
+        return response.body();
+    }
+    
+    /**
+     * RFC 7231 IMF-fixdate, second precision
+     */
+    static String formatHttpDate(long epochMillis) {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(epochMillis));
+    }
+}
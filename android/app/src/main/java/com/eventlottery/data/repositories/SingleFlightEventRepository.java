@@ -0,0 +1,388 @@
+package com.eventlottery.data.repositories;
+
+import com.eventlottery.data.models.Event;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * SingleFlightEventRepository - Deduplicating, caching front for another EventRepository
+ * 
+ * Browse, details, My Events and the organizer dashboard often ask for the
+ * same event or the full list at the same moment. Here concurrent requests
+ * for one key share a single backend load (single flight), and results are
+ * kept for ttlMillis so requests that follow shortly after do not reach the
+ * backend either.
+ * 
+ * Cached events are invalidated by updatedAt. A copy is only replaced by
+ * one that is at least as new. {@link #invalidateIfOlder} drops a copy
+ * once a newer version is known to exist, e.g. from a push message, and a
+ * load already in flight with the older copy does not re-cache it. Any
+ * newer event also drops the cached list.
+ * 
+ * Each caller gets its own future from {@link #loadEvent} or
+ * {@link #loadEvents}. Cancelling it stops only that caller's wait. The
+ * shared load is cancelled, and its thread interrupted, only when every
+ * caller waiting on it has cancelled. Returned events are shared between
+ * callers and must be treated as read-only; take an EventSnapshot or copy
+ * before editing.
+ */
+public class SingleFlightEventRepository implements EventRepository {
+    
+    public static final long DEFAULT_TTL_MILLIS = 30_000;
+    
+    private final EventRepository backend;
+    private final ExecutorService executor;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    
+    private final Map<String, Entry> events = new ConcurrentHashMap<>();
+    private final Map<String, Flight<Event>> eventFlights = new ConcurrentHashMap<>();
+    private final Map<String, Flight<List<Event>>> listFlights = new ConcurrentHashMap<>();
+    private volatile ListEntry allEvents;
+    /** Bumped whenever the cached list is dropped, so a list load that raced the drop is not cached */
+    private final AtomicLong listEpoch = new AtomicLong();
+    
+    private final AtomicLong backendLoads = new AtomicLong();
+    private final AtomicLong sharedJoins = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    
+    private static final String LIST_KEY = "events";
+    
+    /**
+     * Newest known state of one event; value is null for a missing event or
+     * when the entry only records that a newer version exists (loadedAt 0)
+     */
+    private static final class Entry {
+        final Event value;
+        final long updatedAt;
+        final long loadedAt;
+        
+        Entry(Event value, long updatedAt, long loadedAt) {
+            this.value = value;
+            this.updatedAt = updatedAt;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    private static final class ListEntry {
+        final List<Event> value;
+        final long loadedAt;
+        
+        ListEntry(List<Event> value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    /**
+     * One shared backend load and the number of callers still waiting on it
+     */
+    private final class Flight<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Map<String, Flight<T>> registry;
+        private final String key;
+        private Future<?> task;
+        private int callers;
+        private boolean started;
+        private boolean abandoned;
+        
+        Flight(Map<String, Flight<T>> registry, String key) {
+            this.registry = registry;
+            this.key = key;
+        }
+        
+        /**
+         * Register a caller; the first one starts the load. False once the flight was abandoned.
+         */
+        synchronized boolean join(Callable<T> load) {
+            if (abandoned) {
+                return false;
+            }
+            callers++;
+            if (!started) {
+                started = true;
+                task = executor.submit(() -> run(load));
+            } else {
+                sharedJoins.incrementAndGet();
+            }
+            return true;
+        }
+        
+        private void run(Callable<T> load) {
+            try {
+                T value = load.call();
+                registry.remove(key, this);
+                result.complete(value);
+            } catch (Exception e) {
+                registry.remove(key, this);
+                result.completeExceptionally(e);
+            }
+        }
+        
+        /**
+         * Per-caller view; cancelling it releases this caller only
+         */
+        CompletableFuture<T> attach() {
+            CompletableFuture<T> mine = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error == null) {
+                    mine.complete(value);
+                } else {
+                    mine.completeExceptionally(error);
+                }
+            });
+            mine.whenComplete((value, error) -> {
+                if (mine.isCancelled()) {
+                    leave();
+                }
+            });
+            return mine;
+        }
+        
+        private void leave() {
+            Future<?> running;
+            synchronized (this) {
+                if (--callers > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                running = task;
+            }
+            registry.remove(key, this);
+            result.cancel(false);
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+    
+    public SingleFlightEventRepository(EventRepository backend, ExecutorService executor,
+                                       long ttlMillis, LongSupplier clock) {
+        this.backend = backend;
+        this.executor = executor;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+    
+    /**
+     * @param executor runs the backend loads; owned by the caller, who shuts it down
+     */
+    public SingleFlightEventRepository(EventRepository backend, ExecutorService executor) {
+        this(backend, executor, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+    
+    /**
+     * Load one event, or null if it does not exist, sharing any load already in flight
+     */
+    public CompletableFuture<Event> loadEvent(String eventId) {
+        Entry cached = events.get(eventId);
+        if (isFresh(cached)) {
+            cacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached.value);
+        }
+        return singleFlight(eventFlights, eventId, () -> fetchEvent(eventId));
+    }
+    
+    /**
+     * Load every event, sharing any list load already in flight
+     */
+    public CompletableFuture<List<Event>> loadEvents() {
+        ListEntry cached = allEvents;
+        if (cached != null && clock.getAsLong() - cached.loadedAt < ttlMillis) {
+            cacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached.value);
+        }
+        return singleFlight(listFlights, LIST_KEY, this::fetchEvents);
+    }
+    
+    @Override
+    public Event getEvent(String eventId) throws IOException {
+        return await(loadEvent(eventId));
+    }
+    
+    /**
+     * Every event, as an unmodifiable list shared with other callers
+     */
+    @Override
+    public List<Event> getEvents() throws IOException {
+        return await(loadEvents());
+    }
+    
+    /**
+     * Write through to the backend, then cache the saved copies as the newest known versions
+     */
+    @Override
+    public void saveEvents(List<Event> batch) throws IOException {
+        backend.saveEvents(batch);
+        long now = clock.getAsLong();
+        for (Event event : batch) {
+            remember(event.getId(), event, now);
+        }
+        dropList();
+    }
+    
+    /**
+     * Drop the cached copy if it is older than updatedAt; loads already in
+     * flight with an older copy will not re-cache it
+     */
+    public void invalidateIfOlder(String eventId, long updatedAt) {
+        events.compute(eventId, (id, current) -> {
+            if (current != null && current.updatedAt >= updatedAt) {
+                return current;
+            }
+            return new Entry(null, updatedAt, 0);
+        });
+        dropList();
+    }
+    
+    public void invalidate(String eventId) {
+        events.remove(eventId);
+        dropList();
+    }
+    
+    public void invalidateAll() {
+        events.clear();
+        dropList();
+    }
+    
+    /**
+     * Backend loads started; concurrent callers that shared a load count once
+     */
+    public long getBackendLoads() {
+        return backendLoads.get();
+    }
+    
+    /**
+     * Callers that joined a load another caller had already started
+     */
+    public long getSharedJoins() {
+        return sharedJoins.get();
+    }
+    
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+    
+    private <T> CompletableFuture<T> singleFlight(Map<String, Flight<T>> flights, String key,
+                                                  Callable<T> load) {
+        while (true) {
+            Flight<T> flight = flights.computeIfAbsent(key, k -> new Flight<>(flights, k));
+            if (flight.join(load)) {
+                return flight.attach();
+            }
+            // Every caller of that flight cancelled it; start a fresh one
+            flights.remove(key, flight);
+        }
+    }
+    
+    /**
+     * Runs as a flight's load. A caller that found the cache empty just before
+     * the previous flight filled it and left starts a new flight, so the
+     * cache is checked again before going to the backend.
+     */
+    private Event fetchEvent(String eventId) throws IOException {
+        Entry cached = events.get(eventId);
+        if (isFresh(cached)) {
+            cacheHits.incrementAndGet();
+            return cached.value;
+        }
+        backendLoads.incrementAndGet();
+        Event event = backend.getEvent(eventId);
+        return remember(eventId, event, clock.getAsLong());
+    }
+    
+    private List<Event> fetchEvents() throws IOException {
+        ListEntry cached = allEvents;
+        if (cached != null && clock.getAsLong() - cached.loadedAt < ttlMillis) {
+            cacheHits.incrementAndGet();
+            return cached.value;
+        }
+        backendLoads.incrementAndGet();
+        long epoch = listEpoch.get();
+        List<Event> loaded = backend.getEvents();
+        long now = clock.getAsLong();
+        List<Event> merged = new ArrayList<>(loaded.size());
+        for (Event event : loaded) {
+            merged.add(remember(event.getId(), event, now));
+        }
+        List<Event> result = Collections.unmodifiableList(merged);
+        if (listEpoch.get() == epoch) {
+            allEvents = new ListEntry(result, now);
+        }
+        return result;
+    }
+    
+    /**
+     * Cache a loaded copy unless a newer version is already known
+     * 
+     * @return the copy callers should see: the loaded one, or the newer cached one
+     */
+    private Event remember(String eventId, Event loaded, long now) {
+        long updatedAt = loaded != null ? loaded.getUpdatedAt() : Long.MIN_VALUE;
+        boolean[] newer = new boolean[1];
+        Entry stored = events.compute(eventId, (id, current) -> {
+            if (current == null) {
+                return new Entry(loaded, updatedAt, now);
+            }
+            if (loaded == null) {
+                // Deleted since; a missing event replaces any cached copy
+                return new Entry(null, current.updatedAt, now);
+            }
+            if (updatedAt < current.updatedAt) {
+                return current;
+            }
+            newer[0] = updatedAt > current.updatedAt;
+            return new Entry(loaded, updatedAt, now);
+        });
+        if (newer[0]) {
+            dropList();
+        }
+        return stored.value != null || loaded == null ? stored.value : loaded;
+    }
+    
+    private void dropList() {
+        listEpoch.incrementAndGet();
+        allEvents = null;
+    }
+    
+    private boolean isFresh(Entry entry) {
+        return entry != null && entry.loadedAt != 0 && clock.getAsLong() - entry.loadedAt < ttlMillis;
+    }
+    
+    /**
+     * Block for a caller's future; interruption cancels only this caller's wait
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for events");
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("Load was cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventlottery.data.sync;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * InMemoryWaitlistRemote - Local stand-in for the waitlist backend
+ * 
+ * Keeps waitlist and confirmed memberships in memory, honours idempotency
+ * keys and can be switched offline to exercise the retry path in tests.
+ */
+public class InMemoryWaitlistRemote implements WaitlistRemote {
+    
+    private final Map<String, Set<String>> waitlists = new HashMap<>();
+    private final Map<String, Set<String>> confirmed = new HashMap<>();
+    private final Set<String> appliedKeys = new HashSet<>();
+    private boolean online = true;
+    private int commitCount;
+    private int operationCount;
+    
+    @Override
+    public synchronized CommitResult commit(List<WaitlistOperation> batch) throws IOException {
+        if (!online) {
+            throw new IOException("Remote is offline");
+        }
+        commitCount++;
+        
+        Map<String, Integer> waitlistCounts = new HashMap<>();
+        Map<String, Integer> confirmedCounts = new HashMap<>();
+        for (WaitlistOperation operation : batch) {
+            String eventId = operation.getEventId();
+            if (appliedKeys.add(operation.getIdempotencyKey())) {
+                operationCount++;
+                apply(operation);
+            }
+            waitlistCounts.put(eventId, membersOf(waitlists, eventId).size());
+            confirmedCounts.put(eventId, membersOf(confirmed, eventId).size());
+        }
+        return new CommitResult(waitlistCounts, confirmedCounts);
+    }
+    
+    private void apply(WaitlistOperation operation) {
+        Set<String> waiting = membersOf(waitlists, operation.getEventId());
+        Set<String> accepted = membersOf(confirmed, operation.getEventId());
+        String userId = operation.getUserId();
+        switch (operation.getType()) {
+            case JOIN:
+                waiting.add(userId);
+                break;
+            case LEAVE:
+                waiting.remove(userId);
+                break;
+            case CONFIRM:
+                accepted.add(userId);
+                break;
+            case DECLINE:
+                // Declining an open invitation; a confirmed place is not given up this way
+                break;
+        }
+    }
+    
+    private static Set<String> membersOf(Map<String, Set<String>> memberships, String eventId) {
+        return memberships.computeIfAbsent(eventId, key -> new HashSet<>());
+    }
+    
+    public synchronized void setOnline(boolean online) {
+        this.online = online;
+    }
+    
+    public synchronized int getWaitlistCount(String eventId) {
+        return membersOf(waitlists, eventId).size();
+    }
+    
+    public synchronized int getConfirmedCount(String eventId) {
+        return membersOf(confirmed, eventId).size();
+    }
+    
+    /**
+     * Number of successful commit calls (round trips)
+     */
+    public synchronized int getCommitCount() {
+        return commitCount;
+    }
+    
+    /**
+     * Number of distinct operations applied, excluding idempotent replays
+     */
+    public synchronized int getOperationCount() {
+        return operationCount;
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventlottery.data.sync;
+
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OperationLog - Durable store for pending waitlist operations
+ * 
+ * Operations are written one JSON object per line. Every change rewrites the
+ * log to a temporary file and renames it over the original, so a crash mid
+ * write leaves either the old or the new log, never a torn one. The pending
+ * queue is small (one user's unsynced taps), so full rewrites stay cheap.
+ * Lines are mapped by WaitlistOperationTypeAdapter rather than reflection,
+ * so minified builds read logs written by earlier versions.
+ */
+public class OperationLog {
+    
+    private final File file;
+    private final WaitlistOperationTypeAdapter adapter = new WaitlistOperationTypeAdapter();
+    
+    /**
+     * @param file log location, typically under Context.getFilesDir()
+     */
+    public OperationLog(File file) {
+        this.file = file;
+    }
+    
+    /**
+     * Load pending operations in the order they were recorded
+     * 
+     * Lines that fail to parse are skipped rather than blocking the whole queue.
+     */
+    public synchronized List<WaitlistOperation> load() throws IOException {
+        List<WaitlistOperation> operations = new ArrayList<>();
+        if (!file.exists()) {
+            return operations;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    WaitlistOperation operation = adapter.fromJson(line);
+                    if (operation != null && operation.getType() != null) {
+                        operations.add(operation);
+                    }
+                } catch (IOException | IllegalStateException | JsonParseException e) {
+                    // Skip corrupt entry
+                }
+            }
+        }
+        return operations;
+    }
+    
+    /**
+     * Atomically replace the log contents with the given operations
+     */
+    public synchronized void save(List<WaitlistOperation> operations) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temp);
+             BufferedWriter writer = new BufferedWriter(
+                 new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (WaitlistOperation operation : operations) {
+                writer.write(adapter.toJson(operation));
+                writer.newLine();
+            }
+            writer.flush();
+            output.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.eventlottery.data.sync;
+
+import java.util.UUID;
+
+/**
+ * WaitlistOperation - A single outbound waitlist action recorded while offline or unsynced
+ * 
+ * Every operation carries an idempotency key generated when the user acted,
+ * so the remote can safely ignore it if a retried batch delivers it twice.
+ */
+public class WaitlistOperation {
+    
+    public enum Type {
+        JOIN,
+        LEAVE,
+        CONFIRM,
+        DECLINE
+    }
+    
+    private String idempotencyKey;
+    private Type type;
+    private String eventId;
+    private String userId;
+    private long createdAt;
+    
+    public WaitlistOperation(String idempotencyKey, Type type, String eventId,
+                             String userId, long createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.type = type;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+    }
+    
+    /**
+     * Create a new operation with a fresh idempotency key
+     */
+    public static WaitlistOperation create(Type type, String eventId, String userId) {
+        return new WaitlistOperation(UUID.randomUUID().toString(), type, eventId,
+                                     userId, System.currentTimeMillis());
+    }
+    
+    /**
+     * Key identifying the entrant/event pair the operation applies to
+     */
+    public String getTargetKey() {
+        return eventId + "/" + userId;
+    }
+    
+    /**
+     * Change this operation makes to the event's waitlistCount
+     */
+    public int getWaitlistDelta() {
+        switch (type) {
+            case JOIN:
+                return 1;
+            case LEAVE:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+    
+    /**
+     * Change this operation makes to the event's confirmedCount
+     * 
+     * DECLINE answers an invitation that was never accepted, so it leaves
+     * the count alone; InMemoryWaitlistRemote and MembershipTransition treat
+     * it the same way.
+     */
+    public int getConfirmedDelta() {
+        return type == Type.CONFIRM ? 1 : 0;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public long getCreatedAt() {
+        return createdAt;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " " + getTargetKey() + " [" + idempotencyKey + "]";
+    }
+}
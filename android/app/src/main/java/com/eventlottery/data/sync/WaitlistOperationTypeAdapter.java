@@ -0,0 +1,110 @@
+package com.eventlottery.data.sync;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * WaitlistOperationTypeAdapter - Explicit JSON mapping for persisted waitlist operations
+ * 
+ * OperationLog outlives app updates, and release builds are minified, so
+ * field and enum names must not come from reflection: R8 may rename them
+ * between versions and strand every pending operation. Names here are
+ * fixed strings matching the original log format. Unknown fields are
+ * skipped and an unknown type reads as null, which OperationLog drops.
+ */
+final class WaitlistOperationTypeAdapter extends TypeAdapter<WaitlistOperation> {
+    
+    @Override
+    public void write(JsonWriter out, WaitlistOperation operation) throws IOException {
+        if (operation == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("idempotencyKey").value(operation.getIdempotencyKey());
+        out.name("type").value(typeName(operation.getType()));
+        out.name("eventId").value(operation.getEventId());
+        out.name("userId").value(operation.getUserId());
+        out.name("createdAt").value(operation.getCreatedAt());
+        out.endObject();
+    }
+    
+    @Override
+    public WaitlistOperation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String idempotencyKey = null;
+        WaitlistOperation.Type type = null;
+        String eventId = null;
+        String userId = null;
+        long createdAt = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "idempotencyKey":
+                    idempotencyKey = in.nextString();
+                    break;
+                case "type":
+                    type = parseType(in.nextString());
+                    break;
+                case "eventId":
+                    eventId = in.nextString();
+                    break;
+                case "userId":
+                    userId = in.nextString();
+                    break;
+                case "createdAt":
+                    createdAt = in.nextLong();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new WaitlistOperation(idempotencyKey, type, eventId, userId, createdAt);
+    }
+    
+    private static String typeName(WaitlistOperation.Type type) {
+        if (type == null) {
+            return null;
+        }
+        switch (type) {
+            case JOIN:
+                return "JOIN";
+            case LEAVE:
+                return "LEAVE";
+            case CONFIRM:
+                return "CONFIRM";
+            case DECLINE:
+                return "DECLINE";
+            default:
+                throw new IllegalArgumentException("Unknown operation type " + type);
+        }
+    }
+    
+    private static WaitlistOperation.Type parseType(String name) {
+        switch (name) {
+            case "JOIN":
+                return WaitlistOperation.Type.JOIN;
+            case "LEAVE":
+                return WaitlistOperation.Type.LEAVE;
+            case "CONFIRM":
+                return WaitlistOperation.Type.CONFIRM;
+            case "DECLINE":
+                return WaitlistOperation.Type.DECLINE;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventlottery.data.sync;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WaitlistRemote - Backend endpoint that applies waitlist operations in batches
+ * 
+ * Implementations must apply a batch atomically and treat an idempotency key
+ * they have already applied as a no-op, so retrying a batch after a lost
+ * response cannot double-count.
+ */
+public interface WaitlistRemote {
+    
+    /**
+     * Apply a batch of operations in order
+     * 
+     * @throws IOException if the backend is unreachable; nothing was applied
+     */
+    CommitResult commit(List<WaitlistOperation> batch) throws IOException;
+    
+    /**
+     * Authoritative counts for every event touched by a committed batch
+     */
+    class CommitResult {
+        
+        private final Map<String, Integer> waitlistCounts;
+        private final Map<String, Integer> confirmedCounts;
+        
+        public CommitResult(Map<String, Integer> waitlistCounts,
+                            Map<String, Integer> confirmedCounts) {
+            this.waitlistCounts = Collections.unmodifiableMap(new HashMap<>(waitlistCounts));
+            this.confirmedCounts = Collections.unmodifiableMap(new HashMap<>(confirmedCounts));
+        }
+        
+        public Map<String, Integer> getWaitlistCounts() {
+            return waitlistCounts;
+        }
+        
+        public Map<String, Integer> getConfirmedCounts() {
+            return confirmedCounts;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.eventlottery.data.sync;
+
+import com.eventlottery.data.models.Event;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * WaitlistSyncQueue - Offline-first outbound queue for waitlist actions
+ * 
+ * Join/leave/confirm/decline taps from the entrant screens are recorded in a
+ * durable {@link OperationLog} instead of being sent one by one. Redundant
+ * pending pairs are collapsed (a join followed by a leave never reaches the
+ * backend), and the remaining operations are flushed in batched commits
+ * whenever connectivity is available.
+ * 
+ * Until a commit is acknowledged, screens show optimistic counts: the last
+ * authoritative count plus the delta of operations still pending. Counts
+ * returned by a commit are only trusted until a later backend read of the
+ * event arrives.
+ */
+public class WaitlistSyncQueue {
+    
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    
+    /**
+     * Receives reconciled counts after each acknowledged commit
+     */
+    public interface Listener {
+        void onCountsReconciled(String eventId, int waitlistCount, int confirmedCount);
+    }
+    
+    private final OperationLog log;
+    private final WaitlistRemote remote;
+    private final Executor executor;
+    private final int batchSize;
+    private final List<WaitlistOperation> pending = new ArrayList<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final Map<String, AcknowledgedCounts> acknowledgedCounts = new HashMap<>();
+    private final LongSupplier clock;
+    private Listener listener;
+    private boolean online;
+    private boolean flushScheduled;
+    
+    /**
+     * Counts returned by an acknowledged commit and when they were received
+     */
+    private static final class AcknowledgedCounts {
+        final int waitlistCount;
+        final int confirmedCount;
+        final long acknowledgedAt;
+        
+        AcknowledgedCounts(int waitlistCount, int confirmedCount, long acknowledgedAt) {
+            this.waitlistCount = waitlistCount;
+            this.confirmedCount = confirmedCount;
+            this.acknowledgedAt = acknowledgedAt;
+        }
+    }
+    
+    /**
+     * @param executor background executor that runs flushes; must not be the main thread
+     * @param clock wall-clock millis, compared against the read times passed to
+     *              {@link #applyOptimisticCounts}
+     */
+    public WaitlistSyncQueue(OperationLog log, WaitlistRemote remote,
+                             Executor executor, int batchSize, LongSupplier clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.log = log;
+        this.remote = remote;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+    
+    public WaitlistSyncQueue(OperationLog log, WaitlistRemote remote,
+                             Executor executor, int batchSize) {
+        this(log, remote, executor, batchSize, System::currentTimeMillis);
+    }
+    
+    public WaitlistSyncQueue(OperationLog log, WaitlistRemote remote, Executor executor) {
+        this(log, remote, executor, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Restore operations left over from a previous session
+     */
+    public synchronized void restore() throws IOException {
+        pending.clear();
+        pending.addAll(log.load());
+    }
+    
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Report a connectivity change; going online triggers a flush of pending work
+     */
+    public synchronized void setOnline(boolean online) {
+        this.online = online;
+        if (online) {
+            scheduleFlush();
+        }
+    }
+    
+    public void join(String eventId, String userId) throws IOException {
+        enqueue(WaitlistOperation.create(WaitlistOperation.Type.JOIN, eventId, userId));
+    }
+    
+    public void leave(String eventId, String userId) throws IOException {
+        enqueue(WaitlistOperation.create(WaitlistOperation.Type.LEAVE, eventId, userId));
+    }
+    
+    public void confirm(String eventId, String userId) throws IOException {
+        enqueue(WaitlistOperation.create(WaitlistOperation.Type.CONFIRM, eventId, userId));
+    }
+    
+    public void decline(String eventId, String userId) throws IOException {
+        enqueue(WaitlistOperation.create(WaitlistOperation.Type.DECLINE, eventId, userId));
+    }
+    
+    /**
+     * Record an operation durably, collapsing it against pending work for the same entrant
+     * 
+     * @throws IOException if the log could not be written; the operation is not queued
+     */
+    public synchronized void enqueue(WaitlistOperation operation) throws IOException {
+        List<WaitlistOperation> updated = new ArrayList<>(pending);
+        collapse(updated, operation);
+        log.save(updated);
+        pending.clear();
+        pending.addAll(updated);
+        if (online) {
+            scheduleFlush();
+        }
+    }
+    
+    /**
+     * Apply the collapse rules for a new operation against a copy of the pending list
+     * 
+     * - JOIN then LEAVE: both dropped, the entrant was never added remotely
+     * - repeated JOIN or LEAVE: the repeat is dropped
+     * - CONFIRM after DECLINE: replaces the decline if it is still unsent
+     * - DECLINE after CONFIRM: dropped, whether or not the confirm was sent;
+     *   the remote never gives up a confirmed place for a decline, so the
+     *   outcome no longer depends on flush timing
+     * 
+     * Operations already sent in a batch are never rewritten.
+     */
+    private void collapse(List<WaitlistOperation> operations, WaitlistOperation operation) {
+        boolean membershipChange = isMembershipChange(operation.getType());
+        for (int i = operations.size() - 1; i >= 0; i--) {
+            WaitlistOperation previous = operations.get(i);
+            if (!previous.getTargetKey().equals(operation.getTargetKey())
+                || isMembershipChange(previous.getType()) != membershipChange) {
+                continue;
+            }
+            if (previous.getType() == operation.getType()
+                || previous.getType() == WaitlistOperation.Type.CONFIRM) {
+                return;
+            }
+            if (inFlight.contains(previous.getIdempotencyKey())) {
+                break;
+            }
+            if (membershipChange) {
+                if (previous.getType() == WaitlistOperation.Type.JOIN) {
+                    operations.remove(i);
+                    return;
+                }
+                break;
+            }
+            operations.set(i, operation);
+            return;
+        }
+        operations.add(operation);
+    }
+    
+    private static boolean isMembershipChange(WaitlistOperation.Type type) {
+        return type == WaitlistOperation.Type.JOIN || type == WaitlistOperation.Type.LEAVE;
+    }
+    
+    /**
+     * Request a flush on the background executor
+     */
+    public synchronized void flush() {
+        scheduleFlush();
+    }
+    
+    private void scheduleFlush() {
+        if (flushScheduled || pending.isEmpty()) {
+            return;
+        }
+        flushScheduled = true;
+        executor.execute(this::drain);
+    }
+    
+    private void drain() {
+        while (true) {
+            List<WaitlistOperation> batch;
+            synchronized (this) {
+                if (!online || pending.isEmpty()) {
+                    flushScheduled = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.subList(0, Math.min(batchSize, pending.size())));
+                for (WaitlistOperation operation : batch) {
+                    inFlight.add(operation.getIdempotencyKey());
+                }
+            }
+            
+            WaitlistRemote.CommitResult result;
+            try {
+                result = remote.commit(batch);
+            } catch (IOException e) {
+                // Keep everything queued; the next connectivity change retries
+                synchronized (this) {
+                    for (WaitlistOperation operation : batch) {
+                        inFlight.remove(operation.getIdempotencyKey());
+                    }
+                    flushScheduled = false;
+                }
+                return;
+            }
+            
+            acknowledge(batch, result);
+        }
+    }
+    
+    private void acknowledge(List<WaitlistOperation> batch, WaitlistRemote.CommitResult result) {
+        Map<String, int[]> reconciled = new HashMap<>();
+        Listener current;
+        synchronized (this) {
+            Set<String> committed = new HashSet<>();
+            for (WaitlistOperation operation : batch) {
+                committed.add(operation.getIdempotencyKey());
+                inFlight.remove(operation.getIdempotencyKey());
+            }
+            pending.removeIf(operation -> committed.contains(operation.getIdempotencyKey()));
+            try {
+                log.save(pending);
+            } catch (IOException e) {
+                // Committed operations may be replayed after a crash; idempotency keys make that safe
+            }
+            
+            long now = clock.getAsLong();
+            for (Map.Entry<String, Integer> entry : result.getWaitlistCounts().entrySet()) {
+                String eventId = entry.getKey();
+                int waitlistCount = entry.getValue();
+                int confirmedCount = result.getConfirmedCounts().getOrDefault(eventId, 0);
+                acknowledgedCounts.put(eventId, new AcknowledgedCounts(waitlistCount, confirmedCount, now));
+                reconciled.put(eventId, new int[] {
+                    waitlistCount + pendingWaitlistDelta(eventId),
+                    confirmedCount + pendingConfirmedDelta(eventId)
+                });
+            }
+            current = listener;
+        }
+        
+        if (current != null) {
+            for (Map.Entry<String, int[]> entry : reconciled.entrySet()) {
+                current.onCountsReconciled(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            }
+        }
+    }
+    
+    /**
+     * Net waitlistCount change of operations not yet acknowledged for an event
+     */
+    public synchronized int pendingWaitlistDelta(String eventId) {
+        int delta = 0;
+        for (WaitlistOperation operation : pending) {
+            if (operation.getEventId().equals(eventId)) {
+                delta += operation.getWaitlistDelta();
+            }
+        }
+        return delta;
+    }
+    
+    /**
+     * Net confirmedCount change of operations not yet acknowledged for an event
+     */
+    public synchronized int pendingConfirmedDelta(String eventId) {
+        int delta = 0;
+        for (WaitlistOperation operation : pending) {
+            if (operation.getEventId().equals(eventId)) {
+                delta += operation.getConfirmedDelta();
+            }
+        }
+        return delta;
+    }
+    
+    /**
+     * Overwrite an event's counts with the optimistic values the UI should show
+     * 
+     * The event must hold counts as read from the backend at readAtMillis.
+     * Counts from a commit acknowledged after that read take precedence; an
+     * older acknowledgement is superseded by the read and forgotten.
+     */
+    public synchronized void applyOptimisticCounts(Event serverEvent, long readAtMillis) {
+        String eventId = serverEvent.getId();
+        int waitlistBase = serverEvent.getWaitlistCount();
+        int confirmedBase = serverEvent.getConfirmedCount();
+        AcknowledgedCounts acknowledged = acknowledgedCounts.get(eventId);
+        if (acknowledged != null && acknowledged.acknowledgedAt > readAtMillis) {
+            waitlistBase = acknowledged.waitlistCount;
+            confirmedBase = acknowledged.confirmedCount;
+        } else if (acknowledged != null) {
+            acknowledgedCounts.remove(eventId);
+        }
+        serverEvent.setWaitlistCount(Math.max(0, waitlistBase + pendingWaitlistDelta(eventId)));
+        serverEvent.setConfirmedCount(Math.max(0, confirmedBase + pendingConfirmedDelta(eventId)));
+    }
+    
+    public synchronized List<WaitlistOperation> getPendingOperations() {
+        return new ArrayList<>(pending);
+    }
+    
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.eventlottery.data.waitlist;
+
+import java.util.Arrays;
+
+/**
+ * FenwickTree - Growable binary indexed tree of small counts over slots 0..size-1
+ * 
+ * tree[i] (1-based) holds the sum of slots (i - lowbit(i), i], so a prefix
+ * sum, a point update and a rank select each touch at most log2(size)
+ * cells. Appending a slot fills its cell from the existing cells below it,
+ * which keeps growth at O(log n) per slot without a rebuild.
+ */
+final class FenwickTree {
+    
+    private int[] tree;
+    private int size;
+    
+    FenwickTree(int capacity) {
+        tree = new int[Math.max(capacity, 1) + 1];
+    }
+    
+    /**
+     * Tree over size slots that all hold 1, built in O(n)
+     */
+    static FenwickTree ofOnes(int size, int capacity) {
+        FenwickTree fenwick = new FenwickTree(Math.max(size, capacity));
+        for (int i = 1; i <= size; i++) {
+            fenwick.tree[i] = i & -i;
+        }
+        fenwick.size = size;
+        return fenwick;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    void append(int value) {
+        if (size + 1 == tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+        int i = ++size;
+        int sum = value;
+        for (int j = i - 1, stop = i - (i & -i); j > stop; j -= j & -j) {
+            sum += tree[j];
+        }
+        tree[i] = sum;
+    }
+    
+    void add(int slot, int delta) {
+        for (int i = slot + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+    
+    /**
+     * Sum of slots 0..slot inclusive
+     */
+    int prefix(int slot) {
+        int sum = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+    
+    /**
+     * Lowest slot whose prefix sum exceeds rank, i.e. the slot of the
+     * (rank + 1)-th unit; -1 when rank is not below the total
+     */
+    int select(int rank) {
+        int position = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position < size ? position : -1;
+    }
+    
+    long memoryBytes() {
+        return 16 + 4L * tree.length;
+    }
+}
@@ -0,0 +1,286 @@
+package com.eventlottery.data.waitlist;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * WaitlistIndex - One event's waitlist in join order with O(log n) positions
+ * 
+ * Event only carries an aggregate waitlistCount. This keeps the line itself
+ * so entrants can see their place and organizers can remove anyone from the
+ * middle. Every join takes the next slot, a join sequence number, and a
+ * FenwickTree counts the slots still occupied. A position is the prefix
+ * count up to the entrant's slot. The entrant at a position is a rank
+ * select. Leaving clears the slot without shifting anyone. All of these
+ * are O(log n), and a page of m entrants is O(m + log n) when the line has
+ * few gaps and at worst O(m log n).
+ * 
+ * Entrants are found through an open-addressing table of slot numbers
+ * keyed by user id, so a 1M-entrant line costs the id strings plus about
+ * 17 bytes per entrant. When vacated slots outnumber the live ones the
+ * slots are renumbered in one O(n) pass, which keeps leaves amortized
+ * O(log n) without changing anyone's position. {@link #save} and
+ * {@link #load} persist the line through WaitlistSnapshot.
+ * 
+ * Positions are 1-based, as shown to entrants.
+ */
+public class WaitlistIndex {
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    /** Longest user or event id, in UTF-8 bytes, that a snapshot can hold */
+    public static final int MAX_ID_BYTES = 4096;
+    
+    /** Renumber once vacated slots exceed the live entrants by this many */
+    private static final int COMPACTION_SLACK = 1024;
+    
+    private final String eventId;
+    private String[] users;
+    private FenwickTree occupied;
+    private int live;
+    /** Linear-probing table of slot + 1, 0 for empty */
+    private int[] table;
+    
+    public WaitlistIndex(String eventId) {
+        this(eventId, new String[16], 0);
+    }
+    
+    /**
+     * @param users entrants in line order in users[0..count)
+     * @throws IllegalArgumentException if an id is too long or an entrant appears twice
+     */
+    WaitlistIndex(String eventId, String[] users, int count) {
+        checkId(eventId, "eventId");
+        this.eventId = eventId;
+        this.users = users;
+        this.live = count;
+        this.occupied = FenwickTree.ofOnes(count, users.length);
+        rehash();
+        for (int slot = 0; slot < count; slot++) {
+            // A repeated id is found at its first slot
+            if (find(users[slot]) != slot) {
+                throw new IllegalArgumentException("Duplicate entrant at position " + (slot + 1));
+            }
+        }
+    }
+    
+    /**
+     * Rebuild a waitlist from a snapshot written by {@link #save}
+     */
+    public static WaitlistIndex load(File file) throws IOException {
+        return WaitlistSnapshot.read(file);
+    }
+    
+    /**
+     * Atomically write the line to file in the WaitlistSnapshot format
+     */
+    public synchronized void save(File file) throws IOException {
+        String[] ordered = new String[live];
+        int count = 0;
+        for (int slot = 0; slot < occupied.size(); slot++) {
+            if (users[slot] != null) {
+                ordered[count++] = users[slot];
+            }
+        }
+        WaitlistSnapshot.write(file, eventId, ordered);
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    /**
+     * Add an entrant at the end of the line
+     * 
+     * @return the entrant's position; their existing one if already waiting
+     * @throws IllegalArgumentException if userId is longer than MAX_ID_BYTES in UTF-8
+     */
+    public synchronized int join(String userId) {
+        checkId(userId, "userId");
+        int existing = find(userId);
+        if (existing >= 0) {
+            return occupied.prefix(existing);
+        }
+        int slot = occupied.size();
+        if (slot == users.length) {
+            users = Arrays.copyOf(users, users.length * 2);
+        }
+        users[slot] = userId;
+        occupied.append(1);
+        live++;
+        if (live * 2 > table.length) {
+            rehash();
+        } else {
+            insert(slot);
+        }
+        return live;
+    }
+    
+    /**
+     * Remove an entrant from anywhere in the line; everyone behind moves up one
+     * 
+     * @return false if the entrant was not waiting
+     */
+    public synchronized boolean leave(String userId) {
+        int index = indexOf(userId);
+        if (index < 0) {
+            return false;
+        }
+        int slot = table[index] - 1;
+        delete(index);
+        users[slot] = null;
+        occupied.add(slot, -1);
+        live--;
+        if (occupied.size() - live > live + COMPACTION_SLACK) {
+            compact();
+        }
+        return true;
+    }
+    
+    /**
+     * @return the entrant's 1-based place in line, or -1 if not waiting
+     */
+    public synchronized int positionOf(String userId) {
+        int slot = find(userId);
+        return slot >= 0 ? occupied.prefix(slot) : -1;
+    }
+    
+    public synchronized boolean contains(String userId) {
+        return find(userId) >= 0;
+    }
+    
+    /**
+     * @return the entrant at a 1-based position, or null past the end
+     */
+    public synchronized String entrantAt(int position) {
+        if (position < 1 || position > live) {
+            return null;
+        }
+        return users[occupied.select(position - 1)];
+    }
+    
+    /**
+     * Entrants at positions fromPosition .. fromPosition + limit - 1, fewer at the end of the line
+     */
+    public synchronized List<String> entrants(int fromPosition, int limit) {
+        if (fromPosition < 1) {
+            throw new IllegalArgumentException("fromPosition must be at least 1");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (fromPosition > live) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(limit, live - fromPosition + 1);
+        List<String> page = new ArrayList<>(count);
+        int slot = occupied.select(fromPosition - 1);
+        for (int i = 0; i < count; i++) {
+            page.add(users[slot]);
+            int next = slot + 1;
+            // Walk adjacent slots; jump by rank over a run of vacated ones
+            slot = next < occupied.size() && users[next] != null
+                ? next : occupied.select(fromPosition + i);
+        }
+        return page;
+    }
+    
+    public synchronized int size() {
+        return live;
+    }
+    
+    /**
+     * Approximate heap footprint excluding the user id strings themselves
+     */
+    public synchronized long memoryBytes() {
+        return 16 + 4L * users.length + occupied.memoryBytes() + 16 + 4L * table.length;
+    }
+    
+    /**
+     * Renumber the live entrants into slots 0..live-1, keeping their order
+     */
+    private void compact() {
+        String[] packed = new String[Math.max(16, live * 2)];
+        int count = 0;
+        for (int slot = 0; slot < occupied.size(); slot++) {
+            if (users[slot] != null) {
+                packed[count++] = users[slot];
+            }
+        }
+        users = packed;
+        occupied = FenwickTree.ofOnes(count, packed.length);
+        rehash();
+    }
+    
+    private int find(String userId) {
+        int index = indexOf(userId);
+        return index >= 0 ? table[index] - 1 : -1;
+    }
+    
+    private int indexOf(String userId) {
+        int mask = table.length - 1;
+        for (int i = home(userId, mask); table[i] != 0; i = (i + 1) & mask) {
+            if (users[table[i] - 1].equals(userId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private void insert(int slot) {
+        int mask = table.length - 1;
+        int i = home(users[slot], mask);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+    
+    /**
+     * Backward-shift deletion, so lookups never need tombstones
+     */
+    private void delete(int index) {
+        int mask = table.length - 1;
+        int hole = index;
+        for (int i = (hole + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = home(users[table[i] - 1], mask);
+            boolean reachable = hole <= i ? home > hole && home <= i : home > hole || home <= i;
+            if (!reachable) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+    
+    private void rehash() {
+        int capacity = 16;
+        while (capacity < live * 2 + 2) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        for (int slot = 0; slot < occupied.size(); slot++) {
+            if (users[slot] != null) {
+                insert(slot);
+            }
+        }
+    }
+    
+    private static void checkId(String id, String name) {
+        if (id == null) {
+            throw new IllegalArgumentException(name + " must not be null");
+        }
+        // Up to 3 UTF-8 bytes per char (4 per surrogate pair), so short ids skip the encoding
+        if (id.length() * 3 > MAX_ID_BYTES && WaitlistSnapshot.utf8Length(id) > MAX_ID_BYTES) {
+            throw new IllegalArgumentException(name + " is longer than " + MAX_ID_BYTES + " UTF-8 bytes");
+        }
+    }
+    
+    private static int home(String userId, int mask) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
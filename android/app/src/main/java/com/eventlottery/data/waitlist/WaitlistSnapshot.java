@@ -0,0 +1,184 @@
+package com.eventlottery.data.waitlist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * WaitlistSnapshot - Compact binary file format for a WaitlistIndex
+ * 
+ * Layout, all integers as unsigned LEB128 varints unless noted:
+ * <pre>
+ *   magic    4 bytes "EWL1"
+ *   eventId  length, UTF-8 bytes
+ *   count    number of entrants
+ *   entrant  length, UTF-8 bytes; count times, in line order
+ *   crc32    4 bytes big-endian, over everything above
+ * </pre>
+ * Line order is the only state a WaitlistIndex needs, so vacated slots and
+ * the tree are not stored and a 28-character Firebase uid costs 29 bytes.
+ * Files are written to a temp file, synced and renamed over the original,
+ * the same swap OperationLog uses; a torn or corrupt file fails its
+ * checksum on read instead of loading a partial line.
+ */
+final class WaitlistSnapshot {
+    
+    private static final byte[] MAGIC = {'E', 'W', 'L', '1'};
+    /** Bounds a corrupt length before it is allocated; WaitlistIndex rejects longer ids */
+    private static final int MAX_STRING_BYTES = WaitlistIndex.MAX_ID_BYTES;
+    
+    private WaitlistSnapshot() {
+    }
+    
+    static void write(File file, String eventId, String[] entrants) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temp)) {
+            CRC32 crc = new CRC32();
+            OutputStream out = new CheckedOutputStream(new BufferedOutputStream(output, 1 << 16), crc);
+            out.write(MAGIC);
+            writeString(out, eventId);
+            writeVarint(out, entrants.length);
+            for (String entrant : entrants) {
+                writeString(out, entrant);
+            }
+            int checksum = (int) crc.getValue();
+            out.write(checksum >>> 24);
+            out.write(checksum >>> 16);
+            out.write(checksum >>> 8);
+            out.write(checksum);
+            out.flush();
+            output.getFD().sync();
+        } catch (IOException e) {
+            // Leave the previous snapshot untouched and no partial temp file behind
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+    
+    static WaitlistIndex read(File file) throws IOException {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            CRC32 crc = new CRC32();
+            CheckedInputStream in = new CheckedInputStream(input, crc);
+            byte[] magic = readFully(in, MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a waitlist snapshot: " + file);
+            }
+            String eventId = readString(in);
+            int count = readVarint(in);
+            if (count > file.length()) {
+                throw new IOException("Corrupt waitlist snapshot: " + file);
+            }
+            String[] entrants = new String[Math.max(16, count)];
+            for (int i = 0; i < count; i++) {
+                entrants[i] = readString(in);
+            }
+            int expected = (int) crc.getValue();
+            byte[] trailer = readFully(input, 4);
+            int actual = (trailer[0] & 0xFF) << 24 | (trailer[1] & 0xFF) << 16
+                | (trailer[2] & 0xFF) << 8 | trailer[3] & 0xFF;
+            if (actual != expected) {
+                throw new IOException("Waitlist snapshot checksum mismatch: " + file);
+            }
+            try {
+                return new WaitlistIndex(eventId, entrants, count);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt waitlist snapshot: " + file + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    static int utf8Length(String value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+    
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            // Never write a file that read would refuse
+            throw new IOException("Id longer than " + MAX_STRING_BYTES + " UTF-8 bytes: "
+                + value.substring(0, 32) + "...");
+        }
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(InputStream in) throws IOException {
+        int length = readVarint(in);
+        if (length > MAX_STRING_BYTES) {
+            throw new IOException("Corrupt waitlist snapshot");
+        }
+        return new String(readFully(in, length), StandardCharsets.UTF_8);
+    }
+    
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+    
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated waitlist snapshot");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Corrupt waitlist snapshot");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Corrupt waitlist snapshot");
+    }
+    
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = in.read(bytes, read, length - read);
+            if (n < 0) {
+                throw new EOFException("Truncated waitlist snapshot");
+            }
+            read += n;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventlottery.services;
+
+import android.app.Service;
+import android.content.Intent;
+import android.os.Binder;
+import android.os.IBinder;
+import com.eventlottery.services.location.FusedLocationSource;
+import com.eventlottery.services.location.LocationTracker;
+
+/**
+ * LocationService - Bound service owning the app's single location tracker
+ * 
+ * Screens bind to this service and read the cached fix from
+ * {@link LocationTracker} rather than requesting their own GPS updates.
+ * Sampling starts with the first bind, stops when the last client unbinds
+ * and starts again on a later rebind.
+ */
+public class LocationService extends Service {
+    
+    private final IBinder binder = new LocalBinder();
+    private LocationTracker tracker;
+    
+    public class LocalBinder extends Binder {
+        public LocationService getService() {
+            return LocationService.this;
+        }
+    }
+    
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        tracker = new LocationTracker(new FusedLocationSource(this), System::currentTimeMillis);
+    }
+    
+    @Override
+    public IBinder onBind(Intent intent) {
+        tracker.start();
+        return binder;
+    }
+    
+    /**
+     * Returning true makes the system call {@link #onRebind} instead of
+     * {@link #onBind} when a client binds again, so sampling restarts there
+     */
+    @Override
+    public boolean onUnbind(Intent intent) {
+        tracker.stop();
+        return true;
+    }
+    
+    @Override
+    public void onRebind(Intent intent) {
+        super.onRebind(intent);
+        tracker.start();
+    }
+    
+    @Override
+    public void onDestroy() {
+        tracker.stop();
+        super.onDestroy();
+    }
+    
+    public LocationTracker getTracker() {
+        return tracker;
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventlottery.services.location;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.location.Location;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.location.LocationCallback;
+import com.google.android.gms.location.LocationRequest;
+import com.google.android.gms.location.LocationResult;
+import com.google.android.gms.location.LocationServices;
+import com.google.android.gms.location.Priority;
+
+/**
+ * FusedLocationSource - LocationSource backed by Google Play Services
+ * 
+ * Callers must hold ACCESS_FINE_LOCATION or ACCESS_COARSE_LOCATION before
+ * requesting updates.
+ */
+public class FusedLocationSource implements LocationSource {
+    
+    private final FusedLocationProviderClient client;
+    private LocationCallback callback;
+    
+    public FusedLocationSource(Context context) {
+        this.client = LocationServices.getFusedLocationProviderClient(context);
+    }
+    
+    @SuppressLint("MissingPermission")
+    @Override
+    public synchronized void requestUpdates(long intervalMillis, boolean highAccuracy,
+                                            Listener listener) {
+        if (callback != null) {
+            client.removeLocationUpdates(callback);
+        }
+        callback = new LocationCallback() {
+            @Override
+            public void onLocationResult(@NonNull LocationResult result) {
+                Location location = result.getLastLocation();
+                if (location != null) {
+                    listener.onLocationFix(new LocationFix(
+                        location.getLatitude(),
+                        location.getLongitude(),
+                        location.getAccuracy(),
+                        location.getTime()
+                    ));
+                }
+            }
+        };
+        
+        int priority = highAccuracy
+            ? Priority.PRIORITY_HIGH_ACCURACY
+            : Priority.PRIORITY_BALANCED_POWER_ACCURACY;
+        LocationRequest request = new LocationRequest.Builder(priority, intervalMillis)
+            .setMinUpdateIntervalMillis(intervalMillis / 2)
+            .build();
+        client.requestLocationUpdates(request, callback, Looper.getMainLooper());
+    }
+    
+    @Override
+    public synchronized void removeUpdates() {
+        if (callback != null) {
+            client.removeLocationUpdates(callback);
+            callback = null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.eventlottery.services.location;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.utils.GeoUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GeofenceEvaluator - Checks one fix against every relevant event geofence in a single pass
+ * 
+ * Geofenced events are unpacked into parallel arrays once when the set is
+ * loaded, so each fix costs one {@link GeoUtils#distanceKm} per geofence
+ * instead of repeated per-screen
+ * {@link Event#isWithinGeolocationRadius(double, double)} calls.
+ * Events without an active geolocation restriction are ignored.
+ */
+public class GeofenceEvaluator {
+    
+    private final String[] eventIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] radiiKm;
+    
+    public GeofenceEvaluator(List<Event> events) {
+        List<Event> fenced = new ArrayList<>();
+        for (Event event : events) {
+            if (event.isGeolocationEnabled() && event.getGeolocationLat() != null
+                && event.getGeolocationLng() != null && event.getGeolocationRadius() != null) {
+                fenced.add(event);
+            }
+        }
+        int size = fenced.size();
+        eventIds = new String[size];
+        latitudes = new double[size];
+        longitudes = new double[size];
+        radiiKm = new double[size];
+        for (int i = 0; i < size; i++) {
+            Event event = fenced.get(i);
+            eventIds[i] = event.getId();
+            latitudes[i] = event.getGeolocationLat();
+            longitudes[i] = event.getGeolocationLng();
+            radiiKm[i] = event.getGeolocationRadius();
+        }
+    }
+    
+    public int size() {
+        return eventIds.length;
+    }
+    
+    /**
+     * Evaluate all geofences for one fix
+     */
+    public Result evaluate(LocationFix fix) {
+        double lat = fix.getLatitude();
+        double lng = fix.getLongitude();
+        
+        Map<String, Boolean> inside = new HashMap<>(eventIds.length * 2);
+        double nearestBoundaryKm = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < eventIds.length; i++) {
+            double distanceKm = GeoUtils.distanceKm(lat, lng, latitudes[i], longitudes[i]);
+            inside.put(eventIds[i], distanceKm <= radiiKm[i]);
+            nearestBoundaryKm = Math.min(nearestBoundaryKm, Math.abs(distanceKm - radiiKm[i]));
+        }
+        return new Result(fix, inside, nearestBoundaryKm);
+    }
+    
+    /**
+     * Geofence membership for one fix
+     */
+    public static class Result {
+        
+        private final LocationFix fix;
+        private final Map<String, Boolean> inside;
+        private final double nearestBoundaryKm;
+        
+        Result(LocationFix fix, Map<String, Boolean> inside, double nearestBoundaryKm) {
+            this.fix = fix;
+            this.inside = Collections.unmodifiableMap(inside);
+            this.nearestBoundaryKm = nearestBoundaryKm;
+        }
+        
+        public LocationFix getFix() {
+            return fix;
+        }
+        
+        /**
+         * Whether the fix is inside the event's radius; events without a geofence always pass
+         */
+        public boolean isInside(String eventId) {
+            Boolean value = inside.get(eventId);
+            return value == null || value;
+        }
+        
+        /**
+         * Distance from the fix to the closest geofence edge, or infinity when there are none
+         */
+        public double getNearestBoundaryKm() {
+            return nearestBoundaryKm;
+        }
+        
+        /**
+         * True when the fix's accuracy circle crosses a geofence edge, so a
+         * decision based on it could flip with a better reading
+         */
+        public boolean isAmbiguous() {
+            return nearestBoundaryKm * 1000.0 < fix.getAccuracyMeters();
+        }
+    }
+}
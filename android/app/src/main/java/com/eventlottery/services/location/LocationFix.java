@@ -0,0 +1,52 @@
+package com.eventlottery.services.location;
+
+/**
+ * LocationFix - Immutable position reading from a location source
+ */
+public final class LocationFix {
+    
+    private final double latitude;
+    private final double longitude;
+    private final float accuracyMeters;
+    private final long timestampMillis;
+    
+    public LocationFix(double latitude, double longitude, float accuracyMeters,
+                       long timestampMillis) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.accuracyMeters = accuracyMeters;
+        this.timestampMillis = timestampMillis;
+    }
+    
+    public double getLatitude() {
+        return latitude;
+    }
+    
+    public double getLongitude() {
+        return longitude;
+    }
+    
+    /**
+     * Radius of 68% confidence around the position, in meters
+     */
+    public float getAccuracyMeters() {
+        return accuracyMeters;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    /**
+     * Age of the fix relative to the given clock reading
+     */
+    public long ageMillis(long nowMillis) {
+        return Math.max(0L, nowMillis - timestampMillis);
+    }
+    
+    @Override
+    public String toString() {
+        return "LocationFix{" + latitude + ", " + longitude + " ±" + accuracyMeters
+            + "m @" + timestampMillis + "}";
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventlottery.services.location;
+
+/**
+ * LocationSource - Platform location updates behind a plain Java interface
+ * 
+ * The Android implementation wraps the fused location provider; JVM tests use
+ * a scripted fake.
+ */
+public interface LocationSource {
+    
+    interface Listener {
+        void onLocationFix(LocationFix fix);
+    }
+    
+    /**
+     * Start or re-configure periodic updates
+     * 
+     * Calling again replaces the previous request, so sampling can be adapted
+     * without tearing down the listener.
+     * 
+     * @param intervalMillis desired time between fixes
+     * @param highAccuracy true to use GPS-level accuracy, false for balanced power
+     */
+    void requestUpdates(long intervalMillis, boolean highAccuracy, Listener listener);
+    
+    /**
+     * Stop delivering updates
+     */
+    void removeUpdates();
+}
@@ -0,0 +1,222 @@
+package com.eventlottery.services.location;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.utils.GeoUtils;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * LocationTracker - Cached, adaptively sampled user position with batched geofence checks
+ * 
+ * Screens ask for {@link #getCachedFix()} instead of requesting a fresh GPS
+ * fix per event check. The tracker keeps the best recent fix, and after each
+ * fix it evaluates every relevant event geofence in one batch. It then picks
+ * the next sampling interval from how fast the user is moving and how far
+ * they are from the nearest geofence edge: a stationary user far from every
+ * boundary is sampled rarely on balanced power, and a user approaching an
+ * edge is sampled often with high accuracy.
+ */
+public class LocationTracker implements LocationSource.Listener {
+    
+    public static final long MIN_INTERVAL_MILLIS = 5_000L;
+    public static final long MAX_INTERVAL_MILLIS = 15 * 60_000L;
+    public static final long DEFAULT_MAX_AGE_MILLIS = 2 * 60_000L;
+    public static final float DEFAULT_MAX_ACCURACY_METERS = 100f;
+    
+    /** Below this speed the user is treated as stationary */
+    private static final double STATIONARY_SPEED_MPS = 0.5;
+    /** Speed assumed for a user who may start walking towards a boundary */
+    private static final double WALKING_SPEED_MPS = 1.4;
+    /** Use GPS-level accuracy when the nearest boundary is closer than this */
+    private static final double HIGH_ACCURACY_BOUNDARY_KM = 1.0;
+    /** Only re-request updates when the interval changes by more than this factor */
+    private static final double INTERVAL_HYSTERESIS = 1.25;
+    /** Weight of the newest speed sample in the moving average */
+    private static final double SPEED_SMOOTHING = 0.5;
+    
+    /**
+     * Receives geofence membership after each accepted fix
+     */
+    public interface Listener {
+        void onGeofencesEvaluated(GeofenceEvaluator.Result result);
+    }
+    
+    private final LocationSource source;
+    private final LongSupplier clock;
+    private GeofenceEvaluator evaluator = new GeofenceEvaluator(Collections.emptyList());
+    private Listener listener;
+    private LocationFix lastFix;
+    private GeofenceEvaluator.Result lastResult;
+    private double speedMetersPerSecond;
+    private long currentIntervalMillis;
+    private boolean currentHighAccuracy;
+    private boolean started;
+    
+    public LocationTracker(LocationSource source, LongSupplier clock) {
+        this.source = source;
+        this.clock = clock;
+    }
+    
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Replace the set of events whose geofences matter to the user
+     * 
+     * The cached fix, if any, is re-evaluated against the new set immediately.
+     */
+    public void setGeofences(List<Event> events) {
+        GeofenceEvaluator.Result result = null;
+        Listener current;
+        synchronized (this) {
+            evaluator = new GeofenceEvaluator(events);
+            if (lastFix != null) {
+                result = evaluator.evaluate(lastFix);
+                lastResult = result;
+                adaptSampling(result);
+            }
+            current = listener;
+        }
+        if (result != null && current != null) {
+            current.onGeofencesEvaluated(result);
+        }
+    }
+    
+    /**
+     * Begin sampling, starting fast so the first usable fix arrives quickly
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        currentIntervalMillis = MIN_INTERVAL_MILLIS;
+        currentHighAccuracy = false;
+        source.requestUpdates(currentIntervalMillis, currentHighAccuracy, this);
+    }
+    
+    public synchronized void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        source.removeUpdates();
+    }
+    
+    /**
+     * Last fix meeting the default age and accuracy policy, or null
+     */
+    public LocationFix getCachedFix() {
+        return getCachedFix(DEFAULT_MAX_AGE_MILLIS, DEFAULT_MAX_ACCURACY_METERS);
+    }
+    
+    /**
+     * Last fix no older than maxAgeMillis and at least as accurate as maxAccuracyMeters, or null
+     */
+    public synchronized LocationFix getCachedFix(long maxAgeMillis, float maxAccuracyMeters) {
+        if (lastFix == null
+            || lastFix.ageMillis(clock.getAsLong()) > maxAgeMillis
+            || lastFix.getAccuracyMeters() > maxAccuracyMeters) {
+            return null;
+        }
+        return lastFix;
+    }
+    
+    /**
+     * Geofence result for the cached fix, or null if no fix has been accepted yet
+     */
+    public synchronized GeofenceEvaluator.Result getLastResult() {
+        return lastResult;
+    }
+    
+    public synchronized long getCurrentIntervalMillis() {
+        return currentIntervalMillis;
+    }
+    
+    public synchronized boolean isHighAccuracy() {
+        return currentHighAccuracy;
+    }
+    
+    @Override
+    public void onLocationFix(LocationFix fix) {
+        GeofenceEvaluator.Result result;
+        Listener current;
+        synchronized (this) {
+            if (!isBetterThanCached(fix)) {
+                return;
+            }
+            updateSpeed(fix);
+            lastFix = fix;
+            result = evaluator.evaluate(fix);
+            lastResult = result;
+            adaptSampling(result);
+            current = listener;
+        }
+        if (current != null) {
+            current.onGeofencesEvaluated(result);
+        }
+    }
+    
+    /**
+     * Reject fixes that are older than the cache, or noticeably less accurate
+     * than a cached fix that is still fresh
+     */
+    private boolean isBetterThanCached(LocationFix fix) {
+        if (lastFix == null) {
+            return true;
+        }
+        if (fix.getTimestampMillis() <= lastFix.getTimestampMillis()) {
+            return false;
+        }
+        boolean cachedFresh = lastFix.ageMillis(clock.getAsLong()) <= DEFAULT_MAX_AGE_MILLIS;
+        return !cachedFresh || fix.getAccuracyMeters() <= lastFix.getAccuracyMeters() * 2;
+    }
+    
+    private void updateSpeed(LocationFix fix) {
+        if (lastFix == null) {
+            return;
+        }
+        double seconds = (fix.getTimestampMillis() - lastFix.getTimestampMillis()) / 1000.0;
+        double meters = GeoUtils.distanceKm(lastFix.getLatitude(), lastFix.getLongitude(),
+                                            fix.getLatitude(), fix.getLongitude()) * 1000.0;
+        // Movement inside the combined accuracy circles is indistinguishable from noise
+        double noise = fix.getAccuracyMeters() + lastFix.getAccuracyMeters();
+        double sample = meters <= noise ? 0.0 : (meters - noise) / seconds;
+        speedMetersPerSecond = SPEED_SMOOTHING * sample
+            + (1 - SPEED_SMOOTHING) * speedMetersPerSecond;
+    }
+    
+    /**
+     * Choose the next interval so the user cannot cross the nearest boundary
+     * between two fixes, and re-request updates only when it changes materially
+     */
+    private void adaptSampling(GeofenceEvaluator.Result result) {
+        double boundaryKm = result.getNearestBoundaryKm();
+        long interval;
+        boolean highAccuracy;
+        if (Double.isInfinite(boundaryKm)) {
+            interval = MAX_INTERVAL_MILLIS;
+            highAccuracy = false;
+        } else {
+            double speed = speedMetersPerSecond < STATIONARY_SPEED_MPS
+                ? WALKING_SPEED_MPS
+                : speedMetersPerSecond;
+            double secondsToBoundary = boundaryKm * 1000.0 / speed;
+            interval = (long) (secondsToBoundary * 1000.0 / 2);
+            highAccuracy = boundaryKm < HIGH_ACCURACY_BOUNDARY_KM || result.isAmbiguous();
+        }
+        interval = Math.max(MIN_INTERVAL_MILLIS, Math.min(MAX_INTERVAL_MILLIS, interval));
+        
+        boolean intervalChanged = interval > currentIntervalMillis * INTERVAL_HYSTERESIS
+            || interval * INTERVAL_HYSTERESIS < currentIntervalMillis;
+        if (intervalChanged || highAccuracy != currentHighAccuracy) {
+            currentIntervalMillis = interval;
+            currentHighAccuracy = highAccuracy;
+            if (started) {
+                source.requestUpdates(interval, highAccuracy, this);
+            }
+        }
+    }
+}
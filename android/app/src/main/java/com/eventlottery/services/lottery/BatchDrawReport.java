@@ -0,0 +1,49 @@
+package com.eventlottery.services.lottery;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * BatchDrawReport - Results of a batch of lottery draws, keyed by event id
+ */
+public class BatchDrawReport {
+    
+    private final Map<String, DrawResult> results;
+    private final int conflictsResolved;
+    private final int rounds;
+    private final long elapsedMillis;
+    
+    public BatchDrawReport(Map<String, DrawResult> results, int conflictsResolved,
+                           int rounds, long elapsedMillis) {
+        this.results = Collections.unmodifiableMap(results);
+        this.conflictsResolved = conflictsResolved;
+        this.rounds = rounds;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public Map<String, DrawResult> getResults() {
+        return results;
+    }
+    
+    public DrawResult getResult(String eventId) {
+        return results.get(eventId);
+    }
+    
+    /**
+     * Selections released because the entrant kept an overlapping event
+     */
+    public int getConflictsResolved() {
+        return conflictsResolved;
+    }
+    
+    /**
+     * Draw/resolve rounds needed until no entrant held overlapping selections
+     */
+    public int getRounds() {
+        return rounds;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
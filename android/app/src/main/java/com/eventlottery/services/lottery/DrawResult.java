@@ -0,0 +1,38 @@
+package com.eventlottery.services.lottery;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DrawResult - Outcome of one event's lottery draw
+ */
+public class DrawResult {
+    
+    private final String eventId;
+    private final List<String> winners;
+    private final int redraws;
+    
+    public DrawResult(String eventId, List<String> winners, int redraws) {
+        this.eventId = eventId;
+        this.winners = Collections.unmodifiableList(winners);
+        this.redraws = redraws;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    /**
+     * Selected entrants in draw order
+     */
+    public List<String> getWinners() {
+        return winners;
+    }
+    
+    /**
+     * Winners released because they were also selected for an overlapping event, each replaced by a redraw
+     */
+    public int getRedraws() {
+        return redraws;
+    }
+}
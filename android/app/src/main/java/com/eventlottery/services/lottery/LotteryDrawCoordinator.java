@@ -0,0 +1,315 @@
+package com.eventlottery.services.lottery;
+
+import com.eventlottery.data.importer.EventValidator;
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * LotteryDrawCoordinator - Runs many events' lottery draws together without double-booking entrants
+ * 
+ * Each event's draw is a lazy Fisher-Yates shuffle of its waiting list
+ * seeded from the batch seed and the event id, so results are reproducible
+ * and independent of thread scheduling. Draws run in parallel on a
+ * fork-join pool. An entrant selected for events whose date/time ranges
+ * overlap keeps the selection where they were drawn earliest (lowest
+ * position, then event id) and is released from the others, which redraw
+ * the next entrants from their shuffle. Rounds repeat until no entrant
+ * holds overlapping selections; each release is permanent, so this
+ * terminates.
+ * 
+ * The draw only marks each event lottery_drawn. Winners are invited, not
+ * confirmed: confirmedCount grows when they accept, through the CONFIRM
+ * operation each one sends, so the draw must not count them as well.
+ */
+public class LotteryDrawCoordinator {
+    
+    /** Assumed length of events without a usable endTime */
+    public static final int DEFAULT_DURATION_MINUTES = 120;
+    
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int EVENTS_PER_TASK = 4;
+    
+    private final ForkJoinPool pool;
+    private final long seed;
+    
+    public LotteryDrawCoordinator(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+    
+    /**
+     * Events whose lotteryDrawDate has passed and that have not been drawn yet
+     */
+    public static List<Event> selectDue(List<Event> events, long now) {
+        List<Event> due = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getLotteryDrawDate() != null && event.getLotteryDrawDate() <= now
+                    && isDrawable(event)) {
+                due.add(event);
+            }
+        }
+        return due;
+    }
+    
+    /**
+     * Draw winners for every drawable event and mark it lottery_drawn
+     * 
+     * @param waitlists entrant ids on each event's waiting list, keyed by event id
+     */
+    public BatchDrawReport drawAll(List<Event> events, Map<String, List<String>> waitlists) {
+        long startedAt = System.currentTimeMillis();
+        List<EventDraw> draws = new ArrayList<>();
+        for (Event event : events) {
+            if (isDrawable(event)) {
+                List<String> waitlist = waitlists.get(event.getId());
+                draws.add(new EventDraw(event,
+                    waitlist != null ? waitlist.toArray(new String[0]) : new String[0], seed));
+            }
+        }
+        // Input order must not affect the outcome
+        draws.sort(Comparator.comparing(draw -> draw.event.getId()));
+        markConflictingEvents(draws);
+        
+        Map<String, List<Selection>> selectionsByEntrant = new HashMap<>();
+        List<EventDraw> pending = draws;
+        int rounds = 0;
+        int conflictsResolved = 0;
+        while (!pending.isEmpty()) {
+            rounds++;
+            pool.invoke(new FillTask(pending, 0, pending.size()));
+            
+            Set<String> contested = new LinkedHashSet<>();
+            for (EventDraw draw : pending) {
+                if (draw.hasConflicts) {
+                    for (int i = 0; i < draw.freshCount; i++) {
+                        int position = draw.fresh[i];
+                        String entrant = draw.entrantAt(position);
+                        List<Selection> selections =
+                            selectionsByEntrant.computeIfAbsent(entrant, e -> new ArrayList<>(1));
+                        selections.add(new Selection(draw, position));
+                        if (selections.size() > 1) {
+                            contested.add(entrant);
+                        }
+                    }
+                }
+                draw.freshCount = 0;
+            }
+            
+            Set<EventDraw> refill = new TreeSet<>(Comparator.comparing(draw -> draw.event.getId()));
+            for (String entrant : contested) {
+                List<Selection> kept = resolve(selectionsByEntrant.get(entrant), refill);
+                conflictsResolved += selectionsByEntrant.get(entrant).size() - kept.size();
+                selectionsByEntrant.put(entrant, kept);
+            }
+            pending = new ArrayList<>(refill);
+        }
+        
+        Map<String, DrawResult> results = new LinkedHashMap<>();
+        for (EventDraw draw : draws) {
+            List<String> winners = draw.winners();
+            Event event = draw.event;
+            event.setStatus("lottery_drawn");
+            results.put(event.getId(), new DrawResult(event.getId(), winners, draw.redraws));
+        }
+        return new BatchDrawReport(results, conflictsResolved, rounds,
+            System.currentTimeMillis() - startedAt);
+    }
+    
+    private static boolean isDrawable(Event event) {
+        return "open".equals(event.getStatus()) || "closed".equals(event.getStatus());
+    }
+    
+    /**
+     * Keep the earliest-drawn non-overlapping selections and release the rest
+     */
+    private static List<Selection> resolve(List<Selection> selections, Set<EventDraw> refill) {
+        List<Selection> ordered = new ArrayList<>(selections);
+        ordered.sort(Comparator.<Selection>comparingInt(selection -> selection.position)
+            .thenComparing(selection -> selection.draw.event.getId()));
+        List<Selection> kept = new ArrayList<>(1);
+        for (Selection candidate : ordered) {
+            boolean overlaps = false;
+            for (Selection keeper : kept) {
+                if (candidate.draw.overlaps(keeper.draw)) {
+                    overlaps = true;
+                    break;
+                }
+            }
+            if (overlaps) {
+                candidate.draw.release(candidate.position);
+                refill.add(candidate.draw);
+            } else {
+                kept.add(candidate);
+            }
+        }
+        return kept;
+    }
+    
+    /**
+     * Flag events that overlap at least one other event; only those need conflict tracking
+     */
+    private static void markConflictingEvents(List<EventDraw> draws) {
+        List<EventDraw> timed = new ArrayList<>();
+        for (EventDraw draw : draws) {
+            if (draw.date != null) {
+                timed.add(draw);
+            }
+        }
+        timed.sort(Comparator.<EventDraw, String>comparing(draw -> draw.date)
+            .thenComparingInt(draw -> draw.startMinute));
+        // Sorted by start, the events overlapping draw are exactly the later ones starting before it ends
+        for (int i = 0; i < timed.size(); i++) {
+            EventDraw draw = timed.get(i);
+            for (int j = i + 1; j < timed.size() && timed.get(j).date.equals(draw.date)
+                    && timed.get(j).startMinute < draw.endMinute; j++) {
+                draw.hasConflicts = true;
+                timed.get(j).hasConflicts = true;
+            }
+        }
+    }
+    
+    private static final class Selection {
+        final EventDraw draw;
+        final int position;
+        
+        Selection(EventDraw draw, int position) {
+            this.draw = draw;
+            this.position = position;
+        }
+    }
+    
+    /**
+     * Draw state for one event; only touched by one fork-join task at a time
+     */
+    private static final class EventDraw {
+        final Event event;
+        final String[] entrants;
+        final int[] order;
+        final int spots;
+        final SplittableRandom random;
+        final BitSet selected = new BitSet();
+        final String date;
+        final int startMinute;
+        final int endMinute;
+        boolean hasConflicts;
+        int next;
+        int selectedCount;
+        int redraws;
+        int[] fresh = new int[0];
+        int freshCount;
+        
+        EventDraw(Event event, String[] entrants, long seed) {
+            this.event = event;
+            this.entrants = entrants;
+            this.order = new int[entrants.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            this.spots = event.getAvailableSpots();
+            this.random = new SplittableRandom(seed ^ (event.getId().hashCode() * 0x9E3779B97F4A7C15L));
+            
+            int start = EventValidator.parseMinutes(event.getTime());
+            if (event.getDate() == null || start < 0) {
+                this.date = null;
+                this.startMinute = 0;
+                this.endMinute = 0;
+            } else {
+                int end = EventValidator.parseMinutes(event.getEndTime());
+                this.date = event.getDate();
+                this.startMinute = start;
+                // Missing end: assume the default length; end before start: runs to midnight
+                this.endMinute = end < 0 ? Math.min(MINUTES_PER_DAY, start + DEFAULT_DURATION_MINUTES)
+                    : end <= start ? MINUTES_PER_DAY : end;
+            }
+        }
+        
+        /**
+         * Draw until every spot is filled or the waiting list runs out
+         */
+        void fill() {
+            int needed = Math.min(spots - selectedCount, entrants.length - next);
+            if (needed <= 0) {
+                return;
+            }
+            if (fresh.length < needed) {
+                fresh = new int[needed];
+            }
+            for (int i = 0; i < needed; i++) {
+                int pick = next + random.nextInt(entrants.length - next);
+                int swapped = order[pick];
+                order[pick] = order[next];
+                order[next] = swapped;
+                selected.set(next);
+                fresh[freshCount++] = next;
+                next++;
+            }
+            selectedCount += needed;
+        }
+        
+        void release(int position) {
+            selected.clear(position);
+            selectedCount--;
+            redraws++;
+        }
+        
+        String entrantAt(int position) {
+            return entrants[order[position]];
+        }
+        
+        boolean overlaps(EventDraw other) {
+            return date != null && other.date != null && date.equals(other.date)
+                && startMinute < other.endMinute && other.startMinute < endMinute;
+        }
+        
+        List<String> winners() {
+            if (selectedCount == 0) {
+                return Collections.emptyList();
+            }
+            List<String> winners = new ArrayList<>(selectedCount);
+            for (int position = selected.nextSetBit(0); position >= 0;
+                    position = selected.nextSetBit(position + 1)) {
+                winners.add(entrantAt(position));
+            }
+            return winners;
+        }
+    }
+    
+    private static final class FillTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final List<EventDraw> draws;
+        private final int from;
+        private final int to;
+        
+        FillTask(List<EventDraw> draws, int from, int to) {
+            this.draws = draws;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= EVENTS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    draws.get(i).fill();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FillTask(draws, from, middle), new FillTask(draws, middle, to));
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.eventlottery.ui.adapters;
 
+import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.eventlottery.R;
-import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventSnapshot;
 import com.eventlottery.databinding.ItemEventCardBinding;
 import com.google.android.material.chip.Chip;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * EventAdapter - RecyclerView adapter for displaying event cards
@@ -21,24 +25,62 @@ import java.util.List;
  * - Waitlist count
  * - Tags
  * - Geolocation badge (if enabled)
+ * 
+ * Items are immutable EventSnapshots, so the list can be filtered on a
+ * background thread and handed over without copying. Updates are diffed on
+ * the supplied executor and only the result is applied on the main thread;
+ * unchanged events are the same snapshot instance or carry the same content
+ * version, so no fields are compared.
  */
-public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
+public class EventAdapter extends ListAdapter<EventSnapshot, EventAdapter.EventViewHolder> {
+    
+    private static final DiffUtil.ItemCallback<EventSnapshot> SNAPSHOT_DIFF =
+        new DiffUtil.ItemCallback<EventSnapshot>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull EventSnapshot oldEvent,
+                                           @NonNull EventSnapshot newEvent) {
+                return oldEvent.getId().equals(newEvent.getId());
+            }
+            
+            @Override
+            public boolean areContentsTheSame(@NonNull EventSnapshot oldEvent,
+                                              @NonNull EventSnapshot newEvent) {
+                return oldEvent == newEvent || oldEvent.getVersion() == newEvent.getVersion();
+            }
+        };
     
-    private List<Event> events;
     private OnEventClickListener listener;
+    private OnEventVisibilityListener visibilityListener;
     
     public interface OnEventClickListener {
-        void onEventClick(Event event);
+        void onEventClick(EventSnapshot event);
+    }
+    
+    /**
+     * Card lifecycle hooks used to prefetch details before the user opens them
+     */
+    public interface OnEventVisibilityListener {
+        void onEventVisible(EventSnapshot event);
+        
+        void onEventHidden(EventSnapshot event);
+        
+        void onEventPressed(EventSnapshot event);
     }
     
-    public EventAdapter(OnEventClickListener listener) {
-        this.events = new ArrayList<>();
+    /**
+     * @param diffExecutor runs the list diffs; pass the executor that filters
+     *                     the list so each diff follows its filter in order.
+     *                     Submitted lists must not be modified afterwards.
+     */
+    public EventAdapter(OnEventClickListener listener, Executor diffExecutor) {
+        super(new AsyncDifferConfig.Builder<>(SNAPSHOT_DIFF)
+            .setBackgroundThreadExecutor(diffExecutor)
+            .build());
         this.listener = listener;
     }
     
-    public void submitList(List<Event> newEvents) {
-        this.events = newEvents;
-        notifyDataSetChanged();
+    public void setOnEventVisibilityListener(OnEventVisibilityListener visibilityListener) {
+        this.visibilityListener = visibilityListener;
     }
     
     @NonNull
@@ -52,24 +94,40 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
     
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = events.get(position);
-        holder.bind(event, listener);
+        EventSnapshot event = getItem(position);
+        holder.bind(event, listener, visibilityListener);
     }
     
     @Override
-    public int getItemCount() {
-        return events.size();
+    public void onViewAttachedToWindow(@NonNull EventViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        if (visibilityListener != null && holder.boundEvent != null) {
+            visibilityListener.onEventVisible(holder.boundEvent);
+        }
+    }
+    
+    @Override
+    public void onViewDetachedFromWindow(@NonNull EventViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        if (visibilityListener != null && holder.boundEvent != null) {
+            visibilityListener.onEventHidden(holder.boundEvent);
+        }
     }
     
     static class EventViewHolder extends RecyclerView.ViewHolder {
         private final ItemEventCardBinding binding;
+        private EventSnapshot boundEvent;
         
         EventViewHolder(ItemEventCardBinding binding) {
             super(binding.getRoot());
             this.binding = binding;
         }
         
-        void bind(Event event, OnEventClickListener listener) {
+        @SuppressLint("ClickableViewAccessibility")
+        void bind(EventSnapshot event, OnEventClickListener listener,
+                  OnEventVisibilityListener visibilityListener) {
+            boundEvent = event;
+            
             // Set event name
             binding.eventNameText.setText(event.getName());
             
@@ -124,6 +182,15 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
                     listener.onEventClick(event);
                 }
             });
+            
+            // Touch-down precedes the click by ~100ms; use it to start the prefetch
+            binding.getRoot().setOnTouchListener((v, motionEvent) -> {
+                if (visibilityListener != null
+                        && motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                    visibilityListener.onEventPressed(event);
+                }
+                return false;
+            });
         }
         
         private String getStatusText(String status) {
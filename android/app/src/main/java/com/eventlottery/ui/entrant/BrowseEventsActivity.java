@@ -6,13 +6,27 @@ import android.text.Editable;
 import android.text.TextWatcher;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.eventlottery.R;
 import com.eventlottery.databinding.ActivityBrowseEventsBinding;
+import com.eventlottery.data.cache.EventDetailCache;
+import com.eventlottery.data.cache.EventPrefetcher;
 import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventSnapshot;
 import com.eventlottery.ui.adapters.EventAdapter;
 import com.google.android.material.chip.Chip;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -32,13 +46,22 @@ import java.util.stream.Collectors;
  * - Filter events by tags
  * - View waitlist size and capacity
  * - View geolocation requirements
+ * 
+ * The loaded events are held as an unmodifiable list of EventSnapshots.
+ * Search and tag filtering run on a background thread over that shared
+ * list without copying or locking; a result is only shown if no newer
+ * filter request was made in the meantime.
  */
 public class BrowseEventsActivity extends AppCompatActivity {
     
     private ActivityBrowseEventsBinding binding;
     private EventAdapter eventAdapter;
-    private List<Event> allEvents;
-    private List<Event> filteredEvents;
+    private volatile List<EventSnapshot> allEvents;
+    private ExecutorService filterExecutor;
+    private final AtomicLong filterGeneration = new AtomicLong();
+    private EventDetailCache eventDetailCache;
+    private ScheduledExecutorService prefetchScheduler;
+    private EventPrefetcher eventPrefetcher;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -46,8 +69,8 @@ public class BrowseEventsActivity extends AppCompatActivity {
         binding = ActivityBrowseEventsBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
         
-        allEvents = new ArrayList<>();
-        filteredEvents = new ArrayList<>();
+        allEvents = Collections.emptyList();
+        filterExecutor = Executors.newSingleThreadExecutor();
         
         setupToolbar();
         setupRecyclerView();
@@ -64,7 +87,29 @@ public class BrowseEventsActivity extends AppCompatActivity {
     }
     
     private void setupRecyclerView() {
-        eventAdapter = new EventAdapter(event -> navigateToEventDetails(event));
+        eventAdapter = new EventAdapter(event -> navigateToEventDetails(event), filterExecutor);
+        
+        // Prefetch details and posters for cards the user lingers on or presses
+        eventDetailCache = EventDetailCache.getInstance();
+        prefetchScheduler = Executors.newSingleThreadScheduledExecutor();
+        eventPrefetcher = new EventPrefetcher(eventDetailCache, this::preloadPoster,
+            prefetchScheduler, EventPrefetcher.DEFAULT_DWELL_MILLIS);
+        eventAdapter.setOnEventVisibilityListener(new EventAdapter.OnEventVisibilityListener() {
+            @Override
+            public void onEventVisible(EventSnapshot event) {
+                eventPrefetcher.onVisible(event);
+            }
+            
+            @Override
+            public void onEventHidden(EventSnapshot event) {
+                eventPrefetcher.onHidden(event);
+            }
+            
+            @Override
+            public void onEventPressed(EventSnapshot event) {
+                eventPrefetcher.onPressed(event);
+            }
+        });
         
         binding.eventsRecyclerView.setLayoutManager(
             new LinearLayoutManager(this)
@@ -152,27 +197,18 @@ public class BrowseEventsActivity extends AppCompatActivity {
         // event.setGeolocationEnabled(true);
         // event.setGeolocationRadius(10);
         // event.setStatus("open");
-        // allEvents.add(event);
+        // loaded.add(event);
+        List<Event> loaded = new ArrayList<>();
         
+        // Seed the detail cache so the details screen can render immediately
+        eventDetailCache.putAll(loaded);
+        allEvents = EventSnapshot.copyOf(loaded);
         filterEvents("");
     }
     
     private void filterEvents(String query) {
-        filteredEvents.clear();
-        
-        if (query.isEmpty()) {
-            filteredEvents.addAll(allEvents);
-        } else {
-            final String lowerQuery = query.toLowerCase();
-            for (Event event : allEvents) {
-                if (event.getName().toLowerCase().contains(lowerQuery) ||
-                    event.getDescription().toLowerCase().contains(lowerQuery)) {
-                    filteredEvents.add(event);
-                }
-            }
-        }
-        
-        eventAdapter.submitList(new ArrayList<>(filteredEvents));
+        final String lowerQuery = query.toLowerCase(Locale.ROOT);
+        submitFilter(event -> event.matchesQuery(lowerQuery));
     }
     
     private void filterByTags(List<String> tags) {
@@ -180,18 +216,34 @@ public class BrowseEventsActivity extends AppCompatActivity {
             filterEvents("");
             return;
         }
-        
-        filteredEvents.clear();
-        for (Event event : allEvents) {
-            for (String eventTag : event.getTags()) {
-                if (tags.contains(eventTag)) {
-                    filteredEvents.add(event);
-                    break;
+        final Set<String> selected = new HashSet<>(tags);
+        submitFilter(event -> event.hasAnyTag(selected));
+    }
+    
+    /**
+     * Filter the current snapshot list off the main thread and show the
+     * result unless a newer filter was requested while this one ran
+     */
+    private void submitFilter(Predicate<EventSnapshot> predicate) {
+        final long generation = filterGeneration.incrementAndGet();
+        final List<EventSnapshot> source = allEvents;
+        filterExecutor.execute(() -> {
+            List<EventSnapshot> matches = new ArrayList<>();
+            for (EventSnapshot event : source) {
+                if (filterGeneration.get() != generation) {
+                    return;
+                }
+                if (predicate.test(event)) {
+                    matches.add(event);
                 }
             }
-        }
-        
-        eventAdapter.submitList(new ArrayList<>(filteredEvents));
+            List<EventSnapshot> result = Collections.unmodifiableList(matches);
+            runOnUiThread(() -> {
+                if (binding != null && filterGeneration.get() == generation) {
+                    eventAdapter.submitList(result);
+                }
+            });
+        });
     }
     
     private void showFilterDialog() {
@@ -202,16 +254,32 @@ public class BrowseEventsActivity extends AppCompatActivity {
         // - Price range
     }
     
-    private void navigateToEventDetails(Event event) {
+    private void navigateToEventDetails(EventSnapshot event) {
+        // Only the id travels; the details screen reads the event from EventDetailCache
         Intent intent = new Intent(this, EventDetailsActivity.class);
-        intent.putExtra("EVENT_ID", event.getId());
-        intent.putExtra("EVENT", event);
+        intent.putExtra(EventDetailsActivity.EXTRA_EVENT_ID, event.getId());
         startActivity(intent);
     }
     
+    private void preloadPoster(String posterUrl) {
+        // Same URL and disk strategy as EventDetailsActivity so its load hits the cache
+        runOnUiThread(() -> Glide.with(getApplicationContext())
+            .load(posterUrl)
+            .diskCacheStrategy(DiskCacheStrategy.DATA)
+            .preload());
+    }
+    
+    @Override
+    protected void onStop() {
+        super.onStop();
+        eventPrefetcher.cancelAll();
+    }
+    
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        prefetchScheduler.shutdownNow();
+        filterExecutor.shutdownNow();
         binding = null;
     }
 }
@@ -1,9 +1,18 @@
 package com.eventlottery.ui.entrant;
 
 import android.os.Bundle;
+import android.view.View;
+import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.eventlottery.R;
+import com.eventlottery.data.cache.EventDetailCache;
 import com.eventlottery.data.models.Event;
+import com.eventlottery.databinding.ActivityEventDetailsBinding;
+import com.google.android.material.chip.Chip;
+import java.io.IOException;
+import java.util.Collections;
 
 /**
  * EventDetailsActivity
@@ -17,38 +26,152 @@ import com.eventlottery.data.models.Event;
  * - Join/Leave waitlist button
  * - Show capacity and spots available
  * 
+ * The event is read from EventDetailCache, which the browse screen seeds
+ * and prefetches into, so the first frame usually already shows content;
+ * the verified copy is fetched in the background and rebound if it
+ * changed. The Intent carries only the event id; the copy on screen is kept
+ * in the saved instance state and re-seeds the cache when the process was
+ * killed while this screen was in the back stack.
+ * 
  * TODO: Implement full functionality
- * - Load event data from Intent extras
- * - Display event poster with Glide
  * - Handle join/leave waitlist actions
  * - Check geolocation requirements
  */
 public class EventDetailsActivity extends AppCompatActivity {
     
+    public static final String EXTRA_EVENT_ID = "EVENT_ID";
+    
+    private static final String STATE_EVENT = "event";
+    
+    private ActivityEventDetailsBinding binding;
+    private EventDetailCache eventDetailCache;
     private Event event;
     private String eventId;
+    private boolean reportedFullyDrawn;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_event_details);
+        binding = ActivityEventDetailsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
         
-        // Get event from Intent
-        eventId = getIntent().getStringExtra("EVENT_ID");
-        event = getIntent().getParcelableExtra("EVENT");
+        // Get event id from Intent
+        eventId = getIntent().getStringExtra(EXTRA_EVENT_ID);
+        eventDetailCache = EventDetailCache.getInstance();
+        // The cache starts empty after process death; the saved state does not
+        Event saved = savedInstanceState != null
+            ? savedInstanceState.getParcelable(STATE_EVENT)
+            : null;
+        if (saved != null) {
+            eventDetailCache.putAll(Collections.singletonList(saved));
+        }
         
-        // TODO: Setup views and load event data
         setupToolbar();
         loadEventDetails();
     }
     
     private void setupToolbar() {
-        // TODO: Setup toolbar with back button
+        setSupportActionBar(binding.toolbar);
+        binding.toolbar.setNavigationOnClickListener(v -> finish());
     }
     
     private void loadEventDetails() {
-        // TODO: Load event details from database if not passed in Intent
-        // TODO: Display event information
+        // Render the cached copy on the first frame when there is one
+        Event cached = eventDetailCache.peek(eventId);
+        if (cached != null) {
+            displayEvent(cached);
+        }
+        
+        eventDetailCache.load(eventId, new EventDetailCache.Listener() {
+            @Override
+            public void onEventLoaded(Event loaded) {
+                runOnUiThread(() -> {
+                    if (binding == null) {
+                        return;
+                    }
+                    if (loaded == null) {
+                        Toast.makeText(EventDetailsActivity.this,
+                            R.string.error_generic, Toast.LENGTH_SHORT).show();
+                        finish();
+                    } else if (loaded != event) {
+                        displayEvent(loaded);
+                    }
+                });
+            }
+            
+            @Override
+            public void onError(IOException error) {
+                runOnUiThread(() -> {
+                    // Keep showing the cached copy if there is one
+                    if (binding != null && event == null) {
+                        Toast.makeText(EventDetailsActivity.this,
+                            R.string.error_network, Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        });
+    }
+    
+    private void displayEvent(Event event) {
+        this.event = event;
+        
+        binding.eventNameText.setText(event.getName());
+        binding.statusChip.setText(event.getStatus());
+        
+        binding.tagChipGroup.removeAllViews();
+        for (String tag : event.getTags()) {
+            Chip chip = new Chip(this);
+            chip.setText(tag);
+            binding.tagChipGroup.addView(chip);
+        }
+        
+        binding.eventDateText.setText(event.getDate());
+        String endTime = event.getEndTime();
+        binding.eventTimeText.setText(endTime != null && !endTime.isEmpty()
+            ? String.format("%s - %s", event.getTime(), endTime)
+            : event.getTime());
+        binding.capacityText.setText(String.valueOf(event.getCapacity()));
+        binding.spotsAvailableText.setText(
+            getString(R.string.spots_available, event.getAvailableSpots()));
+        binding.locationNameText.setText(event.getLocation());
+        binding.locationAddressText.setText(event.getLocationAddress());
+        
+        if (event.isGeolocationEnabled() && event.getGeolocationRadius() != null) {
+            binding.geolocationCard.setVisibility(View.VISIBLE);
+            binding.geolocationRadiusText.setText(
+                getString(R.string.within_radius, event.getGeolocationRadius()));
+        } else {
+            binding.geolocationCard.setVisibility(View.GONE);
+        }
+        
+        binding.descriptionText.setText(event.getDescription());
+        
+        // Same disk strategy as the browse screen's preload so this hits the cache
+        Glide.with(this)
+            .load(event.getPosterImageUrl())
+            .diskCacheStrategy(DiskCacheStrategy.DATA)
+            .into(binding.eventPosterImage);
+        
         // TODO: Setup join waitlist button
+        
+        // Time to full display, as reported to the Play Console and `am start -W`
+        if (!reportedFullyDrawn) {
+            reportedFullyDrawn = true;
+            reportFullyDrawn();
+        }
+    }
+    
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (event != null) {
+            outState.putParcelable(STATE_EVENT, event);
+        }
+    }
+    
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        binding = null;
     }
 }
@@ -0,0 +1,107 @@
+package com.eventlottery.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interner - Shared canonical instances for strings and tag lists repeated across events
+ * 
+ * Thousands of events repeat the same status, venue, date and tag values.
+ * Routing them through the interner lets every event point at one String and
+ * one immutable tag list instead of holding its own copies.
+ * 
+ * Each pool is a fixed-size two-way table: a value goes in the slot pair
+ * its hash selects and evicts the less recently used of the two. Memory is
+ * bounded however many distinct organizer ids, addresses or free-text
+ * values pass through, new values are still pooled however many came
+ * before, and a repeated value evicted by one-offs takes its slot back on
+ * its next use. Lookups and stores are lock-free array accesses.
+ */
+public final class Interner {
+    
+    private static final int STRING_SLOTS = 1 << 14;
+    private static final int TAG_LIST_SLOTS = 1 << 12;
+    
+    private static final AtomicReferenceArray<String> STRINGS = new AtomicReferenceArray<>(STRING_SLOTS);
+    private static final AtomicReferenceArray<List<String>> TAG_LISTS =
+        new AtomicReferenceArray<>(TAG_LIST_SLOTS);
+    
+    private Interner() {
+    }
+    
+    /**
+     * Return the pooled instance equal to the string, pooling this one if there is none
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.isEmpty()) {
+            return "";
+        }
+        return lookup(STRINGS, slot(value.hashCode(), STRING_SLOTS), value);
+    }
+    
+    /**
+     * Return a shared immutable list with the same interned tags in the same order
+     */
+    public static List<String> internTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] values = new String[tags.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = intern(tags.get(i));
+        }
+        return pooledTags(values);
+    }
+    
+    /**
+     * Array variant for parsers that already collect tags into an array; the
+     * array is interned in place and must not be modified afterwards
+     */
+    public static List<String> internTags(String[] tags) {
+        if (tags.length == 0) {
+            return Collections.emptyList();
+        }
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = intern(tags[i]);
+        }
+        return pooledTags(tags);
+    }
+    
+    private static List<String> pooledTags(String[] tags) {
+        List<String> candidate = Collections.unmodifiableList(Arrays.asList(tags));
+        return lookup(TAG_LISTS, slot(candidate.hashCode(), TAG_LIST_SLOTS), candidate);
+    }
+    
+    /**
+     * Two-way lookup in the slot pair {slot, slot ^ 1}: a hit in the second
+     * way is promoted to the first, and a miss takes the first way and pushes
+     * its occupant to the second, so a value in steady use survives one-offs
+     * that hash next to it. Races between threads can only drop or duplicate
+     * a pooled entry, never return an unequal value.
+     */
+    private static <T> T lookup(AtomicReferenceArray<T> pool, int slot, T value) {
+        T first = pool.get(slot);
+        if (value.equals(first)) {
+            return first;
+        }
+        T second = pool.get(slot ^ 1);
+        if (value.equals(second)) {
+            pool.set(slot, second);
+            pool.set(slot ^ 1, first);
+            return second;
+        }
+        pool.set(slot ^ 1, first);
+        pool.set(slot, value);
+        return value;
+    }
+    
+    private static int slot(int hash, int slots) {
+        int mixed = hash * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & (slots - 1);
+    }
+}
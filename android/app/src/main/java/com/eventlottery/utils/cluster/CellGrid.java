@@ -0,0 +1,219 @@
+package com.eventlottery.utils.cluster;
+
+/**
+ * CellGrid - Aggregates of every non-empty grid cell at one zoom level
+ * 
+ * Points are in Web Mercator world coordinates, x and y in [0, 1). The
+ * world is cut into cellsPerAxis x cellsPerAxis square cells. Each occupied
+ * cell keeps its point count, coordinate sums for the centroid, and the XOR
+ * of its members' handles, which equals the lone member's handle when the
+ * count is one. Storage is a linear-probing table over parallel primitive
+ * arrays so a level with 100k cells costs a few megabytes and no per-cell
+ * objects. Not thread-safe.
+ */
+final class CellGrid {
+    
+    interface CellVisitor {
+        void visit(int cellX, int cellY, int count, double sumX, double sumY, int handleXor);
+    }
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    private final int zoom;
+    private final int cellsPerAxis;
+    private long[] keys;
+    private int[] counts;
+    private double[] sumX;
+    private double[] sumY;
+    private int[] handleXor;
+    private int mask;
+    private int size;
+    
+    CellGrid(int zoom, int cellsPerAxis, int expectedCells) {
+        this.zoom = zoom;
+        this.cellsPerAxis = cellsPerAxis;
+        allocate(tableSizeFor(expectedCells));
+    }
+    
+    int getZoom() {
+        return zoom;
+    }
+    
+    int getCellsPerAxis() {
+        return cellsPerAxis;
+    }
+    
+    /**
+     * Number of non-empty cells
+     */
+    int size() {
+        return size;
+    }
+    
+    int cellOf(double coordinate) {
+        return cellOf(coordinate, cellsPerAxis);
+    }
+    
+    static int cellOf(double coordinate, int cellsPerAxis) {
+        int cell = (int) (coordinate * cellsPerAxis);
+        return Math.max(0, Math.min(cellsPerAxis - 1, cell));
+    }
+    
+    void add(double x, double y, int handle) {
+        long key = key(cellOf(x), cellOf(y));
+        int slot = find(key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot]++;
+        sumX[slot] += x;
+        sumY[slot] += y;
+        handleXor[slot] ^= handle;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+    
+    void remove(double x, double y, int handle) {
+        long key = key(cellOf(x), cellOf(y));
+        int slot = find(key);
+        if (counts[slot] == 0) {
+            return;
+        }
+        if (--counts[slot] > 0) {
+            sumX[slot] -= x;
+            sumY[slot] -= y;
+            handleXor[slot] ^= handle;
+            return;
+        }
+        size--;
+        deleteSlot(slot);
+    }
+    
+    /**
+     * Visit non-empty cells with cellX in [x0, x1] and cellY in [y0, y1]
+     * 
+     * Small ranges are probed cell by cell; a range larger than the table
+     * is answered by one scan of the table instead.
+     */
+    void forEachInRange(int x0, int x1, int y0, int y1, CellVisitor visitor) {
+        long width = (long) x1 - x0 + 1;
+        long height = (long) y1 - y0 + 1;
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (width * height <= keys.length) {
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int cy = y0; cy <= y1; cy++) {
+                    int slot = find(key(cx, cy));
+                    if (counts[slot] > 0) {
+                        visitor.visit(cx, cy, counts[slot], sumX[slot], sumY[slot], handleXor[slot]);
+                    }
+                }
+            }
+            return;
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (counts[slot] == 0) {
+                continue;
+            }
+            int cx = (int) (keys[slot] >>> 32);
+            int cy = (int) keys[slot];
+            if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) {
+                visitor.visit(cx, cy, counts[slot], sumX[slot], sumY[slot], handleXor[slot]);
+            }
+        }
+    }
+    
+    /**
+     * Approximate heap footprint of the table
+     */
+    long memoryBytes() {
+        return (long) keys.length * (8 + 4 + 8 + 8 + 4);
+    }
+    
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+    
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones
+     */
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (counts[next] != 0) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry back if its home does not lie cyclically in (hole, next]
+            boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                copySlot(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        counts[hole] = 0;
+        sumX[hole] = 0;
+        sumY[hole] = 0;
+        handleXor[hole] = 0;
+    }
+    
+    private void copySlot(int from, int to) {
+        keys[to] = keys[from];
+        counts[to] = counts[from];
+        sumX[to] = sumX[from];
+        sumY[to] = sumY[from];
+        handleXor[to] = handleXor[from];
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        double[] oldSumX = sumX;
+        double[] oldSumY = sumY;
+        int[] oldXor = handleXor;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] == 0) {
+                continue;
+            }
+            int slot = find(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+            sumX[slot] = oldSumX[i];
+            sumY[slot] = oldSumY[i];
+            handleXor[slot] = oldXor[i];
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        sumX = new double[capacity];
+        sumY = new double[capacity];
+        handleXor = new int[capacity];
+        mask = capacity - 1;
+    }
+    
+    private static int tableSizeFor(int expectedCells) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedCells * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,294 @@
+package com.eventlottery.utils.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ClusterIndex - Grid-based marker clustering over Web Mercator, per zoom level
+ * 
+ * Points are projected once into world coordinates. A zoom level is a
+ * CellGrid whose cells are cellPixels wide on screen at that zoom (64 px by
+ * default, with 256 px tiles), so every level halves the previous level's
+ * cells and the levels nest like a quadtree. A query returns one
+ * MarkerCluster per occupied cell intersecting the viewport. Its cost
+ * depends on the number of visible cells, not on the number of points.
+ * 
+ * Levels are built on first use in one pass over the points and kept for
+ * the most recently used zoom levels only. Adds, moves and removals update
+ * every built level in place, at one hash update per level, so a live
+ * edit never triggers a rebuild. Not thread-safe; MarkerClusterer confines
+ * an index to one background thread.
+ */
+public class ClusterIndex {
+    
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 21;
+    public static final int DEFAULT_CELL_PIXELS = 64;
+    public static final int DEFAULT_CACHED_LEVELS = 6;
+    
+    private static final int TILE_PIXELS = 256;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+    
+    private final int cellsAtZoomZero;
+    private final Map<Integer, CellGrid> levels;
+    
+    private final Map<String, Integer> handles = new HashMap<>();
+    private String[] ids = new String[16];
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private int[] freeHandles = new int[16];
+    private int freeCount;
+    private int handleLimit;
+    
+    /**
+     * @param cellPixels on-screen cell width; a power of two no larger than 256
+     * @param cachedLevels number of zoom levels kept built at once
+     */
+    public ClusterIndex(int cellPixels, int cachedLevels) {
+        if (cellPixels < 1 || cellPixels > TILE_PIXELS || Integer.bitCount(cellPixels) != 1) {
+            throw new IllegalArgumentException("cellPixels must be a power of two up to " + TILE_PIXELS);
+        }
+        if (cachedLevels < 1) {
+            throw new IllegalArgumentException("cachedLevels must be at least 1");
+        }
+        this.cellsAtZoomZero = TILE_PIXELS / cellPixels;
+        this.levels = new LinkedHashMap<Integer, CellGrid>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CellGrid> eldest) {
+                return size() > cachedLevels;
+            }
+        };
+    }
+    
+    public ClusterIndex() {
+        this(DEFAULT_CELL_PIXELS, DEFAULT_CACHED_LEVELS);
+    }
+    
+    /**
+     * Add a point or move an existing one
+     * 
+     * @return false if the point was already at this position
+     */
+    public boolean upsert(String id, double lat, double lng) {
+        double x = projectX(lng);
+        double y = projectY(lat);
+        Integer existing = handles.get(id);
+        if (existing != null) {
+            int handle = existing;
+            if (xs[handle] == x && ys[handle] == y) {
+                return false;
+            }
+            for (CellGrid level : levels.values()) {
+                level.remove(xs[handle], ys[handle], handle);
+                level.add(x, y, handle);
+            }
+            xs[handle] = x;
+            ys[handle] = y;
+            return true;
+        }
+        int handle = allocateHandle();
+        ids[handle] = id;
+        xs[handle] = x;
+        ys[handle] = y;
+        handles.put(id, handle);
+        for (CellGrid level : levels.values()) {
+            level.add(x, y, handle);
+        }
+        return true;
+    }
+    
+    /**
+     * @return false if the id was not indexed
+     */
+    public boolean remove(String id) {
+        Integer existing = handles.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        int handle = existing;
+        for (CellGrid level : levels.values()) {
+            level.remove(xs[handle], ys[handle], handle);
+        }
+        ids[handle] = null;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+        return true;
+    }
+    
+    public void clear() {
+        handles.clear();
+        levels.clear();
+        Arrays.fill(ids, null);
+        freeCount = 0;
+        handleLimit = 0;
+    }
+    
+    /**
+     * Number of indexed points
+     */
+    public int size() {
+        return handles.size();
+    }
+    
+    /**
+     * Build a zoom level ahead of its first query, e.g. the levels either side of the current one
+     */
+    public void prepare(int zoom) {
+        level(clampZoom(zoom));
+    }
+    
+    public boolean isPrepared(int zoom) {
+        return levels.containsKey(clampZoom(zoom));
+    }
+    
+    /**
+     * Clusters whose cells intersect bounds at the given zoom; fractional zooms round down
+     */
+    public List<MarkerCluster> query(GeoBounds bounds, double zoom) {
+        int z = clampZoom((int) Math.floor(zoom));
+        CellGrid level = level(z);
+        List<MarkerCluster> clusters = new ArrayList<>();
+        CellGrid.CellVisitor collect = (cellX, cellY, count, sumX, sumY, handleXor) -> {
+            if (count == 1) {
+                clusters.add(new MarkerCluster(unprojectY(ys[handleXor]), unprojectX(xs[handleXor]),
+                    1, ids[handleXor], z, cellX, cellY));
+            } else {
+                clusters.add(new MarkerCluster(unprojectY(sumY / count), unprojectX(sumX / count),
+                    count, null, z, cellX, cellY));
+            }
+        };
+        
+        int y0 = level.cellOf(projectY(bounds.getNorth()));
+        int y1 = level.cellOf(projectY(bounds.getSouth()));
+        int westCell = level.cellOf(projectX(bounds.getWest()));
+        int eastCell = level.cellOf(projectX(bounds.getEast()));
+        if (bounds.crossesAntimeridian()) {
+            level.forEachInRange(westCell, level.getCellsPerAxis() - 1, y0, y1, collect);
+            level.forEachInRange(0, Math.min(eastCell, westCell - 1), y0, y1, collect);
+        } else {
+            level.forEachInRange(westCell, eastCell, y0, y1, collect);
+        }
+        return clusters;
+    }
+    
+    /**
+     * Ids of the events in a cluster, e.g. to list them when the user taps a
+     * cluster that cannot be split further; scans every point
+     */
+    public List<String> memberIds(MarkerCluster cluster) {
+        List<String> members = new ArrayList<>(cluster.getCount());
+        for (int handle : memberHandles(cluster)) {
+            members.add(ids[handle]);
+        }
+        return members;
+    }
+    
+    /**
+     * Lowest zoom at which the cluster's members no longer share one cell, or
+     * MAX_ZOOM if they never split; the zoom to animate to when it is tapped
+     */
+    public int expansionZoom(MarkerCluster cluster) {
+        int[] members = memberHandles(cluster);
+        for (int z = cluster.getZoom() + 1; z <= MAX_ZOOM && members.length > 1; z++) {
+            int cellsPerAxis = cellsAtZoomZero << z;
+            int firstX = CellGrid.cellOf(xs[members[0]], cellsPerAxis);
+            int firstY = CellGrid.cellOf(ys[members[0]], cellsPerAxis);
+            for (int i = 1; i < members.length; i++) {
+                if (CellGrid.cellOf(xs[members[i]], cellsPerAxis) != firstX
+                    || CellGrid.cellOf(ys[members[i]], cellsPerAxis) != firstY) {
+                    return z;
+                }
+            }
+        }
+        return MAX_ZOOM;
+    }
+    
+    private int[] memberHandles(MarkerCluster cluster) {
+        int cellsPerAxis = cellsAtZoomZero << cluster.getZoom();
+        int[] members = new int[cluster.getCount()];
+        int found = 0;
+        for (int handle = 0; handle < handleLimit && found < members.length; handle++) {
+            if (ids[handle] != null
+                && CellGrid.cellOf(xs[handle], cellsPerAxis) == cluster.getCellX()
+                && CellGrid.cellOf(ys[handle], cellsPerAxis) == cluster.getCellY()) {
+                members[found++] = handle;
+            }
+        }
+        return found == members.length ? members : Arrays.copyOf(members, found);
+    }
+    
+    /**
+     * Approximate heap footprint of the built levels, excluding the points themselves
+     */
+    public long levelMemoryBytes() {
+        long bytes = 0;
+        for (CellGrid level : levels.values()) {
+            bytes += level.memoryBytes();
+        }
+        return bytes;
+    }
+    
+    private CellGrid level(int zoom) {
+        CellGrid level = levels.get(zoom);
+        if (level != null) {
+            return level;
+        }
+        level = new CellGrid(zoom, cellsAtZoomZero << zoom, Math.min(handles.size(), cellCountBound(zoom)));
+        for (int handle = 0; handle < handleLimit; handle++) {
+            if (ids[handle] != null) {
+                level.add(xs[handle], ys[handle], handle);
+            }
+        }
+        levels.put(zoom, level);
+        return level;
+    }
+    
+    private int cellCountBound(int zoom) {
+        long cells = (long) (cellsAtZoomZero << zoom) * (cellsAtZoomZero << zoom);
+        return (int) Math.min(Integer.MAX_VALUE, cells);
+    }
+    
+    private int allocateHandle() {
+        if (freeCount > 0) {
+            return freeHandles[--freeCount];
+        }
+        if (handleLimit == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        return handleLimit++;
+    }
+    
+    private static int clampZoom(int zoom) {
+        return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+    
+    static double projectX(double lng) {
+        if (lng < -180 || lng > 180) {
+            lng = ((lng + 180) % 360 + 360) % 360 - 180;
+        }
+        return (lng + 180) / 360;
+    }
+    
+    static double projectY(double lat) {
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+    
+    static double unprojectX(double x) {
+        return x * 360 - 180;
+    }
+    
+    static double unprojectY(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+}
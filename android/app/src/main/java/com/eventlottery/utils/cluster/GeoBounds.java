@@ -0,0 +1,64 @@
+package com.eventlottery.utils.cluster;
+
+/**
+ * GeoBounds - Latitude/longitude rectangle of the visible map area
+ * 
+ * When west is greater than east the rectangle crosses the antimeridian,
+ * as a map's visible region does when panned across the Pacific.
+ */
+public final class GeoBounds {
+    
+    private final double south;
+    private final double west;
+    private final double north;
+    private final double east;
+    
+    public GeoBounds(double south, double west, double north, double east) {
+        if (south > north) {
+            throw new IllegalArgumentException("south must not be above north");
+        }
+        this.south = south;
+        this.west = west;
+        this.north = north;
+        this.east = east;
+    }
+    
+    /**
+     * The whole map
+     */
+    public static GeoBounds world() {
+        return new GeoBounds(-90, -180, 90, 180);
+    }
+    
+    public boolean crossesAntimeridian() {
+        return west > east;
+    }
+    
+    public boolean contains(double lat, double lng) {
+        if (lat < south || lat > north) {
+            return false;
+        }
+        return crossesAntimeridian() ? lng >= west || lng <= east : lng >= west && lng <= east;
+    }
+    
+    public double getSouth() {
+        return south;
+    }
+    
+    public double getWest() {
+        return west;
+    }
+    
+    public double getNorth() {
+        return north;
+    }
+    
+    public double getEast() {
+        return east;
+    }
+    
+    @Override
+    public String toString() {
+        return "GeoBounds[" + south + "," + west + " - " + north + "," + east + "]";
+    }
+}
@@ -0,0 +1,76 @@
+package com.eventlottery.utils.cluster;
+
+/**
+ * MarkerCluster - One marker to draw: a single event or a group of nearby events
+ * 
+ * The position is the centroid of the members, so a cluster sits where its
+ * events are rather than at the corner of its grid cell.
+ */
+public final class MarkerCluster {
+    
+    private final double lat;
+    private final double lng;
+    private final int count;
+    private final String eventId;
+    private final int zoom;
+    private final int cellX;
+    private final int cellY;
+    
+    MarkerCluster(double lat, double lng, int count, String eventId, int zoom, int cellX, int cellY) {
+        this.lat = lat;
+        this.lng = lng;
+        this.count = count;
+        this.eventId = eventId;
+        this.zoom = zoom;
+        this.cellX = cellX;
+        this.cellY = cellY;
+    }
+    
+    public double getLat() {
+        return lat;
+    }
+    
+    public double getLng() {
+        return lng;
+    }
+    
+    /**
+     * Number of events in the cluster
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * The event's id when the cluster holds exactly one event, otherwise null
+     */
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public boolean isSingle() {
+        return count == 1;
+    }
+    
+    /**
+     * Zoom level the cluster was computed for
+     */
+    public int getZoom() {
+        return zoom;
+    }
+    
+    int getCellX() {
+        return cellX;
+    }
+    
+    int getCellY() {
+        return cellY;
+    }
+    
+    @Override
+    public String toString() {
+        return isSingle()
+            ? "MarkerCluster[" + eventId + " @ " + lat + "," + lng + "]"
+            : "MarkerCluster[" + count + " events @ " + lat + "," + lng + "]";
+    }
+}
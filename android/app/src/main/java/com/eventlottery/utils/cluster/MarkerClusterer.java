@@ -0,0 +1,107 @@
+package com.eventlottery.utils.cluster;
+
+import com.eventlottery.data.models.EventSnapshot;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MarkerClusterer - Runs a ClusterIndex of event locations on its own background thread
+ * 
+ * The map screen feeds event snapshots in and asks for clusters whenever the
+ * camera settles. Every call returns immediately and is applied in order on
+ * a single worker thread that owns the index, so no locking is needed.
+ * Camera moves arrive faster than they can be answered: only the newest
+ * query's result is delivered and superseded queries are skipped. After
+ * answering, the worker builds the zoom levels on either side so a pinch
+ * zoom finds its grid ready.
+ * 
+ * Events without geolocation coordinates are not placed on the map.
+ * Listeners are called on the worker thread, not the main thread.
+ */
+public class MarkerClusterer {
+    
+    /**
+     * Receives the clusters for the most recent query
+     */
+    public interface Listener {
+        void onClusters(GeoBounds bounds, double zoom, List<MarkerCluster> clusters);
+    }
+    
+    private final ClusterIndex index;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final AtomicLong queryGeneration = new AtomicLong();
+    
+    public MarkerClusterer(ClusterIndex index) {
+        this.index = index;
+    }
+    
+    public MarkerClusterer() {
+        this(new ClusterIndex());
+    }
+    
+    /**
+     * Replace every indexed event
+     */
+    public void setEvents(Collection<EventSnapshot> events) {
+        worker.execute(() -> {
+            index.clear();
+            for (EventSnapshot event : events) {
+                place(event);
+            }
+        });
+    }
+    
+    /**
+     * Add, move or drop one event after an edit or a live update
+     */
+    public void update(EventSnapshot event) {
+        worker.execute(() -> place(event));
+    }
+    
+    public void remove(String eventId) {
+        worker.execute(() -> index.remove(eventId));
+    }
+    
+    /**
+     * Cluster the visible region; the listener is skipped if a newer request supersedes this one
+     */
+    public void requestClusters(GeoBounds bounds, double zoom, Listener listener) {
+        long generation = queryGeneration.incrementAndGet();
+        worker.execute(() -> {
+            if (queryGeneration.get() != generation) {
+                return;
+            }
+            List<MarkerCluster> clusters = index.query(bounds, zoom);
+            if (queryGeneration.get() == generation) {
+                listener.onClusters(bounds, zoom, clusters);
+            }
+            int z = (int) Math.floor(zoom);
+            prepareIfIdle(generation, z + 1);
+            prepareIfIdle(generation, z - 1);
+        });
+    }
+    
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+    
+    private void prepareIfIdle(long generation, int zoom) {
+        if (queryGeneration.get() == generation
+            && zoom >= ClusterIndex.MIN_ZOOM && zoom <= ClusterIndex.MAX_ZOOM) {
+            index.prepare(zoom);
+        }
+    }
+    
+    private void place(EventSnapshot event) {
+        Double lat = event.getGeolocationLat();
+        Double lng = event.getGeolocationLng();
+        if (lat == null || lng == null) {
+            index.remove(event.getId());
+        } else {
+            index.upsert(event.getId(), lat, lng);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.eventlottery.utils.dedup;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EventLshIndex - Banded locality-sensitive hashing index over MinHash signatures
+ * 
+ * Signatures are split into bands of consecutive rows. Two events become
+ * candidates when any band hashes to the same bucket, which makes lookups
+ * proportional to bucket size instead of the number of indexed events.
+ * Candidates are then confirmed against the full signature similarity.
+ * 
+ * Events can be added incrementally as they are created. Adds and removes
+ * are serialized on the index so a replaced signature never leaves stale
+ * bucket entries behind; lookups take no lock and may run concurrently with
+ * writes, seeing each bucket either before or after an update.
+ */
+public class EventLshIndex {
+    
+    private final EventMinHasher hasher;
+    private final int bands;
+    private final int rows;
+    private final double threshold;
+    private final List<Map<Long, Bucket>> buckets;
+    private final Map<String, int[]> signatures;
+    
+    /**
+     * Ids sharing one band hash. Appends fill spare capacity in place and
+     * publish through the volatile size, so a hot bucket grows in amortized
+     * O(1); removals swap in a new Bucket, so a reader's size never exceeds
+     * the array it reads. Most buckets hold a single id.
+     */
+    private static final class Bucket {
+        volatile String[] ids;
+        volatile int size;
+        
+        Bucket(String[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+        
+        void append(String eventId) {
+            String[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                ids = current;
+            }
+            current[size] = eventId;
+            size++;
+        }
+    }
+    
+    /**
+     * @param hasher signature builder; its hash count must equal bands * rows
+     * @param bands number of bands
+     * @param rows rows per band
+     * @param threshold minimum estimated similarity for a candidate to be reported
+     */
+    public EventLshIndex(EventMinHasher hasher, int bands, int rows, double threshold) {
+        if (bands <= 0 || rows <= 0 || bands * rows != hasher.getNumHashes()) {
+            throw new IllegalArgumentException("bands * rows must equal the signature length");
+        }
+        this.hasher = hasher;
+        this.bands = bands;
+        this.rows = rows;
+        this.threshold = threshold;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new ConcurrentHashMap<>());
+        }
+        this.signatures = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Default configuration: 128 hashes in 32 bands of 4 rows, reporting pairs at 0.7 similarity.
+     * The banding puts the 50% candidate probability near 0.42 similarity, so
+     * near-duplicates above the threshold are almost never missed.
+     */
+    public static EventLshIndex createDefault() {
+        return new EventLshIndex(new EventMinHasher(128, 5, 0x5EEDL), 32, 4, 0.7);
+    }
+    
+    public EventMinHasher getHasher() {
+        return hasher;
+    }
+    
+    public double getThreshold() {
+        return threshold;
+    }
+    
+    public int size() {
+        return signatures.size();
+    }
+    
+    /**
+     * Index a newly created or edited event
+     */
+    public void add(Event event) {
+        add(event.getId(), hasher.signature(event));
+    }
+    
+    /**
+     * Index a precomputed signature, replacing any previous signature for the id
+     */
+    public synchronized void add(String eventId, int[] signature) {
+        int[] previous = signatures.put(eventId, signature);
+        if (previous != null) {
+            removeFromBuckets(eventId, previous);
+        }
+        if (EventMinHasher.isEmpty(signature)) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            Map<Long, Bucket> bandBuckets = buckets.get(band);
+            long key = bandKey(signature, band);
+            Bucket bucket = bandBuckets.get(key);
+            if (bucket == null) {
+                bandBuckets.put(key, new Bucket(new String[] {eventId}, 1));
+            } else {
+                bucket.append(eventId);
+            }
+        }
+    }
+    
+    /**
+     * Remove an event from the index, e.g. after an admin deletes it
+     */
+    public synchronized void remove(String eventId) {
+        int[] previous = signatures.remove(eventId);
+        if (previous != null) {
+            removeFromBuckets(eventId, previous);
+        }
+    }
+    
+    /**
+     * Find indexed events that are near-duplicates of the given event
+     * 
+     * The event itself is excluded from the result when it is already indexed.
+     */
+    public List<String> findSimilar(Event event) {
+        return findSimilar(event.getId(), hasher.signature(event));
+    }
+    
+    /**
+     * Find indexed events whose estimated similarity to the signature reaches the threshold
+     */
+    public List<String> findSimilar(String eventId, int[] signature) {
+        List<String> result = new ArrayList<>();
+        for (String candidate : candidates(signature)) {
+            if (candidate.equals(eventId)) {
+                continue;
+            }
+            int[] other = signatures.get(candidate);
+            if (other != null && EventMinHasher.similarity(signature, other) >= threshold) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Collect every id sharing at least one band bucket with the signature, unverified
+     */
+    Set<String> candidates(int[] signature) {
+        Set<String> candidates = new LinkedHashSet<>();
+        if (EventMinHasher.isEmpty(signature)) {
+            return candidates;
+        }
+        for (int band = 0; band < bands; band++) {
+            Bucket bucket = buckets.get(band).get(bandKey(signature, band));
+            if (bucket != null) {
+                int size = bucket.size;
+                String[] ids = bucket.ids;
+                for (int i = 0; i < size; i++) {
+                    candidates.add(ids[i]);
+                }
+            }
+        }
+        return candidates;
+    }
+    
+    int[] signatureOf(String eventId) {
+        return signatures.get(eventId);
+    }
+    
+    Map<String, int[]> signatures() {
+        return signatures;
+    }
+    
+    private void removeFromBuckets(String eventId, int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfPresent(bandKey(signature, band),
+                (key, bucket) -> removeFromBucket(bucket, eventId));
+        }
+    }
+    
+    private static Bucket removeFromBucket(Bucket bucket, String eventId) {
+        int size = bucket.size;
+        String[] ids = bucket.ids;
+        String[] remaining = new String[Math.max(1, size)];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!ids[i].equals(eventId)) {
+                remaining[kept++] = ids[i];
+            }
+        }
+        if (kept == size) {
+            return bucket;
+        }
+        return kept == 0 ? null : new Bucket(remaining, kept);
+    }
+    
+    private long bandKey(int[] signature, int band) {
+        int from = band * rows;
+        long key = 1125899906842597L;
+        for (int i = from; i < from + rows; i++) {
+            key = 31 * key + signature[i];
+        }
+        return key;
+    }
+    
+    @Override
+    public String toString() {
+        return "EventLshIndex{bands=" + bands + ", rows=" + rows
+            + ", threshold=" + threshold + ", size=" + signatures.size() + "}";
+    }
+}
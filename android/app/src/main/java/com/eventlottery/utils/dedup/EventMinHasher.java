@@ -0,0 +1,179 @@
+package com.eventlottery.utils.dedup;
+
+import com.eventlottery.data.models.Event;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * EventMinHasher - Builds MinHash signatures for events
+ * 
+ * Each event is reduced to the set of character shingles of its normalized
+ * name, description and location. The signature keeps the minimum of every
+ * hash function over that set, so the fraction of equal signature slots
+ * between two events estimates the Jaccard similarity of their shingle sets.
+ * 
+ * Instances are immutable and safe to share between threads.
+ */
+public class EventMinHasher {
+    
+    private final int shingleSize;
+    private final long[] coefficientsA;
+    private final long[] coefficientsB;
+    
+    /**
+     * @param numHashes number of hash functions (signature length)
+     * @param shingleSize number of characters per shingle
+     * @param seed seed for the hash family; indexes built with different seeds are not comparable
+     */
+    public EventMinHasher(int numHashes, int shingleSize, long seed) {
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("numHashes must be positive");
+        }
+        if (shingleSize <= 0) {
+            throw new IllegalArgumentException("shingleSize must be positive");
+        }
+        this.shingleSize = shingleSize;
+        this.coefficientsA = new long[numHashes];
+        this.coefficientsB = new long[numHashes];
+        
+        Random random = new Random(seed);
+        for (int i = 0; i < numHashes; i++) {
+            coefficientsA[i] = random.nextLong() | 1L;
+            coefficientsB[i] = random.nextLong();
+        }
+    }
+    
+    public int getNumHashes() {
+        return coefficientsA.length;
+    }
+    
+    /**
+     * Compute the MinHash signature of an event's name, description and location
+     */
+    public int[] signature(Event event) {
+        return signature(textOf(event));
+    }
+    
+    /**
+     * Compute the MinHash signature of arbitrary text
+     * 
+     * Empty text yields a signature of all {@link Integer#MAX_VALUE}, which
+     * {@link #isEmpty(int[])} reports so callers can skip it.
+     */
+    public int[] signature(String text) {
+        String normalized = normalize(text);
+        int numHashes = coefficientsA.length;
+        long[] minimums = new long[numHashes];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        
+        if (!normalized.isEmpty()) {
+            int last = Math.max(0, normalized.length() - shingleSize);
+            for (int start = 0; start <= last; start++) {
+                int end = Math.min(normalized.length(), start + shingleSize);
+                long shingle = mix(hashRange(normalized, start, end)) & 0xFFFFFFFFL;
+                for (int i = 0; i < numHashes; i++) {
+                    // Multiply-shift hashing: the high 32 bits of a*x+b are pairwise independent
+                    long value = (coefficientsA[i] * shingle + coefficientsB[i]) >>> 32;
+                    if (value < minimums[i]) {
+                        minimums[i] = value;
+                    }
+                }
+            }
+        }
+        
+        int[] signature = new int[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            signature[i] = minimums[i] == Long.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : (int) Math.min(minimums[i] >>> 1, Integer.MAX_VALUE - 1);
+        }
+        return signature;
+    }
+    
+    /**
+     * Estimate Jaccard similarity as the fraction of matching signature slots
+     */
+    public static double similarity(int[] first, int[] second) {
+        if (first.length != second.length) {
+            throw new IllegalArgumentException("Signatures have different lengths");
+        }
+        int matches = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                matches++;
+            }
+        }
+        return first.length == 0 ? 0.0 : (double) matches / first.length;
+    }
+    
+    /**
+     * Check whether a signature was built from empty text
+     */
+    public static boolean isEmpty(int[] signature) {
+        for (int value : signature) {
+            if (value != Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String textOf(Event event) {
+        StringBuilder builder = new StringBuilder();
+        appendField(builder, event.getName());
+        appendField(builder, event.getDescription());
+        appendField(builder, event.getLocation());
+        return builder.toString();
+    }
+    
+    private static void appendField(StringBuilder builder, String value) {
+        if (value != null && !value.isEmpty()) {
+            builder.append(value).append(' ');
+        }
+    }
+    
+    /**
+     * Lowercase and collapse punctuation/whitespace runs so trivial edits do not change shingles
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && builder.length() > 0) {
+                    builder.append(' ');
+                }
+                pendingSpace = false;
+                builder.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    private static int hashRange(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+    
+    /**
+     * MurmurHash3 finalizer to spread String-style hashes over all 32 bits
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,107 @@
+package com.eventlottery.utils.dedup;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * NearDuplicateFinder - Batch near-duplicate clustering for admin event review
+ * 
+ * Used by the admin Manage Events screen to surface organizers reposting the
+ * same event with small edits. Signatures are computed and indexed in parallel
+ * on the common fork-join pool, candidate pairs are verified per event in
+ * parallel, and each verified pair is merged into the clusters with
+ * union-find as it is found, so the candidate pairs are never collected.
+ */
+public class NearDuplicateFinder {
+    
+    private final EventLshIndex index;
+    
+    public NearDuplicateFinder() {
+        this(EventLshIndex.createDefault());
+    }
+    
+    /**
+     * @param index an empty index providing the hasher, banding and threshold to use
+     */
+    public NearDuplicateFinder(EventLshIndex index) {
+        this.index = index;
+    }
+    
+    public EventLshIndex getIndex() {
+        return index;
+    }
+    
+    /**
+     * Group events into near-duplicate clusters
+     * 
+     * Only clusters with two or more events are returned. Events are also left
+     * in the index so later creations can be checked with
+     * {@link EventLshIndex#findSimilar(Event)}.
+     */
+    public List<List<Event>> findClusters(List<Event> events) {
+        int count = events.size();
+        EventMinHasher hasher = index.getHasher();
+        
+        int[][] signatures = new int[count][];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            signatures[i] = hasher.signature(events.get(i));
+            index.add(events.get(i).getId(), signatures[i]);
+        });
+        
+        Map<String, Integer> positions = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            positions.put(events.get(i).getId(), i);
+        }
+        
+        int[] parents = new int[count];
+        for (int i = 0; i < count; i++) {
+            parents[i] = i;
+        }
+        // Verification runs in parallel; only the union itself is serialized.
+        // Each pair is merged once, from its lower position.
+        IntStream.range(0, count).parallel().forEach(i -> {
+            for (String similar : index.findSimilar(events.get(i).getId(), signatures[i])) {
+                Integer j = positions.get(similar);
+                if (j != null && j > i) {
+                    synchronized (parents) {
+                        union(parents, i, j);
+                    }
+                }
+            }
+        });
+        
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            sizes[find(parents, i)]++;
+        }
+        Map<Integer, List<Event>> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int root = find(parents, i);
+            if (sizes[root] > 1) {
+                clusters.computeIfAbsent(root, key -> new ArrayList<>(sizes[key])).add(events.get(i));
+            }
+        }
+        return new ArrayList<>(clusters.values());
+    }
+    
+    private static int find(int[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+    
+    private static void union(int[] parents, int first, int second) {
+        int rootFirst = find(parents, first);
+        int rootSecond = find(parents, second);
+        if (rootFirst != rootSecond) {
+            parents[Math.max(rootFirst, rootSecond)] = Math.min(rootFirst, rootSecond);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventlottery.utils.imagehash;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * BitmapPosterDecoder - PosterDecoder backed by BitmapFactory
+ * 
+ * Reads local file paths directly and fetches http(s) URLs. Posters are
+ * subsampled by a power of two while decoding so that only a thumbnail of
+ * roughly TARGET_SIZE pixels per side is ever allocated.
+ */
+public class BitmapPosterDecoder implements PosterDecoder {
+    
+    private static final int TARGET_SIZE = 64;
+    
+    @Override
+    public GrayImage decode(String posterUrl) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        decodeStream(posterUrl, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Not an image: " + posterUrl);
+        }
+        
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize(bounds.outWidth, bounds.outHeight);
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        Bitmap bitmap = decodeStream(posterUrl, options);
+        if (bitmap == null) {
+            throw new IOException("Could not decode " + posterUrl);
+        }
+        try {
+            int width = bitmap.getWidth();
+            int height = bitmap.getHeight();
+            int[] argb = new int[width * height];
+            bitmap.getPixels(argb, 0, width, 0, 0, width, height);
+            return GrayImage.fromArgb(width, height, argb);
+        } finally {
+            bitmap.recycle();
+        }
+    }
+    
+    private static int sampleSize(int width, int height) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= TARGET_SIZE && height / (sampleSize * 2) >= TARGET_SIZE) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+    
+    private static Bitmap decodeStream(String posterUrl, BitmapFactory.Options options)
+            throws IOException {
+        if (!posterUrl.startsWith("http://") && !posterUrl.startsWith("https://")) {
+            return BitmapFactory.decodeFile(posterUrl, options);
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(posterUrl).openConnection();
+        try (InputStream input = connection.getInputStream()) {
+            return BitmapFactory.decodeStream(input, null, options);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.eventlottery.utils.imagehash;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * BkTree - Burkhard-Keller tree over 64-bit hashes under Hamming distance
+ * 
+ * A radius query only descends into children whose edge distance lies
+ * within radius of the query's distance to the node (triangle inequality),
+ * so small-radius lookups touch a small fraction of the tree. Keys sharing
+ * an identical hash share a node. Removal detaches the key but keeps the
+ * node for routing; once more than half the nodes hold no keys, the tree is
+ * rebuilt from the live keys so searches stop walking dead branches.
+ * Not thread-safe; callers synchronize.
+ */
+public class BkTree {
+    
+    /**
+     * A key found by {@link #search}, with its distance from the query
+     */
+    public static final class Match {
+        private final String key;
+        private final long hash;
+        private final int distance;
+        
+        Match(String key, long hash, int distance) {
+            this.key = key;
+            this.hash = hash;
+            this.distance = distance;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public long getHash() {
+            return hash;
+        }
+        
+        public int getDistance() {
+            return distance;
+        }
+    }
+    
+    private static final class Node {
+        final long hash;
+        final List<String> keys = new ArrayList<>(1);
+        int[] childDistances = new int[0];
+        Node[] children = new Node[0];
+        
+        Node(long hash) {
+            this.hash = hash;
+        }
+        
+        Node child(int distance) {
+            for (int i = 0; i < childDistances.length; i++) {
+                if (childDistances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+        
+        void addChild(int distance, Node child) {
+            int size = childDistances.length;
+            childDistances = Arrays.copyOf(childDistances, size + 1);
+            children = Arrays.copyOf(children, size + 1);
+            childDistances[size] = distance;
+            children[size] = child;
+        }
+    }
+    
+    private Node root;
+    private int size;
+    private int nodes;
+    private int deadNodes;
+    
+    public void add(String key, long hash) {
+        if (root == null) {
+            root = new Node(hash);
+            root.keys.add(key);
+            size++;
+            nodes++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = PerceptualHash.distance(hash, node.hash);
+            if (distance == 0) {
+                if (node.keys.isEmpty()) {
+                    deadNodes--;
+                }
+                node.keys.add(key);
+                size++;
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                Node created = new Node(hash);
+                created.keys.add(key);
+                node.addChild(distance, created);
+                size++;
+                nodes++;
+                return;
+            }
+            node = child;
+        }
+    }
+    
+    /**
+     * Detach a key previously added with this hash
+     */
+    public boolean remove(String key, long hash) {
+        Node node = root;
+        while (node != null) {
+            int distance = PerceptualHash.distance(hash, node.hash);
+            if (distance == 0) {
+                boolean removed = node.keys.remove(key);
+                if (removed) {
+                    size--;
+                    if (node.keys.isEmpty()) {
+                        deadNodes++;
+                        if (deadNodes * 2 > nodes) {
+                            rebuild();
+                        }
+                    }
+                }
+                return removed;
+            }
+            node = node.child(distance);
+        }
+        return false;
+    }
+    
+    /**
+     * Every key whose hash is within radius of the query
+     */
+    public List<Match> search(long hash, int radius) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int distance = PerceptualHash.distance(hash, node.hash);
+            if (distance <= radius) {
+                for (String key : node.keys) {
+                    matches.add(new Match(key, node.hash, distance));
+                }
+            }
+            for (int i = 0; i < node.childDistances.length; i++) {
+                if (Math.abs(node.childDistances[i] - distance) <= radius) {
+                    stack.push(node.children[i]);
+                }
+            }
+        }
+        return matches;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Nodes in the tree, including ones whose keys were all removed
+     */
+    public int getNodeCount() {
+        return nodes;
+    }
+    
+    private void rebuild() {
+        List<Node> live = new ArrayList<>(nodes - deadNodes);
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (!node.keys.isEmpty()) {
+                live.add(node);
+            }
+            for (Node child : node.children) {
+                stack.push(child);
+            }
+        }
+        root = null;
+        size = 0;
+        nodes = 0;
+        deadNodes = 0;
+        for (Node node : live) {
+            for (String key : node.keys) {
+                add(key, node.hash);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventlottery.utils.imagehash;
+
+/**
+ * GrayImage - Luminance-only raster used as input to perceptual hashing
+ * 
+ * Decoders should downsample large posters before conversion; hashing only
+ * needs a few dozen pixels per side.
+ */
+public final class GrayImage {
+    
+    private final int width;
+    private final int height;
+    private final float[] luma;
+    
+    /**
+     * @param luma row-major luminance values in 0..255, width * height long
+     */
+    public GrayImage(int width, int height, float[] luma) {
+        if (width <= 0 || height <= 0 || luma.length != width * height) {
+            throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.luma = luma;
+    }
+    
+    /**
+     * Build from packed ARGB pixels using Rec. 601 luma weights
+     */
+    public static GrayImage fromArgb(int width, int height, int[] argb) {
+        float[] luma = new float[width * height];
+        for (int i = 0; i < luma.length; i++) {
+            int pixel = argb[i];
+            luma[i] = 0.299f * ((pixel >> 16) & 0xFF)
+                + 0.587f * ((pixel >> 8) & 0xFF)
+                + 0.114f * (pixel & 0xFF);
+        }
+        return new GrayImage(width, height, luma);
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    /**
+     * Area-average resample to the target size; each target pixel covers at least one source pixel
+     */
+    public float[] resize(int targetWidth, int targetHeight) {
+        float[] out = new float[targetWidth * targetHeight];
+        for (int ty = 0; ty < targetHeight; ty++) {
+            int y0 = ty * height / targetHeight;
+            int y1 = Math.max(y0 + 1, (ty + 1) * height / targetHeight);
+            for (int tx = 0; tx < targetWidth; tx++) {
+                int x0 = tx * width / targetWidth;
+                int x1 = Math.max(x0 + 1, (tx + 1) * width / targetWidth);
+                float sum = 0;
+                for (int y = y0; y < y1; y++) {
+                    int row = y * width;
+                    for (int x = x0; x < x1; x++) {
+                        sum += luma[row + x];
+                    }
+                }
+                out[ty * targetWidth + tx] = sum / ((y1 - y0) * (x1 - x0));
+            }
+        }
+        return out;
+    }
+}
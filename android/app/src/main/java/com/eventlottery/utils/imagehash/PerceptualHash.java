@@ -0,0 +1,95 @@
+package com.eventlottery.utils.imagehash;
+
+import java.util.Arrays;
+
+/**
+ * PerceptualHash - 64-bit difference (dHash) and DCT (pHash) image fingerprints
+ * 
+ * Both hashes survive re-encoding, resizing and small brightness changes, so
+ * visually identical posters land within a few bits of each other while
+ * unrelated images differ in about half of the 64 bits. Compare hashes with
+ * {@link #distance(long, long)}.
+ */
+public final class PerceptualHash {
+    
+    private static final int DCT_SIZE = 32;
+    private static final int LOW_FREQUENCIES = 8;
+    private static final double[][] COSINES = new double[LOW_FREQUENCIES][DCT_SIZE];
+    
+    static {
+        for (int u = 0; u < LOW_FREQUENCIES; u++) {
+            for (int x = 0; x < DCT_SIZE; x++) {
+                COSINES[u][x] = Math.cos((2 * x + 1) * u * Math.PI / (2 * DCT_SIZE));
+            }
+        }
+    }
+    
+    private PerceptualHash() {
+    }
+    
+    /**
+     * Hamming distance between two hashes, 0..64
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+    
+    /**
+     * Gradient hash: whether each pixel of a 9x8 thumbnail is brighter than its right neighbour
+     */
+    public static long dHash(GrayImage image) {
+        float[] pixels = image.resize(9, 8);
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                hash <<= 1;
+                if (pixels[y * 9 + x] > pixels[y * 9 + x + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+    
+    /**
+     * DCT hash: sign of the 8x8 lowest frequencies of a 32x32 thumbnail relative to their median
+     */
+    public static long pHash(GrayImage image) {
+        float[] pixels = image.resize(DCT_SIZE, DCT_SIZE);
+        
+        // Separable DCT-II, computing only the low-frequency outputs
+        double[] rows = new double[DCT_SIZE * LOW_FREQUENCIES];
+        for (int y = 0; y < DCT_SIZE; y++) {
+            for (int u = 0; u < LOW_FREQUENCIES; u++) {
+                double sum = 0;
+                for (int x = 0; x < DCT_SIZE; x++) {
+                    sum += pixels[y * DCT_SIZE + x] * COSINES[u][x];
+                }
+                rows[y * LOW_FREQUENCIES + u] = sum;
+            }
+        }
+        double[] coefficients = new double[LOW_FREQUENCIES * LOW_FREQUENCIES];
+        for (int v = 0; v < LOW_FREQUENCIES; v++) {
+            for (int u = 0; u < LOW_FREQUENCIES; u++) {
+                double sum = 0;
+                for (int y = 0; y < DCT_SIZE; y++) {
+                    sum += rows[y * LOW_FREQUENCIES + u] * COSINES[v][y];
+                }
+                coefficients[v * LOW_FREQUENCIES + u] = sum;
+            }
+        }
+        
+        // The DC term only reflects overall brightness, so keep it out of the median
+        double[] sorted = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        long hash = 0;
+        for (double coefficient : coefficients) {
+            hash <<= 1;
+            if (coefficient > median) {
+                hash |= 1;
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,16 @@
+package com.eventlottery.utils.imagehash;
+
+import java.io.IOException;
+
+/**
+ * PosterDecoder - Loads a poster as a small grayscale image for hashing
+ */
+public interface PosterDecoder {
+    
+    /**
+     * Decode the poster at a URL or local file path
+     * 
+     * @throws IOException if it cannot be fetched or is not an image
+     */
+    GrayImage decode(String posterUrl) throws IOException;
+}
@@ -0,0 +1,33 @@
+package com.eventlottery.utils.imagehash;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PosterGroup - Events whose posters are near-identical, so one review decision covers all of them
+ */
+public class PosterGroup {
+    
+    private final List<String> eventIds;
+    private final List<String> posterUrls;
+    
+    public PosterGroup(List<String> eventIds, List<String> posterUrls) {
+        this.eventIds = Collections.unmodifiableList(eventIds);
+        this.posterUrls = Collections.unmodifiableList(posterUrls);
+    }
+    
+    public List<String> getEventIds() {
+        return eventIds;
+    }
+    
+    /**
+     * Distinct poster URLs in the group; more than one means re-uploaded or altered copies
+     */
+    public List<String> getPosterUrls() {
+        return posterUrls;
+    }
+    
+    public int size() {
+        return eventIds.size();
+    }
+}
@@ -0,0 +1,320 @@
+package com.eventlottery.utils.imagehash;
+
+import com.eventlottery.data.models.Event;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * PosterHashIndex - Perceptual-hash index of event posters for batch image review
+ * 
+ * {@link #update} hashes only posters that are new, whose URL changed, or
+ * whose event was updated since it was last hashed; everything else keeps
+ * its stored hashes. Distinct URLs are decoded and hashed in parallel on the
+ * supplied executor, and a URL shared by several events is decoded once.
+ * 
+ * Posters are matched on pHash through a BK-tree and confirmed on dHash, so
+ * a pair must look alike under both fingerprints before it is grouped.
+ * 
+ * An event whose new poster URL cannot be hashed drops out of the index
+ * rather than matching on its old poster, and a URL's hashes are kept only
+ * while some event still uses it.
+ */
+public class PosterHashIndex {
+    
+    public static final int DEFAULT_PHASH_RADIUS = 8;
+    public static final int DEFAULT_DHASH_RADIUS = 12;
+    
+    private final PosterDecoder decoder;
+    private final ExecutorService executor;
+    private final int pHashRadius;
+    private final int dHashRadius;
+    private final Map<String, HashedPoster> byEvent = new HashMap<>();
+    private final Map<String, HashedPoster> byUrl = new HashMap<>();
+    /** Events currently indexed under each URL; a URL without any is pruned from byUrl */
+    private final Map<String, Integer> eventsPerUrl = new HashMap<>();
+    private final BkTree tree = new BkTree();
+    
+    private static final class HashedPoster {
+        final String url;
+        final long hashedAt;
+        final long pHash;
+        final long dHash;
+        
+        HashedPoster(String url, long hashedAt, long pHash, long dHash) {
+            this.url = url;
+            this.hashedAt = hashedAt;
+            this.pHash = pHash;
+            this.dHash = dHash;
+        }
+    }
+    
+    /**
+     * Counts from one {@link #update} pass
+     */
+    public static final class UpdateReport {
+        private final int decoded;
+        private final int reused;
+        private final int unchanged;
+        private final Map<String, String> failures;
+        
+        UpdateReport(int decoded, int reused, int unchanged, Map<String, String> failures) {
+            this.decoded = decoded;
+            this.reused = reused;
+            this.unchanged = unchanged;
+            this.failures = failures;
+        }
+        
+        /**
+         * Distinct poster URLs fetched and hashed
+         */
+        public int getDecoded() {
+            return decoded;
+        }
+        
+        /**
+         * Events re-indexed from a URL already hashed for another event
+         */
+        public int getReused() {
+            return reused;
+        }
+        
+        /**
+         * Events skipped because neither the poster URL nor updatedAt changed
+         */
+        public int getUnchanged() {
+            return unchanged;
+        }
+        
+        /**
+         * Error message per poster URL that could not be hashed
+         */
+        public Map<String, String> getFailures() {
+            return failures;
+        }
+    }
+    
+    public PosterHashIndex(PosterDecoder decoder, ExecutorService executor,
+                           int pHashRadius, int dHashRadius) {
+        this.decoder = decoder;
+        this.executor = executor;
+        this.pHashRadius = pHashRadius;
+        this.dHashRadius = dHashRadius;
+    }
+    
+    public PosterHashIndex(PosterDecoder decoder, ExecutorService executor) {
+        this(decoder, executor, DEFAULT_PHASH_RADIUS, DEFAULT_DHASH_RADIUS);
+    }
+    
+    /**
+     * Bring the index up to date with the given events
+     * 
+     * Blocks until hashing finishes; call off the main thread.
+     */
+    public UpdateReport update(List<Event> events) throws InterruptedException {
+        // Decide what needs work under the lock, decode outside it
+        Map<String, List<Event>> staleByUrl = new LinkedHashMap<>();
+        Map<String, Long> newestByUrl = new HashMap<>();
+        int unchanged = 0;
+        synchronized (this) {
+            for (Event event : events) {
+                String url = event.getPosterImageUrl();
+                HashedPoster current = byEvent.get(event.getId());
+                if (url == null || url.isEmpty()) {
+                    removeLocked(event.getId());
+                } else if (current != null && current.url.equals(url)
+                        && event.getUpdatedAt() <= current.hashedAt) {
+                    unchanged++;
+                } else {
+                    staleByUrl.computeIfAbsent(url, u -> new ArrayList<>()).add(event);
+                    newestByUrl.merge(url, event.getUpdatedAt(), Math::max);
+                }
+            }
+        }
+        
+        Map<String, Future<long[]>> pending = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, Long> entry : newestByUrl.entrySet()) {
+                HashedPoster known = byUrl.get(entry.getKey());
+                if (known == null || entry.getValue() > known.hashedAt) {
+                    String url = entry.getKey();
+                    pending.put(url, executor.submit(() -> hash(url)));
+                }
+            }
+        }
+        
+        Map<String, long[]> hashed = new HashMap<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<long[]>> entry : pending.entrySet()) {
+            try {
+                hashed.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failures.put(entry.getKey(), String.valueOf(cause.getMessage()));
+            }
+        }
+        
+        int reused = 0;
+        synchronized (this) {
+            for (Map.Entry<String, List<Event>> entry : staleByUrl.entrySet()) {
+                String url = entry.getKey();
+                long[] hashes = hashed.get(url);
+                HashedPoster poster;
+                if (hashes != null) {
+                    poster = new HashedPoster(url, newestByUrl.get(url), hashes[0], hashes[1]);
+                    byUrl.put(url, poster);
+                } else {
+                    poster = failures.containsKey(url) ? null : byUrl.get(url);
+                    if (poster == null) {
+                        dropMovedLocked(url, entry.getValue());
+                        continue;
+                    }
+                    reused += entry.getValue().size();
+                }
+                for (Event event : entry.getValue()) {
+                    removeLocked(event.getId());
+                    byEvent.put(event.getId(), poster);
+                    tree.add(event.getId(), poster.pHash);
+                    eventsPerUrl.merge(url, 1, Integer::sum);
+                }
+            }
+            // Pruned once at the end, so a URL released early in the loop can still be reused later in it
+            byUrl.keySet().retainAll(eventsPerUrl.keySet());
+        }
+        return new UpdateReport(hashed.size(), reused, unchanged, failures);
+    }
+    
+    public synchronized void remove(String eventId) {
+        String url = removeLocked(eventId);
+        if (url != null && !eventsPerUrl.containsKey(url)) {
+            byUrl.remove(url);
+        }
+    }
+    
+    /**
+     * Events whose posters look like this event's poster, excluding the event itself
+     */
+    public synchronized List<String> findSimilar(String eventId) {
+        List<String> similar = new ArrayList<>();
+        HashedPoster poster = byEvent.get(eventId);
+        if (poster == null) {
+            return similar;
+        }
+        for (BkTree.Match match : tree.search(poster.pHash, pHashRadius)) {
+            if (!match.getKey().equals(eventId) && matchesDHash(poster, match.getKey())) {
+                similar.add(match.getKey());
+            }
+        }
+        return similar;
+    }
+    
+    /**
+     * Groups of two or more events with near-identical posters, largest first
+     */
+    public synchronized List<PosterGroup> findGroups() {
+        Map<String, String> parent = new HashMap<>();
+        for (Map.Entry<String, HashedPoster> entry : byEvent.entrySet()) {
+            String eventId = entry.getKey();
+            for (BkTree.Match match : tree.search(entry.getValue().pHash, pHashRadius)) {
+                if (!match.getKey().equals(eventId) && matchesDHash(entry.getValue(), match.getKey())) {
+                    union(parent, eventId, match.getKey());
+                }
+            }
+        }
+        
+        Map<String, List<String>> members = new LinkedHashMap<>();
+        for (String eventId : parent.keySet()) {
+            members.computeIfAbsent(find(parent, eventId), root -> new ArrayList<>()).add(eventId);
+        }
+        List<PosterGroup> groups = new ArrayList<>();
+        for (List<String> eventIds : members.values()) {
+            Set<String> urls = new LinkedHashSet<>();
+            for (String eventId : eventIds) {
+                urls.add(byEvent.get(eventId).url);
+            }
+            groups.add(new PosterGroup(eventIds, new ArrayList<>(urls)));
+        }
+        groups.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        return groups;
+    }
+    
+    public synchronized int size() {
+        return byEvent.size();
+    }
+    
+    /**
+     * Distinct poster URLs whose hashes are kept for reuse
+     */
+    public synchronized int getHashedUrlCount() {
+        return byUrl.size();
+    }
+    
+    private long[] hash(String url) throws IOException {
+        GrayImage image = decoder.decode(url);
+        return new long[] {PerceptualHash.pHash(image), PerceptualHash.dHash(image)};
+    }
+    
+    private boolean matchesDHash(HashedPoster poster, String otherEventId) {
+        HashedPoster other = byEvent.get(otherEventId);
+        return other != null && PerceptualHash.distance(poster.dHash, other.dHash) <= dHashRadius;
+    }
+    
+    /**
+     * Events whose poster at url could not be hashed; those that were
+     * indexed under a different poster lose it, since it is no longer theirs
+     */
+    private void dropMovedLocked(String url, List<Event> events) {
+        for (Event event : events) {
+            HashedPoster current = byEvent.get(event.getId());
+            if (current != null && !current.url.equals(url)) {
+                removeLocked(event.getId());
+            }
+        }
+    }
+    
+    /**
+     * @return the URL the event was indexed under, or null if it was not indexed
+     */
+    private String removeLocked(String eventId) {
+        HashedPoster previous = byEvent.remove(eventId);
+        if (previous == null) {
+            return null;
+        }
+        tree.remove(eventId, previous.pHash);
+        eventsPerUrl.computeIfPresent(previous.url, (url, count) -> count == 1 ? null : count - 1);
+        return previous.url;
+    }
+    
+    private static String find(Map<String, String> parent, String key) {
+        String root = key;
+        while (parent.containsKey(root) && !parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        // Path compression
+        String node = key;
+        while (!node.equals(root)) {
+            String next = parent.get(node);
+            parent.put(node, root);
+            node = next;
+        }
+        return root;
+    }
+    
+    private static void union(Map<String, String> parent, String a, String b) {
+        parent.putIfAbsent(a, a);
+        parent.putIfAbsent(b, b);
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootB, rootA);
+        }
+    }
+}
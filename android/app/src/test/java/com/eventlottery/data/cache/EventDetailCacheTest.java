@@ -0,0 +1,186 @@
+package com.eventlottery.data.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.repositories.InMemoryEventRepository;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * EventDetailCacheTest - Seeded entries, refresh on open, shared fetches and LRU bound
+ */
+public class EventDetailCacheTest {
+    
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    
+    @Test
+    public void seededEntryIsShownThenVerifiedOnce() throws IOException {
+        InMemoryEventRepository repository = repository("e1");
+        EventDetailCache cache = new EventDetailCache(16, 60_000, Runnable::run, now::get);
+        cache.setRepository(repository);
+        Event seeded = event("e1", 1);
+        cache.putAll(Arrays.asList(seeded));
+        
+        assertSame(seeded, cache.peek("e1"));
+        Event verified = load(cache, "e1");
+        Event again = load(cache, "e1");
+        
+        assertSame(repository.getEvent("e1"), verified);
+        assertSame(verified, again);
+        assertEquals(1, cache.getFetches());
+    }
+    
+    @Test
+    public void withoutRepositoryTheSeededCopyIsServed() {
+        EventDetailCache cache = new EventDetailCache(16, 60_000, Runnable::run, now::get);
+        Event seeded = event("e1", 1);
+        cache.putAll(Arrays.asList(seeded));
+        
+        assertSame(seeded, load(cache, "e1"));
+        assertNull(load(cache, "missing"));
+        assertEquals(0, cache.getFetches());
+    }
+    
+    @Test
+    public void listSeedKeepsNewerVerifiedCopy() {
+        EventDetailCache cache = new EventDetailCache(16, 60_000, Runnable::run, now::get);
+        Event verified = event("e1", 5);
+        cache.put(verified);
+        cache.putAll(Arrays.asList(event("e1", 3)));
+        assertSame(verified, cache.peek("e1"));
+        
+        Event newer = event("e1", 9);
+        cache.putAll(Arrays.asList(newer));
+        assertSame(newer, cache.peek("e1"));
+    }
+    
+    @Test
+    public void staleEntryIsRefetchedAfterRefreshInterval() {
+        EventDetailCache cache = new EventDetailCache(16, 60_000, Runnable::run, now::get);
+        cache.setRepository(repository("e1"));
+        load(cache, "e1");
+        now.addAndGet(59_999);
+        load(cache, "e1");
+        now.addAndGet(1);
+        load(cache, "e1");
+        
+        assertEquals(2, cache.getFetches());
+    }
+    
+    @Test
+    public void concurrentLoadsShareOneBackendRead() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        InMemoryEventRepository repository = new InMemoryEventRepository() {
+            @Override
+            public Event getEvent(String eventId) {
+                reads.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getEvent(eventId);
+            }
+        };
+        repository.saveEvents(new ArrayList<>(Arrays.asList(event("e1", 1))));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            EventDetailCache cache = new EventDetailCache(16, 60_000, executor, now::get);
+            cache.setRepository(repository);
+            CountDownLatch loaded = new CountDownLatch(8);
+            List<Event> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                cache.load("e1", listener(loaded, results));
+            }
+            cache.prefetch("e1");
+            release.countDown();
+            
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+            assertEquals(1, reads.get());
+            assertEquals(1, cache.getFetches());
+            for (Event result : results) {
+                assertSame(results.get(0), result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        EventDetailCache cache = new EventDetailCache(2, 60_000, Runnable::run, now::get);
+        cache.put(event("a", 1));
+        cache.put(event("b", 1));
+        cache.peek("a");
+        cache.put(event("c", 1));
+        
+        assertEquals(2, cache.size());
+        assertNull(cache.peek("b"));
+        assertEquals("a", cache.peek("a").getId());
+    }
+    
+    private static Event load(EventDetailCache cache, String eventId) {
+        AtomicReference<Event> result = new AtomicReference<>();
+        cache.load(eventId, new EventDetailCache.Listener() {
+            @Override
+            public void onEventLoaded(Event event) {
+                result.set(event);
+            }
+            
+            @Override
+            public void onError(IOException error) {
+                throw new AssertionError(error);
+            }
+        });
+        return result.get();
+    }
+    
+    private static EventDetailCache.Listener listener(CountDownLatch loaded, List<Event> results) {
+        return new EventDetailCache.Listener() {
+            @Override
+            public void onEventLoaded(Event event) {
+                synchronized (results) {
+                    results.add(event);
+                }
+                loaded.countDown();
+            }
+            
+            @Override
+            public void onError(IOException error) {
+                loaded.countDown();
+            }
+        };
+    }
+    
+    private static InMemoryEventRepository repository(String... ids) {
+        InMemoryEventRepository repository = new InMemoryEventRepository();
+        List<Event> events = new ArrayList<>();
+        for (String id : ids) {
+            events.add(event(id, 1));
+        }
+        repository.saveEvents(events);
+        return repository;
+    }
+    
+    private static Event event(String id, long updatedAt) {
+        Event event = new Event();
+        event.setId(id);
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
+}
@@ -0,0 +1,96 @@
+package com.eventlottery.data.cache;
+
+import static org.junit.Assert.assertEquals;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventSnapshot;
+import com.eventlottery.data.repositories.InMemoryEventRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * EventPrefetcherTest - Dwell timers prefetch only cards that stayed on screen
+ */
+public class EventPrefetcherTest {
+    
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final InMemoryEventRepository repository = new InMemoryEventRepository();
+    private final List<String> posters = new ArrayList<>();
+    private EventDetailCache cache;
+    private EventPrefetcher prefetcher;
+    
+    @Before
+    public void setUp() throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event();
+            event.setId("e" + i);
+            events.add(event);
+        }
+        repository.saveEvents(events);
+        cache = new EventDetailCache(16, 60_000, Runnable::run, () -> 1_700_000_000_000L);
+        cache.setRepository(repository);
+        prefetcher = new EventPrefetcher(cache, posters::add, scheduler,
+            EventPrefetcher.DEFAULT_DWELL_MILLIS);
+    }
+    
+    @Test
+    public void dwelledCardIsPrefetchedWithItsPoster() {
+        prefetcher.onVisible(card("e0", "https://img/e0.jpg"));
+        scheduler.fireAll();
+        
+        assertEquals(1, cache.getPrefetches());
+        assertEquals(1, posters.size());
+    }
+    
+    @Test
+    public void flungCardIsCancelledBeforeItsTimerFires() {
+        prefetcher.onVisible(card("e0", "https://img/e0.jpg"));
+        prefetcher.onHidden(card("e0", "https://img/e0.jpg"));
+        scheduler.fireAll();
+        
+        assertEquals(0, cache.getPrefetches());
+        assertEquals(0, posters.size());
+    }
+    
+    @Test
+    public void supersededTimerThatAlreadyStartedDoesNotOrphanTheNewOne() {
+        EventSnapshot card = card("e1", null);
+        prefetcher.onVisible(card);
+        ManualScheduler.Timer first = scheduler.timers.get(0);
+        prefetcher.onVisible(card);
+        // The first timer was already running when the card came back on screen
+        first.task.run();
+        prefetcher.onHidden(card);
+        scheduler.fireAll();
+        
+        assertEquals(0, cache.getPrefetches());
+        assertEquals(0, scheduler.live());
+    }
+    
+    @Test
+    public void pressPrefetchesAtOnceAndCancelsTheDwell() {
+        prefetcher.onVisible(card("e2", ""));
+        prefetcher.onPressed(card("e2", ""));
+        scheduler.fireAll();
+        
+        assertEquals(1, cache.getPrefetches());
+        assertEquals(0, posters.size());
+    }
+    
+    @Test
+    public void cancelAllStopsEveryPendingTimer() {
+        prefetcher.onVisible(card("e0", null));
+        prefetcher.onVisible(card("e1", null));
+        prefetcher.cancelAll();
+        scheduler.fireAll();
+        
+        assertEquals(0, cache.getPrefetches());
+    }
+    
+    private static EventSnapshot card(String id, String posterUrl) {
+        return EventSnapshot.builder().id(id).posterImageUrl(posterUrl).build();
+    }
+}
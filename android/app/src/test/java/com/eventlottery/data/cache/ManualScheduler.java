@@ -0,0 +1,140 @@
+package com.eventlottery.data.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ManualScheduler - Scheduler whose timers only fire when a test says so
+ */
+class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    
+    final List<Timer> timers = new ArrayList<>();
+    
+    /**
+     * Fire every timer that has not been cancelled, in scheduling order
+     */
+    void fireAll() {
+        List<Timer> due = new ArrayList<>(timers);
+        timers.clear();
+        for (Timer timer : due) {
+            if (!timer.isCancelled()) {
+                timer.task.run();
+            }
+        }
+    }
+    
+    int live() {
+        int count = 0;
+        for (Timer timer : timers) {
+            if (!timer.isCancelled()) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Timer timer = new Timer(command);
+        timers.add(timer);
+        return timer;
+    }
+    
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay,
+                                                  long period, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay,
+                                                     long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+    
+    @Override
+    public void shutdown() {
+    }
+    
+    @Override
+    public List<Runnable> shutdownNow() {
+        return new ArrayList<>();
+    }
+    
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+    
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+    
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return true;
+    }
+    
+    static final class Timer implements ScheduledFuture<Object> {
+        
+        final Runnable task;
+        private boolean cancelled;
+        
+        Timer(Runnable task) {
+            this.task = task;
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return 0;
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            return 0;
+        }
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            cancelled = true;
+            return true;
+        }
+        
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        
+        @Override
+        public boolean isDone() {
+            return cancelled;
+        }
+        
+        @Override
+        public Object get() {
+            return null;
+        }
+        
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventlottery.data.counters;
+
+import static org.junit.Assert.assertEquals;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.sync.WaitlistOperation;
+import java.io.IOException;
+import org.junit.Test;
+
+/**
+ * EventCountersTest - Operation deltas land on each event's own counters
+ */
+public class EventCountersTest {
+    
+    @Test
+    public void operationsApplyTheirDeltasPerEvent() throws IOException {
+        InMemoryCounterBackend backend = new InMemoryCounterBackend(1_000, 1_000, System::nanoTime);
+        EventCounters counters = new EventCounters(backend, 0, System::currentTimeMillis);
+        
+        counters.apply(WaitlistOperation.create(WaitlistOperation.Type.JOIN, "e1", "a"));
+        counters.apply(WaitlistOperation.create(WaitlistOperation.Type.JOIN, "e1", "b"));
+        counters.apply(WaitlistOperation.create(WaitlistOperation.Type.JOIN, "e2", "a"));
+        counters.apply(WaitlistOperation.create(WaitlistOperation.Type.CONFIRM, "e1", "a"));
+        counters.apply(WaitlistOperation.create(WaitlistOperation.Type.DECLINE, "e1", "b"));
+        counters.apply(WaitlistOperation.create(WaitlistOperation.Type.LEAVE, "e2", "a"));
+        
+        Event event = new Event();
+        event.setId("e1");
+        counters.applyTo(event);
+        assertEquals(1, counters.getConfirmedCount("e1"));
+        assertEquals(2, counters.getWaitlistCount("e1"));
+        assertEquals(2, event.getWaitlistCount());
+        assertEquals(1, event.getConfirmedCount());
+        assertEquals(0, counters.getWaitlistCount("e2"));
+        assertEquals(0, counters.getConfirmedCount("e2"));
+    }
+}
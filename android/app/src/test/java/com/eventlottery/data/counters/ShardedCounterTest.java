@@ -0,0 +1,84 @@
+package com.eventlottery.data.counters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+/**
+ * ShardedCounterTest - Exact sums under contention, cached rollups and shard growth
+ */
+public class ShardedCounterTest {
+    
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicLong millis = new AtomicLong();
+    
+    @Test
+    public void contendedCounterGrowsShardsAndKeepsAnExactSum() throws IOException {
+        // 100 writes/s per document, the clock moving 1 ms per backend call
+        InMemoryCounterBackend backend = new InMemoryCounterBackend(100, 1,
+            () -> nanos.addAndGet(1_000_000));
+        ShardedCounter counter = new ShardedCounter(backend, "events/e1/waitlistCount", 0,
+            millis::get);
+        long accepted = 0;
+        for (int i = 0; i < 5_000; i++) {
+            try {
+                counter.increment(1);
+                accepted++;
+            } catch (ContentionException e) {
+                // Every attempted shard was contended; the join is retried later
+            }
+        }
+        
+        assertTrue(counter.getActiveShards() > 1);
+        assertTrue(counter.getAllocatedShards() >= counter.getActiveShards());
+        assertEquals(accepted, counter.refresh());
+        assertEquals(accepted, backend.getAcceptedWrites());
+    }
+    
+    @Test
+    public void readsUseTheRollupUntilItExpiresAndIncludeOwnWrites() throws IOException {
+        InMemoryCounterBackend backend = new InMemoryCounterBackend(1_000, 1_000, nanos::get);
+        ShardedCounter counter = new ShardedCounter(backend, "c", 5_000, millis::get);
+        counter.increment(3);
+        assertEquals(3, counter.get());
+        long roundTrips = backend.getReadRoundTrips();
+        
+        counter.increment(2);
+        assertEquals(5, counter.get());
+        assertEquals(roundTrips, backend.getReadRoundTrips());
+        
+        millis.addAndGet(5_000);
+        assertEquals(5, counter.get());
+        assertEquals(roundTrips + 1, backend.getReadRoundTrips());
+    }
+    
+    @Test
+    public void readerDiscoversShardsAllocatedByAnotherClient() throws IOException {
+        InMemoryCounterBackend backend = new InMemoryCounterBackend(1_000, 1_000, nanos::get);
+        ShardedCounter reader = new ShardedCounter(backend, "c", 0, millis::get);
+        assertEquals(0, reader.refresh());
+        backend.raiseTo("c/config", 8);
+        for (int shard = 0; shard < 8; shard++) {
+            backend.increment("c/shards/" + shard, shard + 1);
+        }
+        
+        assertEquals(36, reader.refresh());
+        assertEquals(8, reader.getAllocatedShards());
+    }
+    
+    @Test
+    public void rejectedWriteThrowsContentionException() throws IOException {
+        InMemoryCounterBackend backend = new InMemoryCounterBackend(1, 1, nanos::get);
+        backend.increment("doc", 1);
+        try {
+            backend.increment("doc", 1);
+            throw new AssertionError("expected contention");
+        } catch (ContentionException e) {
+            assertEquals("Too much contention on doc", e.getMessage());
+        }
+        assertEquals(1, backend.getRejectedWrites());
+    }
+}
@@ -0,0 +1,167 @@
+package com.eventlottery.data.directory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * LocalUserDirectoryTest - Paged prefix search against a brute-force scan
+ */
+public class LocalUserDirectoryTest {
+    
+    private static final String[] FIRST = {"John", "Jane", "José", "Anna", "Annabel", "Wei", "Li",
+        "Olivia", "Chloé", "Zoë", "Søren", "Priya", "Mateo"};
+    private static final String[] LAST = {"Smith", "Johnson", "Sánchez", "Lee", "Nguyen", "Annan",
+        "Walker", "Scott", "Wright"};
+    private static final String[] QUERIES = {"jo", "josé", "JOSE", "ann", "anna", "s", "smith",
+        "john s", "li", "zoe", "søren", "olivia.", "x", "chloe w", "sanchez"};
+    
+    @Test
+    public void pagedResultsMatchBruteForceAfterUpdates() {
+        Random random = new Random(1);
+        Map<String, UserSummary> all = new LinkedHashMap<>();
+        LocalUserDirectory directory = new LocalUserDirectory();
+        for (int i = 0; i < 5000; i++) {
+            if (i % 7 == 0 && !all.isEmpty()) {
+                String userId = all.keySet().iterator().next();
+                all.remove(userId);
+                directory.remove(userId);
+            } else if (i % 5 == 0 && !all.isEmpty()) {
+                String userId = new ArrayList<>(all.keySet()).get(random.nextInt(all.size()));
+                UserSummary renamed = user(random, i);
+                renamed = new UserSummary(userId, renamed.getName(), renamed.getEmail());
+                all.put(userId, renamed);
+                directory.upsert(renamed);
+            } else {
+                UserSummary user = user(random, i);
+                all.put(user.getUserId(), user);
+                directory.upsert(user);
+            }
+        }
+        
+        assertEquals(all.size(), directory.size());
+        for (String query : QUERIES) {
+            for (int limit : new int[] {1, 7, 37}) {
+                List<String> paged = pageAll(directory, query, limit);
+                assertEquals(query, paged.size(), new HashSet<>(paged).size());
+                Collections.sort(paged);
+                assertEquals(query, bruteForce(all, query), paged);
+            }
+        }
+    }
+    
+    @Test
+    public void bulkLoadMatchesIncrementalUpserts() {
+        Random random = new Random(2);
+        Map<String, UserSummary> all = new LinkedHashMap<>();
+        LocalUserDirectory incremental = new LocalUserDirectory();
+        for (int i = 0; i < 3000; i++) {
+            UserSummary user = user(random, i);
+            all.put(user.getUserId(), user);
+            incremental.upsert(user);
+        }
+        LocalUserDirectory bulk = LocalUserDirectory.bulkLoad(all.values());
+        
+        for (String query : QUERIES) {
+            assertEquals(query, pageAll(incremental, query, 25), pageAll(bulk, query, 25));
+        }
+    }
+    
+    @Test
+    public void userMatchingThroughSeveralTermsNeverLeavesAnEmptyPage() {
+        LocalUserDirectory directory = new LocalUserDirectory();
+        // "anna", "anna annabel", "annabel" and the email all start with "ann"
+        directory.upsert(new UserSummary("u1", "Anna Annabel", "anna@example.com"));
+        
+        UserSearchPage page = directory.search("ann", null, 1);
+        
+        assertEquals(1, page.getUsers().size());
+        assertNull(page.getNextCursor());
+        assertFalse(page.hasNextPage());
+    }
+    
+    @Test
+    public void cursorIsSetOnlyWhenAnotherUserFollows() {
+        LocalUserDirectory directory = new LocalUserDirectory();
+        directory.upsert(new UserSummary("u1", "Anna Annabel", "anna@example.com"));
+        directory.upsert(new UserSummary("u2", "Kofi Annan", "kofi@example.com"));
+        
+        UserSearchPage first = directory.search("ann", null, 1);
+        UserSearchPage second = directory.search("ann", first.getNextCursor(), 1);
+        
+        assertTrue(first.hasNextPage());
+        assertEquals("u1", first.getUsers().get(0).getUserId());
+        assertEquals("u2", second.getUsers().get(0).getUserId());
+        assertNull(second.getNextCursor());
+    }
+    
+    @Test
+    public void removedAndRenamedUsersStopMatchingOldTerms() {
+        LocalUserDirectory directory = new LocalUserDirectory();
+        directory.upsert(new UserSummary("u1", "Zoë Walker", "zoe@example.com"));
+        directory.upsert(new UserSummary("u2", "Wei Lee", "wei@example.com"));
+        directory.upsert(new UserSummary("u1", "Zoë Scott", "zoe@example.com"));
+        directory.remove("u2");
+        
+        assertTrue(directory.search("walker", null, 10).getUsers().isEmpty());
+        assertTrue(directory.search("wei", null, 10).getUsers().isEmpty());
+        assertEquals(Arrays.asList("u1"), pageAll(directory, "zoe s", 10));
+        assertEquals(1, directory.size());
+    }
+    
+    private static List<String> pageAll(UserDirectory directory, String query, int limit) {
+        List<String> userIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserSearchPage page;
+            try {
+                page = directory.search(query, cursor, limit);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            assertFalse("empty page for " + query, page.getUsers().isEmpty() && cursor != null);
+            for (UserSummary user : page.getUsers()) {
+                userIds.add(user.getUserId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return userIds;
+    }
+    
+    private static List<String> bruteForce(Map<String, UserSummary> all, String query) {
+        String prefix = LocalUserDirectory.normalize(query);
+        List<String> matches = new ArrayList<>();
+        for (UserSummary user : all.values()) {
+            String name = LocalUserDirectory.normalize(user.getName());
+            boolean match = name.startsWith(prefix)
+                || LocalUserDirectory.normalize(user.getEmail()).startsWith(prefix);
+            for (String word : name.split("[^\\p{L}\\p{N}]+")) {
+                match |= word.startsWith(prefix);
+            }
+            if (match) {
+                matches.add(user.getUserId());
+            }
+        }
+        Collections.sort(matches);
+        return matches;
+    }
+    
+    private static UserSummary user(Random random, int i) {
+        String first = FIRST[random.nextInt(FIRST.length)];
+        String last = LAST[random.nextInt(LAST.length)];
+        return new UserSummary(Long.toHexString(random.nextLong()) + Integer.toHexString(i),
+            first + " " + last, (first + "." + last + i).toLowerCase() + "@example.com");
+    }
+}
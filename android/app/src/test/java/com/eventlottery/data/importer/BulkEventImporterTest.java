@@ -0,0 +1,151 @@
+package com.eventlottery.data.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.repositories.InMemoryEventRepository;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * BulkEventImporterTest - Imports only ever create open events owned by the importer
+ */
+public class BulkEventImporterTest {
+    
+    private static final String HEADER = "id,name,organizerId,status,date,time,location,"
+        + "capacity,registrationOpens,registrationCloses,tags\n";
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final InMemoryEventRepository repository = new InMemoryEventRepository();
+    
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    public void fileIdsOrganizerAndStatusAreNeverKept() throws IOException {
+        Event existing = new Event();
+        existing.setId("evt-1");
+        existing.setName("Someone else's event");
+        existing.setOrganizerId("other-organizer");
+        repository.saveEvents(new ArrayList<>(Arrays.asList(existing)));
+        
+        ImportReport report = importCsv(HEADER
+            + "evt-1,Swim,other-organizer,lottery_drawn,2030-05-01,09:00,Pool,20,1,2,kids|water\n");
+        
+        assertEquals(1, report.getImportedRows());
+        assertEquals(2, repository.size());
+        assertSame(existing, repository.getEvent("evt-1"));
+        assertEquals("other-organizer", existing.getOrganizerId());
+        Event imported = importedEvent();
+        assertNotEquals("evt-1", imported.getId());
+        assertEquals("organizer-1", imported.getOrganizerId());
+        assertEquals("open", imported.getStatus());
+        assertEquals(Arrays.asList("kids", "water"), imported.getTags());
+    }
+    
+    @Test
+    public void repeatedIdInOneFileRejectsTheLaterRow() throws IOException {
+        ImportReport report = importCsv(HEADER
+            + "a,Swim,,,2030-05-01,09:00,Pool,20,1,2,\n"
+            + "b,Skate,,,2030-05-02,09:00,Rink,20,1,2,\n"
+            + "a,Swim again,,,2030-05-03,09:00,Pool,20,1,2,\n"
+            + ",No id,,,2030-05-04,09:00,Gym,20,1,2,\n"
+            + ",No id either,,,2030-05-05,09:00,Gym,20,1,2,\n");
+        
+        assertEquals(5, report.getTotalRows());
+        assertEquals(4, report.getImportedRows());
+        assertEquals(1, report.getRejectedRows());
+        ImportReport.RowError error = report.getErrors().get(0);
+        assertEquals(3, error.getRowNumber());
+        assertEquals("id a repeats row 1", error.getMessages().get(0));
+        assertEquals(4, repository.size());
+        Set<String> ids = new HashSet<>();
+        for (Event event : repository.getEvents()) {
+            assertTrue(ids.add(event.getId()));
+            assertFalse(event.getName().equals("Swim again"));
+        }
+    }
+    
+    @Test
+    public void jsonRowsAreImportedTheSameWay() throws IOException {
+        String json = "{\"events\": ["
+            + "{\"id\": \"x\", \"name\": \"Run\", \"organizerId\": \"mallory\", \"status\": \"completed\","
+            + " \"date\": \"2030-06-01\", \"time\": \"07:30\", \"location\": \"Park\","
+            + " \"capacity\": 50, \"registrationOpens\": 1, \"registrationCloses\": 2},"
+            + "{\"id\": \"x\", \"name\": \"Run\"}]}";
+        BulkEventImporter importer = new BulkEventImporter(repository, executor, 2, 1, 1);
+        ImportReport report;
+        try (EventRowReader reader = new JsonEventRowReader(new StringReader(json))) {
+            report = importer.importEvents(reader, "organizer-1");
+        }
+        
+        assertEquals(1, report.getImportedRows());
+        assertEquals(1, report.getRejectedRows());
+        Event imported = importedEvent();
+        assertEquals("organizer-1", imported.getOrganizerId());
+        assertEquals("open", imported.getStatus());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void organizerIsRequired() throws IOException {
+        new BulkEventImporter(repository, executor, 2)
+            .importEvents(new CsvEventRowReader(new StringReader(HEADER)), "");
+    }
+    
+    @Test
+    public void invalidRowsAreReportedAndValidOnesBatched() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 25; i++) {
+            String date = i % 5 == 0 ? "2030-02-30" : "2030-03-01";
+            csv.append("r").append(i).append(",Class ").append(i).append(",,,").append(date)
+                .append(",10:00,Hall,10,1,2,\n");
+        }
+        BulkEventImporter importer = new BulkEventImporter(repository, executor, 2, 4, 6);
+        ImportReport report;
+        try (EventRowReader reader = new CsvEventRowReader(new StringReader(csv.toString()))) {
+            report = importer.importEvents(reader, "organizer-1");
+        }
+        
+        assertEquals(25, report.getTotalRows());
+        assertEquals(20, report.getImportedRows());
+        assertEquals(5, report.getRejectedRows());
+        List<Integer> rows = new ArrayList<>();
+        for (ImportReport.RowError error : report.getErrors()) {
+            rows.add(error.getRowNumber());
+        }
+        assertEquals(Arrays.asList(1, 6, 11, 16, 21), rows);
+        assertEquals(20, repository.size());
+        assertEquals(4, repository.getWriteCount());
+    }
+    
+    private ImportReport importCsv(String csv) throws IOException {
+        BulkEventImporter importer = new BulkEventImporter(repository, executor, 2, 2, 2);
+        try (EventRowReader reader = new CsvEventRowReader(new StringReader(csv))) {
+            return importer.importEvents(reader, "organizer-1");
+        }
+    }
+    
+    private Event importedEvent() {
+        for (Event event : repository.getEvents()) {
+            if ("organizer-1".equals(event.getOrganizerId())) {
+                return event;
+            }
+        }
+        throw new AssertionError("no imported event");
+    }
+}
@@ -0,0 +1,152 @@
+package com.eventlottery.data.membership;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * MembershipIndexTest - Replayed transitions against a brute-force scan of every event's history
+ */
+public class MembershipIndexTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void randomReplayMatchesBruteForceIncludingReloads() throws IOException {
+        File journal = new File(folder.getRoot(), "membership/u.jsonl");
+        MembershipStore store = new MembershipStore(journal);
+        MembershipIndex index = new MembershipIndex("u", store);
+        Map<String, List<long[]>> history = new HashMap<>();
+        MembershipTransition[] transitions = MembershipTransition.values();
+        Random random = new Random(7);
+        
+        for (int step = 1; step <= 40_000; step++) {
+            String eventId = "e" + random.nextInt(300);
+            MembershipTransition transition = transitions[random.nextInt(transitions.length)];
+            MembershipState before = index.getState(eventId);
+            boolean changed = index.apply(eventId, transition, step);
+            history.computeIfAbsent(eventId, k -> new ArrayList<>())
+                .add(new long[] {transition.ordinal(), step});
+            
+            assertEquals(before != transition.apply(before), changed);
+            if (step % 2_000 == 0) {
+                assertMatchesBruteForce(index, history);
+                assertMatchesBruteForce(MembershipIndex.load("u", store), history);
+            }
+        }
+        // Compaction kept the journal near the live size
+        assertTrue(Files.readAllLines(journal.toPath()).size() < 2 * history.size() + 64);
+    }
+    
+    @Test
+    public void historyIsFinalSoLateNotificationsCannotReviveAnEvent() throws IOException {
+        MembershipIndex index = new MembershipIndex("u", null);
+        index.apply("e1", MembershipTransition.JOIN, 1);
+        index.apply("e1", MembershipTransition.CLOSE, 2);
+        
+        assertFalse(index.apply("e1", MembershipTransition.JOIN, 3));
+        assertFalse(index.apply("e1", MembershipTransition.SELECT, 4));
+        assertFalse(index.apply("e1", MembershipTransition.LEAVE, 5));
+        assertEquals(MembershipState.HISTORY, index.getState("e1"));
+        assertEquals(0, index.count(MembershipState.WAITING));
+        
+        index.apply("e2", MembershipTransition.JOIN, 1);
+        index.apply("e2", MembershipTransition.SELECT, 2);
+        index.apply("e2", MembershipTransition.DECLINE, 3);
+        index.apply("e2", MembershipTransition.JOIN, 4);
+        assertEquals(MembershipState.HISTORY, index.getState("e2"));
+    }
+    
+    @Test
+    public void duplicatedNotificationsAreIgnored() throws IOException {
+        MembershipIndex index = new MembershipIndex("u", null);
+        assertTrue(index.apply("e1", MembershipTransition.JOIN, 1));
+        assertFalse(index.apply("e1", MembershipTransition.JOIN, 2));
+        assertTrue(index.apply("e1", MembershipTransition.SELECT, 3));
+        assertFalse(index.apply("e1", MembershipTransition.SELECT, 4));
+        assertFalse(index.apply("e1", MembershipTransition.JOIN, 5));
+        assertTrue(index.apply("e1", MembershipTransition.CONFIRM, 6));
+        assertFalse(index.apply("e1", MembershipTransition.DECLINE, 7));
+        
+        assertEquals(MembershipState.CONFIRMED, index.getState("e1"));
+        assertEquals(Arrays.asList("e1"), index.page(MembershipState.CONFIRMED, null, 5).getEventIds());
+    }
+    
+    @Test
+    public void pagesWalkATabNewestFirstWithCursors() throws IOException {
+        MembershipIndex index = new MembershipIndex("u", null);
+        for (int i = 0; i < 5; i++) {
+            index.apply("e" + i, MembershipTransition.JOIN, 100 + i);
+        }
+        
+        MembershipPage first = index.page(MembershipState.WAITING, null, 2);
+        MembershipPage second = index.page(MembershipState.WAITING, first.getNextCursor(), 2);
+        MembershipPage last = index.page(MembershipState.WAITING, second.getNextCursor(), 2);
+        
+        assertEquals(Arrays.asList("e4", "e3"), first.getEventIds());
+        assertEquals(Arrays.asList("e2", "e1"), second.getEventIds());
+        assertEquals(Arrays.asList("e0"), last.getEventIds());
+        assertNull(last.getNextCursor());
+        assertEquals(5, index.count(MembershipState.WAITING));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedCursorIsRejected() {
+        new MembershipIndex("u", null).page(MembershipState.WAITING, "not-a-cursor", 5);
+    }
+    
+    /**
+     * The scan the index replaces: fold every event's full history, then
+     * group by state and sort by when each event entered it
+     */
+    private static void assertMatchesBruteForce(MembershipIndex index,
+                                                Map<String, List<long[]>> history) {
+        Map<MembershipState, List<String>> tabs = new HashMap<>();
+        Map<String, Long> since = new HashMap<>();
+        for (Map.Entry<String, List<long[]>> event : history.entrySet()) {
+            MembershipState state = null;
+            for (long[] step : event.getValue()) {
+                MembershipState next = MembershipTransition.values()[(int) step[0]].apply(state);
+                if (next != state) {
+                    since.put(event.getKey(), step[1]);
+                }
+                state = next;
+            }
+            if (state != null) {
+                tabs.computeIfAbsent(state, k -> new ArrayList<>()).add(event.getKey());
+            }
+        }
+        for (MembershipState state : MembershipState.values()) {
+            List<String> expected = tabs.getOrDefault(state, new ArrayList<>());
+            expected.sort((a, b) -> {
+                int byTime = Long.compare(since.get(b), since.get(a));
+                return byTime != 0 ? byTime : a.compareTo(b);
+            });
+            List<String> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                MembershipPage page = index.page(state, cursor, 7);
+                paged.addAll(page.getEventIds());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            
+            assertEquals(state.name(), expected, paged);
+            assertEquals(expected.size(), index.count(state));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.eventlottery.data.membership;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * MembershipStoreTest - Journal format, torn lines and atomic rewrites
+ */
+public class MembershipStoreTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void readsJournalLinesWrittenBeforeTheExplicitAdapter() throws IOException {
+        File file = folder.newFile("u.jsonl");
+        write(file, "{\"eventId\":\"e1\",\"state\":\"WAITING\",\"at\":5}",
+            "{\"eventId\":\"e2\",\"at\":6}",
+            "{\"eventId\":\"e3\",\"state\":\"PROMOTED\",\"at\":7}",
+            "{\"at\":8,\"eventId\":\"e4\",\"state\":\"CONFIRMED\",\"extra\":[1]}",
+            "{\"eventId\":\"e5\",\"sta");
+        
+        List<MembershipStore.Record> records = new MembershipStore(file).load();
+        
+        assertEquals(3, records.size());
+        assertEquals("e1", records.get(0).eventId);
+        assertEquals(MembershipState.WAITING, records.get(0).state);
+        assertEquals(5, records.get(0).at);
+        assertEquals("e2", records.get(1).eventId);
+        assertNull(records.get(1).state);
+        assertEquals(MembershipState.CONFIRMED, records.get(2).state);
+    }
+    
+    @Test
+    public void appendAndRewriteUseTheSameFormat() throws IOException {
+        File file = new File(folder.getRoot(), "nested/u.jsonl");
+        MembershipStore store = new MembershipStore(file);
+        store.append(new MembershipStore.Record("e1", MembershipState.SELECTED, 10));
+        store.append(new MembershipStore.Record("e1", null, 11));
+        
+        assertEquals(Arrays.asList("{\"eventId\":\"e1\",\"state\":\"SELECTED\",\"at\":10}",
+            "{\"eventId\":\"e1\",\"at\":11}"), Files.readAllLines(file.toPath()));
+        
+        store.rewrite(Arrays.asList(new MembershipStore.Record("e2", MembershipState.HISTORY, 12)));
+        List<MembershipStore.Record> records = store.load();
+        assertEquals(1, records.size());
+        assertEquals(MembershipState.HISTORY, records.get(0).state);
+    }
+    
+    @Test
+    public void appendAfterTornLineIsNotLost() throws IOException {
+        File file = folder.newFile("u.jsonl");
+        write(file, "{\"eventId\":\"e1\",\"state\":\"WAITING\",\"at\":5}",
+            "{\"eventId\":\"e2\",\"sta");
+        MembershipStore store = new MembershipStore(file);
+        assertEquals(1, store.load().size());
+        
+        store.append(new MembershipStore.Record("e3", MembershipState.SELECTED, 6));
+        store.append(new MembershipStore.Record("e4", MembershipState.WAITING, 7));
+        
+        List<MembershipStore.Record> records = new MembershipStore(file).load();
+        assertEquals(3, records.size());
+        assertEquals("e1", records.get(0).eventId);
+        assertEquals("e3", records.get(1).eventId);
+        assertEquals(MembershipState.SELECTED, records.get(1).state);
+        assertEquals("e4", records.get(2).eventId);
+        assertEquals(3, Files.readAllLines(file.toPath()).size());
+    }
+    
+    @Test
+    public void appendToJournalWithoutNewlinesKeepsNothingTorn() throws IOException {
+        File file = folder.newFile("u.jsonl");
+        write(file, "{\"eventId\":\"e1\",\"sta");
+        MembershipStore store = new MembershipStore(file);
+        
+        store.append(new MembershipStore.Record("e2", MembershipState.WAITING, 8));
+        
+        List<MembershipStore.Record> records = store.load();
+        assertEquals(1, records.size());
+        assertEquals("e2", records.get(0).eventId);
+    }
+    
+    @Test
+    public void indexSurvivesReloadFromJournal() throws IOException {
+        MembershipStore store = new MembershipStore(new File(folder.getRoot(), "u.jsonl"));
+        MembershipIndex index = new MembershipIndex("u", store);
+        index.apply("e1", MembershipTransition.JOIN, 1);
+        index.apply("e2", MembershipTransition.JOIN, 2);
+        index.apply("e2", MembershipTransition.SELECT, 3);
+        index.apply("e1", MembershipTransition.LEAVE, 4);
+        
+        MembershipIndex loaded = MembershipIndex.load("u", store);
+        
+        assertNull(loaded.getState("e1"));
+        assertEquals(MembershipState.SELECTED, loaded.getState("e2"));
+    }
+    
+    private static void write(File file, String... lines) throws IOException {
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
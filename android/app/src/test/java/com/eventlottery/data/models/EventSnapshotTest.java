@@ -0,0 +1,153 @@
+package com.eventlottery.data.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * EventSnapshotTest - Copy-on-write updates, content comparison and filtering helpers
+ */
+public class EventSnapshotTest {
+    
+    @Test
+    public void updatesThatChangeNothingReturnTheSameInstance() {
+        EventSnapshot snapshot = sample();
+        
+        assertSame(snapshot, snapshot.withWaitlistCount(12));
+        assertSame(snapshot, snapshot.withConfirmedCount(3));
+        assertSame(snapshot, snapshot.withCounts(12, 3));
+        assertSame(snapshot, snapshot.withStatus("open"));
+        assertSame(snapshot, snapshot.withPosterImageUrl("https://example.com/p.png"));
+        assertSame(snapshot, snapshot.withFlag(false, 0));
+        assertSame(snapshot, snapshot.withUpdatedAt(100));
+    }
+    
+    @Test
+    public void updatesCopyOnlyTheChangedFieldAndShareTheRest() {
+        EventSnapshot snapshot = sample();
+        
+        EventSnapshot updated = snapshot.withCounts(13, 4);
+        
+        assertNotSame(snapshot, updated);
+        assertEquals(12, snapshot.getWaitlistCount());
+        assertEquals(13, updated.getWaitlistCount());
+        assertEquals(4, updated.getConfirmedCount());
+        assertSame(snapshot.getName(), updated.getName());
+        assertSame(snapshot.getTags(), updated.getTags());
+        assertFalse(snapshot.hasSameContent(updated));
+        assertTrue(snapshot.getVersion() != updated.getVersion());
+    }
+    
+    @Test
+    public void versionFollowsContentNotConstruction() {
+        EventSnapshot snapshot = sample();
+        
+        assertEquals(snapshot.getVersion(), snapshot.toBuilder().build().getVersion());
+        assertEquals(snapshot.getVersion(), sample().getVersion());
+        assertEquals(snapshot.getVersion(), EventSnapshot.of(snapshot.toEvent()).getVersion());
+        assertEquals(snapshot.getVersion(),
+            snapshot.withCounts(13, 4).withCounts(12, 3).getVersion());
+        assertTrue(snapshot.getVersion() != snapshot.toBuilder().name("Pottery Nighs").build().getVersion());
+        assertTrue(snapshot.getVersion() != snapshot.toBuilder().tags(Arrays.asList("Arts")).build().getVersion());
+        // "Aa" and "BB" share a String.hashCode
+        assertTrue(snapshot.toBuilder().name("Aa").build().getVersion()
+            != snapshot.toBuilder().name("BB").build().getVersion());
+    }
+    
+    @Test
+    public void recencyGoesByUpdatedAt() {
+        EventSnapshot snapshot = sample();
+        EventSnapshot counted = snapshot.withCounts(13, 4);
+        EventSnapshot edited = snapshot.withUpdatedAt(200);
+        
+        assertFalse(counted.isNewerThan(snapshot));
+        assertFalse(snapshot.isNewerThan(counted));
+        assertTrue(edited.isNewerThan(counted));
+        assertFalse(counted.isNewerThan(edited));
+        // An older server copy built later is still older
+        assertTrue(edited.isNewerThan(edited.toBuilder().updatedAt(150).build()));
+        assertTrue(snapshot.isNewerThan(null));
+    }
+    
+    @Test
+    public void snapshotsAreIsolatedFromTheEventsTheyCopy() {
+        Event event = sample().toEvent();
+        EventSnapshot snapshot = EventSnapshot.of(event);
+        
+        event.setName("Renamed");
+        Event copy = snapshot.toEvent();
+        copy.setWaitlistCount(99);
+        
+        assertEquals("Pottery Night", snapshot.getName());
+        assertEquals(12, snapshot.getWaitlistCount());
+    }
+    
+    @Test
+    public void separatelyBuiltSnapshotsWithEqualFieldsHaveTheSameContent() {
+        EventSnapshot a = sample();
+        EventSnapshot b = sample();
+        EventSnapshot renamed = a.toBuilder().name("Pottery Day").build();
+        
+        assertNotSame(a, b);
+        assertTrue(a.hasSameContent(b));
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.hasSameContent(renamed));
+        assertTrue(a.hasSameContent(renamed.toBuilder().name("Pottery Night").build()));
+    }
+    
+    @Test
+    public void queryAndTagFilteringMatchNameDescriptionAndTags() {
+        EventSnapshot snapshot = sample();
+        
+        assertTrue(snapshot.matchesQuery(""));
+        assertTrue(snapshot.matchesQuery("pottery"));
+        assertTrue(snapshot.matchesQuery("wheel"));
+        assertFalse(snapshot.matchesQuery("yoga"));
+        assertTrue(snapshot.hasAnyTag(Arrays.asList("Sports", "Arts")));
+        assertFalse(snapshot.hasAnyTag(Collections.singleton("Sports")));
+    }
+    
+    @Test
+    public void copyOfKeepsOrder() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            events.add(sample().toBuilder().id("event-" + i).build().toEvent());
+        }
+        
+        List<EventSnapshot> snapshots = EventSnapshot.copyOf(events);
+        
+        assertEquals(3, snapshots.size());
+        assertEquals("event-2", snapshots.get(2).getId());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void copyOfReturnsAnUnmodifiableList() {
+        EventSnapshot.copyOf(Collections.singletonList(sample().toEvent())).add(sample());
+    }
+    
+    private static EventSnapshot sample() {
+        return EventSnapshot.builder()
+            .id("event-1")
+            .name("Pottery Night")
+            .description("Learn the wheel")
+            .capacity(20)
+            .waitlistCount(12)
+            .confirmedCount(3)
+            .tags(Arrays.asList("Arts", "Evening"))
+            .posterImageUrl("https://example.com/p.png")
+            .status("open")
+            // Event() stamps the wall clock; pin it so separately built samples match
+            .createdAt(50)
+            .updatedAt(100)
+            .build();
+    }
+}
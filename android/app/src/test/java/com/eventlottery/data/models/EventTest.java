@@ -0,0 +1,74 @@
+package com.eventlottery.data.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * EventTest - Nullable fields stored as primitives and interned values
+ */
+public class EventTest {
+    
+    @Test
+    public void nullableFieldsStartAbsent() {
+        Event event = new Event();
+        
+        assertNull(event.getWaitlistLimit());
+        assertNull(event.getGeolocationRadius());
+        assertNull(event.getGeolocationLat());
+        assertNull(event.getGeolocationLng());
+        assertNull(event.getLotteryDrawDate());
+    }
+    
+    @Test
+    public void nullableFieldsRoundTripIncludingZeroAndClearing() {
+        Event event = new Event();
+        event.setWaitlistLimit(0);
+        event.setGeolocationRadius(250);
+        event.setGeolocationLat(0.0);
+        event.setGeolocationLng(-73.5);
+        event.setLotteryDrawDate(1_700_000_000_000L);
+        
+        assertEquals(Integer.valueOf(0), event.getWaitlistLimit());
+        assertTrue(event.hasWaitlistLimit());
+        assertEquals(Integer.valueOf(250), event.getGeolocationRadius());
+        assertEquals(Double.valueOf(0.0), event.getGeolocationLat());
+        assertEquals(Double.valueOf(-73.5), event.getGeolocationLng());
+        assertEquals(Long.valueOf(1_700_000_000_000L), event.getLotteryDrawDate());
+        
+        event.setWaitlistLimit(null);
+        event.setGeolocationLat(null);
+        
+        assertNull(event.getWaitlistLimit());
+        assertFalse(event.hasWaitlistLimit());
+        assertNull(event.getGeolocationLat());
+        assertEquals(Integer.valueOf(250), event.getGeolocationRadius());
+    }
+    
+    @Test
+    public void repeatedStringsAndTagsAreShared() {
+        Event first = new Event();
+        Event second = new Event();
+        first.setStatus(new String("open"));
+        second.setStatus(new String("open"));
+        first.setTags(new ArrayList<>(List.of("music", "outdoor")));
+        second.setTags(new ArrayList<>(List.of("music", "outdoor")));
+        
+        assertSame(first.getStatus(), second.getStatus());
+        assertSame(first.getTags(), second.getTags());
+    }
+    
+    @Test
+    public void nullTagsReadAsEmpty() {
+        Event event = new Event();
+        event.setTags(null);
+        
+        assertTrue(event.getTags().isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.eventlottery.data.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * EventTypeAdapterTest - Streaming Event JSON round trips and tolerates odd tag values
+ */
+public class EventTypeAdapterTest {
+    
+    private final Gson gson = EventTypeAdapterFactory.createGson();
+    
+    @Test
+    public void roundTripKeepsFieldsAndNullableAbsence() {
+        Event event = new Event();
+        event.setId("e1");
+        event.setName("Swim");
+        event.setStatus("open");
+        event.setCapacity(20);
+        event.setGeolocationRadius(0);
+        event.setTags(Arrays.asList("kids", "water"));
+        
+        Event read = gson.fromJson(gson.toJson(event), Event.class);
+        
+        assertEquals("e1", read.getId());
+        assertEquals("Swim", read.getName());
+        assertEquals(20, read.getCapacity());
+        assertEquals(Integer.valueOf(0), read.getGeolocationRadius());
+        assertNull(read.getWaitlistLimit());
+        assertNull(read.getLotteryDrawDate());
+        assertEquals(Arrays.asList("kids", "water"), read.getTags());
+    }
+    
+    @Test
+    public void equalTagArraysShareOneInternedList() {
+        Event first = gson.fromJson("{\"tags\": [\"art\", \"music\"]}", Event.class);
+        Event second = gson.fromJson("{\"tags\": [\"art\", \"music\"]}", Event.class);
+        
+        assertSame(first.getTags(), second.getTags());
+        assertSame(first.getTags().get(0), second.getTags().get(0));
+    }
+    
+    @Test
+    public void nonStringTagEntriesAreSkipped() {
+        Event event = gson.fromJson("{\"tags\": [\"art\", 3, {\"x\": 1}, null, \"music\"]}",
+            Event.class);
+        
+        assertEquals(Arrays.asList("art", "music"), event.getTags());
+    }
+    
+    @Test
+    public void tagsThatAreNotAnArrayAreSkipped() {
+        Event event = gson.fromJson("{\"tags\": \"art\", \"name\": \"Gallery\","
+            + " \"extra\": {\"tags\": [1]}}", Event.class);
+        Event objectTags = gson.fromJson("{\"tags\": {\"0\": \"art\"}, \"id\": \"e2\"}", Event.class);
+        
+        assertEquals(Collections.emptyList(), event.getTags());
+        assertEquals("Gallery", event.getName());
+        assertTrue(objectTags.getTags().isEmpty());
+        assertEquals("e2", objectTags.getId());
+    }
+}
@@ -0,0 +1,144 @@
+package com.eventlottery.data.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import retrofit2.Response;
+
+/**
+ * EventApiClientTest - Disk cache, revalidation and gzip against a MockWebServer
+ */
+public class EventApiClientTest {
+    
+    private static final String EVENT_JSON = "{\"id\": \"e1\", \"name\": \"Swim\"}";
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private MockWebServer server;
+    private EventApiClient client;
+    
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        server.shutdown();
+    }
+    
+    @Test
+    public void freshResponseIsServedFromCacheWithoutNetwork() throws Exception {
+        client = client(30, 600);
+        server.enqueue(new MockResponse().setBody(EVENT_JSON));
+        
+        assertEquals("Swim", fetch().body().getName());
+        assertEquals("Swim", fetch().body().getName());
+        
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, client.getMetrics().getCacheHits());
+        assertEquals(1, client.getMetrics().getNetworkResponses());
+    }
+    
+    @Test
+    public void staleResponseIsServedAndRevalidatedInBackground() throws Exception {
+        client = client(0, 600);
+        server.enqueue(new MockResponse().setBody(EVENT_JSON).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+        
+        assertEquals("Swim", fetch().body().getName());
+        Response<Event> stale = fetch();
+        
+        assertEquals("Swim", stale.body().getName());
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(revalidation);
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+    }
+    
+    @Test
+    public void pastStaleWindowTheCacheRevalidatesWithConditionalRequest() throws Exception {
+        client = client(0, 0);
+        server.enqueue(new MockResponse().setBody(EVENT_JSON).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+        
+        fetch();
+        Response<Event> revalidated = fetch();
+        
+        assertEquals("Swim", revalidated.body().getName());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, client.getMetrics().getConditionalHits());
+    }
+    
+    @Test
+    public void callerConditionalRequestsBypassTheStaleWindow() throws Exception {
+        client = client(30, 600);
+        server.enqueue(new MockResponse().setBody(EVENT_JSON));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        
+        fetch();
+        Response<Event> conditional = client.getApi()
+            .getEventIfModified("e1", "Mon, 01 Jan 2024 00:00:00 GMT").execute();
+        
+        assertEquals(2, server.getRequestCount());
+        server.takeRequest();
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT",
+            server.takeRequest().getHeader("If-Modified-Since"));
+        assertEquals(304, conditional.code());
+        assertNull(conditional.body());
+    }
+    
+    @Test
+    public void gzipBodiesAreDecodedAndCountedCompressed() throws Exception {
+        client = client(30, 600);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            description.append("Lane swim for all ages. ");
+        }
+        String json = "{\"id\": \"e1\", \"description\": \"" + description + "\"}";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Encoding", "gzip")
+            .setBody(new Buffer().write(compressed.toByteArray())));
+        
+        Event event = fetch().body();
+        
+        assertEquals(description.toString(), event.getDescription());
+        assertEquals("gzip", server.takeRequest().getHeader("Accept-Encoding"));
+        assertTrue(client.getMetrics().getBytesReceived() < json.length() / 4);
+    }
+    
+    private EventApiClient client(int freshSeconds, int staleSeconds) throws IOException {
+        return new EventApiClient(server.url("/").toString(), folder.newFolder("http"),
+            EventApiClient.DEFAULT_CACHE_BYTES, freshSeconds, staleSeconds);
+    }
+    
+    private Response<Event> fetch() throws IOException {
+        return client.getApi().getEvent("e1").execute();
+    }
+}
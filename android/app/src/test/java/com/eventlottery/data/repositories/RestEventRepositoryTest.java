@@ -0,0 +1,159 @@
+package com.eventlottery.data.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventPage;
+import com.eventlottery.data.models.EventTypeAdapterFactory;
+import com.eventlottery.data.remote.EventApiClient;
+import com.eventlottery.data.remote.TransferMetrics;
+import com.google.gson.Gson;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * RestEventRepositoryTest - Transfer cost of cold, warm and revalidating passes
+ * 
+ * Each pass reads the event list and the first 50 event details through a
+ * fresh client on a shared disk cache, as the browse screen does after a
+ * restart, and prints the client's TransferMetrics.
+ */
+public class RestEventRepositoryTest {
+    
+    private static final int EVENTS = 300;
+    private static final int DETAILS = 50;
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private final Map<String, String> bodies = new HashMap<>();
+    private MockWebServer server;
+    private File cacheDir;
+    private final AtomicInteger notModified = new AtomicInteger();
+    
+    @Before
+    public void setUp() throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setId("e" + i);
+            event.setName("Swimming lessons " + i);
+            event.setDescription("Beginner swimming lessons for kids, bring a towel and goggles. Session " + i);
+            event.setLocation("Kinsmen Sports Centre");
+            event.setTags(Arrays.asList("sports", "kids"));
+            event.setCreatedAt(1_760_000_000_000L);
+            event.setUpdatedAt(1_760_000_000_000L + i * 1000L);
+            events.add(event);
+        }
+        Gson gson = EventTypeAdapterFactory.createGson();
+        bodies.put("/events", gson.toJson(new EventPage(events, null)));
+        for (Event event : events) {
+            bodies.put("/events/" + event.getId(), gson.toJson(event, Event.class));
+        }
+        
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return respond(request);
+            }
+        });
+        server.start();
+        cacheDir = folder.newFolder("http");
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+    
+    @Test
+    public void warmPassIsServedFromTheDiskCache() throws Exception {
+        TransferMetrics cold = pass("cold", 30, 600);
+        TransferMetrics warm = pass("warm", 30, 600);
+        
+        assertEquals(DETAILS + 1, cold.getCacheMisses());
+        assertEquals(DETAILS + 1, cold.getNetworkResponses());
+        assertTrue(cold.getBytesReceived() > 0);
+        
+        assertEquals(DETAILS + 1, warm.getCacheHits());
+        assertEquals(0, warm.getNetworkResponses());
+        assertEquals(0, warm.getBytesReceived());
+    }
+    
+    @Test
+    public void expiredPassRevalidatesWithHeaderOnlyResponses() throws Exception {
+        TransferMetrics cold = pass("cold", 0, 0);
+        TransferMetrics revalidated = pass("revalidated", 0, 0);
+        
+        assertEquals(DETAILS + 1, revalidated.getConditionalHits());
+        assertEquals(DETAILS + 1, notModified.get());
+        assertTrue(revalidated.getBytesReceived() < cold.getBytesReceived() / 2);
+    }
+    
+    private TransferMetrics pass(String label, int freshSeconds, int staleSeconds) throws IOException {
+        notModified.set(0);
+        EventApiClient client = new EventApiClient(server.url("/").toString(), cacheDir,
+            EventApiClient.DEFAULT_CACHE_BYTES, freshSeconds, staleSeconds);
+        try {
+            RestEventRepository repository = new RestEventRepository(client.getApi());
+            assertEquals(EVENTS, repository.getEvents().size());
+            for (int i = 0; i < DETAILS; i++) {
+                repository.getEvent("e" + i);
+            }
+            TransferMetrics metrics = client.getMetrics();
+            System.out.printf("%-11s %7d bytes, %2d network, %2d hits (%2d conditional), %2d misses%n",
+                label, metrics.getBytesReceived(),
+                metrics.getNetworkResponses(), metrics.getCacheHits(), metrics.getConditionalHits(),
+                metrics.getCacheMisses());
+            return metrics;
+        } finally {
+            client.close();
+        }
+    }
+    
+    private MockResponse respond(RecordedRequest request) {
+        String body = bodies.get(request.getPath());
+        if (body == null) {
+            return new MockResponse().setResponseCode(404);
+        }
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        MockResponse response = new MockResponse().setHeader("ETag", etag);
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            notModified.incrementAndGet();
+            return response.setResponseCode(304);
+        }
+        if (!String.valueOf(request.getHeader("Accept-Encoding")).contains("gzip")) {
+            return response.setBody(body);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return response.setHeader("Content-Encoding", "gzip")
+            .setBody(new Buffer().write(compressed.toByteArray()));
+    }
+}
@@ -0,0 +1,287 @@
+package com.eventlottery.data.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * SingleFlightEventRepositoryTest - Backend calls counted under concurrent callers
+ */
+public class SingleFlightEventRepositoryTest {
+    
+    private static final long TTL = 5_000;
+    
+    private final CountingBackend backend = new CountingBackend();
+    private final ExecutorService loads = Executors.newFixedThreadPool(4);
+    private final ExecutorService callers = Executors.newFixedThreadPool(32);
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final SingleFlightEventRepository repository =
+        new SingleFlightEventRepository(backend, loads, TTL, now::get);
+    
+    /**
+     * Backend whose loads block until released, so every caller arrives while one is in flight
+     */
+    private static final class CountingBackend implements EventRepository {
+        final AtomicInteger getCalls = new AtomicInteger();
+        final AtomicInteger listCalls = new AtomicInteger();
+        final AtomicInteger interrupted = new AtomicInteger();
+        final Semaphore started = new Semaphore(0);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile long version = 1;
+        
+        @Override
+        public Event getEvent(String eventId) throws IOException {
+            getCalls.incrementAndGet();
+            block();
+            return eventId.startsWith("missing") ? null : event(eventId, version);
+        }
+        
+        @Override
+        public List<Event> getEvents() throws IOException {
+            listCalls.incrementAndGet();
+            block();
+            List<Event> all = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                all.add(event("e" + i, version));
+            }
+            return all;
+        }
+        
+        @Override
+        public void saveEvents(List<Event> events) {
+        }
+        
+        private void block() throws InterruptedIOException {
+            started.release();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        callers.shutdownNow();
+        loads.shutdownNow();
+    }
+    
+    @Test
+    public void concurrentCallersForOneEventShareOneBackendCall() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        List<CompletableFuture<Event>> futures = loadConcurrently(1);
+        backend.gate.countDown();
+        
+        Set<Event> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CompletableFuture<Event> future : futures) {
+            distinct.add(future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, backend.getCalls.get());
+        assertEquals(1, distinct.size());
+        assertEquals(1, repository.getBackendLoads());
+        assertEquals(319, repository.getSharedJoins());
+    }
+    
+    @Test
+    public void concurrentCallersOverManyKeysLoadEachKeyOnce() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        List<CompletableFuture<Event>> futures = loadConcurrently(10);
+        backend.gate.countDown();
+        
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("k" + i % 10, futures.get(i).get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(10, backend.getCalls.get());
+        assertEquals(310, repository.getSharedJoins());
+    }
+    
+    @Test
+    public void concurrentListLoadsShareOneBackendCall() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        List<Future<List<Event>>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(callers.submit(() -> repository.getEvents()));
+        }
+        assertTrue(backend.started.tryAcquire(5, TimeUnit.SECONDS));
+        backend.gate.countDown();
+        
+        List<Event> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<Event>> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, backend.listCalls.get());
+        // The list load also fills the per-event cache
+        repository.getEvent("e3");
+        assertEquals(0, backend.getCalls.get());
+    }
+    
+    @Test
+    public void resultsAreCachedForTheTtl() throws IOException {
+        Event first = repository.getEvent("e1");
+        now.addAndGet(TTL - 1);
+        assertSame(first, repository.getEvent("e1"));
+        assertEquals(1, backend.getCalls.get());
+        
+        now.addAndGet(1);
+        repository.getEvent("e1");
+        
+        assertEquals(2, backend.getCalls.get());
+        assertNull(repository.getEvent("missing-1"));
+        assertNull(repository.getEvent("missing-1"));
+        assertEquals(3, backend.getCalls.get());
+    }
+    
+    @Test
+    public void invalidateIfOlderReloadsOnlyForNewerVersions() throws IOException {
+        repository.getEvent("e2");
+        repository.getEvents();
+        
+        repository.invalidateIfOlder("e2", 5);
+        backend.version = 5;
+        Event reloaded = repository.getEvent("e2");
+        repository.invalidateIfOlder("e2", 3);
+        repository.getEvent("e2");
+        repository.getEvents();
+        
+        assertEquals(5, reloaded.getUpdatedAt());
+        assertEquals(2, backend.getCalls.get());
+        assertEquals(2, backend.listCalls.get());
+    }
+    
+    @Test
+    public void loadOverlappingANewerVersionIsNotCached() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        CompletableFuture<Event> inFlight = repository.loadEvent("e3");
+        assertTrue(backend.started.tryAcquire(5, TimeUnit.SECONDS));
+        repository.invalidateIfOlder("e3", 9);
+        backend.gate.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        
+        backend.version = 9;
+        Event reloaded = repository.getEvent("e3");
+        
+        assertEquals(2, backend.getCalls.get());
+        assertEquals(9, reloaded.getUpdatedAt());
+    }
+    
+    @Test
+    public void oneCallerCancellingDoesNotAffectTheOthers() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        CompletableFuture<Event> cancelled = repository.loadEvent("x");
+        CompletableFuture<Event> waiting = repository.loadEvent("x");
+        assertTrue(backend.started.tryAcquire(5, TimeUnit.SECONDS));
+        
+        cancelled.cancel(true);
+        backend.gate.countDown();
+        
+        assertEquals("x", waiting.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, backend.getCalls.get());
+        assertEquals(0, backend.interrupted.get());
+    }
+    
+    @Test
+    public void loadIsInterruptedOnceEveryCallerCancels() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        CompletableFuture<Event> first = repository.loadEvent("x");
+        CompletableFuture<Event> second = repository.loadEvent("x");
+        assertTrue(backend.started.tryAcquire(5, TimeUnit.SECONDS));
+        
+        first.cancel(true);
+        assertEquals(0, backend.interrupted.get());
+        second.cancel(true);
+        
+        for (int i = 0; i < 500 && backend.interrupted.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, backend.interrupted.get());
+        backend.gate = new CountDownLatch(0);
+        assertEquals("x", repository.getEvent("x").getId());
+        assertEquals(2, backend.getCalls.get());
+    }
+    
+    @Test
+    public void interruptedCallerAbandonsOnlyItsOwnWait() throws Exception {
+        backend.gate = new CountDownLatch(1);
+        CompletableFuture<Event> other = repository.loadEvent("y");
+        assertTrue(backend.started.tryAcquire(5, TimeUnit.SECONDS));
+        AtomicInteger outcome = new AtomicInteger();
+        Thread caller = new Thread(() -> {
+            try {
+                repository.getEvent("y");
+                outcome.set(1);
+            } catch (InterruptedIOException e) {
+                outcome.set(2);
+            } catch (IOException e) {
+                outcome.set(3);
+            }
+        });
+        caller.start();
+        while (repository.getSharedJoins() == 0) {
+            Thread.sleep(1);
+        }
+        
+        caller.interrupt();
+        caller.join(5_000);
+        backend.gate.countDown();
+        
+        assertEquals(2, outcome.get());
+        assertEquals("y", other.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(0, backend.interrupted.get());
+        assertFalse(caller.isAlive());
+    }
+    
+    /**
+     * 32 threads released together, each requesting keys k0..k(keys-1) in turn ten times
+     */
+    private List<CompletableFuture<Event>> loadConcurrently(int keys) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(32);
+        List<Future<List<CompletableFuture<Event>>>> submitted = new ArrayList<>();
+        for (int t = 0; t < 32; t++) {
+            submitted.add(callers.submit(() -> {
+                start.await();
+                List<CompletableFuture<Event>> mine = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    mine.add(repository.loadEvent("k" + i % keys));
+                }
+                return mine;
+            }));
+        }
+        List<CompletableFuture<Event>> futures = new ArrayList<>();
+        for (Future<List<CompletableFuture<Event>>> batch : submitted) {
+            futures.addAll(batch.get(5, TimeUnit.SECONDS));
+        }
+        return futures;
+    }
+    
+    private static Event event(String eventId, long updatedAt) {
+        Event event = new Event();
+        event.setId(eventId);
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
+}
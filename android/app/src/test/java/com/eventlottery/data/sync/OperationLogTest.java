@@ -0,0 +1,75 @@
+package com.eventlottery.data.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * OperationLogTest - Round trips, earlier log lines and corrupt entries
+ */
+public class OperationLogTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void roundTripsOperationsInOrder() throws Exception {
+        OperationLog log = new OperationLog(new File(folder.getRoot(), "queue/ops.jsonl"));
+        List<WaitlistOperation> saved = List.of(
+            new WaitlistOperation("k1", WaitlistOperation.Type.JOIN, "e1", "u1", 10),
+            new WaitlistOperation("k2", WaitlistOperation.Type.DECLINE, "e2", "u1", 20));
+        log.save(saved);
+        
+        List<WaitlistOperation> loaded = log.load();
+        
+        assertEquals(2, loaded.size());
+        assertEquals("k1", loaded.get(0).getIdempotencyKey());
+        assertEquals(WaitlistOperation.Type.JOIN, loaded.get(0).getType());
+        assertEquals("e1", loaded.get(0).getEventId());
+        assertEquals("u1", loaded.get(0).getUserId());
+        assertEquals(10, loaded.get(0).getCreatedAt());
+        assertEquals(WaitlistOperation.Type.DECLINE, loaded.get(1).getType());
+    }
+    
+    @Test
+    public void readsLinesWrittenByReflectiveGson() throws Exception {
+        File file = folder.newFile("ops.jsonl");
+        Files.write(file.toPath(), List.of(
+            "{\"idempotencyKey\":\"k1\",\"type\":\"CONFIRM\",\"eventId\":\"e1\",\"userId\":\"u1\",\"createdAt\":5}"),
+            StandardCharsets.UTF_8);
+        
+        List<WaitlistOperation> loaded = new OperationLog(file).load();
+        
+        assertEquals(1, loaded.size());
+        assertEquals(WaitlistOperation.Type.CONFIRM, loaded.get(0).getType());
+        assertEquals("e1/u1", loaded.get(0).getTargetKey());
+    }
+    
+    @Test
+    public void skipsCorruptAndUnknownEntries() throws Exception {
+        File file = folder.newFile("ops.jsonl");
+        Files.write(file.toPath(), List.of(
+            "{\"idempotencyKey\":\"k1\",\"type\":\"JOIN\",\"eventId\":\"e1\",\"userId\":\"u1\",\"createdAt\":1}",
+            "{\"idempotencyKey\":\"k2\",\"type\":\"TELEPORT\",\"eventId\":\"e1\",\"userId\":\"u1\"}",
+            "[1, 2]",
+            "{\"idempotencyKey\":\"k3\",\"type\":\"LEA"),
+            StandardCharsets.UTF_8);
+        
+        List<WaitlistOperation> loaded = new OperationLog(file).load();
+        
+        assertEquals(1, loaded.size());
+        assertEquals("k1", loaded.get(0).getIdempotencyKey());
+    }
+    
+    @Test
+    public void missingFileLoadsEmpty() throws Exception {
+        assertTrue(new OperationLog(new File(folder.getRoot(), "absent.jsonl")).load().isEmpty());
+    }
+}
@@ -0,0 +1,187 @@
+package com.eventlottery.data.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.counters.EventCounters;
+import com.eventlottery.data.counters.InMemoryCounterBackend;
+import com.eventlottery.data.models.Event;
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * WaitlistSyncQueueTest - Collapsing, batching, offline retention and count agreement
+ */
+public class WaitlistSyncQueueTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private OperationLog log;
+    private InMemoryWaitlistRemote remote;
+    private WaitlistSyncQueue queue;
+    private final Map<String, int[]> reconciled = new HashMap<>();
+    private long now = 1_000;
+    
+    @Before
+    public void setUp() {
+        log = new OperationLog(new File(folder.getRoot(), "ops.jsonl"));
+        remote = new InMemoryWaitlistRemote();
+        queue = new WaitlistSyncQueue(log, remote, Runnable::run, 3, () -> now);
+        queue.setListener((eventId, waitlist, confirmed) ->
+            reconciled.put(eventId, new int[] {waitlist, confirmed}));
+    }
+    
+    @Test
+    public void joinThenLeaveNeverReachesTheRemote() throws Exception {
+        queue.join("e1", "u1");
+        queue.leave("e1", "u1");
+        queue.join("e1", "u2");
+        queue.join("e1", "u2");
+        
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(1, log.load().size());
+        
+        queue.setOnline(true);
+        
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(1, remote.getOperationCount());
+        assertEquals(1, remote.getWaitlistCount("e1"));
+    }
+    
+    @Test
+    public void flushesInBatchesAndReconcilesCounts() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            queue.join("e1", "u" + i);
+        }
+        queue.setOnline(true);
+        
+        assertEquals(3, remote.getCommitCount());
+        assertEquals(7, remote.getWaitlistCount("e1"));
+        assertEquals(7, reconciled.get("e1")[0]);
+        assertTrue(log.load().isEmpty());
+    }
+    
+    @Test
+    public void offlineCommitKeepsOperationsQueuedWithOptimisticCounts() throws Exception {
+        remote.setOnline(false);
+        queue.setOnline(true);
+        queue.join("e1", "u1");
+        queue.join("e1", "u2");
+        
+        assertEquals(2, queue.getPendingCount());
+        Event event = new Event();
+        event.setId("e1");
+        event.setWaitlistCount(10);
+        queue.applyOptimisticCounts(event, now);
+        assertEquals(12, event.getWaitlistCount());
+        
+        remote.setOnline(true);
+        queue.flush();
+        
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(2, remote.getWaitlistCount("e1"));
+    }
+    
+    @Test
+    public void acknowledgedCountsOnlyOverrideOlderReads() throws Exception {
+        queue.setOnline(true);
+        queue.join("e1", "u1");
+        
+        // A read issued before the commit was acknowledged is behind it
+        Event staleRead = new Event();
+        staleRead.setId("e1");
+        queue.applyOptimisticCounts(staleRead, now - 1);
+        assertEquals(1, staleRead.getWaitlistCount());
+        
+        // A later read wins, including other entrants' joins
+        now += 1_000;
+        Event freshRead = new Event();
+        freshRead.setId("e1");
+        freshRead.setWaitlistCount(5);
+        queue.applyOptimisticCounts(freshRead, now);
+        assertEquals(5, freshRead.getWaitlistCount());
+        
+        // and the acknowledged counts are forgotten once superseded
+        Event olderRead = new Event();
+        olderRead.setId("e1");
+        queue.applyOptimisticCounts(olderRead, 0);
+        assertEquals(0, olderRead.getWaitlistCount());
+    }
+    
+    @Test
+    public void declineWhileConfirmIsPendingKeepsTheConfirm() throws Exception {
+        queue.confirm("e1", "u1");
+        queue.decline("e1", "u1");
+        
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(WaitlistOperation.Type.CONFIRM, queue.getPendingOperations().get(0).getType());
+        
+        queue.setOnline(true);
+        
+        assertEquals(1, remote.getConfirmedCount("e1"));
+        assertEquals(1, reconciled.get("e1")[1]);
+    }
+    
+    @Test
+    public void declineWhileConfirmIsInFlightKeepsTheConfirm() throws Exception {
+        WaitlistSyncQueue[] holder = new WaitlistSyncQueue[1];
+        WaitlistRemote declining = batch -> {
+            if (batch.get(0).getType() == WaitlistOperation.Type.CONFIRM) {
+                holder[0].decline("e1", "u1");
+            }
+            return remote.commit(batch);
+        };
+        holder[0] = new WaitlistSyncQueue(log, declining, Runnable::run, 3, () -> now);
+        holder[0].setListener((eventId, waitlist, confirmed) ->
+            reconciled.put(eventId, new int[] {waitlist, confirmed}));
+        holder[0].setOnline(true);
+        
+        holder[0].confirm("e1", "u1");
+        
+        assertEquals(0, holder[0].getPendingCount());
+        assertEquals(1, remote.getCommitCount());
+        assertEquals(1, remote.getConfirmedCount("e1"));
+        assertEquals(1, reconciled.get("e1")[1]);
+    }
+    
+    @Test
+    public void restoredQueueReplaysIdempotently() throws Exception {
+        queue.join("e1", "u1");
+        List<WaitlistOperation> persisted = log.load();
+        queue.setOnline(true);
+        
+        // A crash before the log rewrite would replay the same keys
+        log.save(persisted);
+        WaitlistSyncQueue restarted = new WaitlistSyncQueue(log, remote, Runnable::run);
+        restarted.restore();
+        restarted.setOnline(true);
+        
+        assertEquals(1, remote.getOperationCount());
+        assertEquals(1, remote.getWaitlistCount("e1"));
+    }
+    
+    @Test
+    public void declineAfterConfirmKeepsCountersAndRemoteInAgreement() throws Exception {
+        EventCounters counters = new EventCounters(new InMemoryCounterBackend(1_000, 1_000, System::nanoTime));
+        List<WaitlistOperation> operations = List.of(
+            WaitlistOperation.create(WaitlistOperation.Type.JOIN, "e1", "u1"),
+            WaitlistOperation.create(WaitlistOperation.Type.CONFIRM, "e1", "u1"),
+            WaitlistOperation.create(WaitlistOperation.Type.DECLINE, "e1", "u1"),
+            WaitlistOperation.create(WaitlistOperation.Type.JOIN, "e1", "u2"),
+            WaitlistOperation.create(WaitlistOperation.Type.DECLINE, "e1", "u2"));
+        for (WaitlistOperation operation : operations) {
+            counters.apply(operation);
+            remote.commit(List.of(operation));
+        }
+        
+        assertEquals(remote.getConfirmedCount("e1"), counters.getConfirmedCount("e1"));
+        assertEquals(remote.getWaitlistCount("e1"), counters.getWaitlistCount("e1"));
+    }
+}
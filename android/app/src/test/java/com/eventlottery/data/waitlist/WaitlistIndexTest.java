@@ -0,0 +1,112 @@
+package com.eventlottery.data.waitlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * WaitlistIndexTest - Positions, pages and leaves against a plain list
+ */
+public class WaitlistIndexTest {
+    
+    @Test
+    public void randomJoinsAndLeavesMatchAListIncludingCompaction() {
+        Random random = new Random(3);
+        WaitlistIndex waitlist = new WaitlistIndex("event-1");
+        List<String> line = new ArrayList<>();
+        for (int step = 0; step < 60_000; step++) {
+            String userId = "u" + random.nextInt(3000);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                int position = waitlist.join(userId);
+                if (!line.contains(userId)) {
+                    line.add(userId);
+                }
+                assertEquals(line.indexOf(userId) + 1, position);
+            } else if (op < 9) {
+                assertEquals(line.remove(userId), waitlist.leave(userId));
+            } else {
+                assertEquals(line.contains(userId) ? line.indexOf(userId) + 1 : -1,
+                    waitlist.positionOf(userId));
+            }
+            if (step == 30_000) {
+                // Vacate most of the line so the slots are renumbered
+                for (int i = 0; i < 2900; i++) {
+                    waitlist.leave("u" + i);
+                    line.remove("u" + i);
+                }
+            }
+            if (step % 997 == 0) {
+                assertMatches(line, waitlist, random);
+            }
+        }
+        assertMatches(line, waitlist, random);
+    }
+    
+    @Test
+    public void rejoiningKeepsTheOriginalPlace() {
+        WaitlistIndex waitlist = new WaitlistIndex("event-1");
+        waitlist.join("a");
+        waitlist.join("b");
+        waitlist.join("c");
+        
+        assertEquals(2, waitlist.join("b"));
+        assertTrue(waitlist.leave("a"));
+        assertFalse(waitlist.leave("a"));
+        
+        assertEquals(1, waitlist.positionOf("b"));
+        assertEquals("c", waitlist.entrantAt(2));
+        assertNull(waitlist.entrantAt(3));
+        assertEquals(Collections.emptyList(), waitlist.entrants(3, 10));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void pageSizeIsCapped() {
+        new WaitlistIndex("event-1").entrants(1, WaitlistIndex.MAX_PAGE_SIZE + 1);
+    }
+    
+    @Test
+    public void idsUpToTheSnapshotLimitAreAccepted() {
+        WaitlistIndex waitlist = new WaitlistIndex("event-1");
+        // 2-byte characters: 2048 of them are exactly the limit
+        String longest = repeat('é', WaitlistIndex.MAX_ID_BYTES / 2);
+        
+        assertEquals(1, waitlist.join(longest));
+        assertEquals(1, waitlist.positionOf(longest));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void idsOverTheSnapshotLimitAreRejected() {
+        new WaitlistIndex("event-1").join(repeat('é', WaitlistIndex.MAX_ID_BYTES / 2 + 1));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateEntrantsAreRejected() {
+        new WaitlistIndex("event-1", new String[] {"a", "b", "a", null}, 3);
+    }
+    
+    private static void assertMatches(List<String> line, WaitlistIndex waitlist, Random random) {
+        assertEquals(line.size(), waitlist.size());
+        for (int from = 1; from <= line.size() + 2; from += 1 + random.nextInt(40)) {
+            int limit = 1 + random.nextInt(60);
+            List<String> expected = from > line.size() ? Collections.emptyList()
+                : line.subList(from - 1, Math.min(line.size(), from - 1 + limit));
+            assertEquals(expected, waitlist.entrants(from, limit));
+            assertEquals(from <= line.size() ? line.get(from - 1) : null, waitlist.entrantAt(from));
+        }
+    }
+    
+    static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,120 @@
+package com.eventlottery.data.waitlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * WaitlistSnapshotTest - Round trips and rejection of corrupt, torn or invalid files
+ */
+public class WaitlistSnapshotTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void roundTripKeepsOrderAndAcceptsNewJoins() throws IOException {
+        WaitlistIndex waitlist = new WaitlistIndex("event-1");
+        for (int i = 0; i < 5000; i++) {
+            waitlist.join("user-" + i);
+        }
+        for (int i = 0; i < 5000; i += 3) {
+            waitlist.leave("user-" + i);
+        }
+        waitlist.join("Zoë");
+        waitlist.join(WaitlistIndexTest.repeat('é', WaitlistIndex.MAX_ID_BYTES / 2));
+        File file = new File(folder.getRoot(), "waitlists/event-1.ewl");
+        
+        waitlist.save(file);
+        WaitlistIndex loaded = WaitlistIndex.load(file);
+        
+        assertEquals("event-1", loaded.getEventId());
+        assertEquals(waitlist.size(), loaded.size());
+        for (int from = 1; from <= waitlist.size(); from += WaitlistIndex.MAX_PAGE_SIZE) {
+            assertEquals(waitlist.entrants(from, WaitlistIndex.MAX_PAGE_SIZE),
+                loaded.entrants(from, WaitlistIndex.MAX_PAGE_SIZE));
+        }
+        assertEquals(waitlist.size() + 1, loaded.join("newcomer"));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+    
+    @Test
+    public void emptyWaitlistRoundTrips() throws IOException {
+        File file = folder.newFile();
+        new WaitlistIndex("event-1").save(file);
+        
+        assertEquals(0, WaitlistIndex.load(file).size());
+    }
+    
+    @Test
+    public void flippedByteFailsTheChecksum() throws IOException {
+        File file = saved();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.toPath(), bytes);
+        
+        assertRejected(file);
+    }
+    
+    @Test
+    public void truncatedFileIsRejected() throws IOException {
+        File file = saved();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 10));
+        
+        assertRejected(file);
+    }
+    
+    @Test
+    public void duplicateEntrantsAreRejected() throws IOException {
+        File file = folder.newFile();
+        WaitlistSnapshot.write(file, "event-1", new String[] {"a", "b", "a"});
+        
+        assertRejected(file);
+    }
+    
+    @Test
+    public void overlongIdIsNeverWritten() throws IOException {
+        File file = saved();
+        byte[] before = Files.readAllBytes(file.toPath());
+        String overlong = WaitlistIndexTest.repeat('x', WaitlistIndex.MAX_ID_BYTES + 1);
+        
+        try {
+            WaitlistSnapshot.write(file, "event-1", new String[] {"a", overlong});
+            throw new AssertionError("wrote an id load would refuse");
+        } catch (IOException expected) {
+            // The previous snapshot is left in place
+        }
+        
+        assertTrue(Arrays.equals(before, Files.readAllBytes(file.toPath())));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        assertEquals(3, WaitlistIndex.load(file).size());
+    }
+    
+    private File saved() throws IOException {
+        WaitlistIndex waitlist = new WaitlistIndex("event-1");
+        waitlist.join("a");
+        waitlist.join("b");
+        waitlist.join("c");
+        File file = folder.newFile();
+        waitlist.save(file);
+        return file;
+    }
+    
+    private static void assertRejected(File file) {
+        try {
+            WaitlistIndex.load(file);
+            throw new AssertionError("loaded an invalid snapshot");
+        } catch (IOException expected) {
+            // Corrupt, torn and invalid files all fail the same way
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventlottery.services.location;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FakeLocationSource - Scriptable location source for JVM tests
+ * 
+ * Fixes are pushed manually with {@link #emit(LocationFix)}; every update
+ * request is recorded so tests can assert how sampling adapted.
+ */
+public class FakeLocationSource implements LocationSource {
+    
+    private final List<Long> requestedIntervals = new ArrayList<>();
+    private final List<Boolean> requestedAccuracy = new ArrayList<>();
+    private Listener listener;
+    
+    @Override
+    public synchronized void requestUpdates(long intervalMillis, boolean highAccuracy,
+                                            Listener listener) {
+        this.listener = listener;
+        requestedIntervals.add(intervalMillis);
+        requestedAccuracy.add(highAccuracy);
+    }
+    
+    @Override
+    public synchronized void removeUpdates() {
+        listener = null;
+    }
+    
+    /**
+     * Deliver a fix to the active listener, if any
+     */
+    public void emit(LocationFix fix) {
+        Listener current;
+        synchronized (this) {
+            current = listener;
+        }
+        if (current != null) {
+            current.onLocationFix(fix);
+        }
+    }
+    
+    public synchronized boolean isActive() {
+        return listener != null;
+    }
+    
+    public synchronized List<Long> getRequestedIntervals() {
+        return new ArrayList<>(requestedIntervals);
+    }
+    
+    public synchronized List<Boolean> getRequestedAccuracy() {
+        return new ArrayList<>(requestedAccuracy);
+    }
+}
@@ -0,0 +1,86 @@
+package com.eventlottery.services.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.utils.GeoUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * GeofenceEvaluatorTest - One-pass geofence checks agree with Event and GeoUtils
+ */
+public class GeofenceEvaluatorTest {
+    
+    @Test
+    public void agreesWithPerEventCheckForRandomFixes() {
+        Random random = new Random(7);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(fenced("e" + i, 53.5 + random.nextDouble(), -113.5 + random.nextDouble(),
+                1 + random.nextInt(40)));
+        }
+        GeofenceEvaluator evaluator = new GeofenceEvaluator(events);
+        
+        for (int i = 0; i < 200; i++) {
+            double lat = 53.0 + 2 * random.nextDouble();
+            double lng = -114.0 + 2 * random.nextDouble();
+            GeofenceEvaluator.Result result = evaluator.evaluate(new LocationFix(lat, lng, 10f, 0L));
+            double nearest = Double.POSITIVE_INFINITY;
+            for (Event event : events) {
+                assertEquals(event.isWithinGeolocationRadius(lat, lng), result.isInside(event.getId()));
+                double distance = GeoUtils.distanceKm(lat, lng, event.getGeolocationLat(),
+                    event.getGeolocationLng());
+                nearest = Math.min(nearest, Math.abs(distance - event.getGeolocationRadius()));
+            }
+            assertEquals(nearest, result.getNearestBoundaryKm(), 1e-9);
+        }
+    }
+    
+    @Test
+    public void eventsWithoutGeofenceAreSkippedAndAlwaysPass() {
+        Event open = new Event();
+        open.setId("open");
+        Event disabled = fenced("disabled", 0, 0, 1);
+        disabled.setGeolocationEnabled(false);
+        GeofenceEvaluator evaluator = new GeofenceEvaluator(Arrays.asList(open, disabled));
+        
+        GeofenceEvaluator.Result result = evaluator.evaluate(new LocationFix(45, 45, 5f, 0L));
+        
+        assertEquals(0, evaluator.size());
+        assertTrue(result.isInside("open"));
+        assertTrue(result.isInside("disabled"));
+        assertEquals(Double.POSITIVE_INFINITY, result.getNearestBoundaryKm(), 0);
+        assertFalse(result.isAmbiguous());
+    }
+    
+    @Test
+    public void fixWhoseAccuracyCrossesAnEdgeIsAmbiguous() {
+        GeofenceEvaluator evaluator = new GeofenceEvaluator(Arrays.asList(fenced("e", 0, 0, 10)));
+        // About 9.95 km north of the centre, 50 m inside the edge
+        double lat = 9.95 / GeoUtils.EARTH_RADIUS_KM * 180 / Math.PI;
+        
+        GeofenceEvaluator.Result precise = evaluator.evaluate(new LocationFix(lat, 0, 20f, 0L));
+        GeofenceEvaluator.Result coarse = evaluator.evaluate(new LocationFix(lat, 0, 80f, 0L));
+        
+        assertTrue(precise.isInside("e"));
+        assertEquals(0.05, precise.getNearestBoundaryKm(), 1e-6);
+        assertFalse(precise.isAmbiguous());
+        assertTrue(coarse.isAmbiguous());
+    }
+    
+    private static Event fenced(String id, double lat, double lng, int radiusKm) {
+        Event event = new Event();
+        event.setId(id);
+        event.setGeolocationEnabled(true);
+        event.setGeolocationLat(lat);
+        event.setGeolocationLng(lng);
+        event.setGeolocationRadius(radiusKm);
+        return event;
+    }
+}
@@ -0,0 +1,207 @@
+package com.eventlottery.services.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.utils.GeoUtils;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * LocationTrackerTest - Best-fix cache, read policy and adaptive sampling
+ * 
+ * Fixes are placed due north of a single 5 km geofence centred on (0, 0), so
+ * the distance to its edge is the fix's distance from the centre minus 5 km.
+ */
+public class LocationTrackerTest {
+    
+    private static final int RADIUS_KM = 5;
+    private static final double KM_PER_DEGREE = GeoUtils.EARTH_RADIUS_KM * Math.PI / 180.0;
+    
+    private FakeLocationSource source;
+    private LocationTracker tracker;
+    private long now = 1_700_000_000_000L;
+    
+    @Before
+    public void setUp() {
+        source = new FakeLocationSource();
+        tracker = new LocationTracker(source, () -> now);
+    }
+    
+    @Test
+    public void startsFastAndBacksOffToMaximumWithoutGeofences() {
+        tracker.start();
+        assertEquals(List.of(LocationTracker.MIN_INTERVAL_MILLIS), source.getRequestedIntervals());
+        assertEquals(List.of(false), source.getRequestedAccuracy());
+        
+        source.emit(fixAtKm(20, 20f, now));
+        
+        assertEquals(LocationTracker.MAX_INTERVAL_MILLIS, lastRequestedInterval());
+        assertFalse(lastRequestedAccuracy());
+    }
+    
+    @Test
+    public void stationaryUserFarFromEdgeIsSampledRarelyOnBalancedPower() {
+        startWithGeofence();
+        
+        source.emit(fixAtKm(RADIUS_KM + 3, 20f, now));
+        
+        // 3 km at walking pace is over 35 minutes away, so the interval is capped
+        assertEquals(LocationTracker.MAX_INTERVAL_MILLIS, lastRequestedInterval());
+        assertFalse(lastRequestedAccuracy());
+    }
+    
+    @Test
+    public void stationaryUserNearEdgeIsSampledOftenWithHighAccuracy() {
+        startWithGeofence();
+        
+        source.emit(fixAtKm(RADIUS_KM + 0.1, 20f, now));
+        
+        // Half the time to walk 100 m at 1.4 m/s
+        assertEquals(35_714, lastRequestedInterval(), 50);
+        assertTrue(lastRequestedAccuracy());
+        assertTrue(tracker.isHighAccuracy());
+    }
+    
+    @Test
+    public void fastUserApproachingEdgeIsSampledAtTheMinimumInterval() {
+        startWithGeofence();
+        
+        source.emit(fixAtKm(RADIUS_KM + 2, 5f, now));
+        assertEquals(714_286, lastRequestedInterval(), 50);
+        assertFalse(lastRequestedAccuracy());
+        
+        // 800 m in 50 s: (800 - 10) / 50 = 15.8 m/s, smoothed to 7.9 m/s, 1.2 km out
+        now += 50_000;
+        source.emit(fixAtKm(RADIUS_KM + 1.2, 5f, now));
+        assertEquals(75_949, lastRequestedInterval(), 50);
+        assertFalse(lastRequestedAccuracy());
+        
+        // 1150 m in 20 s puts the edge well under one interval away
+        now += 20_000;
+        source.emit(fixAtKm(RADIUS_KM + 0.05, 5f, now));
+        assertEquals(LocationTracker.MIN_INTERVAL_MILLIS, lastRequestedInterval());
+        assertTrue(lastRequestedAccuracy());
+    }
+    
+    @Test
+    public void smallIntervalChangesDoNotReRequestUpdates() {
+        startWithGeofence();
+        source.emit(fixAtKm(RADIUS_KM + 0.1, 20f, now));
+        int requests = source.getRequestedIntervals().size();
+        
+        now += 30_000;
+        source.emit(fixAtKm(RADIUS_KM + 0.11, 20f, now));
+        
+        assertEquals(requests, source.getRequestedIntervals().size());
+    }
+    
+    @Test
+    public void cachedFixIsServedOnlyWhileFreshAndAccurate() {
+        tracker.start();
+        LocationFix fix = fixAtKm(20, 30f, now);
+        source.emit(fix);
+        
+        assertSame(fix, tracker.getCachedFix());
+        now += LocationTracker.DEFAULT_MAX_AGE_MILLIS;
+        assertSame(fix, tracker.getCachedFix());
+        now += 1;
+        assertNull(tracker.getCachedFix());
+        assertSame(fix, tracker.getCachedFix(10 * 60_000L, 50f));
+        assertNull(tracker.getCachedFix(10 * 60_000L, 10f));
+    }
+    
+    @Test
+    public void inaccurateFixFailsTheDefaultPolicy() {
+        tracker.start();
+        source.emit(fixAtKm(20, 150f, now));
+        
+        assertNull(tracker.getCachedFix());
+        assertNotNull(tracker.getCachedFix(LocationTracker.DEFAULT_MAX_AGE_MILLIS, 200f));
+    }
+    
+    @Test
+    public void keepsTheBestRecentFix() {
+        tracker.start();
+        LocationFix best = fixAtKm(20, 10f, now);
+        source.emit(best);
+        
+        source.emit(fixAtKm(21, 5f, now - 1));
+        assertSame("older fix rejected", best, tracker.getCachedFix());
+        
+        now += 10_000;
+        source.emit(fixAtKm(21, 50f, now));
+        assertSame("much less accurate fix rejected while cached is fresh", best, tracker.getCachedFix());
+        
+        LocationFix similar = fixAtKm(21, 20f, now);
+        source.emit(similar);
+        assertSame(similar, tracker.getCachedFix());
+        
+        now += LocationTracker.DEFAULT_MAX_AGE_MILLIS + 1;
+        LocationFix coarse = fixAtKm(22, 90f, now);
+        source.emit(coarse);
+        assertSame("stale cache accepts a coarser fix", coarse, tracker.getCachedFix());
+    }
+    
+    @Test
+    public void geofenceChangeReEvaluatesTheCachedFix() {
+        tracker.start();
+        source.emit(fixAtKm(RADIUS_KM + 0.1, 20f, now));
+        assertEquals(LocationTracker.MAX_INTERVAL_MILLIS, lastRequestedInterval());
+        
+        tracker.setGeofences(Collections.singletonList(geofence()));
+        
+        assertFalse(tracker.getLastResult().isInside("fenced"));
+        assertTrue(lastRequestedAccuracy());
+    }
+    
+    @Test
+    public void stopRemovesUpdatesAndRestartSamplesFastAgain() {
+        startWithGeofence();
+        source.emit(fixAtKm(RADIUS_KM + 3, 20f, now));
+        
+        tracker.stop();
+        assertFalse(source.isActive());
+        
+        tracker.start();
+        assertTrue(source.isActive());
+        assertEquals(LocationTracker.MIN_INTERVAL_MILLIS, lastRequestedInterval());
+        assertFalse(lastRequestedAccuracy());
+    }
+    
+    private void startWithGeofence() {
+        tracker.setGeofences(Collections.singletonList(geofence()));
+        tracker.start();
+    }
+    
+    private long lastRequestedInterval() {
+        List<Long> intervals = source.getRequestedIntervals();
+        return intervals.get(intervals.size() - 1);
+    }
+    
+    private boolean lastRequestedAccuracy() {
+        List<Boolean> accuracy = source.getRequestedAccuracy();
+        return accuracy.get(accuracy.size() - 1);
+    }
+    
+    private static LocationFix fixAtKm(double kmNorthOfCentre, float accuracyMeters, long timestamp) {
+        return new LocationFix(kmNorthOfCentre / KM_PER_DEGREE, 0, accuracyMeters, timestamp);
+    }
+    
+    private static Event geofence() {
+        Event event = new Event();
+        event.setId("fenced");
+        event.setGeolocationEnabled(true);
+        event.setGeolocationLat(0.0);
+        event.setGeolocationLng(0.0);
+        event.setGeolocationRadius(RADIUS_KM);
+        return event;
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventlottery.services.lottery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * LotteryDrawCoordinatorTest - Reproducible batch draws without overlapping selections
+ */
+public class LotteryDrawCoordinatorTest {
+    
+    @Test
+    public void drawFillsOpenSpotsAndLeavesConfirmedCountToAcceptances() {
+        Event event = event("e1", "2030-05-01", "09:00", "10:00", 10);
+        event.setConfirmedCount(2);
+        Map<String, List<String>> waitlists = new HashMap<>();
+        waitlists.put("e1", entrants("u", 30));
+        
+        DrawResult result = draw(1, Arrays.asList(event), waitlists).getResult("e1");
+        
+        assertEquals(8, result.getWinners().size());
+        assertEquals(8, new HashSet<>(result.getWinners()).size());
+        assertTrue(waitlists.get("e1").containsAll(result.getWinners()));
+        assertEquals(2, event.getConfirmedCount());
+        assertEquals("lottery_drawn", event.getStatus());
+    }
+    
+    @Test
+    public void shortWaitlistSelectsEveryone() {
+        Event event = event("e1", "2030-05-01", "09:00", "10:00", 10);
+        Map<String, List<String>> waitlists = new HashMap<>();
+        waitlists.put("e1", entrants("u", 4));
+        
+        DrawResult result = draw(1, Arrays.asList(event), waitlists).getResult("e1");
+        
+        assertEquals(new HashSet<>(entrants("u", 4)), new HashSet<>(result.getWinners()));
+    }
+    
+    @Test
+    public void resultsDependOnlyOnSeedNotOrderOrParallelism() {
+        Map<String, List<String>> waitlists = new HashMap<>();
+        List<Event> first = catalogue(waitlists);
+        List<Event> second = catalogue(new HashMap<>());
+        Collections.reverse(second);
+        
+        BatchDrawReport serial = draw(1, first, waitlists);
+        BatchDrawReport parallel = draw(4, second, waitlists);
+        
+        for (String eventId : serial.getResults().keySet()) {
+            assertEquals(serial.getResult(eventId).getWinners(),
+                parallel.getResult(eventId).getWinners());
+        }
+    }
+    
+    @Test
+    public void noEntrantKeepsSelectionsForOverlappingEvents() {
+        Map<String, List<String>> waitlists = new HashMap<>();
+        List<Event> events = catalogue(waitlists);
+        
+        BatchDrawReport report = draw(2, events, waitlists);
+        
+        assertTrue(report.getConflictsResolved() > 0);
+        Map<String, Event> byId = new HashMap<>();
+        for (Event event : events) {
+            byId.put(event.getId(), event);
+        }
+        Map<String, List<Event>> wins = new HashMap<>();
+        for (DrawResult result : report.getResults().values()) {
+            Event event = byId.get(result.getEventId());
+            assertEquals(Math.min(event.getAvailableSpots(), waitlists.get(event.getId()).size()),
+                result.getWinners().size());
+            for (String winner : result.getWinners()) {
+                wins.computeIfAbsent(winner, w -> new ArrayList<>()).add(event);
+            }
+        }
+        for (List<Event> won : wins.values()) {
+            for (int i = 0; i < won.size(); i++) {
+                for (int j = i + 1; j < won.size(); j++) {
+                    assertFalse(overlap(won.get(i), won.get(j)));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void onlyDueUndrawnEventsAreSelected() {
+        Event due = event("due", "2030-05-01", "09:00", "10:00", 5);
+        due.setLotteryDrawDate(1_000L);
+        Event later = event("later", "2030-05-01", "09:00", "10:00", 5);
+        later.setLotteryDrawDate(5_000L);
+        Event drawn = event("drawn", "2030-05-01", "09:00", "10:00", 5);
+        drawn.setLotteryDrawDate(1_000L);
+        drawn.setStatus("lottery_drawn");
+        Event noDate = event("noDate", "2030-05-01", "09:00", "10:00", 5);
+        
+        List<Event> selected = LotteryDrawCoordinator.selectDue(
+            Arrays.asList(due, later, drawn, noDate), 2_000L);
+        
+        assertEquals(Arrays.asList(due), selected);
+    }
+    
+    /**
+     * Three overlapping morning events and one evening event sharing one pool of entrants
+     */
+    private static List<Event> catalogue(Map<String, List<String>> waitlists) {
+        List<Event> events = Arrays.asList(
+            event("a", "2030-05-01", "09:00", "11:00", 12),
+            event("b", "2030-05-01", "10:00", "12:00", 12),
+            event("c", "2030-05-01", "10:30", "", 12),
+            event("d", "2030-05-01", "18:00", "20:00", 12),
+            event("e", "2030-05-02", "09:00", "11:00", 12));
+        for (Event event : events) {
+            waitlists.put(event.getId(), entrants("u", 40));
+        }
+        return events;
+    }
+    
+    private static BatchDrawReport draw(int parallelism, List<Event> events,
+                                        Map<String, List<String>> waitlists) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new LotteryDrawCoordinator(pool, 42).drawAll(events, waitlists);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private static boolean overlap(Event a, Event b) {
+        return a.getDate().equals(b.getDate())
+            && minutes(a.getTime()) < end(b) && minutes(b.getTime()) < end(a);
+    }
+    
+    private static int end(Event event) {
+        return event.getEndTime().isEmpty()
+            ? minutes(event.getTime()) + LotteryDrawCoordinator.DEFAULT_DURATION_MINUTES
+            : minutes(event.getEndTime());
+    }
+    
+    private static int minutes(String time) {
+        return Integer.parseInt(time.substring(0, 2)) * 60 + Integer.parseInt(time.substring(3));
+    }
+    
+    private static List<String> entrants(String prefix, int count) {
+        List<String> entrants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entrants.add(prefix + i);
+        }
+        return entrants;
+    }
+    
+    private static Event event(String id, String date, String time, String endTime, int capacity) {
+        Event event = new Event();
+        event.setId(id);
+        event.setStatus("open");
+        event.setDate(date);
+        event.setTime(time);
+        event.setEndTime(endTime);
+        event.setCapacity(capacity);
+        return event;
+    }
+}
@@ -0,0 +1,79 @@
+package com.eventlottery.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * InternerTest - Canonical instances, bounded pools and tag lists
+ */
+public class InternerTest {
+    
+    @Test
+    public void equalStringsShareOneInstance() {
+        String first = Interner.intern(new String("open"));
+        String second = Interner.intern(new String("open"));
+        
+        assertSame(first, second);
+    }
+    
+    @Test
+    public void nullAndEmptyPassThrough() {
+        assertNull(Interner.intern(null));
+        assertEquals("", Interner.intern(new String("")));
+        assertTrue(Interner.internTags((List<String>) null).isEmpty());
+    }
+    
+    @Test
+    public void keepsPoolingAfterAFloodOfDistinctValues() {
+        for (int i = 0; i < 200_000; i++) {
+            Interner.intern("organizer-" + i);
+        }
+        
+        String first = Interner.intern(new String("Community Hall, 12 Main St"));
+        String second = Interner.intern(new String("Community Hall, 12 Main St"));
+        
+        assertSame(first, second);
+    }
+    
+    @Test
+    public void repeatedValueReclaimsItsSlotAfterEviction() {
+        String status = Interner.intern(new String("lottery_drawn"));
+        for (int i = 0; i < 200_000; i++) {
+            Interner.intern("free text " + i);
+        }
+        String reclaimed = Interner.intern(new String("lottery_drawn"));
+        
+        assertEquals(status, reclaimed);
+        assertSame(reclaimed, Interner.intern(new String("lottery_drawn")));
+    }
+    
+    @Test
+    public void equalTagListsShareOneImmutableList() {
+        List<String> first = Interner.internTags(new ArrayList<>(List.of("music", new String("outdoor"))));
+        List<String> second = Interner.internTags(new String[] {"music", new String("outdoor")});
+        
+        assertSame(first, second);
+        assertSame(first.get(1), Interner.intern(new String("outdoor")));
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void internedTagListsAreImmutable() {
+        Interner.internTags(List.of("music")).add("sports");
+    }
+    
+    @Test
+    public void differentTagOrderIsADifferentList() {
+        List<String> first = Interner.internTags(List.of("a", "b"));
+        List<String> second = Interner.internTags(List.of("b", "a"));
+        
+        assertNotSame(first, second);
+        assertEquals(List.of("b", "a"), second);
+    }
+}
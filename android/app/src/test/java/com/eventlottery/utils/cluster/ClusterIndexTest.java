@@ -0,0 +1,164 @@
+package com.eventlottery.utils.cluster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * ClusterIndexTest - Viewport clusters against a brute-force grid count
+ */
+public class ClusterIndexTest {
+    
+    private static final double[][] CITIES = {{53.54, -113.49}, {51.04, -114.07}, {49.28, -123.12},
+        {43.65, -79.38}, {-33.87, 151.21}, {64.84, -147.72}, {-17.7, 178.0}, {-17.7, -179.5}};
+    
+    @Test
+    public void queriesMatchBruteForceThroughMovesAndRemovals() {
+        Random random = new Random(1);
+        // Four cached levels, so queries across 22 zooms keep evicting and rebuilding
+        ClusterIndex index = new ClusterIndex(64, 4);
+        Map<String, double[]> points = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            put(index, points, "e" + i, city[0] + random.nextGaussian() * 0.3,
+                wrap(city[1] + random.nextGaussian() * 0.3));
+        }
+        
+        for (int round = 0; round < 200; round++) {
+            for (int k = 0; k < 30; k++) {
+                String id = "e" + random.nextInt(6000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(points.remove(id) != null, index.remove(id));
+                } else {
+                    put(index, points, id, -60 + random.nextDouble() * 120,
+                        -180 + random.nextDouble() * 360);
+                }
+            }
+            int zoom = random.nextInt(ClusterIndex.MAX_ZOOM + 1);
+            double south = -80 + random.nextDouble() * 150;
+            double north = Math.min(85, south + random.nextDouble() * 40);
+            GeoBounds bounds = random.nextInt(10) == 0 ? GeoBounds.world()
+                : new GeoBounds(south, -180 + random.nextDouble() * 360, north,
+                    -180 + random.nextDouble() * 360);
+            
+            List<MarkerCluster> clusters = index.query(bounds, zoom + 0.5);
+            
+            assertEquals("round " + round + " zoom " + zoom + " " + bounds,
+                bruteForce(points, bounds, zoom), byCell(clusters));
+            for (MarkerCluster cluster : clusters) {
+                assertEquals(zoom, cluster.getZoom());
+                if (cluster.isSingle()) {
+                    double[] point = points.get(cluster.getEventId());
+                    assertEquals(point[0], cluster.getLat(), 1e-6);
+                    assertEquals(point[1], cluster.getLng(), 1e-6);
+                } else {
+                    assertNull(cluster.getEventId());
+                }
+            }
+        }
+        assertEquals(points.size(), index.size());
+    }
+    
+    @Test
+    public void membersAndExpansionZoomOfTheLargestCluster() {
+        Random random = new Random(2);
+        ClusterIndex index = new ClusterIndex();
+        Map<String, double[]> points = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            put(index, points, "e" + i, city[0] + random.nextGaussian() * 0.05,
+                wrap(city[1] + random.nextGaussian() * 0.05));
+        }
+        
+        MarkerCluster largest = index.query(GeoBounds.world(), 3).stream()
+            .max(Comparator.comparingInt(MarkerCluster::getCount)).get();
+        List<String> members = index.memberIds(largest);
+        int expansion = index.expansionZoom(largest);
+        
+        assertEquals(largest.getCount(), members.size());
+        assertEquals(largest.getCount(), new HashSet<>(members).size());
+        assertTrue(expansion > 3);
+        int cellsPerAxis = 4 << expansion;
+        Map<Long, Integer> cells = new HashMap<>();
+        for (String id : members) {
+            double[] point = points.get(id);
+            cells.merge(cell(point[0], point[1], cellsPerAxis), 1, Integer::sum);
+        }
+        assertTrue(cells.size() > 1);
+        assertTrue(index.query(GeoBounds.world(), expansion - 1).stream()
+            .anyMatch(c -> c.getCount() == largest.getCount()));
+    }
+    
+    @Test
+    public void samePositionIsNotAMoveAndRemovedPointsLeaveBuiltLevels() {
+        ClusterIndex index = new ClusterIndex();
+        index.prepare(10);
+        
+        assertTrue(index.upsert("a", 53.54, -113.49));
+        assertFalse(index.upsert("a", 53.54, -113.49));
+        assertTrue(index.isPrepared(10));
+        assertEquals(1, index.query(GeoBounds.world(), 10).size());
+        assertTrue(index.remove("a"));
+        assertFalse(index.remove("a"));
+        
+        assertTrue(index.query(GeoBounds.world(), 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void cellPixelsMustBeAPowerOfTwo() {
+        new ClusterIndex(48, 4);
+    }
+    
+    private static void put(ClusterIndex index, Map<String, double[]> points, String id,
+                            double lat, double lng) {
+        index.upsert(id, lat, lng);
+        points.put(id, new double[] {lat, lng});
+    }
+    
+    private static Map<Long, Integer> bruteForce(Map<String, double[]> points, GeoBounds bounds,
+                                                 int zoom) {
+        int cellsPerAxis = 4 << zoom;
+        int north = CellGrid.cellOf(ClusterIndex.projectY(bounds.getNorth()), cellsPerAxis);
+        int south = CellGrid.cellOf(ClusterIndex.projectY(bounds.getSouth()), cellsPerAxis);
+        int west = CellGrid.cellOf(ClusterIndex.projectX(bounds.getWest()), cellsPerAxis);
+        int east = CellGrid.cellOf(ClusterIndex.projectX(bounds.getEast()), cellsPerAxis);
+        Map<Long, Integer> counts = new HashMap<>();
+        for (double[] point : points.values()) {
+            int x = CellGrid.cellOf(ClusterIndex.projectX(point[1]), cellsPerAxis);
+            int y = CellGrid.cellOf(ClusterIndex.projectY(point[0]), cellsPerAxis);
+            boolean inX = bounds.crossesAntimeridian() ? x >= west || x <= east : x >= west && x <= east;
+            if (inX && y >= north && y <= south) {
+                counts.merge(cell(point[0], point[1], cellsPerAxis), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+    
+    private static Map<Long, Integer> byCell(List<MarkerCluster> clusters) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (MarkerCluster cluster : clusters) {
+            long key = (long) cluster.getCellX() << 32 | cluster.getCellY();
+            assertNull("two clusters in one cell", counts.put(key, cluster.getCount()));
+        }
+        return counts;
+    }
+    
+    private static long cell(double lat, double lng, int cellsPerAxis) {
+        return (long) CellGrid.cellOf(ClusterIndex.projectX(lng), cellsPerAxis) << 32
+            | CellGrid.cellOf(ClusterIndex.projectY(lat), cellsPerAxis);
+    }
+    
+    private static double wrap(double lng) {
+        return lng > 180 ? lng - 360 : lng < -180 ? lng + 360 : lng;
+    }
+}
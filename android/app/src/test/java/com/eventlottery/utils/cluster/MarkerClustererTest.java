@@ -0,0 +1,63 @@
+package com.eventlottery.utils.cluster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.EventSnapshot;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * MarkerClustererTest - Event snapshots placed on the worker thread and clustered
+ */
+public class MarkerClustererTest {
+    
+    private final MarkerClusterer clusterer = new MarkerClusterer();
+    
+    @After
+    public void tearDown() {
+        clusterer.shutdown();
+    }
+    
+    @Test
+    public void eventsWithoutCoordinatesAreNotPlacedAndUpdatesMoveEvents()
+            throws InterruptedException {
+        EventSnapshot edmonton = event("e1", 53.54, -113.49);
+        EventSnapshot nearby = event("e2", 53.55, -113.50);
+        EventSnapshot unfenced = EventSnapshot.builder().id("e3").noGeolocation().build();
+        clusterer.setEvents(Arrays.asList(edmonton, nearby, unfenced));
+        
+        List<MarkerCluster> together = clusters(5);
+        clusterer.update(nearby.toBuilder().geolocation(5, -33.87, 151.21).build());
+        List<MarkerCluster> apart = clusters(5);
+        clusterer.update(nearby.toBuilder().noGeolocation().build());
+        clusterer.remove("e1");
+        List<MarkerCluster> none = clusters(5);
+        
+        assertEquals(1, together.size());
+        assertEquals(2, together.get(0).getCount());
+        assertEquals(2, apart.size());
+        assertTrue(apart.stream().allMatch(MarkerCluster::isSingle));
+        assertTrue(none.isEmpty());
+    }
+    
+    private List<MarkerCluster> clusters(double zoom) throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(1);
+        AtomicReference<List<MarkerCluster>> result = new AtomicReference<>();
+        clusterer.requestClusters(GeoBounds.world(), zoom, (bounds, z, clusters) -> {
+            result.set(clusters);
+            answered.countDown();
+        });
+        assertTrue(answered.await(5, TimeUnit.SECONDS));
+        return result.get();
+    }
+    
+    private static EventSnapshot event(String id, double lat, double lng) {
+        return EventSnapshot.builder().id(id).geolocation(5, lat, lng).build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.eventlottery.utils.dedup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+/**
+ * EventLshIndexTest - Candidate lookup, replacement and concurrent writes
+ */
+public class EventLshIndexTest {
+    
+    private static final String DESCRIPTION = "Weekly beginner swim lessons at the community pool. "
+        + "Bring a towel and goggles; instructors will group swimmers by ability.";
+    
+    @Test
+    public void findsNearDuplicateButNotUnrelatedEvent() {
+        EventLshIndex index = EventLshIndex.createDefault();
+        index.add(event("a", "Beginner Swim Lessons", DESCRIPTION));
+        index.add(event("b", "Pottery Night", "Hand-building and wheel throwing for adults, clay included."));
+        
+        List<String> similar = index.findSimilar(event("c", "Beginner Swim Lessons!", DESCRIPTION + " "));
+        
+        assertEquals(List.of("a"), similar);
+    }
+    
+    @Test
+    public void excludesTheQueriedEventItself() {
+        EventLshIndex index = EventLshIndex.createDefault();
+        Event event = event("a", "Beginner Swim Lessons", DESCRIPTION);
+        index.add(event);
+        
+        assertTrue(index.findSimilar(event).isEmpty());
+    }
+    
+    @Test
+    public void replacingASignatureDropsTheOldBuckets() {
+        EventLshIndex index = EventLshIndex.createDefault();
+        index.add(event("a", "Beginner Swim Lessons", DESCRIPTION));
+        index.add(event("a", "Pottery Night", "Hand-building and wheel throwing for adults."));
+        
+        assertTrue(index.findSimilar(event("q", "Beginner Swim Lessons", DESCRIPTION)).isEmpty());
+        assertEquals(1, index.size());
+    }
+    
+    @Test
+    public void removeDropsEventFromCandidates() {
+        EventLshIndex index = EventLshIndex.createDefault();
+        Event event = event("a", "Beginner Swim Lessons", DESCRIPTION);
+        index.add(event);
+        index.remove("a");
+        
+        assertTrue(index.candidates(index.getHasher().signature(event)).isEmpty());
+        assertEquals(0, index.size());
+    }
+    
+    @Test
+    public void hotBucketKeepsEveryId() {
+        EventLshIndex index = EventLshIndex.createDefault();
+        int[] signature = index.getHasher().signature(event("x", "Beginner Swim Lessons", DESCRIPTION));
+        for (int i = 0; i < 20_000; i++) {
+            index.add("e" + i, signature);
+        }
+        index.remove("e7");
+        
+        assertEquals(19_999, index.candidates(signature).size());
+        assertFalse(index.candidates(signature).contains("e7"));
+    }
+    
+    @Test
+    public void concurrentReplacementsLeaveNoStaleBucketEntries() throws Exception {
+        EventLshIndex index = EventLshIndex.createDefault();
+        int[] first = index.getHasher().signature("beginner swim lessons at the community pool");
+        int[] second = index.getHasher().signature("pottery night with wheel throwing and glazing");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        index.add("shared", (i + offset) % 2 == 0 ? first : second);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        int[] kept = index.signatureOf("shared");
+        int[] other = kept == first ? second : first;
+        assertTrue(index.candidates(kept).contains("shared"));
+        assertFalse(index.candidates(other).contains("shared"));
+    }
+    
+    static Event event(String id, String name, String description) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setDescription(description);
+        return event;
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventlottery.utils.dedup;
+
+import static org.junit.Assert.assertEquals;
+
+import com.eventlottery.data.models.Event;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * NearDuplicateFinderTest - Clustering of reposted events
+ */
+public class NearDuplicateFinderTest {
+    
+    @Test
+    public void groupsRepostsAndLeavesDistinctEventsOut() {
+        List<Event> events = new ArrayList<>();
+        String swim = "Weekly beginner swim lessons at the community pool. Bring a towel and goggles.";
+        String pottery = "Hand-building and wheel throwing for adults, clay and glazes included.";
+        events.add(EventLshIndexTest.event("swim-1", "Beginner Swim Lessons", swim));
+        events.add(EventLshIndexTest.event("pottery-1", "Pottery Night", pottery));
+        events.add(EventLshIndexTest.event("swim-2", "Beginner Swim Lessons!!", swim));
+        events.add(EventLshIndexTest.event("chess", "Chess Club", "Casual games for all levels, boards provided."));
+        events.add(EventLshIndexTest.event("swim-3", "beginner swim lessons", swim + " "));
+        events.add(EventLshIndexTest.event("pottery-2", "Pottery Night (repost)", pottery));
+        
+        List<List<Event>> clusters = new NearDuplicateFinder().findClusters(events);
+        
+        Set<Set<String>> ids = new HashSet<>();
+        for (List<Event> cluster : clusters) {
+            Set<String> members = new HashSet<>();
+            for (Event event : cluster) {
+                members.add(event.getId());
+            }
+            ids.add(members);
+        }
+        assertEquals(Set.of(Set.of("swim-1", "swim-2", "swim-3"), Set.of("pottery-1", "pottery-2")), ids);
+    }
+    
+    @Test
+    public void largeIdenticalGroupFormsOneCluster() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            events.add(EventLshIndexTest.event("e" + i, "Community Cleanup",
+                "Meet at the park entrance, gloves and bags provided."));
+        }
+        
+        List<List<Event>> clusters = new NearDuplicateFinder().findClusters(events);
+        
+        assertEquals(1, clusters.size());
+        assertEquals(2_000, clusters.get(0).size());
+    }
+}
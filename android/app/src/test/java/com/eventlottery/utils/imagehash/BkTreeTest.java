@@ -0,0 +1,98 @@
+package com.eventlottery.utils.imagehash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * BkTreeTest - Radius search against brute force and rebuilding after removals
+ */
+public class BkTreeTest {
+    
+    private static final int HASHES = 200;
+    
+    private final BkTree tree = new BkTree();
+    private final long[] hashes = new long[HASHES];
+    
+    public BkTreeTest() {
+        Random random = new Random(7);
+        for (int i = 0; i < HASHES; i++) {
+            hashes[i] = random.nextLong();
+            tree.add("k" + i, hashes[i]);
+        }
+    }
+    
+    @Test
+    public void searchMatchesBruteForce() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals(bruteForce(hashes[i], 28, 0), keys(tree.search(hashes[i], 28)));
+        }
+    }
+    
+    @Test
+    public void deadNodesStayUntilHalfTheTreeIsEmpty() {
+        for (int i = 0; i < HASHES / 2; i++) {
+            assertTrue(tree.remove("k" + i, hashes[i]));
+        }
+        assertEquals(HASHES / 2, tree.size());
+        assertEquals(HASHES, tree.getNodeCount());
+        
+        assertTrue(tree.remove("k" + (HASHES / 2), hashes[HASHES / 2]));
+        
+        assertEquals(HASHES / 2 - 1, tree.size());
+        assertEquals(HASHES / 2 - 1, tree.getNodeCount());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(bruteForce(hashes[i], 28, HASHES / 2 + 1), keys(tree.search(hashes[i], 28)));
+        }
+        assertFalse(tree.remove("k0", hashes[0]));
+    }
+    
+    @Test
+    public void readdingToAnEmptiedNodeRevivesIt() {
+        for (int i = 0; i < HASHES / 2; i++) {
+            tree.remove("k" + i, hashes[i]);
+        }
+        tree.add("again", hashes[0]);
+        tree.remove("k" + (HASHES / 2), hashes[HASHES / 2]);
+        
+        assertEquals(HASHES, tree.getNodeCount());
+        assertEquals(1, tree.search(hashes[0], 0).size());
+        assertEquals("again", tree.search(hashes[0], 0).get(0).getKey());
+    }
+    
+    @Test
+    public void keysSharingAHashKeepTheNodeAlive() {
+        tree.add("twin", hashes[0]);
+        tree.remove("k0", hashes[0]);
+        for (int i = 1; i <= HASHES / 2; i++) {
+            tree.remove("k" + i, hashes[i]);
+        }
+        
+        assertEquals(HASHES, tree.getNodeCount());
+        assertEquals("twin", tree.search(hashes[0], 0).get(0).getKey());
+    }
+    
+    private Set<String> bruteForce(long query, int radius, int from) {
+        Set<String> keys = new HashSet<>();
+        for (int i = from; i < HASHES; i++) {
+            if (PerceptualHash.distance(query, hashes[i]) <= radius) {
+                keys.add("k" + i);
+            }
+        }
+        return keys;
+    }
+    
+    private static Set<String> keys(List<BkTree.Match> matches) {
+        Set<String> keys = new HashSet<>();
+        for (BkTree.Match match : matches) {
+            keys.add(match.getKey());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,160 @@
+package com.eventlottery.utils.imagehash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.eventlottery.data.models.Event;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * PosterHashIndexTest - Incremental hashing, grouping, failed decodes and URL pruning
+ */
+public class PosterHashIndexTest {
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final Map<String, GrayImage> images = new HashMap<>();
+    private final AtomicInteger decodes = new AtomicInteger();
+    private final PosterHashIndex index = new PosterHashIndex(url -> {
+        decodes.incrementAndGet();
+        GrayImage image = images.get(url);
+        if (image == null) {
+            throw new IOException("Not an image: " + url);
+        }
+        return image;
+    }, executor);
+    
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    public void alteredCopiesGroupTogetherAndDistinctPostersDoNot() throws InterruptedException {
+        images.put("a.png", poster(1, 0, 0));
+        images.put("a-bright.jpg", poster(1, 12, 3));
+        images.put("b.png", poster(2, 0, 0));
+        images.put("c.png", poster(3, 0, 0));
+        
+        index.update(Arrays.asList(event("e1", "a.png", 1), event("e2", "a-bright.jpg", 1),
+            event("e3", "b.png", 1), event("e4", "c.png", 1), event("e5", "a.png", 1)));
+        
+        List<PosterGroup> groups = index.findGroups();
+        assertEquals(1, groups.size());
+        assertEquals(new HashSet<>(Arrays.asList("e1", "e2", "e5")),
+            new HashSet<>(groups.get(0).getEventIds()));
+        assertEquals(2, groups.get(0).getPosterUrls().size());
+        assertEquals(new HashSet<>(Arrays.asList("e2", "e5")), new HashSet<>(index.findSimilar("e1")));
+        assertTrue(index.findSimilar("e3").isEmpty());
+    }
+    
+    @Test
+    public void onlyNewChangedOrUpdatedPostersAreDecoded() throws InterruptedException {
+        images.put("a.png", poster(1, 0, 0));
+        images.put("b.png", poster(2, 0, 0));
+        List<Event> events = Arrays.asList(event("e1", "a.png", 1), event("e2", "a.png", 1),
+            event("e3", "b.png", 1));
+        
+        PosterHashIndex.UpdateReport first = index.update(events);
+        PosterHashIndex.UpdateReport rerun = index.update(events);
+        events.get(2).setUpdatedAt(2);
+        PosterHashIndex.UpdateReport updated = index.update(events);
+        PosterHashIndex.UpdateReport moved = index.update(Arrays.asList(event("e4", "b.png", 1)));
+        
+        assertEquals(2, first.getDecoded());
+        assertEquals(0, rerun.getDecoded());
+        assertEquals(3, rerun.getUnchanged());
+        assertEquals(1, updated.getDecoded());
+        assertEquals(0, moved.getDecoded());
+        assertEquals(1, moved.getReused());
+        assertEquals(3, decodes.get());
+    }
+    
+    @Test
+    public void failedDecodeOfChangedPosterDropsTheOldHash() throws InterruptedException {
+        images.put("a.png", poster(1, 0, 0));
+        index.update(Arrays.asList(event("e1", "a.png", 1), event("e2", "a.png", 1)));
+        assertEquals(Collections.singletonList("e2"), index.findSimilar("e1"));
+        
+        PosterHashIndex.UpdateReport report = index.update(
+            Arrays.asList(event("e2", "broken.png", 2)));
+        
+        assertEquals(Collections.singleton("broken.png"), report.getFailures().keySet());
+        assertTrue(index.findSimilar("e1").isEmpty());
+        assertTrue(index.findSimilar("e2").isEmpty());
+        assertEquals(1, index.size());
+        assertTrue(index.findGroups().isEmpty());
+    }
+    
+    @Test
+    public void failedRehashOfTheSameUrlKeepsItsHash() throws InterruptedException {
+        images.put("a.png", poster(1, 0, 0));
+        index.update(Arrays.asList(event("e1", "a.png", 1), event("e2", "a.png", 1)));
+        images.remove("a.png");
+        
+        index.update(Arrays.asList(event("e2", "a.png", 2)));
+        
+        assertEquals(Collections.singletonList("e2"), index.findSimilar("e1"));
+    }
+    
+    @Test
+    public void urlsNoEventUsesAnyMoreArePruned() throws InterruptedException {
+        images.put("a.png", poster(1, 0, 0));
+        images.put("b.png", poster(2, 0, 0));
+        images.put("c.png", poster(3, 0, 0));
+        index.update(Arrays.asList(event("e1", "a.png", 1), event("e2", "a.png", 1),
+            event("e3", "b.png", 1)));
+        assertEquals(2, index.getHashedUrlCount());
+        
+        // e1 leaves a.png while e4 picks it up in the same pass, so it is reused, not refetched
+        index.update(Arrays.asList(event("e1", "c.png", 2), event("e2", "", 2),
+            event("e4", "a.png", 1)));
+        assertEquals(3, index.getHashedUrlCount());
+        assertEquals(3, decodes.get());
+        
+        index.remove("e4");
+        index.remove("e3");
+        assertEquals(1, index.getHashedUrlCount());
+        assertEquals(1, index.size());
+    }
+    
+    /**
+     * A 64x64 poster of random blocks; brightness and noise make altered copies
+     */
+    private static GrayImage poster(long design, float brightness, float noise) {
+        Random blocks = new Random(design);
+        Random jitter = new Random(design * 31 + 7);
+        float[] luma = new float[64 * 64];
+        float[] cells = new float[64];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = blocks.nextInt(200);
+        }
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                float value = cells[(y / 8) * 8 + x / 8] + brightness
+                    + (noise > 0 ? (jitter.nextFloat() * 2 - 1) * noise : 0);
+                luma[y * 64 + x] = Math.max(0, Math.min(255, value));
+            }
+        }
+        return new GrayImage(64, 64, luma);
+    }
+    
+    private static Event event(String id, String posterUrl, long updatedAt) {
+        Event event = new Event();
+        event.setId(id);
+        event.setPosterImageUrl(posterUrl);
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
+}
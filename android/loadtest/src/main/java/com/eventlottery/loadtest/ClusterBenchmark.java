@@ -0,0 +1,155 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.utils.cluster.ClusterIndex;
+import com.eventlottery.utils.cluster.GeoBounds;
+import com.eventlottery.utils.cluster.MarkerCluster;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * ClusterBenchmark - Times ClusterIndex inserts, level builds, viewport queries and moves
+ * 
+ * Scatters seeded points around a handful of cities, then for a spread of
+ * zoom levels times building the level and querying a phone-sized viewport
+ * (1080 x 2400 px) centred on one of the points, followed by a burst of moves
+ * with every cached level built. Run with
+ * {@code gradle -p android/loadtest clusterBenchmark --args="--points=100000"}.
+ */
+public final class ClusterBenchmark {
+    
+    private static final double[][] CITIES = {{53.54, -113.49}, {51.04, -114.07}, {49.28, -123.12},
+        {43.65, -79.38}, {45.50, -73.57}, {-33.87, 151.21}, {64.84, -147.72}, {-17.7, 178.0}};
+    private static final int[] ZOOMS = {3, 8, 12, 16, 20};
+    private static final int VIEWPORT_WIDTH = 1080;
+    private static final int VIEWPORT_HEIGHT = 2400;
+    
+    private int points = 100_000;
+    private int queries = 100;
+    private int moves = 10_000;
+    private long seed = 42;
+    
+    public static void main(String[] args) {
+        ClusterBenchmark benchmark = new ClusterBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "points":
+                        points = Integer.parseInt(value);
+                        break;
+                    case "queries":
+                        queries = Integer.parseInt(value);
+                        break;
+                    case "moves":
+                        moves = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (points < 1 || queries < 1 || moves < 0) {
+            throw new IllegalArgumentException("points and queries must be positive, moves non-negative");
+        }
+    }
+    
+    private void run(PrintStream out) {
+        out.printf("Cluster benchmark: points=%d queries=%d moves=%d seed=%d%n",
+            points, queries, moves, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] ids = new String[points];
+        double[] lats = new double[points];
+        double[] lngs = new double[points];
+        for (int i = 0; i < points; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            ids[i] = "event-" + i;
+            lats[i] = city[0] + gaussian(random) * 2;
+            lngs[i] = Math.max(-180, Math.min(180, city[1] + gaussian(random) * 2));
+        }
+        
+        ClusterIndex index = new ClusterIndex();
+        long started = System.nanoTime();
+        for (int i = 0; i < points; i++) {
+            index.upsert(ids[i], lats[i], lngs[i]);
+        }
+        out.printf("insert %d points: %.1f ms%n", points, (System.nanoTime() - started) / 1e6);
+        
+        long checksum = 0;
+        for (int zoom : ZOOMS) {
+            started = System.nanoTime();
+            index.prepare(zoom);
+            double buildMillis = (System.nanoTime() - started) / 1e6;
+            GeoBounds view = zoom <= 3 ? GeoBounds.world() : viewport(lats[0], lngs[0], zoom);
+            List<MarkerCluster> clusters = index.query(view, zoom);
+            started = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                checksum += index.query(view, zoom).size();
+            }
+            out.printf("zoom %2d: build %6.1f ms, query %7.3f ms -> %d clusters%n", zoom, buildMillis,
+                (System.nanoTime() - started) / 1e6 / queries, clusters.size());
+        }
+        
+        started = System.nanoTime();
+        for (int i = 0; i < moves; i++) {
+            int moved = random.nextInt(points);
+            index.upsert(ids[moved], CITIES[0][0] + gaussian(random), CITIES[0][1] + gaussian(random));
+        }
+        out.printf("%d moves with %d levels built: %.1f ms; level memory %.1f MB%n", moves,
+            Math.min(ZOOMS.length, ClusterIndex.DEFAULT_CACHED_LEVELS),
+            (System.nanoTime() - started) / 1e6, index.levelMemoryBytes() / (1024.0 * 1024.0));
+        out.println("checksum " + checksum);
+    }
+    
+    /**
+     * Bounds of a phone screen centred on lat, lng at the given zoom, in 256 px Web Mercator tiles
+     */
+    private static GeoBounds viewport(double lat, double lng, int zoom) {
+        double world = 256.0 * (1 << zoom);
+        double centerX = (lng + 180) / 360 * world;
+        double sin = Math.sin(Math.toRadians(lat));
+        double centerY = (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * world;
+        return new GeoBounds(
+            latitudeAt((centerY + VIEWPORT_HEIGHT / 2.0) / world),
+            longitudeAt((centerX - VIEWPORT_WIDTH / 2.0) / world),
+            latitudeAt((centerY - VIEWPORT_HEIGHT / 2.0) / world),
+            longitudeAt((centerX + VIEWPORT_WIDTH / 2.0) / world));
+    }
+    
+    private static double longitudeAt(double x) {
+        return x * 360 - 180;
+    }
+    
+    private static double latitudeAt(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+    
+    /**
+     * Box-Muller, as SplittableRandom has no nextGaussian on Java 17
+     */
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+            * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
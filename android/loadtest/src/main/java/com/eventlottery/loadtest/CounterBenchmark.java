@@ -0,0 +1,156 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.counters.ContentionException;
+import com.eventlottery.data.counters.InMemoryCounterBackend;
+import com.eventlottery.data.counters.ShardedCounter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CounterBenchmark - Single-document counter against ShardedCounter under a write rate limit
+ * 
+ * Writer threads increment one waitlist count about once a millisecond for a
+ * fixed time, first as a single backend document and then through a
+ * ShardedCounter, both against an InMemoryCounterBackend that limits each
+ * document to the given sustained write rate. Reports accepted and
+ * rejected writes, the final total, the shards in use, and how many backend
+ * reads 10k cached {@link ShardedCounter#get()} calls cost. Run with
+ * {@code gradle -p android/loadtest counterBenchmark --args="--writers=4 --seconds=3"}.
+ */
+public final class CounterBenchmark {
+    
+    private static final String PATH = "events/e1/waitlistCount";
+    private static final int CACHED_READS = 10_000;
+    
+    private int writers = 4;
+    private int seconds = 3;
+    private double rate = 20;
+    private double burst = 5;
+    private long rollupMillis = 500;
+    
+    /**
+     * One increment against the counter under test
+     */
+    private interface Writer {
+        void increment() throws IOException;
+    }
+    
+    public static void main(String[] args) throws InterruptedException, IOException {
+        CounterBenchmark benchmark = new CounterBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "writers":
+                        writers = Integer.parseInt(value);
+                        break;
+                    case "seconds":
+                        seconds = Integer.parseInt(value);
+                        break;
+                    case "rate":
+                        rate = Double.parseDouble(value);
+                        break;
+                    case "burst":
+                        burst = Double.parseDouble(value);
+                        break;
+                    case "rollup":
+                        rollupMillis = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (writers < 1 || seconds < 1 || rate <= 0 || burst < 1 || rollupMillis < 0) {
+            throw new IllegalArgumentException(
+                "writers, seconds and rate must be positive, burst at least 1, rollup non-negative");
+        }
+    }
+    
+    private void run(PrintStream out) throws InterruptedException, IOException {
+        out.printf("Counter benchmark: writers=%d seconds=%d rate=%.0f/s burst=%.0f rollup=%d ms%n",
+            writers, seconds, rate, burst, rollupMillis);
+        
+        InMemoryCounterBackend single = new InMemoryCounterBackend(rate, burst, System::nanoTime);
+        String singlePath = PATH + "/single";
+        AtomicLong[] singleResult = hammer(() -> single.increment(singlePath, 1));
+        report(out, "single document", singleResult, single.getAll(List.of(singlePath))[0]);
+        
+        InMemoryCounterBackend backend = new InMemoryCounterBackend(rate, burst, System::nanoTime);
+        ShardedCounter counter = new ShardedCounter(backend, PATH, rollupMillis, System::currentTimeMillis);
+        AtomicLong[] shardedResult = hammer(() -> counter.increment(1));
+        report(out, "sharded", shardedResult, counter.refresh());
+        out.printf("  shards: %d active, %d allocated%n",
+            counter.getActiveShards(), counter.getAllocatedShards());
+        
+        long readsBefore = backend.getReadRoundTrips();
+        for (int i = 0; i < CACHED_READS; i++) {
+            counter.get();
+        }
+        out.printf("  %,d get() calls: %d backend reads%n", CACHED_READS,
+            backend.getReadRoundTrips() - readsBefore);
+    }
+    
+    /**
+     * @return accepted and rejected increments
+     */
+    private AtomicLong[] hammer(Writer writer) throws InterruptedException {
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    try {
+                        writer.increment();
+                        accepted.incrementAndGet();
+                    } catch (ContentionException e) {
+                        rejected.incrementAndGet();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    // One tap per millisecond per writer, not a busy spin
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "writer-" + t);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return new AtomicLong[] {accepted, rejected};
+    }
+    
+    private void report(PrintStream out, String label, AtomicLong[] result, long total) {
+        long accepted = result[0].get();
+        out.printf("%-15s accepted %,7d (%,6.0f/s), rejected %,7d, final total %,d%n",
+            label, accepted, accepted / (double) seconds, result[1].get(), total);
+    }
+}
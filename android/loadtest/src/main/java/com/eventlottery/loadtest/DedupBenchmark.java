@@ -0,0 +1,176 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.utils.dedup.EventLshIndex;
+import com.eventlottery.utils.dedup.NearDuplicateFinder;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * DedupBenchmark - Times NearDuplicateFinder over a large batch with planted reposts
+ * 
+ * Builds events whose names and descriptions are drawn from a synthetic
+ * vocabulary, so unrelated events share words but not whole passages, then
+ * plants reposts: copies of random events with a word changed and the
+ * title punctuated. Times one findClusters pass and reports how many
+ * planted reposts landed in their original's cluster, how many clusters
+ * hold no planted pair, and the cost of checking one new event against
+ * the filled index. Run with
+ * {@code gradle -p android/loadtest dedupBenchmark --args="--events=100000"}.
+ */
+public final class DedupBenchmark {
+    
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ren", "sa", "tor", "vi", "bel",
+        "dan", "ep", "fu", "gor", "hin", "jo", "kel", "mar", "nu", "pol", "qui", "ros"};
+    
+    private int events = 100_000;
+    private int reposts = 1_000;
+    private int vocabulary = 5_000;
+    private long seed = 42;
+    
+    public static void main(String[] args) {
+        DedupBenchmark benchmark = new DedupBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "events":
+                        events = Integer.parseInt(value);
+                        break;
+                    case "reposts":
+                        reposts = Integer.parseInt(value);
+                        break;
+                    case "vocabulary":
+                        vocabulary = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (events < 1 || reposts < 0 || reposts > events || vocabulary < 100) {
+            throw new IllegalArgumentException(
+                "events must be positive, reposts 0..events, vocabulary at least 100");
+        }
+    }
+    
+    private void run(PrintStream out) {
+        out.printf("Dedup benchmark: events=%d reposts=%d vocabulary=%d seed=%d, %d cores%n",
+            events, reposts, vocabulary, seed, Runtime.getRuntime().availableProcessors());
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] words = vocabulary(random);
+        List<Event> batch = new ArrayList<>(events + reposts);
+        for (int i = 0; i < events; i++) {
+            batch.add(event("evt-" + i, sentence(random, words, 4),
+                sentence(random, words, 25), "Venue " + random.nextInt(200)));
+        }
+        Map<String, String> originals = new HashMap<>();
+        for (int i = 0; i < reposts; i++) {
+            Event original = batch.get(random.nextInt(events));
+            String[] description = original.getDescription().split(" ");
+            description[random.nextInt(description.length)] = words[random.nextInt(words.length)];
+            String id = "repost-" + i;
+            batch.add(event(id, original.getName() + "!", String.join(" ", description),
+                original.getLocation()));
+            originals.put(id, original.getId());
+        }
+        
+        NearDuplicateFinder finder = new NearDuplicateFinder();
+        long started = System.nanoTime();
+        List<List<Event>> clusters = finder.findClusters(batch);
+        long elapsed = System.nanoTime() - started;
+        
+        Map<String, Integer> clusterOf = new HashMap<>();
+        for (int c = 0; c < clusters.size(); c++) {
+            for (Event event : clusters.get(c)) {
+                clusterOf.put(event.getId(), c);
+            }
+        }
+        int found = 0;
+        boolean[] planted = new boolean[clusters.size()];
+        for (Map.Entry<String, String> repost : originals.entrySet()) {
+            Integer cluster = clusterOf.get(repost.getKey());
+            if (cluster != null && cluster.equals(clusterOf.get(repost.getValue()))) {
+                found++;
+                planted[cluster] = true;
+            }
+        }
+        int unplanted = 0;
+        for (boolean hasPlanted : planted) {
+            unplanted += hasPlanted ? 0 : 1;
+        }
+        out.printf("findClusters over %d events: %d ms (%.1f us/event)%n", batch.size(),
+            elapsed / 1_000_000, elapsed / 1e3 / batch.size());
+        out.printf("clusters %d; planted reposts found %d of %d; clusters without a planted pair %d%n",
+            clusters.size(), found, reposts, unplanted);
+        
+        EventLshIndex index = finder.getIndex();
+        int probes = Math.min(10_000, events);
+        long matches = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < probes; i++) {
+            Event probe = event("probe-" + i, sentence(random, words, 4), sentence(random, words, 25),
+                "Venue " + random.nextInt(200));
+            matches += index.findSimilar(probe).size();
+        }
+        out.printf("findSimilar for a new event against %d indexed: %.1f us (%d matches)%n",
+            index.size(), (System.nanoTime() - started) / 1e3 / probes, matches);
+    }
+    
+    private String[] vocabulary(SplittableRandom random) {
+        String[] words = new String[vocabulary];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+    
+    private static String sentence(SplittableRandom random, String[] words, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(words[random.nextInt(words.length)]);
+        }
+        return sentence.toString();
+    }
+    
+    private static Event event(String id, String name, String description, String location) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setDescription(description);
+        event.setLocation(location);
+        return event;
+    }
+}
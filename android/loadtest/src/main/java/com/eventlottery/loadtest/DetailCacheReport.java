@@ -0,0 +1,199 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.cache.EventDetailCache;
+import com.eventlottery.data.cache.EventPrefetcher;
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventSnapshot;
+import com.eventlottery.data.repositories.InMemoryEventRepository;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * DetailCacheReport - Hit rate and time-to-content of the event details screen
+ * 
+ * Replays browse sessions against an EventDetailCache backed by a repository
+ * with fixed latency. In each session a fling shows cards briefly, two cards
+ * stay on screen, and the user presses one of them and opens it shortly
+ * after. The open is what EventDetailsActivity does: peek for the first
+ * frame, then load the verified copy. Three setups are compared: fetching on
+ * open, a cache seeded from the browse list, and a seeded cache with
+ * dwell/press prefetching. Run with
+ * {@code gradle -p android/loadtest detailCacheReport --args="--sessions=20"}.
+ */
+public final class DetailCacheReport {
+    
+    private static final int CARDS_PER_SESSION = 10;
+    private static final int FLUNG_CARDS = 8;
+    private static final long FLING_CARD_MILLIS = 20;
+    private static final long DWELL_MILLIS = 700;
+    private static final long PRESS_TO_CLICK_MILLIS = 100;
+    
+    private int sessions = 20;
+    private long latencyMillis = 120;
+    private long seed = 42;
+    
+    /**
+     * Repository whose single-event reads take a fixed time, like a network round trip
+     */
+    private static final class SlowRepository extends InMemoryEventRepository {
+        private final long latencyMillis;
+        
+        SlowRepository(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+        
+        @Override
+        public Event getEvent(String eventId) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.getEvent(eventId);
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        DetailCacheReport report = new DetailCacheReport();
+        try {
+            report.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        report.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "sessions":
+                        sessions = Integer.parseInt(value);
+                        break;
+                    case "latency":
+                        latencyMillis = Long.parseLong(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (sessions < 1 || latencyMillis < 0) {
+            throw new IllegalArgumentException("sessions must be positive and latency non-negative");
+        }
+    }
+    
+    private void run(PrintStream out) throws Exception {
+        out.printf("Detail cache report: sessions=%d latency=%d ms seed=%d%n",
+            sessions, latencyMillis, seed);
+        SlowRepository repository = new SlowRepository(latencyMillis);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < sessions * CARDS_PER_SESSION; i++) {
+            Event event = new Event();
+            event.setId("evt-" + i);
+            event.setName("Event " + i);
+            event.setUpdatedAt(1);
+            events.add(event);
+        }
+        repository.saveEvents(events);
+        
+        simulate(out, "fetch on open", repository, events, false, false);
+        simulate(out, "seeded cache", repository, events, true, false);
+        simulate(out, "seeded + prefetch", repository, events, true, true);
+    }
+    
+    private void simulate(PrintStream out, String label, SlowRepository repository, List<Event> events,
+                          boolean seeded, boolean prefetch) throws Exception {
+        ExecutorService loader = Executors.newFixedThreadPool(2);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            EventDetailCache cache = new EventDetailCache(EventDetailCache.DEFAULT_CAPACITY,
+                EventDetailCache.DEFAULT_REFRESH_MILLIS, loader, System::currentTimeMillis);
+            cache.setRepository(repository);
+            EventPrefetcher prefetcher = new EventPrefetcher(cache, url -> { }, scheduler,
+                EventPrefetcher.DEFAULT_DWELL_MILLIS);
+            if (seeded) {
+                cache.putAll(events);
+            }
+            List<EventSnapshot> cards = EventSnapshot.copyOf(events);
+            SplittableRandom random = new SplittableRandom(seed);
+            
+            double contentMillis = 0;
+            double verifiedMillis = 0;
+            for (int session = 0; session < sessions; session++) {
+                int base = session * CARDS_PER_SESSION;
+                for (int i = 0; i < FLUNG_CARDS; i++) {
+                    EventSnapshot card = cards.get(base + i);
+                    if (prefetch) {
+                        prefetcher.onVisible(card);
+                    }
+                    Thread.sleep(FLING_CARD_MILLIS);
+                    if (prefetch) {
+                        prefetcher.onHidden(card);
+                    }
+                }
+                EventSnapshot target = cards.get(base + FLUNG_CARDS + random.nextInt(2));
+                if (prefetch) {
+                    for (int i = FLUNG_CARDS; i < CARDS_PER_SESSION; i++) {
+                        prefetcher.onVisible(cards.get(base + i));
+                    }
+                }
+                Thread.sleep(DWELL_MILLIS);
+                if (prefetch) {
+                    prefetcher.onPressed(target);
+                }
+                Thread.sleep(PRESS_TO_CLICK_MILLIS);
+                
+                long opened = System.nanoTime();
+                boolean cached = cache.peek(target.getId()) != null;
+                long firstFrame = System.nanoTime();
+                CountDownLatch loaded = new CountDownLatch(1);
+                cache.load(target.getId(), new EventDetailCache.Listener() {
+                    @Override
+                    public void onEventLoaded(Event event) {
+                        loaded.countDown();
+                    }
+                    
+                    @Override
+                    public void onError(IOException error) {
+                        loaded.countDown();
+                    }
+                });
+                loaded.await();
+                long verified = System.nanoTime();
+                contentMillis += ((cached ? firstFrame : verified) - opened) / 1e6;
+                verifiedMillis += (verified - opened) / 1e6;
+                if (prefetch) {
+                    prefetcher.cancelAll();
+                }
+            }
+            out.printf("%-18s hit rate %3.0f%%, time to content %6.1f ms, time to verified %6.1f ms, "
+                    + "%d fetches, %d prefetches%n", label, cache.getHitRate() * 100,
+                contentMillis / sessions, verifiedMillis / sessions, cache.getFetches(),
+                cache.getPrefetches());
+        } finally {
+            scheduler.shutdownNow();
+            loader.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.directory.LocalUserDirectory;
+import com.eventlottery.data.directory.UserSearchPage;
+import com.eventlottery.data.directory.UserSummary;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * DirectoryMemoryReport - Heap and search latency of LocalUserDirectory at registration scale
+ * 
+ * Synthesizes users with accented first and last names, bulk loads them and
+ * reports the encoded index size and the heap the directory retains, then
+ * the heap a TreeMap of the same search keys would take for comparison.
+ * Finally it times first pages, deep paging through a one-letter query and
+ * incremental upserts. Run with
+ * {@code gradle -p android/loadtest directoryMemoryReport --args="--users=1000000"}.
+ */
+public final class DirectoryMemoryReport {
+    
+    private static final String[] FIRST_NAMES = {"John", "Jane", "José", "Anna", "Annabel",
+        "Mohammed", "Wei", "Li", "Olivia", "Liam", "Noah", "Emma", "Ava", "Sophia", "Lucas", "Mia",
+        "Amelia", "Harper", "Evelyn", "Abigail", "Chloé", "Zoë", "Oliver", "Elijah", "James",
+        "William", "Benjamin", "Henry", "Alexander", "Sebastian", "Priya", "Arjun", "Fatima", "Yuki",
+        "Hiroshi", "Kwame", "Ngozi", "Mateo", "Valentina", "Søren"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones",
+        "Garcia", "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez",
+        "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez",
+        "Thompson", "White", "Harris", "Sánchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker",
+        "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores"};
+    private static final String[] QUERIES = {"jo", "josé", "JOSE", "ann", "smith", "john s", "li",
+        "zoe", "søren", "olivia.", "chloe w", "sanchez"};
+    
+    private int users = 1_000_000;
+    private int queries = 10_000;
+    private long seed = 42;
+    
+    public static void main(String[] args) {
+        DirectoryMemoryReport report = new DirectoryMemoryReport();
+        try {
+            report.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        report.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "users":
+                        users = Integer.parseInt(value);
+                        break;
+                    case "queries":
+                        queries = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (users < 1 || queries < 1) {
+            throw new IllegalArgumentException("users and queries must be positive");
+        }
+    }
+    
+    private void run(PrintStream out) {
+        out.printf("Directory memory report: users=%d queries=%d seed=%d%n", users, queries, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        List<UserSummary> all = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            all.add(user(random, i));
+        }
+        
+        long heapBefore = usedHeapAfterGc();
+        long started = System.nanoTime();
+        LocalUserDirectory directory = LocalUserDirectory.bulkLoad(all);
+        long loadMillis = (System.nanoTime() - started) / 1_000_000;
+        long retained = usedHeapAfterGc() - heapBefore;
+        out.printf("bulk load %d ms; index %.1f MB (%.1f bytes/user); "
+                + "heap delta with id map and ordinals %.1f MB%n",
+            loadMillis, mb(directory.indexMemoryBytes()),
+            (double) directory.indexMemoryBytes() / users, mb(retained));
+        
+        heapBefore = usedHeapAfterGc();
+        TreeMap<String, String> naive = naiveIndex(all);
+        out.printf("TreeMap<String, String> of the same terms: %d keys, %.1f MB%n",
+            naive.size(), mb(usedHeapAfterGc() - heapBefore));
+        naive = null;
+        
+        long checksum = 0;
+        for (int i = 0; i < queries / 5; i++) {
+            checksum += directory.search(QUERIES[i % QUERIES.length], null, 20).getUsers().size();
+        }
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            checksum += directory.search(QUERIES[i % QUERIES.length], null, 20).getUsers().size();
+        }
+        report(out, "first page of 20", started, queries);
+        
+        String cursor = null;
+        int pages = 0;
+        started = System.nanoTime();
+        do {
+            UserSearchPage page = directory.search("s", cursor, 50);
+            checksum += page.getUsers().size();
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 1000);
+        report(out, "deep paging \"s\", 50/page", started, pages);
+        
+        int upserts = Math.min(100_000, users);
+        started = System.nanoTime();
+        for (int i = 0; i < upserts; i++) {
+            directory.upsert(user(random, users + i));
+        }
+        report(out, "upsert", started, upserts);
+        out.printf("  index now %.1f MB with the pending delta%n", mb(directory.indexMemoryBytes()));
+        out.println("checksum " + checksum + " users " + all.size());
+    }
+    
+    /**
+     * The keys LocalUserDirectory indexes, held as plain strings for comparison
+     */
+    private static TreeMap<String, String> naiveIndex(List<UserSummary> all) {
+        TreeMap<String, String> naive = new TreeMap<>();
+        for (UserSummary user : all) {
+            String name = Normalizer.normalize(user.getName(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+            naive.put(name + '\0' + user.getUserId(), user.getUserId());
+            for (String word : name.split(" ")) {
+                naive.put(word + '\0' + user.getUserId(), user.getUserId());
+            }
+            naive.put(user.getEmail() + '\0' + user.getUserId(), user.getUserId());
+        }
+        return naive;
+    }
+    
+    private static void report(PrintStream out, String operation, long startedNanos, int count) {
+        long elapsed = System.nanoTime() - startedNanos;
+        out.printf("%-28s %,10d ops %8.1f us/op%n", operation, count, elapsed / 1e3 / count);
+    }
+    
+    private static UserSummary user(SplittableRandom random, int i) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = (first + "." + last + i).toLowerCase(Locale.ROOT)
+            + (random.nextBoolean() ? "@gmail.com" : "@ualberta.ca");
+        return new UserSummary(Long.toHexString(random.nextLong()) + Integer.toHexString(i),
+            first + " " + last, email);
+    }
+    
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.sync.WaitlistOperation;
+
+/**
+ * EntrantAction - One tap in the synthesized surge
+ * 
+ * A retap resends an earlier operation with its original idempotency key,
+ * the way an impatient double tap or a client retry reaches the backend.
+ */
+final class EntrantAction {
+    
+    enum Kind {
+        JOIN,
+        LEAVE,
+        RETAP
+    }
+    
+    final Kind kind;
+    final WaitlistOperation operation;
+    
+    EntrantAction(Kind kind, WaitlistOperation operation) {
+        this.kind = kind;
+        this.operation = operation;
+    }
+    
+    String getUserId() {
+        return operation.getUserId();
+    }
+}
@@ -0,0 +1,111 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.sync.WaitlistOperation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * EntrantActionGenerator - Deterministic stream of entrant taps for a catalogue
+ * 
+ * Event popularity follows a Zipf distribution over a shuffled ranking, so a
+ * handful of events take most of the surge as they do when a popular class
+ * opens. Each action is a join (about 85%), a leave of an event the entrant
+ * joined earlier in the stream (about 10%), or a retap of the entrant's last
+ * join. Idempotency keys and timestamps are derived from the seed and the
+ * action index rather than UUIDs or the clock.
+ */
+final class EntrantActionGenerator {
+    
+    private static final int JOIN_PERCENT = 85;
+    private static final int LEAVE_PERCENT = 10;
+    
+    private EntrantActionGenerator() {
+    }
+    
+    static List<EntrantAction> generate(List<Event> events, SurgeConfig config, SplittableRandom random) {
+        double[] cumulative = popularity(events.size(), config.popularitySkew, random);
+        Map<String, List<WaitlistOperation>> joinedByUser = new HashMap<>();
+        List<EntrantAction> actions = new ArrayList<>(config.actions);
+        
+        for (int i = 0; i < config.actions; i++) {
+            String userId = "user-" + random.nextInt(config.entrants);
+            List<WaitlistOperation> joined = joinedByUser.get(userId);
+            int roll = random.nextInt(100);
+            long createdAt = EventSynthesizer.EPOCH_MILLIS + i;
+            String key = config.seed + "-" + i;
+            
+            if (joined != null && !joined.isEmpty() && roll >= JOIN_PERCENT) {
+                if (roll < JOIN_PERCENT + LEAVE_PERCENT) {
+                    WaitlistOperation join = joined.remove(random.nextInt(joined.size()));
+                    actions.add(new EntrantAction(EntrantAction.Kind.LEAVE, new WaitlistOperation(
+                        key, WaitlistOperation.Type.LEAVE, join.getEventId(), userId, createdAt)));
+                } else {
+                    WaitlistOperation last = joined.get(joined.size() - 1);
+                    actions.add(new EntrantAction(EntrantAction.Kind.RETAP, last));
+                }
+                continue;
+            }
+            
+            String eventId = events.get(sample(cumulative, random.nextDouble())).getId();
+            WaitlistOperation existing = findJoin(joined, eventId);
+            if (existing != null) {
+                // The details screen shows "Joined", so a second join is only ever a retap
+                actions.add(new EntrantAction(EntrantAction.Kind.RETAP, existing));
+                continue;
+            }
+            WaitlistOperation join = new WaitlistOperation(
+                key, WaitlistOperation.Type.JOIN, eventId, userId, createdAt);
+            joinedByUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(join);
+            actions.add(new EntrantAction(EntrantAction.Kind.JOIN, join));
+        }
+        return actions;
+    }
+    
+    private static WaitlistOperation findJoin(List<WaitlistOperation> joined, String eventId) {
+        if (joined != null) {
+            for (WaitlistOperation join : joined) {
+                if (join.getEventId().equals(eventId)) {
+                    return join;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Cumulative Zipf weights indexed by event position; rank order is a seeded shuffle
+     */
+    private static double[] popularity(int count, double skew, SplittableRandom random) {
+        int[] rank = new int[count];
+        for (int i = 0; i < count; i++) {
+            rank[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rank[i];
+            rank[i] = rank[j];
+            rank[j] = swap;
+        }
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += 1.0 / Math.pow(rank[i] + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+    
+    private static int sample(double[] cumulative, double u) {
+        int index = Arrays.binarySearch(cumulative, u);
+        int position = index >= 0 ? index : -index - 1;
+        return Math.min(position, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,170 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.models.Event;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * EventHeapReport - Retained heap per Event and how much the Interner shares
+ * 
+ * Synthesizes a catalogue, re-sets every interned field from a fresh String
+ * copy, as a JSON or Parcel read would deliver it, and measures the heap the
+ * events retain. For each interned field it then counts distinct values
+ * against distinct instances actually held and estimates the bytes per-event
+ * copies would have cost. Run with
+ * {@code gradle -p android/loadtest eventHeapReport --args="--events=100000"}.
+ */
+public final class EventHeapReport {
+    
+    private int events = 100_000;
+    private long seed = 42;
+    
+    public static void main(String[] args) {
+        EventHeapReport report = new EventHeapReport();
+        try {
+            report.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        report.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "events":
+                        events = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (events < 1) {
+            throw new IllegalArgumentException("events must be positive");
+        }
+    }
+    
+    private void run(PrintStream out) {
+        out.printf("Event heap report: events=%d seed=%d%n", events, seed);
+        long baseline = usedHeapAfterGc();
+        List<Event> catalogue = EventSynthesizer.synthesize(events, new SplittableRandom(seed));
+        for (Event event : catalogue) {
+            event.setOrganizerId(copy(event.getOrganizerId()));
+            event.setDate(copy(event.getDate()));
+            event.setTime(copy(event.getTime()));
+            event.setEndTime(copy(event.getEndTime()));
+            event.setLocation(copy(event.getLocation()));
+            event.setLocationAddress(copy(event.getLocationAddress()));
+            event.setStatus(copy(event.getStatus()));
+            event.setTags(List.copyOf(event.getTags()));
+        }
+        long retained = usedHeapAfterGc() - baseline;
+        out.printf("retained %.1f MB, %.0f bytes/event (ids, names and descriptions included)%n",
+            retained / (1024.0 * 1024.0), (double) retained / events);
+        
+        out.printf("%-16s %10s %10s %12s%n", "field", "values", "instances", "saved bytes");
+        long saved = 0;
+        saved += field(out, catalogue, "organizerId", Event::getOrganizerId);
+        saved += field(out, catalogue, "date", Event::getDate);
+        saved += field(out, catalogue, "time", Event::getTime);
+        saved += field(out, catalogue, "endTime", Event::getEndTime);
+        saved += field(out, catalogue, "location", Event::getLocation);
+        saved += field(out, catalogue, "locationAddress", Event::getLocationAddress);
+        saved += field(out, catalogue, "status", Event::getStatus);
+        Set<Object> tagLists = Collections.newSetFromMap(new IdentityHashMap<>());
+        long tagListBytes = 0;
+        for (Event event : catalogue) {
+            if (!event.getTags().isEmpty() && tagLists.add(event.getTags())) {
+                tagListBytes += listBytes(event.getTags().size());
+            }
+        }
+        long unsharedTagBytes = 0;
+        for (Event event : catalogue) {
+            if (!event.getTags().isEmpty()) {
+                unsharedTagBytes += listBytes(event.getTags().size());
+            }
+        }
+        out.printf("%-16s %10s %10d %12d%n", "tags (lists)", "-", tagLists.size(),
+            unsharedTagBytes - tagListBytes);
+        saved += unsharedTagBytes - tagListBytes;
+        out.printf("interning saves about %.0f bytes/event over per-event copies%n",
+            (double) saved / events);
+        // Keep the catalogue reachable until every measurement is taken
+        out.println("events " + catalogue.size());
+    }
+    
+    private static long field(PrintStream out, List<Event> catalogue, String name,
+                              Function<Event, String> getter) {
+        Set<String> values = new HashSet<>();
+        Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        long unsharedBytes = 0;
+        long heldBytes = 0;
+        for (Event event : catalogue) {
+            String value = getter.apply(event);
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            values.add(value);
+            unsharedBytes += stringBytes(value);
+            if (instances.add(value)) {
+                heldBytes += stringBytes(value);
+            }
+        }
+        out.printf("%-16s %10d %10d %12d%n", name, values.size(), instances.size(),
+            unsharedBytes - heldBytes);
+        return unsharedBytes - heldBytes;
+    }
+    
+    /**
+     * Compact-strings footprint: String header plus a Latin-1 byte array, 8-byte aligned
+     */
+    private static long stringBytes(String value) {
+        return 24 + align(16 + value.length());
+    }
+    
+    /**
+     * Unmodifiable wrapper, Arrays.asList view and its backing array
+     */
+    private static long listBytes(int size) {
+        return 16 + 16 + align(16 + 4L * size);
+    }
+    
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+    
+    private static String copy(String value) {
+        return value == null ? null : new String(value);
+    }
+    
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,141 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.models.EventPage;
+import com.eventlottery.data.models.EventTypeAdapterFactory;
+import com.google.gson.Gson;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.List;
+
+/**
+ * EventJsonBenchmark - Streaming event adapters against reflective Gson
+ * 
+ * Encodes one large EventPage envelope, then decodes and encodes it with the
+ * Gson from {@link EventTypeAdapterFactory#createGson()} and with a plain
+ * reflective {@code new Gson()}, alternating the two over several rounds so
+ * both are measured warm, and reports the median of each. Half the events
+ * leave the nullable fields unset, as list payloads do. Run with
+ * {@code gradle -p android/loadtest jsonBenchmark --args="--events=50000"}.
+ */
+public final class EventJsonBenchmark {
+    
+    private static final String[] STATUSES = {"open", "closed"};
+    private static final String[] TAGS = {"Sports", "Music", "Arts"};
+    
+    private int events = 50_000;
+    private int rounds = 10;
+    
+    public static void main(String[] args) {
+        EventJsonBenchmark benchmark = new EventJsonBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "events":
+                        events = Integer.parseInt(value);
+                        break;
+                    case "rounds":
+                        rounds = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (events < 1 || rounds < 1) {
+            throw new IllegalArgumentException("events and rounds must be positive");
+        }
+    }
+    
+    private void run(PrintStream out) {
+        out.printf("Event JSON benchmark: events=%d rounds=%d%n", events, rounds);
+        Gson streaming = EventTypeAdapterFactory.createGson();
+        Gson reflective = new Gson();
+        EventPage page = new EventPage(events(), "next");
+        String json = streaming.toJson(page);
+        out.printf("payload %.1f MB%n", json.length() / (1024.0 * 1024.0));
+        
+        String[] labels = {"decode adapter", "decode reflective", "encode adapter", "encode reflective"};
+        long[][] nanos = new long[labels.length][rounds];
+        long checksum = 0;
+        for (int round = 1; round <= rounds; round++) {
+            long started = System.nanoTime();
+            checksum += streaming.fromJson(json, EventPage.class).getEvents().size();
+            long adapterDecode = System.nanoTime() - started;
+            
+            started = System.nanoTime();
+            checksum += reflective.fromJson(json, EventPage.class).getEvents().size();
+            long reflectiveDecode = System.nanoTime() - started;
+            
+            started = System.nanoTime();
+            checksum += streaming.toJson(page).length();
+            long adapterEncode = System.nanoTime() - started;
+            
+            started = System.nanoTime();
+            checksum += reflective.toJson(page).length();
+            long reflectiveEncode = System.nanoTime() - started;
+            
+            out.printf("round %d: decode adapter %d ms, reflective %d ms; "
+                    + "encode adapter %d ms, reflective %d ms%n", round,
+                adapterDecode / 1_000_000, reflectiveDecode / 1_000_000,
+                adapterEncode / 1_000_000, reflectiveEncode / 1_000_000);
+            nanos[0][round - 1] = adapterDecode;
+            nanos[1][round - 1] = reflectiveDecode;
+            nanos[2][round - 1] = adapterEncode;
+            nanos[3][round - 1] = reflectiveEncode;
+        }
+        StringBuilder medians = new StringBuilder("median:");
+        for (int i = 0; i < labels.length; i++) {
+            Arrays.sort(nanos[i]);
+            medians.append(String.format(Locale.ROOT, " %s %d ms%s", labels[i],
+                nanos[i][rounds / 2] / 1_000_000, i < labels.length - 1 ? "," : ""));
+        }
+        out.println(medians);
+        out.printf("checksum %d%n", checksum);
+    }
+    
+    private List<Event> events() {
+        List<Event> list = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            Event event = new Event();
+            event.setId("evt-" + i);
+            event.setName("Event " + i);
+            event.setDescription("Description number " + i);
+            event.setDate("2026-06-15");
+            event.setTime("14:00");
+            event.setLocation("Arena");
+            event.setStatus(STATUSES[i % STATUSES.length]);
+            event.setTags(Arrays.asList(TAGS[i % TAGS.length], TAGS[(i + 1) % TAGS.length]));
+            event.setCapacity(50);
+            if (i % 2 == 0) {
+                event.setWaitlistLimit(100);
+                event.setGeolocationRadius(10);
+                event.setGeolocationLat(53.5);
+                event.setGeolocationLng(-113.5);
+            }
+            list.add(event);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,145 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.importer.EventValidator;
+import com.eventlottery.data.models.Event;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * EventSynthesizer - Deterministic catalogue of plausible events
+ * 
+ * Tags, venues, capacities, waitlist limits, prices and registration windows
+ * are drawn from a seeded generator, so a seed always yields the same
+ * catalogue. Every event passes EventValidator, the same rules organizers
+ * and the bulk importer are held to.
+ */
+final class EventSynthesizer {
+    
+    /** Fixed reference time so catalogues do not depend on when the run starts */
+    static final long EPOCH_MILLIS = Instant.parse("2026-09-01T09:00:00Z").toEpochMilli();
+    
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+    
+    private static final String[] TAGS = {
+        "music", "sports", "outdoors", "family", "food", "tech", "art", "fitness",
+        "community", "education", "swimming", "dance", "theatre", "workshop", "kids", "seniors"
+    };
+    
+    private static final String[] TITLES = {
+        "Swimming Lessons", "Piano for Beginners", "Farmers Market Tour", "Intro to Robotics",
+        "Community Clean-up", "Salsa Night", "Family Movie Night", "Pottery Workshop",
+        "Trail Run", "Coding Bootcamp", "Jazz in the Park", "Yoga at Sunrise"
+    };
+    
+    private static final Venue[] VENUES = {
+        new Venue("Kinsmen Sports Centre", "9100 Walterdale Hill NW, Edmonton", 53.5206, -113.5015),
+        new Venue("Commonwealth Community Rec Centre", "11000 Stadium Rd NW, Edmonton", 53.5596, -113.4763),
+        new Venue("Winspear Centre", "4 Sir Winston Churchill Sq, Edmonton", 53.5434, -113.4870),
+        new Venue("Hawrelak Park", "9930 Groat Rd NW, Edmonton", 53.5274, -113.5491),
+        new Venue("Calgary Central Library", "800 3 St SE, Calgary", 51.0451, -114.0561),
+        new Venue("Vancouver Community College", "250 W Pender St, Vancouver", 49.2826, -123.1110),
+        new Venue("Toronto Harbourfront Centre", "235 Queens Quay W, Toronto", 43.6388, -79.3823),
+        new Venue("Montreal Olympic Park", "4545 Pierre-de Coubertin Ave, Montreal", 45.5580, -73.5518)
+    };
+    
+    private static final class Venue {
+        final String name;
+        final String address;
+        final double lat;
+        final double lng;
+        
+        Venue(String name, String address, double lat, double lng) {
+            this.name = name;
+            this.address = address;
+            this.lat = lat;
+            this.lng = lng;
+        }
+    }
+    
+    private EventSynthesizer() {
+    }
+    
+    /**
+     * Build count events; all are open for registration at EPOCH_MILLIS except
+     * roughly one in twenty, which closed early so the surge also hits closed events
+     */
+    static List<Event> synthesize(int count, SplittableRandom random) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = synthesizeOne(i, random);
+            List<String> errors = EventValidator.validate(event);
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Synthesized invalid event " + event.getId() + ": " + errors);
+            }
+            events.add(event);
+        }
+        return events;
+    }
+    
+    private static Event synthesizeOne(int index, SplittableRandom random) {
+        Venue venue = VENUES[random.nextInt(VENUES.length)];
+        String title = TITLES[random.nextInt(TITLES.length)];
+        
+        Event event = new Event();
+        event.setId(String.format("evt-%05d", index));
+        event.setName(title + " #" + (index + 1));
+        event.setDescription(title + " at " + venue.name);
+        event.setOrganizerId("org-" + random.nextInt(Math.max(1, 1 + index / 10)));
+        
+        long eventStart = EPOCH_MILLIS + (7 + random.nextInt(60)) * DAY_MILLIS;
+        LocalDate date = Instant.ofEpochMilli(eventStart).atZone(ZoneOffset.UTC).toLocalDate();
+        int startHour = 8 + random.nextInt(11);
+        int minutes = random.nextBoolean() ? 0 : 30;
+        event.setDate(date.toString());
+        event.setTime(String.format("%02d:%02d", startHour, minutes));
+        event.setEndTime(String.format("%02d:%02d", startHour + 1 + random.nextInt(3), minutes));
+        
+        event.setLocation(venue.name);
+        event.setLocationAddress(venue.address);
+        event.setTags(pickTags(random));
+        
+        // Capacities are heavy-tailed: most sessions are small, a few are large venues
+        int capacity = (int) Math.min(2_000, Math.round(10 * Math.exp(random.nextDouble() * 4.6)));
+        event.setCapacity(capacity);
+        if (random.nextInt(10) < 7) {
+            event.setWaitlistLimit(capacity * (2 + random.nextInt(9)));
+        }
+        
+        if (random.nextInt(4) == 0) {
+            event.setGeolocationEnabled(true);
+            event.setGeolocationRadius(5 + random.nextInt(46));
+            event.setGeolocationLat(venue.lat + (random.nextDouble() - 0.5) * 0.02);
+            event.setGeolocationLng(venue.lng + (random.nextDouble() - 0.5) * 0.02);
+        }
+        event.setPrice(random.nextInt(3) == 0 ? 0 : 5 * (1 + random.nextInt(20)));
+        
+        boolean closedEarly = random.nextInt(20) == 0;
+        long opens = EPOCH_MILLIS - (1 + random.nextInt(72)) * HOUR_MILLIS;
+        long closes = closedEarly
+            ? EPOCH_MILLIS - HOUR_MILLIS / 2
+            : EPOCH_MILLIS + (1 + random.nextInt(5)) * DAY_MILLIS;
+        event.setStatus(closedEarly ? "closed" : "open");
+        event.setRegistrationOpens(opens);
+        event.setRegistrationCloses(closes);
+        event.setLotteryDrawDate(closes + DAY_MILLIS);
+        event.setCreatedAt(opens - 2 * DAY_MILLIS);
+        event.setUpdatedAt(opens);
+        return event;
+    }
+    
+    private static List<String> pickTags(SplittableRandom random) {
+        int count = 1 + random.nextInt(3);
+        Set<String> tags = new LinkedHashSet<>();
+        while (tags.size() < count) {
+            tags.add(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return new ArrayList<>(tags);
+    }
+}
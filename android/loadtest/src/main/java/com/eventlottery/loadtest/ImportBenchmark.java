@@ -0,0 +1,146 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.importer.BulkEventImporter;
+import com.eventlottery.data.importer.CsvEventRowReader;
+import com.eventlottery.data.importer.EventRowReader;
+import com.eventlottery.data.importer.ImportReport;
+import com.eventlottery.data.importer.JsonEventRowReader;
+import com.eventlottery.data.repositories.InMemoryEventRepository;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ImportBenchmark - Times BulkEventImporter on large CSV and JSON files
+ * 
+ * Writes the same synthetic program to a CSV and a JSON file, with every
+ * 100th row carrying an out-of-range geofence radius and every 250th an
+ * impossible date, then imports each file several times into a fresh
+ * InMemoryEventRepository. Later rounds show warm throughput; every round
+ * reports imported and rejected rows and the repository round trips. Run
+ * with {@code gradle -p android/loadtest importBenchmark --args="--rows=50000"}.
+ */
+public final class ImportBenchmark {
+    
+    private static final String ORGANIZER = "organizer-1";
+    private static final String CSV_HEADER = "id,name,description,date,time,endTime,location,"
+        + "capacity,waitlistLimit,tags,geolocationEnabled,geolocationRadius,geolocationLat,"
+        + "geolocationLng,price,registrationOpens,registrationCloses";
+    
+    private int rows = 50_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int rounds = 3;
+    
+    public static void main(String[] args) throws IOException {
+        ImportBenchmark benchmark = new ImportBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "rows":
+                        rows = Integer.parseInt(value);
+                        break;
+                    case "threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "rounds":
+                        rounds = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (rows < 1 || threads < 1 || rounds < 1) {
+            throw new IllegalArgumentException("rows, threads and rounds must be positive");
+        }
+    }
+    
+    private void run(PrintStream out) throws IOException {
+        out.printf("Import benchmark: rows=%d threads=%d rounds=%d, %d cores%n",
+            rows, threads, rounds, Runtime.getRuntime().availableProcessors());
+        File csv = File.createTempFile("import-benchmark", ".csv");
+        File json = File.createTempFile("import-benchmark", ".json");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            writeFiles(csv, json);
+            out.printf("files: csv %.1f MB, json %.1f MB%n", mb(csv.length()), mb(json.length()));
+            for (int round = 1; round <= rounds; round++) {
+                report(out, round, "CSV", executor,
+                    new CsvEventRowReader(Files.newBufferedReader(csv.toPath(), StandardCharsets.UTF_8)));
+                report(out, round, "JSON", executor,
+                    new JsonEventRowReader(Files.newBufferedReader(json.toPath(), StandardCharsets.UTF_8)));
+            }
+        } finally {
+            executor.shutdown();
+            csv.delete();
+            json.delete();
+        }
+    }
+    
+    private void report(PrintStream out, int round, String format, ExecutorService executor,
+                        EventRowReader reader) throws IOException {
+        InMemoryEventRepository repository = new InMemoryEventRepository();
+        ImportReport report;
+        try (EventRowReader rows = reader) {
+            report = new BulkEventImporter(repository, executor, threads).importEvents(rows, ORGANIZER);
+        }
+        out.printf("round %d %-4s: %,d rows in %d ms (%,.0f rows/s), imported %,d, rejected %,d, "
+                + "%d repository writes%n", round, format, report.getTotalRows(),
+            report.getElapsedMillis(), report.getRowsPerSecond(), report.getImportedRows(),
+            report.getRejectedRows(), repository.getWriteCount());
+    }
+    
+    private void writeFiles(File csv, File json) throws IOException {
+        try (PrintWriter csvOut = new PrintWriter(
+                 Files.newBufferedWriter(csv.toPath(), StandardCharsets.UTF_8));
+             PrintWriter jsonOut = new PrintWriter(
+                 Files.newBufferedWriter(json.toPath(), StandardCharsets.UTF_8))) {
+            csvOut.println(CSV_HEADER);
+            jsonOut.print("{\"events\":[");
+            for (int i = 0; i < rows; i++) {
+                int radius = i % 100 == 0 ? 900 : 10;
+                String date = i % 250 == 0 ? "2026-02-30" : "2026-06-15";
+                csvOut.printf("e%d,Event %d,\"Program session %d, all ages\",%s,14:00,16:00,Arena,"
+                        + "50,100,Sports|Music,true,%d,53.5,-113.5,5.0,1700000000000,1700100000000%n",
+                    i, i, i, date, radius);
+                jsonOut.printf("%s{\"id\":\"e%d\",\"name\":\"Event %d\","
+                        + "\"description\":\"Program session %d, all ages\",\"date\":\"%s\","
+                        + "\"time\":\"14:00\",\"endTime\":\"16:00\",\"location\":\"Arena\","
+                        + "\"capacity\":50,\"waitlistLimit\":100,\"tags\":[\"Sports\",\"Music\"],"
+                        + "\"geolocationEnabled\":true,\"geolocationRadius\":%d,"
+                        + "\"geolocationLat\":53.5,\"geolocationLng\":-113.5,\"price\":5.0,"
+                        + "\"registrationOpens\":1700000000000,\"registrationCloses\":1700100000000}",
+                    i == 0 ? "" : ",", i, i, i, date, radius);
+            }
+            jsonOut.print("]}");
+        }
+    }
+    
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,185 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.services.lottery.BatchDrawReport;
+import com.eventlottery.services.lottery.DrawResult;
+import com.eventlottery.services.lottery.LotteryDrawCoordinator;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * LotteryBenchmark - Times LotteryDrawCoordinator on a full batch of due events
+ * 
+ * Builds events on ten days with one-to-three-hour sessions and waitlists
+ * drawn from a shared user population, so many entrants sit on overlapping
+ * events and win more than one. Each round draws every event and prints
+ * the BatchDrawReport, then checks that no entrant kept overlapping
+ * selections and counts events left below capacity. Run with
+ * {@code gradle -p android/loadtest lotteryBenchmark --args="--events=1000 --entrants=1000000"}.
+ */
+public final class LotteryBenchmark {
+    
+    private int events = 1_000;
+    private int entrants = 1_000_000;
+    private int population = 200_000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int rounds = 2;
+    private long seed = 42;
+    
+    public static void main(String[] args) {
+        LotteryBenchmark benchmark = new LotteryBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "events":
+                        events = Integer.parseInt(value);
+                        break;
+                    case "entrants":
+                        entrants = Integer.parseInt(value);
+                        break;
+                    case "population":
+                        population = Integer.parseInt(value);
+                        break;
+                    case "parallelism":
+                        parallelism = Integer.parseInt(value);
+                        break;
+                    case "rounds":
+                        rounds = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (events < 1 || entrants < events || parallelism < 1 || rounds < 1
+                || population < 2L * entrants / events) {
+            throw new IllegalArgumentException("events, parallelism and rounds must be positive, "
+                + "entrants at least events, population at least twice the mean waitlist");
+        }
+    }
+    
+    private void run(PrintStream out) {
+        out.printf("Lottery benchmark: events=%d entrants=%d population=%d parallelism=%d seed=%d%n",
+            events, entrants, population, parallelism, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<String, List<String>> waitlists = new HashMap<>();
+        int mean = entrants / events;
+        long total = 0;
+        for (int i = 0; i < events; i++) {
+            int size = mean / 2 + random.nextInt(mean + 1);
+            Set<String> waitlist = new LinkedHashSet<>();
+            while (waitlist.size() < size) {
+                waitlist.add("user-" + random.nextInt(population));
+            }
+            waitlists.put("evt-" + i, new ArrayList<>(waitlist));
+            total += size;
+        }
+        out.printf("waitlists: %,d entries%n", total);
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                List<Event> batch = events(new SplittableRandom(seed));
+                BatchDrawReport report = new LotteryDrawCoordinator(pool, seed + round)
+                    .drawAll(batch, waitlists);
+                long winners = 0;
+                for (DrawResult result : report.getResults().values()) {
+                    winners += result.getWinners().size();
+                }
+                out.printf("round %d: %,d ms, %,d winners, %,d conflicts resolved in %d draw rounds, "
+                        + "%d overlapping selections left, %d events under capacity%n", round,
+                    report.getElapsedMillis(), winners, report.getConflictsResolved(),
+                    report.getRounds(), overlapsLeft(batch, report), underfilled(batch, report, waitlists));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private List<Event> events(SplittableRandom random) {
+        List<Event> list = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            Event event = new Event();
+            event.setId("evt-" + i);
+            event.setStatus("open");
+            event.setDate(String.format("2026-11-%02d", 1 + random.nextInt(10)));
+            int start = 8 + random.nextInt(12);
+            event.setTime(String.format("%02d:00", start));
+            event.setEndTime(String.format("%02d:30", Math.min(23, start + 1 + random.nextInt(3))));
+            event.setCapacity(50 + random.nextInt(250));
+            list.add(event);
+        }
+        return list;
+    }
+    
+    /**
+     * Pairs of selections one entrant holds on the same day at overlapping times
+     */
+    private static int overlapsLeft(List<Event> batch, BatchDrawReport report) {
+        Map<String, Event> byId = new HashMap<>();
+        for (Event event : batch) {
+            byId.put(event.getId(), event);
+        }
+        Map<String, List<Event>> held = new HashMap<>();
+        for (DrawResult result : report.getResults().values()) {
+            for (String winner : result.getWinners()) {
+                held.computeIfAbsent(winner, key -> new ArrayList<>()).add(byId.get(result.getEventId()));
+            }
+        }
+        int overlaps = 0;
+        for (List<Event> selections : held.values()) {
+            for (int i = 0; i < selections.size(); i++) {
+                for (int j = i + 1; j < selections.size(); j++) {
+                    Event a = selections.get(i);
+                    Event b = selections.get(j);
+                    if (a.getDate().equals(b.getDate()) && a.getTime().compareTo(b.getEndTime()) < 0
+                            && b.getTime().compareTo(a.getEndTime()) < 0) {
+                        overlaps++;
+                    }
+                }
+            }
+        }
+        return overlaps;
+    }
+    
+    private static int underfilled(List<Event> batch, BatchDrawReport report,
+                                   Map<String, List<String>> waitlists) {
+        int count = 0;
+        for (Event event : batch) {
+            int possible = Math.min(event.getCapacity(), waitlists.get(event.getId()).size());
+            if (report.getResult(event.getId()).getWinners().size() < possible) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
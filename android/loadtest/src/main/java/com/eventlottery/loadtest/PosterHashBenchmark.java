@@ -0,0 +1,211 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.models.Event;
+import com.eventlottery.utils.imagehash.BkTree;
+import com.eventlottery.utils.imagehash.GrayImage;
+import com.eventlottery.utils.imagehash.PerceptualHash;
+import com.eventlottery.utils.imagehash.PosterHashIndex;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * PosterHashBenchmark - Poster hashing and BK-tree lookups at catalogue scale
+ * 
+ * Builds synthetic 64x64 GrayImage posters of random 8x8 blocks, the size
+ * BitmapPosterDecoder hands over, with one poster in ten a brightened and
+ * noisy copy of an earlier design. For each size it times
+ * {@link PosterHashIndex#update} decoding and hashing every poster, then
+ * {@code findSimilar} and {@code findGroups}. A bare BkTree over the same
+ * pHashes is then queried with half its keys removed, just short of the
+ * rebuild, and again once one more removal triggers it. Run with
+ * {@code gradle -p android/loadtest posterHashBenchmark --args="--sizes=10000,100000"}.
+ */
+public final class PosterHashBenchmark {
+    
+    private static final int SIDE = 64;
+    private static final int COPY_EVERY = 10;
+    private static final String SCHEME = "poster://";
+    
+    private int[] sizes = {10_000, 100_000};
+    private int queries = 1_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 42;
+    
+    public static void main(String[] args) throws InterruptedException {
+        PosterHashBenchmark benchmark = new PosterHashBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "sizes":
+                        String[] parts = value.split(",");
+                        sizes = new int[parts.length];
+                        for (int i = 0; i < parts.length; i++) {
+                            sizes[i] = Integer.parseInt(parts[i].trim());
+                        }
+                        break;
+                    case "queries":
+                        queries = Integer.parseInt(value);
+                        break;
+                    case "threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        for (int size : sizes) {
+            if (size < COPY_EVERY) {
+                throw new IllegalArgumentException("sizes must be at least " + COPY_EVERY);
+            }
+        }
+        if (queries < 1 || threads < 1) {
+            throw new IllegalArgumentException("queries and threads must be positive");
+        }
+    }
+    
+    private void run(PrintStream out) throws InterruptedException {
+        out.printf("Poster hash benchmark: queries=%d threads=%d seed=%d%n", queries, threads, seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int size : sizes) {
+                out.printf("%,d posters%n", size);
+                measureIndex(out, size, executor);
+                measureTree(out, size);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private void measureIndex(PrintStream out, int size, ExecutorService executor)
+            throws InterruptedException {
+        List<Event> events = new ArrayList<>(size);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < size; i++) {
+            Event event = new Event();
+            event.setId("evt-" + i);
+            int design = i % COPY_EVERY == COPY_EVERY - 1 ? random.nextInt(i) : i;
+            event.setPosterImageUrl(SCHEME + design + "/" + (design == i ? 0 : i));
+            event.setUpdatedAt(1);
+            events.add(event);
+        }
+        PosterHashIndex index = new PosterHashIndex(PosterHashBenchmark::decode, executor);
+        
+        long started = System.nanoTime();
+        PosterHashIndex.UpdateReport report = index.update(events);
+        long hashNanos = System.nanoTime() - started;
+        out.printf("  decode + hash: %,d ms, %.1f us per poster, %,d decoded, %d failed%n",
+            hashNanos / 1_000_000, hashNanos / 1e3 / report.getDecoded(), report.getDecoded(),
+            report.getFailures().size());
+        
+        SplittableRandom picks = new SplittableRandom(seed + 1);
+        long similar = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            similar += index.findSimilar("evt-" + picks.nextInt(size)).size();
+        }
+        long queryNanos = System.nanoTime() - started;
+        out.printf("  findSimilar: %.1f us per query, %.2f matches per query%n",
+            queryNanos / 1e3 / queries, similar / (double) queries);
+        
+        started = System.nanoTime();
+        int groups = index.findGroups().size();
+        out.printf("  findGroups: %,d ms, %,d groups%n", (System.nanoTime() - started) / 1_000_000, groups);
+    }
+    
+    private void measureTree(PrintStream out, int size) {
+        long[] hashes = new long[size];
+        BkTree tree = new BkTree();
+        for (int i = 0; i < size; i++) {
+            hashes[i] = PerceptualHash.pHash(poster(i, 0, 0));
+            tree.add("evt-" + i, hashes[i]);
+        }
+        out.printf("  BK-tree radius %d: %.1f us per query over %,d nodes%n",
+            PosterHashIndex.DEFAULT_PHASH_RADIUS, treeQueryMicros(tree, hashes, 0),
+            tree.getNodeCount());
+        
+        // Stop one short of the rebuild, then cross it
+        int dead = tree.getNodeCount() / 2;
+        for (int i = 0; i < dead; i++) {
+            tree.remove("evt-" + i, hashes[i]);
+        }
+        out.printf("  after %,d removals: %.1f us per query over %,d nodes%n", dead,
+            treeQueryMicros(tree, hashes, dead), tree.getNodeCount());
+        tree.remove("evt-" + dead, hashes[dead]);
+        out.printf("  after %,d removals: %.1f us per query over %,d nodes%n", dead + 1,
+            treeQueryMicros(tree, hashes, dead + 1), tree.getNodeCount());
+    }
+    
+    private double treeQueryMicros(BkTree tree, long[] hashes, int from) {
+        SplittableRandom picks = new SplittableRandom(seed + 2);
+        long started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            tree.search(hashes[from + picks.nextInt(hashes.length - from)],
+                PosterHashIndex.DEFAULT_PHASH_RADIUS);
+        }
+        return (System.nanoTime() - started) / 1e3 / queries;
+    }
+    
+    /**
+     * Stands in for fetching and downsampling a poster: poster://design/copy
+     */
+    private static GrayImage decode(String url) throws IOException {
+        if (!url.startsWith(SCHEME)) {
+            throw new IOException("Not a synthetic poster: " + url);
+        }
+        String[] parts = url.substring(SCHEME.length()).split("/");
+        long design = Long.parseLong(parts[0]);
+        long copy = Long.parseLong(parts[1]);
+        return copy == 0 ? poster(design, 0, 0) : poster(design, 12, 3);
+    }
+    
+    /**
+     * A poster of random blocks; brightness and noise make altered copies
+     */
+    private static GrayImage poster(long design, float brightness, float noise) {
+        Random blocks = new Random(design);
+        Random jitter = new Random(design * 31 + 7);
+        float[] luma = new float[SIDE * SIDE];
+        float[] cells = new float[64];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = blocks.nextInt(200);
+        }
+        for (int y = 0; y < SIDE; y++) {
+            for (int x = 0; x < SIDE; x++) {
+                float value = cells[(y / 8) * 8 + x / 8] + brightness
+                    + (noise > 0 ? (jitter.nextFloat() * 2 - 1) * noise : 0);
+                luma[y * SIDE + x] = Math.max(0, Math.min(255, value));
+            }
+        }
+        return new GrayImage(SIDE, SIDE, luma);
+    }
+}
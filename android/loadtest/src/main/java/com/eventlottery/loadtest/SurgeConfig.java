@@ -0,0 +1,108 @@
+package com.eventlottery.loadtest;
+
+/**
+ * SurgeConfig - Parameters of one registration surge run
+ * 
+ * Every option has a default so a bare run is meaningful. Options are given
+ * as --name=value or --name value, e.g. {@code --actions=200000 --threads=8}.
+ * The same seed always produces the same events and the same action stream.
+ */
+final class SurgeConfig {
+    
+    int events = 200;
+    int entrants = 50_000;
+    int actions = 100_000;
+    long seed = 42;
+    int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+    /** Sustained writes per second a single counter document accepts */
+    double docWritesPerSecond = 500;
+    double docBurst = 50;
+    long rollupTtlMillis = 250;
+    /** Zipf exponent of event popularity; higher concentrates the surge on fewer events */
+    double popularitySkew = 1.1;
+    
+    static SurgeConfig parse(String[] args) {
+        SurgeConfig config = new SurgeConfig();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name;
+            String value;
+            int equals = arg.indexOf('=');
+            if (equals >= 0) {
+                name = arg.substring(2, equals);
+                value = arg.substring(equals + 1);
+            } else if (i + 1 < args.length) {
+                name = arg.substring(2);
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            config.set(name, value);
+        }
+        config.validate();
+        return config;
+    }
+    
+    private void set(String name, String value) {
+        try {
+            switch (name) {
+                case "events":
+                    events = Integer.parseInt(value);
+                    break;
+                case "entrants":
+                    entrants = Integer.parseInt(value);
+                    break;
+                case "actions":
+                    actions = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "doc-writes-per-sec":
+                    docWritesPerSecond = Double.parseDouble(value);
+                    break;
+                case "doc-burst":
+                    docBurst = Double.parseDouble(value);
+                    break;
+                case "rollup-ttl-ms":
+                    rollupTtlMillis = Long.parseLong(value);
+                    break;
+                case "skew":
+                    popularitySkew = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+        }
+    }
+    
+    private void validate() {
+        if (events < 1 || entrants < 1 || actions < 1 || threads < 1) {
+            throw new IllegalArgumentException("events, entrants, actions and threads must be positive");
+        }
+        if (docWritesPerSecond <= 0 || docBurst < 1 || rollupTtlMillis < 0 || popularitySkew < 0) {
+            throw new IllegalArgumentException("Invalid backend or skew settings");
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "events=" + events
+            + " entrants=" + entrants
+            + " actions=" + actions
+            + " seed=" + seed
+            + " threads=" + threads
+            + " doc-writes-per-sec=" + docWritesPerSecond
+            + " doc-burst=" + docBurst
+            + " rollup-ttl-ms=" + rollupTtlMillis
+            + " skew=" + popularitySkew;
+    }
+}
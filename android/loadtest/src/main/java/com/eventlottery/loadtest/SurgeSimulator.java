@@ -0,0 +1,322 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.counters.ContentionException;
+import com.eventlottery.data.counters.EventCounters;
+import com.eventlottery.data.counters.InMemoryCounterBackend;
+import com.eventlottery.data.models.Event;
+import com.eventlottery.data.repositories.InMemoryEventRepository;
+import com.eventlottery.data.sync.InMemoryWaitlistRemote;
+import com.eventlottery.data.sync.OperationLog;
+import com.eventlottery.data.sync.WaitlistOperation;
+import com.eventlottery.data.sync.WaitlistSyncQueue;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SurgeSimulator - Replays a synthesized registration surge against the local backends
+ * 
+ * Events are saved through InMemoryEventRepository, joins and leaves are
+ * enqueued on a WaitlistSyncQueue that commits to InMemoryWaitlistRemote,
+ * and counts go through EventCounters on a rate-limited
+ * InMemoryCounterBackend, i.e. the same paths the app uses with the hosted
+ * backend swapped for its local stand-ins. Admission
+ * follows the client: read the event, read the (cached) waitlist count and
+ * refuse when it has reached the limit. The remote does not re-check the
+ * limit, so stale counts show up as overbooking in the report.
+ * 
+ * A seed always generates the same events and action stream. Actions are
+ * partitioned by entrant so each entrant's taps replay in order, and each
+ * partition has its own always-online queue that flushes on the replaying
+ * thread, so an action's commit lands before the next one is read. Outcomes
+ * that hinge on the wall clock (counter rate limits, rollup age) can still
+ * shift slightly between runs. Run with
+ * {@code gradle -p android/loadtest run --args="--actions=200000"}.
+ */
+public final class SurgeSimulator {
+    
+    private final SurgeConfig config;
+    private final InMemoryEventRepository repository = new InMemoryEventRepository();
+    private final InMemoryWaitlistRemote remote = new InMemoryWaitlistRemote();
+    private final InMemoryCounterBackend counterBackend;
+    private final EventCounters counters;
+    
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong left = new AtomicLong();
+    private final AtomicLong rejectedFull = new AtomicLong();
+    private final AtomicLong rejectedClosed = new AtomicLong();
+    private final AtomicLong retapsAbsorbed = new AtomicLong();
+    private final AtomicLong ignoredLeaves = new AtomicLong();
+    private final AtomicLong counterWriteFailures = new AtomicLong();
+    private final AtomicLong queuedAfterReplay = new AtomicLong();
+    
+    /**
+     * Keeps a queue's pending operations in memory; the surge measures the
+     * backend, not every entrant's device writing its own log to disk
+     */
+    private static final class MemoryOperationLog extends OperationLog {
+        private List<WaitlistOperation> operations = new ArrayList<>();
+        
+        MemoryOperationLog() {
+            super(new File("surge-operations.log"));
+        }
+        
+        @Override
+        public synchronized List<WaitlistOperation> load() {
+            return new ArrayList<>(operations);
+        }
+        
+        @Override
+        public synchronized void save(List<WaitlistOperation> operations) {
+            this.operations = new ArrayList<>(operations);
+        }
+    }
+    
+    SurgeSimulator(SurgeConfig config) {
+        this.config = config;
+        this.counterBackend = new InMemoryCounterBackend(
+            config.docWritesPerSecond, config.docBurst, System::nanoTime);
+        this.counters = new EventCounters(
+            counterBackend, config.rollupTtlMillis, System::currentTimeMillis);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        SurgeConfig config;
+        try {
+            config = SurgeConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new SurgeSimulator(config).run(System.out);
+    }
+    
+    void run(PrintStream out) throws Exception {
+        out.println("Registration surge: " + config);
+        long heapBaseline = usedHeapAfterGc();
+        
+        SplittableRandom random = new SplittableRandom(config.seed);
+        List<Event> events = EventSynthesizer.synthesize(config.events, random);
+        List<EntrantAction> actions = EntrantActionGenerator.generate(events, config, random.split());
+        repository.saveEvents(events);
+        long heapDataset = usedHeapAfterGc();
+        
+        long[] latencies = new long[actions.size()];
+        long started = System.nanoTime();
+        replay(actions, latencies);
+        long elapsedNanos = System.nanoTime() - started;
+        long heapRetained = usedHeapAfterGc();
+        
+        report(out, events, actions, latencies, elapsedNanos);
+        out.printf("Memory: dataset %.1f MB, retained after replay %.1f MB, peak heap %.1f MB%n",
+            mb(heapDataset - heapBaseline), mb(heapRetained - heapBaseline),
+            mb(peakHeap()));
+    }
+    
+    private void replay(List<EntrantAction> actions, long[] latencies) throws Exception {
+        int threads = config.threads;
+        List<List<Integer>> partitions = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            partitions.add(new ArrayList<>(actions.size() / threads + 1));
+        }
+        for (int i = 0; i < actions.size(); i++) {
+            int owner = Math.floorMod(actions.get(i).getUserId().hashCode(), threads);
+            partitions.get(owner).add(i);
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (List<Integer> partition : partitions) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    replayPartition(actions, partition, latencies);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Replay one entrant partition in stream order; membership state is
+     * private to the partition because entrants never span partitions
+     */
+    private void replayPartition(List<EntrantAction> actions, List<Integer> partition,
+                                 long[] latencies) throws IOException {
+        Set<String> joinedTargets = new HashSet<>();
+        Set<String> deliveredKeys = new HashSet<>();
+        WaitlistSyncQueue queue = new WaitlistSyncQueue(new MemoryOperationLog(), remote,
+            Runnable::run, WaitlistSyncQueue.DEFAULT_BATCH_SIZE, System::currentTimeMillis);
+        queue.setOnline(true);
+        for (int index : partition) {
+            EntrantAction action = actions.get(index);
+            long began = System.nanoTime();
+            if (action.kind == EntrantAction.Kind.LEAVE) {
+                leave(queue, action.operation, joinedTargets);
+            } else {
+                join(queue, action.operation, joinedTargets, deliveredKeys);
+            }
+            latencies[index] = System.nanoTime() - began;
+        }
+        queuedAfterReplay.addAndGet(queue.getPendingCount());
+    }
+    
+    private void join(WaitlistSyncQueue queue, WaitlistOperation operation, Set<String> joinedTargets,
+                      Set<String> deliveredKeys) throws IOException {
+        Event event = repository.getEvent(operation.getEventId());
+        if (!isOpenAt(event, EventSynthesizer.EPOCH_MILLIS)) {
+            rejectedClosed.incrementAndGet();
+            return;
+        }
+        if (deliveredKeys.contains(operation.getIdempotencyKey())) {
+            // Duplicate delivery: the remote must absorb it without double counting
+            queue.enqueue(operation);
+            retapsAbsorbed.incrementAndGet();
+            return;
+        }
+        Integer limit = event.getWaitlistLimit();
+        if (limit != null && counters.getWaitlistCount(event.getId()) >= limit) {
+            rejectedFull.incrementAndGet();
+            return;
+        }
+        queue.enqueue(operation);
+        deliveredKeys.add(operation.getIdempotencyKey());
+        joinedTargets.add(operation.getTargetKey());
+        accepted.incrementAndGet();
+        applyCounts(operation);
+    }
+    
+    private void leave(WaitlistSyncQueue queue, WaitlistOperation operation,
+                       Set<String> joinedTargets) throws IOException {
+        if (!joinedTargets.remove(operation.getTargetKey())) {
+            // The join was refused, so the app would never have offered Leave
+            ignoredLeaves.incrementAndGet();
+            return;
+        }
+        queue.enqueue(operation);
+        left.incrementAndGet();
+        applyCounts(operation);
+    }
+    
+    private void applyCounts(WaitlistOperation operation) throws IOException {
+        try {
+            counters.apply(operation);
+        } catch (ContentionException e) {
+            counterWriteFailures.incrementAndGet();
+        }
+    }
+    
+    private static boolean isOpenAt(Event event, long now) {
+        return event != null
+            && "open".equals(event.getStatus())
+            && now >= event.getRegistrationOpens()
+            && now <= event.getRegistrationCloses();
+    }
+    
+    private void report(PrintStream out, List<Event> events, List<EntrantAction> actions,
+                        long[] latencies, long elapsedNanos) throws IOException {
+        int limited = 0;
+        int overbookedEvents = 0;
+        long overbookedEntrants = 0;
+        long counterDrift = 0;
+        for (Event event : events) {
+            int waiting = remote.getWaitlistCount(event.getId());
+            counterDrift += Math.abs(counters.waitlistCounter(event.getId()).refresh() - waiting);
+            Integer limit = event.getWaitlistLimit();
+            if (limit == null) {
+                continue;
+            }
+            limited++;
+            if (waiting > limit) {
+                overbookedEvents++;
+                overbookedEntrants += waiting - limit;
+            }
+        }
+        
+        int[] kinds = new int[EntrantAction.Kind.values().length];
+        for (EntrantAction action : actions) {
+            kinds[action.kind.ordinal()]++;
+        }
+        
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        
+        out.printf("Actions: %d (join %d, leave %d, retap %d) over %d events, %d entrants%n",
+            actions.size(), kinds[EntrantAction.Kind.JOIN.ordinal()],
+            kinds[EntrantAction.Kind.LEAVE.ordinal()], kinds[EntrantAction.Kind.RETAP.ordinal()],
+            events.size(), config.entrants);
+        out.printf("Throughput: %.0f actions/s (%.2f s on %d threads)%n",
+            actions.size() / seconds, seconds, config.threads);
+        out.printf("Latency us: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+            micros(percentile(sorted, 0.50)), micros(percentile(sorted, 0.90)),
+            micros(percentile(sorted, 0.99)), micros(percentile(sorted, 0.999)),
+            micros(sorted[sorted.length - 1]));
+        out.printf("Outcomes: accepted %d, left %d, rejected full %d, rejected closed %d, "
+                + "retaps absorbed %d, leaves ignored %d%n",
+            accepted.get(), left.get(), rejectedFull.get(), rejectedClosed.get(),
+            retapsAbsorbed.get(), ignoredLeaves.get());
+        out.printf("Overbooked: %d of %d limited events, %d entrants past their limit%n",
+            overbookedEvents, limited, overbookedEntrants);
+        out.printf("Counters: %d writes accepted, %d shard rejections, %d deltas lost, drift %d%n",
+            counterBackend.getAcceptedWrites(), counterBackend.getRejectedWrites(),
+            counterWriteFailures.get(), counterDrift);
+        out.printf("Backend: %d repository reads, %d waitlist commits, %d operations applied, "
+                + "%d left queued%n", repository.getReadCount(), remote.getCommitCount(),
+            remote.getOperationCount(), queuedAfterReplay.get());
+    }
+    
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+    
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+    
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,188 @@
+package com.eventlottery.loadtest;
+
+import com.eventlottery.data.waitlist.WaitlistIndex;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+/**
+ * WaitlistBenchmark - Times WaitlistIndex operations on one very long waitlist
+ * 
+ * Fills a single event's line with seeded Firebase-style uids, then times
+ * position lookups, position-to-entrant lookups, 50-entrant pages, leaves
+ * from random places in the line, join/leave churn and a snapshot round
+ * trip, printing nanoseconds per operation, heap and file size. Run with
+ * {@code gradle -p android/loadtest waitlistBenchmark --args="--entrants=1000000"}.
+ */
+public final class WaitlistBenchmark {
+    
+    private static final String UID_ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    
+    private int entrants = 1_000_000;
+    private int queries = 200_000;
+    private int pageSize = 50;
+    private long seed = 42;
+    
+    public static void main(String[] args) throws Exception {
+        WaitlistBenchmark benchmark = new WaitlistBenchmark();
+        try {
+            benchmark.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        benchmark.run(System.out);
+    }
+    
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "entrants":
+                        entrants = Integer.parseInt(value);
+                        break;
+                    case "queries":
+                        queries = Integer.parseInt(value);
+                        break;
+                    case "page":
+                        pageSize = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad value for --" + name + ": " + value);
+            }
+        }
+        if (entrants < 1 || queries < 1 || pageSize < 1 || pageSize > WaitlistIndex.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("entrants and queries must be positive, page 1.."
+                + WaitlistIndex.MAX_PAGE_SIZE);
+        }
+    }
+    
+    private void run(PrintStream out) throws IOException {
+        out.printf("Waitlist benchmark: entrants=%d queries=%d page=%d seed=%d%n",
+            entrants, queries, pageSize, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] uids = new String[entrants];
+        for (int i = 0; i < entrants; i++) {
+            uids[i] = uid(random);
+        }
+        long heapBefore = usedHeapAfterGc();
+        
+        WaitlistIndex waitlist = new WaitlistIndex("bench-event");
+        long started = System.nanoTime();
+        for (String uid : uids) {
+            waitlist.join(uid);
+        }
+        report(out, "join", started, entrants);
+        out.printf("  index %.1f MB excluding ids (%.1f bytes/entrant), heap delta %.1f MB%n",
+            mb(waitlist.memoryBytes()), (double) waitlist.memoryBytes() / entrants,
+            mb(usedHeapAfterGc() - heapBefore));
+        
+        long checksum = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            checksum += waitlist.positionOf(uids[random.nextInt(entrants)]);
+        }
+        report(out, "positionOf", started, queries);
+        
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            checksum += waitlist.entrantAt(1 + random.nextInt(waitlist.size())).length();
+        }
+        report(out, "entrantAt", started, queries);
+        
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            checksum += waitlist.entrants(1 + random.nextInt(waitlist.size()), pageSize).size();
+        }
+        report(out, "entrants(k, " + pageSize + ")", started, queries);
+        
+        int leaves = Math.min(queries, entrants / 2);
+        started = System.nanoTime();
+        for (int i = 0; i < leaves; i++) {
+            checksum += waitlist.leave(uids[random.nextInt(entrants)]) ? 1 : 0;
+        }
+        report(out, "leave (random place)", started, leaves);
+        
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            checksum += waitlist.entrants(1 + random.nextInt(waitlist.size()), pageSize).size();
+        }
+        report(out, "entrants(k, " + pageSize + ") with gaps", started, queries);
+        
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            String uid = uids[random.nextInt(entrants)];
+            if (!waitlist.leave(uid)) {
+                waitlist.join(uid);
+            }
+        }
+        report(out, "join/leave churn", started, queries);
+        
+        File file = File.createTempFile("waitlist", ".snapshot");
+        try {
+            started = System.nanoTime();
+            waitlist.save(file);
+            long saveNanos = System.nanoTime() - started;
+            started = System.nanoTime();
+            WaitlistIndex loaded = WaitlistIndex.load(file);
+            long loadNanos = System.nanoTime() - started;
+            if (loaded.size() != waitlist.size()
+                || !loaded.entrants(1, pageSize).equals(waitlist.entrants(1, pageSize))) {
+                throw new IllegalStateException("Snapshot round trip changed the line");
+            }
+            out.printf("snapshot: %d entrants, %.1f MB (%.1f bytes/entrant), save %d ms, load %d ms%n",
+                loaded.size(), mb(file.length()), (double) file.length() / Math.max(1, loaded.size()),
+                saveNanos / 1_000_000, loadNanos / 1_000_000);
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(new File(file.getPath() + ".tmp").toPath());
+        }
+        out.println("checksum " + checksum);
+    }
+    
+    private static void report(PrintStream out, String operation, long startedNanos, int count) {
+        long elapsed = System.nanoTime() - startedNanos;
+        out.printf("%-28s %,10d ops %8.0f ns/op%n", operation, count, (double) elapsed / count);
+    }
+    
+    /**
+     * A 28-character uid shaped like Firebase Auth's
+     */
+    private static String uid(SplittableRandom random) {
+        char[] chars = new char[28];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = UID_ALPHABET.charAt(random.nextInt(UID_ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+    
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}